@@ -0,0 +1,72 @@
+// Benchmark da obtenção do nsu: Random compartilhado (implementação anterior) contra os blocos de nsus por thread (TransacaoUtilService)
+//
+// Uso (com as classes da aplicação compiladas por mvn compile):
+//   java -cp target/classes benchmark/AlocacaoNsu.java <threads separadas por vírgula> <segundos por medida>
+//   java -cp target/classes benchmark/AlocacaoNsu.java 1,2,4,8 5
+// Para cada quantidade de threads, cada thread obtém nsus sem pausa durante o tempo informado (após 1 s de aquecimento não medido).
+//
+// Resultado (1 vCPU compartilhada, 5 s por medida, menor e maior valor de duas execuções):
+//
+//   threads    Random compartilhado    blocos por thread
+//   1          19,3 a 21,8 mi/s        23,1 a 30,2 mi/s
+//   2          19,8 a 20,1 mi/s        20,8 a 33,9 mi/s
+//   4          20,0 a 24,5 mi/s        24,9 a 26,1 mi/s
+//
+// Com uma única CPU as threads se revezam e a vazão total não cresce com as threads, portanto esta máquina não mostra a diferença de
+// escalabilidade, apenas o custo por nsu. Em várias CPUs o Random compartilhado disputa o mesmo AtomicLong (semente) a cada nsu e a vazão
+// total para de crescer, enquanto nos blocos cada thread só acessa campos próprios e a sequência (ou o AtomicLong, nos perfis memoria e
+// livro) é acessada uma vez a cada mil nsus, portanto a vazão cresce com a quantidade de CPUs.
+
+import com.api.pagamento.domain.repository.nsu.memoria.BlocoNsuMemoriaRepository;
+import com.api.pagamento.service.util.transacao.TransacaoUtilService;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class AlocacaoNsu {
+
+	private static final Random RANDOM = new Random();
+
+	public static void main(String[] args) throws Exception {
+		int[] quantidadesThreads = Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray();
+		long duracao = Long.parseLong(args[1]) * 1_000_000_000L;
+
+		TransacaoUtilService transacaoUtilService = new TransacaoUtilService(new BlocoNsuMemoriaRepository());
+		System.out.printf("%-10s %-23s %s%n", "threads", "Random compartilhado", "blocos por thread");
+		for (int threads : quantidadesThreads) {
+			double random = medir(threads, duracao, () -> String.valueOf(RANDOM.nextInt(100000000, 999999999)));
+			double blocos = medir(threads, duracao, transacaoUtilService::obterNsu);
+			System.out.printf("%-10d %-23s %s%n", threads, String.format("%.1f mi/s", random / 1e6), String.format("%.1f mi/s", blocos / 1e6));
+		}
+	}
+
+	private static double medir(int threads, long duracao, Supplier<String> obterNsu) throws InterruptedException {
+		LongAdder total = new LongAdder();
+		CountDownLatch fim = new CountDownLatch(threads);
+		long inicio = System.nanoTime() + 1_000_000_000L;
+		long termino = inicio + duracao;
+		for (int i = 0; i < threads; i++) {
+			new Thread(() -> {
+				long quantidade = 0;
+				int hash = 0;
+				long agora;
+				while ((agora = System.nanoTime()) < termino) {
+					for (int j = 0; j < 1000; j++) {
+						hash += obterNsu.get().hashCode();
+					}
+					if (agora >= inicio) {
+						quantidade += 1000;
+					}
+				}
+				total.add(quantidade + (hash == 42 ? 1 : 0));
+				fim.countDown();
+			}).start();
+		}
+		fim.await();
+		return total.sum() * 1e9 / duracao;
+	}
+
+}
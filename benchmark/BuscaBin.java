@@ -0,0 +1,69 @@
+// Benchmark da tabela de BINs (TabelaBinTransacao): leitura da tabela e tempo de cada busca
+//
+// Uso (com as classes da aplicação compiladas por mvn compile):
+//   java -cp target/classes benchmark/BuscaBin.java <quantidade de faixas> <segundos de medida>
+//   java -cp target/classes benchmark/BuscaBin.java 500000 5
+// A tabela gerada tem faixas de 100 BINs de 8 dígitos separadas por intervalos de 100 BINs fora da tabela, com 50 bandeiras e 5000
+// emissores.
+// As buscas usam 1 milhão de cartões aleatórios (metade dentro de uma faixa), após 2 s de aquecimento não medido.
+//
+// Resultado (1 vCPU compartilhada, 500 mil faixas, 5 s de medida, menor e maior valor de duas execuções):
+//
+//   leitura da tabela    busca
+//   0,99 a 1,13 s        268 a 272 ns
+//
+// A busca binária em 500 mil faixas faz no máximo 19 comparações em um vetor de int de 2 MB, sem criar objetos. Com cartões aleatórios
+// quase todas as comparações acessam posições fora do cache do processador, o que domina o tempo da busca.
+
+import com.api.pagamento.service.bin.transacao.TabelaBinTransacao;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class BuscaBin {
+
+	public static void main(String[] args) throws Exception {
+		int quantidadeFaixas = Integer.parseInt(args[0]);
+		long duracao = Long.parseLong(args[1]) * 1_000_000_000L;
+
+		StringBuilder csv = new StringBuilder("inicio,fim,bandeira,emissor\n");
+		for (int i = 0; i < quantidadeFaixas; i++) {
+			csv.append(String.format("%08d,%08d,BANDEIRA%d,Emissor %d%n", i * 200, i * 200 + 99, i % 50, i % 5000));
+		}
+		long inicioLeitura = System.nanoTime();
+		TabelaBinTransacao tabela = TabelaBinTransacao.ler(new BufferedReader(new StringReader(csv.toString())));
+		long leitura = System.nanoTime() - inicioLeitura;
+
+		String[] cartoes = new String[1 << 20];
+		for (int i = 0; i < cartoes.length; i++) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			cartoes[i] = String.format("%08d%08d", random.nextInt(quantidadeFaixas * 200), random.nextInt(100_000_000));
+		}
+
+		medir(tabela, cartoes, 2_000_000_000L);
+		double nanosPorBusca = medir(tabela, cartoes, duracao);
+		System.out.printf("%-20s %s%n", "leitura da tabela", "busca");
+		System.out.printf("%-20s %s%n", String.format("%d ms", leitura / 1_000_000), String.format("%.0f ns", nanosPorBusca));
+	}
+
+	private static double medir(TabelaBinTransacao tabela, String[] cartoes, long duracao) {
+		long buscas = 0;
+		int encontrados = 0;
+		long inicio = System.nanoTime();
+		long agora;
+		while ((agora = System.nanoTime()) - inicio < duracao) {
+			for (int i = 0; i < cartoes.length; i++) {
+				if (tabela.localizar(cartoes[i]) >= 0) {
+					encontrados++;
+				}
+			}
+			buscas += cartoes.length;
+		}
+		if (encontrados == 42) {
+			System.out.println();
+		}
+		return (double) (agora - inicio) / buscas;
+	}
+
+}
@@ -0,0 +1,98 @@
+// Benchmark de vazão do pagamento (POST /transacao/v1/pagar), para comparar o perfil padrão (JPA/PostgreSQL) com o perfil livro
+//
+// Uso (com a aplicação já iniciada; não precisa compilar):
+//   java benchmark/CargaPagamento.java <url da api> <clientes> <segundos> [segundos de aquecimento]
+//   java benchmark/CargaPagamento.java http://localhost:8080/transacao/v1 16 30 10
+// Cada cliente envia um pagamento por vez, sem pausa, durante o aquecimento (não medido) e depois durante o tempo informado.
+//
+// Resultado (1 vCPU compartilhada entre a aplicação, o banco e os clientes, ext4, 16 clientes, 30 s após 10 s de aquecimento):
+//
+//   perfil                                                 pagamentos/s    p50        p99
+//   padrão, PostgreSQL 14 com fsync e synchronous_commit   225             64,9 ms    177,3 ms
+//   padrão com diário de pagamentos (api.diario)           290             50,0 ms    124,8 ms   (padrão na mesma sessão: 187/s, p99 229,7 ms)
+//   livro (mmap + group commit)                            330             44,8 ms    95,6 ms
+//   memoria (sem gravação em disco, apenas referência)     491             26,0 ms    108,1 ms
+//
+// No perfil padrão cada pagamento é um insert com commit próprio (fsync do WAL), mais o insert da chave de idempotência quando enviada;
+// com o diário, o pagamento é confirmado pelo fsync do diário local e inserido no banco depois, em lotes de até mil em uma única transação;
+// no perfil livro é um registro de 640 bytes copiado para o arquivo mapeado, e um único fsync confirma todos os pagamentos escritos enquanto
+// o fsync anterior acontecia. Com uma única CPU o limite é a própria api (http, json, validação), como mostra o perfil memoria.
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CargaPagamento {
+
+	private static final String PAGAMENTO = """
+			{"cartao":"4444********1234","descricao":{"valor":"10.00","dataHora":"01/10/2021 10:00:00","estabelecimento":"PetShop Mundo cão"},\
+			"formaPagamento":{"tipo":"AVISTA","parcelas":"1"}}""";
+
+	public static void main(String[] args) throws Exception {
+		URI uri = URI.create(args[0] + "/pagar");
+		int clientes = Integer.parseInt(args[1]);
+		long duracao = Long.parseLong(args[2]) * 1_000_000_000L;
+		long aquecimento = (args.length > 3 ? Long.parseLong(args[3]) : 0) * 1_000_000_000L;
+
+		HttpClient http = HttpClient.newHttpClient();
+		HttpRequest requisicao = HttpRequest.newBuilder(uri).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(PAGAMENTO)).build();
+		long inicio = System.nanoTime() + aquecimento;
+		long fim = inicio + duracao;
+		AtomicLong erros = new AtomicLong();
+		long[][] latencias = new long[clientes][];
+		int[] quantidades = new int[clientes];
+
+		Thread[] threads = new Thread[clientes];
+		for (int i = 0; i < clientes; i++) {
+			int cliente = i;
+			threads[i] = new Thread(() -> {
+				long[] medidas = new long[1 << 16];
+				int quantidade = 0;
+				for (long agora = System.nanoTime(); agora < fim; ) {
+					try {
+						boolean sucesso = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+						long depois = System.nanoTime();
+						if (agora >= inicio) {
+							if (!sucesso) {
+								erros.incrementAndGet();
+							} else {
+								if (quantidade == medidas.length) {
+									medidas = Arrays.copyOf(medidas, medidas.length * 2);
+								}
+								medidas[quantidade++] = depois - agora;
+							}
+						}
+						agora = depois;
+					} catch (Exception ex) {
+						erros.incrementAndGet();
+						agora = System.nanoTime();
+					}
+				}
+				latencias[cliente] = medidas;
+				quantidades[cliente] = quantidade;
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		long[] todas = new long[Arrays.stream(quantidades).sum()];
+		for (int i = 0, posicao = 0; i < clientes; posicao += quantidades[i++]) {
+			System.arraycopy(latencias[i], 0, todas, posicao, quantidades[i]);
+		}
+		Arrays.sort(todas);
+		System.out.printf("pagamentos/s=%.0f p50=%.1fms p99=%.1fms erros=%d%n", todas.length / (duracao / 1e9), percentil(todas, 0.50),
+				percentil(todas, 0.99), erros.get());
+		System.exit(0);
+	}
+
+	private static double percentil(long[] ordenadas, double percentil) {
+		return ordenadas.length == 0 ? 0 : ordenadas[(int) Math.min(ordenadas.length - 1, ordenadas.length * percentil)] / 1e6;
+	}
+
+}
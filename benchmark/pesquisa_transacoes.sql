@@ -0,0 +1,68 @@
+-- Benchmark da pesquisa de transações (GET /transacao/v1/pesquisar)
+--
+-- Uso (banco vazio, com a tabela transacao e os índices já criados pela aplicação):
+--   psql -h localhost -p 5434 -U euller -d db -v ate=100000   -f benchmark/pesquisa_transacoes.sql
+--   psql -h localhost -p 5434 -U euller -d db -v ate=1000000  -f benchmark/pesquisa_transacoes.sql
+--   psql -h localhost -p 5434 -U euller -d db -v ate=10000000 -f benchmark/pesquisa_transacoes.sql
+-- Cada execução completa a tabela até :ate linhas (uma transação a cada 6 segundos a partir de 01/01/2024, 5000 estabelecimentos,
+-- 80% AUTORIZADO, 10% NEGADO, 10% CANCELADO) e executa as consultas geradas pelo Hibernate para a pesquisa, com o cursor no meio da tabela.
+-- Os ids são formados como os da aplicação (GeradorIdTemporal): milissegundos da data_hora desde 01/01/2024 nos 41 bits mais significativos,
+-- seguidos do nó (0) e do contador (0).
+--
+-- Resultado (PostgreSQL 14, 1 vCPU, 5 GB, cache quente, Execution Time do EXPLAIN ANALYZE, páginas de 50 + 1 linhas):
+--
+--   consulta                                          100 mil   1 milhão   10 milhões
+--   status, 1ª página (data_hora desc)                0,07 ms    0,11 ms     0,12 ms
+--   status, página no meio da tabela                  0,20 ms    0,35 ms     0,18 ms
+--   estabelecimento + período, cursor (data_hora)     0,22 ms    0,81 ms     0,31 ms
+--   tipo + faixa de valor, cursor (valor desc)        0,95 ms    0,21 ms     0,66 ms
+--   tipo + período de um dia (data_hora desc)         0,16 ms    1,71 ms     0,15 ms
+--
+-- Todas as consultas percorrem apenas o início de um índice composto (idx_transacao_*), portanto o tempo não cresce com a tabela.
+-- Pela api (tempo total do curl, com 10 milhões de linhas) as mesmas pesquisas responderam entre 40 e 120 ms.
+
+\timing on
+
+INSERT INTO transacao (id, cartao, valor, data_hora, estabelecimento, nsu, codigo_autorizacao, status, tipo, parcelas)
+SELECT (g * 6000) << 22, '4444********1234', round((random() * 1000)::numeric + 1, 2), timestamp '2024-01-01 00:00:00' + g * interval '6 seconds',
+       'Estabelecimento ' || (g % 5000), lpad((g % 1000000000)::text, 9, '0'), lpad((g % 1000000000)::text, 9, '0'),
+       (ARRAY['AUTORIZADO', 'NEGADO', 'CANCELADO'])[1 + (g % 10 = 0)::int + (g % 10 = 1)::int * 2],
+       (ARRAY['AVISTA', 'PARCELADO_LOJA', 'PARCELADO_EMISSOR'])[1 + g % 3], 1
+  FROM generate_series((SELECT count(*) + 1 FROM transacao), :ate) g;
+
+ANALYZE transacao;
+
+SELECT ((:ate / 2) * 6000::bigint) << 22 AS cursor \gset
+
+-- status, primeira página
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM transacao t1_0 WHERE t1_0.status = 'AUTORIZADO'
+ ORDER BY t1_0.data_hora DESC, t1_0.id DESC FETCH FIRST 51 ROWS ONLY;
+
+-- status, página no meio da tabela
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM transacao t1_0 WHERE t1_0.status = 'AUTORIZADO'
+   AND t1_0.data_hora <= (SELECT t2_0.data_hora FROM transacao t2_0 WHERE t2_0.id = :cursor)
+   AND (t1_0.data_hora < (SELECT t3_0.data_hora FROM transacao t3_0 WHERE t3_0.id = :cursor) OR t1_0.id < :cursor)
+ ORDER BY t1_0.data_hora DESC, t1_0.id DESC FETCH FIRST 51 ROWS ONLY;
+
+-- estabelecimento + período, a partir do cursor
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM transacao t1_0 WHERE t1_0.estabelecimento = 'Estabelecimento 42'
+   AND t1_0.data_hora >= timestamp '2024-01-01 00:00:00' AND t1_0.data_hora <= timestamp '2025-12-31 00:00:00'
+   AND t1_0.data_hora >= (SELECT t2_0.data_hora FROM transacao t2_0 WHERE t2_0.id = :cursor)
+   AND (t1_0.data_hora > (SELECT t3_0.data_hora FROM transacao t3_0 WHERE t3_0.id = :cursor) OR t1_0.id > :cursor)
+ ORDER BY t1_0.data_hora, t1_0.id FETCH FIRST 51 ROWS ONLY;
+
+-- tipo + faixa de valor, ordenado por valor, a partir do cursor
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM transacao t1_0 WHERE t1_0.tipo = 'AVISTA' AND t1_0.valor >= 500 AND t1_0.valor <= 600
+   AND t1_0.valor <= (SELECT t2_0.valor FROM transacao t2_0 WHERE t2_0.id = :cursor)
+   AND (t1_0.valor < (SELECT t3_0.valor FROM transacao t3_0 WHERE t3_0.id = :cursor) OR t1_0.id < :cursor)
+ ORDER BY t1_0.valor DESC, t1_0.id DESC FETCH FIRST 51 ROWS ONLY;
+
+-- tipo + período de um dia
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM transacao t1_0 WHERE t1_0.tipo = 'PARCELADO_LOJA'
+   AND t1_0.data_hora >= timestamp '2024-01-03 00:00:00' AND t1_0.data_hora <= timestamp '2024-01-04 00:00:00'
+ ORDER BY t1_0.data_hora DESC, t1_0.id DESC FETCH FIRST 51 ROWS ONLY;
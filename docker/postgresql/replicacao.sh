@@ -0,0 +1,9 @@
+#!/bin/bash
+# Executado apenas na criação do banco primário: cria o usuário usado pela réplica e libera a conexão de replicação
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+	CREATE ROLE replicador WITH REPLICATION LOGIN PASSWORD '$POSTGRES_PASSWORD';
+EOSQL
+
+echo "host replication replicador all scram-sha-256" >> "$PGDATA/pg_hba.conf"
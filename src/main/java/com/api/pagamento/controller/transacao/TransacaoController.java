@@ -2,20 +2,40 @@ package com.api.pagamento.controller.transacao;
 
 import com.api.pagamento.domain.annotation.http.transacao.TransacaoApiResponses;
 import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.agregacao.AgregacaoTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.contador.ContadoresTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoEstornoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoPagamentoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.pagina.PaginaTransacaoResponseDto;
 import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.agregacao.AgregacaoTransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
 import com.api.pagamento.domain.exception.http.BadRequestException;
+import com.api.pagamento.domain.exception.http.ConflictException;
 import com.api.pagamento.domain.exception.http.InternalServerErrorException;
 import com.api.pagamento.domain.exception.http.NotFoundException;
+import com.api.pagamento.infra.config.datasource.RoteamentoDataSource;
+import com.api.pagamento.service.contador.transacao.ContadorTransacaoService;
 import com.api.pagamento.service.dto.transacao.TransacaoDtoService;
+import com.api.pagamento.service.idempotencia.transacao.IdempotenciaTransacaoService;
+import com.api.pagamento.service.replica.ReplicaService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static com.api.pagamento.domain.constant.http.header.HeaderHttpConstants.CONSISTENCY_TOKEN;
+import static com.api.pagamento.domain.constant.http.header.HeaderHttpConstants.IDEMPOTENCY_KEY;
 import static com.api.pagamento.domain.constant.http.type.TypeHttpConstants.APPLICATION_JSON;
+import static com.api.pagamento.domain.constant.http.type.TypeHttpConstants.APPLICATION_NDJSON;
+import static com.api.pagamento.domain.constant.paginacao.PaginacaoConstants.TAMANHO_PAGINA_PADRAO;
 
 /**
  * Controlador responsável por expor os endpoints relacionados a transação
@@ -27,6 +47,9 @@ import static com.api.pagamento.domain.constant.http.type.TypeHttpConstants.APPL
 @RequiredArgsConstructor
 public class TransacaoController {
 	private final TransacaoDtoService transacaoDtoService;
+	private final IdempotenciaTransacaoService idempotenciaTransacaoService;
+	private final ContadorTransacaoService contadorTransacaoService;
+	private final ReplicaService replicaService;
 
 	/**
 	 * Busca uma transação pelo id
@@ -54,20 +77,25 @@ public class TransacaoController {
 	}
 
 	/**
-	 * Busca todas as transações
+	 * Busca as transações de forma paginada por cursor
 	 *
+	 * @param apos
+	 * 		Cursor retornado pela página anterior (ausente para a primeira página)
+	 * @param tamanho
+	 * 		Quantidade de transações da página
 	 * @return ResponseEntity<Object>
-	 *     ResponseEntity com todas as transações encontradas
+	 *     ResponseEntity com as transações da página e o cursor da próxima página
 	 * @author Euller Henrique
 	 */
-	@Operation(summary = "Busca todas as transações")
+	@Operation(summary = "Busca as transações de forma paginada por cursor")
 	@TransacaoApiResponses
 	@GetMapping(value = "/listar", produces = APPLICATION_JSON)
-	public ResponseEntity<Object> listarTransacoes() {
+	public ResponseEntity<Object> listarTransacoes(@RequestParam(required = false) Long apos,
+			@RequestParam(defaultValue = TAMANHO_PAGINA_PADRAO) Integer tamanho) {
 
 		try {
-			List<TransacaoResponseDto> transacaoDTOS = transacaoDtoService.listarTransacoes();
-			return ResponseEntity.ok().body(transacaoDTOS);
+			PaginaTransacaoResponseDto paginaDTO = transacaoDtoService.listarTransacoes(apos, tamanho);
+			return ResponseEntity.ok().body(paginaDTO);
 		} catch (NotFoundException | BadRequestException ex) {
 			throw ex;
 		} catch (Exception ex) {
@@ -76,9 +104,152 @@ public class TransacaoController {
 
 	}
 
+	/**
+	 * Busca as transações de um cartão, pelo token do cartão, de forma paginada por cursor
+	 *
+	 * @param tokenCartao
+	 * 		Token do cartão, retornado no pagamento
+	 * @param apos
+	 * 		Cursor retornado pela página anterior (ausente para a primeira página)
+	 * @param tamanho
+	 * 		Quantidade de transações da página
+	 * @return ResponseEntity<Object>
+	 *     ResponseEntity com as transações da página e o cursor da próxima página
+	 * @author Euller Henrique
+	 */
+	@Operation(summary = "Busca as transações de um cartão, pelo token do cartão, de forma paginada por cursor")
+	@TransacaoApiResponses
+	@GetMapping(value = "/cartao/{tokenCartao}", produces = APPLICATION_JSON)
+	public ResponseEntity<Object> listarTransacoesCartao(@PathVariable String tokenCartao, @RequestParam(required = false) Long apos,
+			@RequestParam(defaultValue = TAMANHO_PAGINA_PADRAO) Integer tamanho) {
+
+		try {
+			PaginaTransacaoResponseDto paginaDTO = transacaoDtoService.listarTransacoesCartao(tokenCartao, apos, tamanho);
+			return ResponseEntity.ok().body(paginaDTO);
+		} catch (NotFoundException | BadRequestException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new InternalServerErrorException(ex);
+		}
+
+	}
+
+	/**
+	 * Pesquisa as transações por status, estabelecimento, período, tipo de pagamento e faixa de valor, de forma paginada por cursor
+	 *
+	 * @param pesquisa
+	 * 		Filtros, ordenação, cursor retornado pela página anterior e tamanho da página
+	 * @return ResponseEntity<Object>
+	 *     ResponseEntity com as transações da página e o cursor da próxima página
+	 * @author Euller Henrique
+	 */
+	@Operation(summary = "Pesquisa as transações pelos filtros informados, de forma paginada por cursor")
+	@TransacaoApiResponses
+	@GetMapping(value = "/pesquisar", produces = APPLICATION_JSON)
+	public ResponseEntity<Object> pesquisarTransacoes(@ParameterObject PesquisaTransacaoRequestDto pesquisa) {
+
+		try {
+			PaginaTransacaoResponseDto paginaDTO = transacaoDtoService.pesquisarTransacoes(pesquisa);
+			return ResponseEntity.ok().body(paginaDTO);
+		} catch (NotFoundException | BadRequestException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new InternalServerErrorException(ex);
+		}
+
+	}
+
+	/**
+	 * Agrega o valor das transações (quantidade, soma, média, mínimo e máximo) por estabelecimento, status, tipo de pagamento e dia ou hora
+	 *
+	 * @param agregacao
+	 * 		Agrupamentos e período da agregação
+	 * @return ResponseEntity<Object>
+	 *     ResponseEntity com os dados de cada grupo
+	 * @author Euller Henrique
+	 */
+	@Operation(summary = "Agrega o valor das transações pelos agrupamentos e período informados")
+	@TransacaoApiResponses
+	@GetMapping(value = "/agregar", produces = APPLICATION_JSON)
+	public ResponseEntity<Object> agregarTransacoes(@ParameterObject AgregacaoTransacaoRequestDto agregacao) {
+
+		try {
+			List<AgregacaoTransacaoResponseDto> gruposDTO = transacaoDtoService.agregarTransacoes(agregacao);
+			return ResponseEntity.ok().body(gruposDTO);
+		} catch (NotFoundException | BadRequestException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new InternalServerErrorException(ex);
+		}
+
+	}
+
+	/**
+	 * Obtém a quantidade e o valor total das transações por status e por tipo de pagamento, no total e no último minuto
+	 * <p>
+	 * Os contadores são mantidos em memória, portanto nenhuma consulta é executada no banco
+	 * </p>
+	 *
+	 * @return ResponseEntity<Object>
+	 *     ResponseEntity com os contadores por status e por tipo de pagamento
+	 * @author Euller Henrique
+	 */
+	@Operation(summary = "Obtém os contadores de transações por status e por tipo de pagamento")
+	@TransacaoApiResponses
+	@GetMapping(value = "/contadores", produces = APPLICATION_JSON)
+	public ResponseEntity<Object> obterContadores() {
+
+		try {
+			ContadoresTransacaoResponseDto contadoresDTO = contadorTransacaoService.obterContadores();
+			return ResponseEntity.ok().body(contadoresDTO);
+		} catch (NotFoundException | BadRequestException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new InternalServerErrorException(ex);
+		}
+
+	}
+
+	/**
+	 * Exporta todas as transações no formato NDJSON (um json por linha)
+	 * <p>
+	 * A resposta é escrita à medida que as transações são lidas do banco
+	 * </p>
+	 * <p>
+	 * O cabeçalho Consistency-Token também vale para a exportação: o stream é escrito em outra thread, que recebe a decisão do
+	 * {@link com.api.pagamento.infra.filter.replica.LeituraReplicaFilter} (primário ou réplica) tomada na thread da requisição
+	 * </p>
+	 *
+	 * @return ResponseEntity<StreamingResponseBody>
+	 *     ResponseEntity com o stream das transações
+	 * @author Euller Henrique
+	 */
+	@Operation(summary = "Exporta todas as transações no formato NDJSON")
+	@GetMapping(value = "/exportar", produces = APPLICATION_NDJSON)
+	public ResponseEntity<StreamingResponseBody> exportarTransacoes() {
+		boolean primarioFixado = RoteamentoDataSource.primarioFixado();
+		StreamingResponseBody corpo = saida -> {
+			if (primarioFixado) {
+				RoteamentoDataSource.fixarPrimario();
+			}
+			try {
+				transacaoDtoService.exportarTransacoes(saida);
+			} finally {
+				RoteamentoDataSource.liberar();
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(corpo);
+	}
+
 	/**
 	 * Realiza um pagamento
+	 * <p>
+	 * Quando o cabeçalho Idempotency-Key é enviado, novas tentativas com a mesma chave retornam a transação já realizada em vez de realizar
+	 * um novo pagamento
+	 * </p>
 	 *
+	 * @param chaveIdempotencia
+	 * 		Chave de idempotência do pagamento (opcional)
 	 * @param request
 	 * 		Objeto que contém os dados da transação
 	 * @return ResponseEntity<Object>
@@ -88,11 +259,42 @@ public class TransacaoController {
 	@Operation(summary = "Realiza um pagamento")
 	@TransacaoApiResponses
 	@PostMapping(value = "/pagar", produces = APPLICATION_JSON, consumes = APPLICATION_JSON)
-	public ResponseEntity<Object> pagar(@RequestBody @Valid TransacaoRequestDto request) {
+	public ResponseEntity<Object> pagar(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia,
+			@RequestBody @Valid TransacaoRequestDto request) {
 
 		try {
-			TransacaoResponseDto transacaoDTO = transacaoDtoService.pagar(request);
-			return ResponseEntity.ok().body(transacaoDTO);
+			TransacaoResponseDto transacaoDTO = chaveIdempotencia == null ?
+					transacaoDtoService.pagar(request) :
+					idempotenciaTransacaoService.executar(chaveIdempotencia, () -> transacaoDtoService.pagar(request));
+			return ResponseEntity.ok().headers(obterCabecalhosEscrita()).body(transacaoDTO);
+		} catch (NotFoundException | BadRequestException | ConflictException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new InternalServerErrorException(ex);
+		}
+
+	}
+
+	/**
+	 * Realiza os pagamentos de um lote
+	 * <p>
+	 * Cada item é validado separadamente e recebe o seu resultado (transação realizada ou erro), portanto um item inválido não impede os demais
+	 * </p>
+	 *
+	 * @param requests
+	 * 		Lista de objetos que contêm os dados das transações
+	 * @return ResponseEntity<Object>
+	 *     	ResponseEntity com o resultado de cada item do lote
+	 * @author Euller Henrique
+	 */
+	@Operation(summary = "Realiza os pagamentos de um lote")
+	@TransacaoApiResponses
+	@PostMapping(value = "/pagar/lote", produces = APPLICATION_JSON, consumes = APPLICATION_JSON)
+	public ResponseEntity<Object> pagarLote(@RequestBody List<TransacaoRequestDto> requests) {
+
+		try {
+			List<ResultadoPagamentoLoteResponseDto> resultadosDTO = transacaoDtoService.pagarLote(requests);
+			return ResponseEntity.ok().headers(obterCabecalhosEscrita()).body(resultadosDTO);
 		} catch (NotFoundException | BadRequestException ex) {
 			throw ex;
 		} catch (Exception ex) {
@@ -117,7 +319,7 @@ public class TransacaoController {
 
 		try {
 			TransacaoResponseDto transacaoDto = transacaoDtoService.estornar(id);
-			return ResponseEntity.ok().body(transacaoDto);
+			return ResponseEntity.ok().headers(obterCabecalhosEscrita()).body(transacaoDto);
 		} catch (NotFoundException | BadRequestException ex) {
 			throw ex;
 		} catch (Exception ex) {
@@ -126,4 +328,49 @@ public class TransacaoController {
 
 	}
 
+	/**
+	 * Realiza os estornos de um lote
+	 * <p>
+	 * Cada id recebe o seu resultado (transação estornada ou erro), portanto um id inválido não impede os demais
+	 * </p>
+	 *
+	 * @param ids
+	 * 		Ids das transações
+	 * @return ResponseEntity<Object>
+	 *     ResponseEntity com o resultado de cada id do lote
+	 * @author Euller Henrique
+	 */
+	@Operation(summary = "Realiza os estornos de um lote")
+	@TransacaoApiResponses
+	@PutMapping(value = "/estornar/lote", produces = APPLICATION_JSON, consumes = APPLICATION_JSON)
+	public ResponseEntity<Object> estornarLote(@RequestBody List<Long> ids) {
+
+		try {
+			List<ResultadoEstornoLoteResponseDto> resultadosDTO = transacaoDtoService.estornarLote(ids);
+			return ResponseEntity.ok().headers(obterCabecalhosEscrita()).body(resultadosDTO);
+		} catch (NotFoundException | BadRequestException ex) {
+			throw ex;
+		} catch (Exception ex) {
+			throw new InternalServerErrorException(ex);
+		}
+
+	}
+
+	/**
+	 * Obtém os cabeçalhos da resposta de uma escrita
+	 * <p>
+	 * O cabeçalho Consistency-Token, quando enviado pelo cliente nas consultas seguintes, garante que elas vejam esta escrita mesmo que a
+	 * réplica ainda não a tenha recebido
+	 * </p>
+	 *
+	 * @return HttpHeaders
+	 *     Cabeçalhos com a posição da escrita no log do banco (vazio se a réplica não estiver habilitada)
+	 * @author Euller Henrique
+	 */
+	private HttpHeaders obterCabecalhosEscrita() {
+		HttpHeaders cabecalhos = new HttpHeaders();
+		replicaService.obterPosicaoEscrita().ifPresent(posicao -> cabecalhos.set(CONSISTENCY_TOKEN, posicao));
+		return cabecalhos;
+	}
+
 }
@@ -0,0 +1,19 @@
+package com.api.pagamento.domain.annotation.id;
+
+import com.api.pagamento.infra.id.IdTemporalGenerator;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Anotação responsável por gerar o id da entidade na aplicação, ordenado pelo tempo e sem consulta ao banco ({@link com.api.pagamento.infra.id.GeradorIdTemporal})
+ *
+ * @author Euller Henrique
+ */
+@IdGeneratorType(IdTemporalGenerator.class)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IdTemporal {}
@@ -0,0 +1,13 @@
+package com.api.pagamento.domain.constant.agregacao;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os limites da agregação de transações
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class AgregacaoConstants {
+	public static final int QUANTIDADE_MAXIMA_GRUPOS = 10000;
+}
@@ -0,0 +1,18 @@
+package com.api.pagamento.domain.constant.arquivo;
+
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Constantes responsáveis por armazenar o formato dos segmentos do arquivo de transações
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class ArquivoConstants {
+	public static final int TRANSACOES_POR_BLOCO = 256;
+	public static final String EXTENSAO_SEGMENTO = ".seg";
+	public static final String EXTENSAO_SEGMENTO_TEMPORARIO = ".tmp";
+	public static final Duration IDADE_MINIMA_SEGMENTO_TEMPORARIO_DESCARTADO = Duration.ofHours(1);
+}
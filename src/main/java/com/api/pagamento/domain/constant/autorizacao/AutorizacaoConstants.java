@@ -0,0 +1,19 @@
+package com.api.pagamento.domain.constant.autorizacao;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os nomes das regras de autorização e da métrica que conta as decisões de cada regra
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class AutorizacaoConstants {
+	public static final String METRICA_REGRA_AUTORIZACAO = "api.autorizacao.regra";
+	public static final String TAG_REGRA_AUTORIZACAO = "regra";
+	public static final String REGRA_ESTABELECIMENTO_BLOQUEADO = "estabelecimento-bloqueado";
+	public static final String REGRA_PREFIXO_CARTAO_BLOQUEADO = "prefixo-cartao-bloqueado";
+	public static final String PREFIXO_REGRA_VALOR_MAXIMO = "valor-maximo-";
+	public static final String PREFIXO_REGRA_PARCELAS_MAXIMAS = "parcelas-maximas-";
+	public static final String REGRA_AUTORIZADO = "autorizado";
+}
@@ -0,0 +1,15 @@
+package com.api.pagamento.domain.constant.bin;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os limites da tabela de BINs (primeiros dígitos do cartão)
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class BinConstants {
+	public static final int DIGITOS_BIN = 8;
+	public static final int DIGITOS_MINIMOS_BIN = 6;
+	public static final int TAMANHO_MAXIMO_BANDEIRA = 30;
+}
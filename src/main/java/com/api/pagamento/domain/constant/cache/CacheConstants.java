@@ -0,0 +1,14 @@
+package com.api.pagamento.domain.constant.cache;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os nomes dos caches
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class CacheConstants {
+	public static final String CACHE_TRANSACAO = "transacao";
+	public static final String CACHE_AGREGACAO = "agregacao";
+}
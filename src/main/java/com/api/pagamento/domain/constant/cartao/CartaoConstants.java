@@ -0,0 +1,17 @@
+package com.api.pagamento.domain.constant.cartao;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar o formato do token e da máscara do cartão
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class CartaoConstants {
+	public static final String ALGORITMO_TOKEN_CARTAO = "HmacSHA256";
+	public static final int BYTES_TOKEN_CARTAO = 16;
+	public static final int TAMANHO_MINIMO_CHAVE_TOKEN_CARTAO = 32;
+	public static final int DIGITOS_VISIVEIS_CARTAO = 4;
+	public static final char CARACTERE_MASCARA_CARTAO = '*';
+}
@@ -0,0 +1,13 @@
+package com.api.pagamento.domain.constant.contador;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar a janela dos contadores de transações
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class ContadorConstants {
+	public static final int SEGUNDOS_ULTIMO_MINUTO = 60;
+}
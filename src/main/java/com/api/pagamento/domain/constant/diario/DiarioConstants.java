@@ -0,0 +1,14 @@
+package com.api.pagamento.domain.constant.diario;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os nomes dos arquivos do diário de pagamentos
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class DiarioConstants {
+	public static final String PREFIXO_SEGMENTO_DIARIO = "diario_";
+	public static final String ARQUIVO_REJEITADOS_DIARIO = "diario_rejeitados.dat";
+}
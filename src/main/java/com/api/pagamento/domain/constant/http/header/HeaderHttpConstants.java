@@ -0,0 +1,14 @@
+package com.api.pagamento.domain.constant.http.header;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os nomes dos cabeçalhos http
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class HeaderHttpConstants {
+	public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+	public static final String CONSISTENCY_TOKEN = "Consistency-Token";
+}
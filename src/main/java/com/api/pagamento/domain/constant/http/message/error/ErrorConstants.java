@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 public class ErrorConstants {
 
 	public static final String ERRO_500_SERVIDOR_INTERNO = "Ocorreu um erro interno no servidor ao tentar realizar a operação";
+	public static final String ERRO_500_TRANSACAO_ALTERADA_DURANTE_ESTORNO = "A transação foi alterada durante o estorno";
 	public static final String ERRO_400_CAMPOS_PREENCHIDOS_INCORRETAMENTE = "Há campos preenchidos incorretamente";
 
 	public static final String ERRO_404_TRANSACAO_NAO_ENCONTRADA = "Transação não encontrada";
@@ -21,6 +22,16 @@ public class ErrorConstants {
 	public static final String ERROR_400_PAGAMENTO_AVISTA_MAIS_DE_UMA_PARCELA = "Pagamento à vista não pode ter mais de uma parcela!";
 	public static final String ERROR_400_TRANSACAO_JA_FOI_ESTORNADA = "Transação já foi estornada!";
 	public static final String ERROR_400_TRANSACAO_NEGADA_NAO_PODE_SER_ESTORNADA = "Transação negada não pode ser estornada!";
+	public static final String ERROR_400_TRANSACAO_ARQUIVADA_NAO_PODE_SER_ESTORNADA = "Transação arquivada não pode ser estornada!";
+	public static final String ERRO_400_TAMANHO_PAGINA_DEVE_SER_ENTRE_XXX_E_YYY = "O tamanho da página deve ser entre %s e %s!";
+	public static final String ERRO_400_DATA_HORA_INICIO_DEVE_SER_ANTERIOR_A_DATA_HORA_FIM = "A data e hora de início deve ser anterior à data e hora de fim!";
+	public static final String ERRO_400_VALOR_MINIMO_DEVE_SER_MENOR_OU_IGUAL_AO_VALOR_MAXIMO = "O valor mínimo deve ser menor ou igual ao valor máximo!";
+	public static final String ERRO_400_AGREGACAO_EXCEDE_XXX_GRUPOS = "A agregação excede %s grupos, reduza o período ou os agrupamentos!";
+	public static final String ERRO_400_AGRUPAMENTOS_DIA_E_HORA_NAO_PODEM_SER_COMBINADOS = "Os agrupamentos DIA e HORA não podem ser combinados!";
+	public static final String ERRO_400_TAMANHO_LOTE_DEVE_SER_ENTRE_XXX_E_YYY = "O tamanho do lote deve ser entre %s e %s!";
+	public static final String ERRO_400_CHAVE_IDEMPOTENCIA_DEVE_TER_NO_MAXIMO_XXX_CARACTERES = "A chave de idempotência deve ter no máximo %s caracteres!";
+
+	public static final String ERRO_409_PAGAMENTO_COM_A_CHAVE_IDEMPOTENCIA_EM_ANDAMENTO = "O pagamento com esta chave de idempotência ainda está em andamento, tente novamente mais tarde!";
 
 	public static final String ERRO_400_O_CAMPO_XXX_DEVE_SER_DO_TIPO_YYY = WordErrorConstants.O_CAMPO_XXX + DividerConstants.ESPACO + WordErrorConstants.DEVE_SER + DividerConstants.ESPACO + WordErrorConstants.DO_TIPO_YYY;
 	public static final String ERRO_400_O_CAMPO_XXX_DEVE_SER_DO_TIPO_YYY_NO_FORMATO = ERRO_400_O_CAMPO_XXX_DEVE_SER_DO_TIPO_YYY + DividerConstants.ESPACO + WordErrorConstants.NO_FORMATO_YYY;
@@ -0,0 +1,18 @@
+package com.api.pagamento.domain.constant.id;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar o formato dos ids gerados pela aplicação (milissegundos desde a época, nó e contador)
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class IdConstants {
+	public static final long EPOCA_ID = 1704067200000L; // 2024-01-01T00:00:00Z
+	public static final int BITS_NO_ID = 10;
+	public static final int BITS_CONTADOR_ID = 12;
+	public static final int NO_MAXIMO_ID = (1 << BITS_NO_ID) - 1;
+	public static final long MASCARA_CONTADOR_ID = (1L << BITS_CONTADOR_ID) - 1;
+	public static final String PROPRIEDADE_GERADOR_ID = "api.id.gerador";
+}
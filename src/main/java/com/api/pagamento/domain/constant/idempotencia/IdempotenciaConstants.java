@@ -0,0 +1,14 @@
+package com.api.pagamento.domain.constant.idempotencia;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os limites das chaves de idempotência
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class IdempotenciaConstants {
+	public static final int TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA = 255;
+	public static final long INTERVALO_CONSULTA_CHAVE_RESERVADA_MS = 50;
+}
@@ -0,0 +1,17 @@
+package com.api.pagamento.domain.constant.livro;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os nomes dos arquivos e o tamanho do índice do livro de transações
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class LivroConstants {
+	public static final String PREFIXO_SEGMENTO_LIVRO = "livro_";
+	public static final String EXTENSAO_SEGMENTO_LIVRO = ".log";
+	public static final String ARQUIVO_SNAPSHOT_LIVRO = "livro.snapshot";
+	public static final String EXTENSAO_SNAPSHOT_TEMPORARIO = ".tmp";
+	public static final int BITS_BLOCO_INDICE_LIVRO = 16;
+}
@@ -0,0 +1,14 @@
+package com.api.pagamento.domain.constant.lote;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os limites das operações em lote
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class LoteConstants {
+	public static final int TAMANHO_LOTE_MINIMO = 1;
+	public static final int TAMANHO_LOTE_MAXIMO = 1000;
+}
@@ -0,0 +1,16 @@
+package com.api.pagamento.domain.constant.nsu;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar o intervalo dos nsus e o tamanho dos blocos reservados por vez
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class NsuConstants {
+	public static final int NSU_MINIMO = 100_000_000;
+	public static final int TAMANHO_BLOCO_NSU = 1000;
+	public static final int QUANTIDADE_BLOCOS_NSU = 900_000;
+	public static final String SEQUENCIA_BLOCO_NSU = "seq_bloco_nsu";
+}
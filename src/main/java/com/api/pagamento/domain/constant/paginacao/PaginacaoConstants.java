@@ -0,0 +1,16 @@
+package com.api.pagamento.domain.constant.paginacao;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os limites de paginação
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class PaginacaoConstants {
+	public static final String TAMANHO_PAGINA_PADRAO = "50";
+	public static final int TAMANHO_PAGINA_MINIMO = 1;
+	public static final int TAMANHO_PAGINA_MAXIMO = 500;
+	public static final String TAMANHO_LOTE_EXPORTACAO = "500";
+}
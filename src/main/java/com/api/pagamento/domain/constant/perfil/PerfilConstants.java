@@ -0,0 +1,16 @@
+package com.api.pagamento.domain.constant.perfil;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os nomes dos perfis da aplicação
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class PerfilConstants {
+	public static final String PERFIL_MEMORIA = "memoria";
+	public static final String PERFIL_LIVRO = "livro";
+	public static final String PERFIL_BANCO = "!" + PERFIL_MEMORIA + " & !" + PERFIL_LIVRO;
+	public static final String PERFIL_PERSISTENTE = "!" + PERFIL_MEMORIA;
+}
@@ -0,0 +1,17 @@
+package com.api.pagamento.domain.constant.velocidade;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Constantes responsáveis por armazenar os motivos de negação pelos limites de velocidade do cartão e as métricas dos limites
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class VelocidadeConstants {
+	public static final String METRICA_VELOCIDADE_NEGADO = "api.velocidade.negado";
+	public static final String METRICA_VELOCIDADE_CARTOES = "api.velocidade.cartoes";
+	public static final String TAG_MOTIVO_VELOCIDADE = "motivo";
+	public static final String MOTIVO_QUANTIDADE_MAXIMA_VELOCIDADE = "velocidade-quantidade-maxima";
+	public static final String MOTIVO_VALOR_MAXIMO_VELOCIDADE = "velocidade-valor-maximo";
+}
@@ -4,6 +4,7 @@ import com.api.pagamento.domain.dto.request.transacao.descricao.DescricaoTransac
 import com.api.pagamento.domain.dto.request.transacao.forma_pagamento.FormaPagamentoTransacaoRequestDto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,9 +27,11 @@ public class TransacaoRequestDto {
 	private String cartao;
 
 	@Valid
+	@NotNull(message = EH_OBRIGATORIO)
 	private DescricaoTransacaoRequestDto descricao;
 
 	@Valid
+	@NotNull(message = EH_OBRIGATORIO)
 	private FormaPagamentoTransacaoRequestDto formaPagamento;
 
 }
@@ -0,0 +1,37 @@
+package com.api.pagamento.domain.dto.request.transacao.agregacao;
+
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.api.pagamento.domain.constant.pattern.PatternConstants.PATTERN_DATA_HORA_PT_BR;
+
+/**
+ * Dto responsável por armazenar os agrupamentos e o período da agregação de transações
+ * <p>
+ * Sem agrupamentos, a agregação retorna os totais do período em um único grupo
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgregacaoTransacaoRequestDto {
+
+	@Builder.Default
+	private List<AgrupamentoTransacaoEnum> agrupamentos = new ArrayList<>();
+	@DateTimeFormat(pattern = PATTERN_DATA_HORA_PT_BR)
+	private LocalDateTime dataHoraInicio;
+	@DateTimeFormat(pattern = PATTERN_DATA_HORA_PT_BR)
+	private LocalDateTime dataHoraFim;
+
+}
@@ -0,0 +1,52 @@
+package com.api.pagamento.domain.dto.request.transacao.pesquisa;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.pesquisa.OrdenacaoTransacaoEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.api.pagamento.domain.constant.paginacao.PaginacaoConstants.TAMANHO_PAGINA_PADRAO;
+import static com.api.pagamento.domain.constant.pattern.PatternConstants.PATTERN_DATA_HORA_PT_BR;
+
+/**
+ * Dto responsável por armazenar os filtros, a ordenação e a paginação da pesquisa de transações
+ * <p>
+ * Todos os filtros são opcionais e, quando informados, são combinados entre si
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PesquisaTransacaoRequestDto {
+
+	private StatusTransacaoEnum status;
+	private String estabelecimento;
+	@DateTimeFormat(pattern = PATTERN_DATA_HORA_PT_BR)
+	private LocalDateTime dataHoraInicio;
+	@DateTimeFormat(pattern = PATTERN_DATA_HORA_PT_BR)
+	private LocalDateTime dataHoraFim;
+	private TipoPagamentoTransacaoEnum tipo;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+
+	@Builder.Default
+	private OrdenacaoTransacaoEnum ordenacao = OrdenacaoTransacaoEnum.DATA_HORA;
+	@Builder.Default
+	private Sort.Direction direcao = Sort.Direction.DESC;
+
+	private Long apos;
+	@Builder.Default
+	private int tamanho = Integer.parseInt(TAMANHO_PAGINA_PADRAO);
+
+}
@@ -20,6 +20,8 @@ public class TransacaoResponseDto {
 
     private String id;
     private String cartao;
+    private String tokenCartao;
+    private String bandeira;
     private DescricaoTransacaoResponseDto descricao;
     private FormaPagamentoTransacaoResponseDto formaPagamento;
 
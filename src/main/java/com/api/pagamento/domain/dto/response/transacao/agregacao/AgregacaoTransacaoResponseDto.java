@@ -0,0 +1,43 @@
+package com.api.pagamento.domain.dto.response.transacao.agregacao;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+import static com.api.pagamento.domain.constant.pattern.PatternConstants.PATTERN_DATA_HORA_PT_BR;
+
+/**
+ * Dto responsável por armazenar os dados de resposta de um grupo da agregação de transações
+ * <p>
+ * Os campos de agrupamento não solicitados não são retornados
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AgregacaoTransacaoResponseDto {
+
+    private String estabelecimento;
+    private StatusTransacaoEnum status;
+    private TipoPagamentoTransacaoEnum tipo;
+    @JsonFormat(pattern = PATTERN_DATA_HORA_PT_BR)
+    private LocalDateTime periodo;
+
+    private Long quantidade;
+    private String total;
+    private String media;
+    private String minimo;
+    private String maximo;
+
+}
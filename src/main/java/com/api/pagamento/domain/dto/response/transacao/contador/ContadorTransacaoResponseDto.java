@@ -0,0 +1,24 @@
+package com.api.pagamento.domain.dto.response.transacao.contador;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dto responsável por armazenar os dados de resposta de um contador de transações (de um status ou de um tipo de pagamento)
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContadorTransacaoResponseDto {
+
+    private Long quantidade;
+    private String total;
+    private Long quantidadeUltimoMinuto;
+    private String totalUltimoMinuto;
+
+}
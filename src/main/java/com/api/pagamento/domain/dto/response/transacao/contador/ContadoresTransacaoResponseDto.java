@@ -0,0 +1,30 @@
+package com.api.pagamento.domain.dto.response.transacao.contador;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Dto responsável por armazenar os dados de resposta dos contadores de transações por status e por tipo de pagamento
+ * <p>
+ * Os contadores por status refletem o status atual das transações (um estorno sai de AUTORIZADO e entra em CANCELADO), enquanto os contadores
+ * do último minuto contam as transações que entraram em cada status ou foram pagas com cada tipo nesse período
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContadoresTransacaoResponseDto {
+
+    private Map<StatusTransacaoEnum, ContadorTransacaoResponseDto> status;
+    private Map<TipoPagamentoTransacaoEnum, ContadorTransacaoResponseDto> tipos;
+
+}
@@ -29,5 +29,6 @@ public class DescricaoTransacaoResponseDto {
     private String nsu;
     private String codigoAutorizacao;
     private StatusTransacaoEnum status;
+    private String motivo;
 
 }
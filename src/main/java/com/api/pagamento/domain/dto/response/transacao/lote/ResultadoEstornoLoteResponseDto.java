@@ -0,0 +1,25 @@
+package com.api.pagamento.domain.dto.response.transacao.lote;
+
+import com.api.pagamento.domain.dto.response.error.MessageErrorResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dto responsável por armazenar o resultado de um item de um estorno em lote (a transação estornada ou o erro)
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoEstornoLoteResponseDto {
+
+    private Long id;
+    private TransacaoResponseDto transacao;
+    private MessageErrorResponseDto erro;
+
+}
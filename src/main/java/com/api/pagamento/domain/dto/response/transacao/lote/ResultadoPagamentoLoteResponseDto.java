@@ -0,0 +1,25 @@
+package com.api.pagamento.domain.dto.response.transacao.lote;
+
+import com.api.pagamento.domain.dto.response.error.MessageErrorResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dto responsável por armazenar o resultado de um item de um pagamento em lote (a transação realizada ou o erro)
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoPagamentoLoteResponseDto {
+
+    private Integer indice;
+    private TransacaoResponseDto transacao;
+    private MessageErrorResponseDto erro;
+
+}
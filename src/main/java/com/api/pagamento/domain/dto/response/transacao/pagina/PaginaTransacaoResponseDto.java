@@ -0,0 +1,25 @@
+package com.api.pagamento.domain.dto.response.transacao.pagina;
+
+import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Dto responsável por armazenar uma página de transações e o cursor da próxima página
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaTransacaoResponseDto {
+
+    private List<TransacaoResponseDto> transacoes;
+    private String proximoCursor;
+
+}
@@ -0,0 +1,13 @@
+package com.api.pagamento.domain.enumeration.datasource;
+
+/**
+ * Enum responsável por armazenar os bancos para os quais as conexões podem ser roteadas
+ *
+ * @author Euller Henrique
+ */
+public enum OrigemDataSourceEnum {
+
+	PRIMARIO,
+	REPLICA
+
+}
@@ -0,0 +1,27 @@
+package com.api.pagamento.domain.enumeration.transacao.agregacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Enum responsável por armazenar os campos pelos quais as transações podem ser agrupadas na agregação
+ * <p>
+ * Cada agrupamento tem o nome da coluna no resultado e a expressão sql do group by
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Getter
+@AllArgsConstructor
+public enum AgrupamentoTransacaoEnum {
+
+	ESTABELECIMENTO("estabelecimento", "estabelecimento"),
+	STATUS("status", "status"),
+	TIPO("tipo", "tipo"),
+	DIA("periodo", "date_trunc('day', data_hora)"),
+	HORA("periodo", "date_trunc('hour', data_hora)");
+
+	private final String coluna;
+	private final String expressao;
+
+}
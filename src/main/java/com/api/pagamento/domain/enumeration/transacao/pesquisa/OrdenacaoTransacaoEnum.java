@@ -0,0 +1,24 @@
+package com.api.pagamento.domain.enumeration.transacao.pesquisa;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Enum responsável por armazenar os campos pelos quais a pesquisa de transações pode ser ordenada
+ * <p>
+ * O id é sempre usado como critério de desempate, para que a ordem seja estável entre as páginas
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Getter
+@AllArgsConstructor
+public enum OrdenacaoTransacaoEnum {
+
+	ID("id"),
+	DATA_HORA("descricao.dataHora"),
+	VALOR("descricao.valor");
+
+	private final String campo;
+
+}
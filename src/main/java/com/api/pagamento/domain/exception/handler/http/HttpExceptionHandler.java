@@ -1,6 +1,7 @@
 package com.api.pagamento.domain.exception.handler.http;
 
 import com.api.pagamento.domain.exception.http.BadRequestException;
+import com.api.pagamento.domain.exception.http.ConflictException;
 import com.api.pagamento.domain.exception.http.InternalServerErrorException;
 import com.api.pagamento.domain.exception.http.NotFoundException;
 import com.api.pagamento.domain.exception.handler.util.ExceptionUtil;
@@ -52,6 +53,21 @@ public class HttpExceptionHandler {
 				ex.getMessage());
 	}
 
+	/**
+	 * Captura a exceção de conflito com o estado atual do recurso
+	 *
+	 * @param ex
+	 * 		Exceção ConflictException
+	 * @return ResponseEntity
+	 *     Retorna um objeto ResponseEntity com o status 409 e a mensagem de erro
+	 * @author Euller Henrique
+	 */
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<Object> handleConflictException(ConflictException ex) {
+		return httpResponseUtilService.obterMessagerErrorResponse(HttpStatus.CONFLICT.value(), HttpStatus.CONFLICT.getReasonPhrase(),
+				ex.getMessage());
+	}
+
 	/**
 	 * Captura a exceção de erro interno do servidor
 	 *
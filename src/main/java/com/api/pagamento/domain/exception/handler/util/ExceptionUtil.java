@@ -26,8 +26,23 @@ public class ExceptionUtil {
 	 * @author Euller Henrique
 	 */
 	public ResponseEntity<Object> obterMessagerErrorResponse(int status, String error, String message) {
-		MessageErrorResponseDto messageErrorResponseDto = MessageErrorResponseDto.builder().status(status).error(error).message(message)
-				.build();
-		return ResponseEntity.status(status).body(messageErrorResponseDto);
+		return ResponseEntity.status(status).body(obterMessageErrorResponseDto(status, error, message));
+	}
+
+	/**
+	 * Cria um MessageErrorResponseDto com o status, erro e mensagem de erro
+	 *
+	 * @param status
+	 * 		Status do erro
+	 * @param error
+	 * 		Mensagem de erro
+	 * @param message
+	 * 		Mensagem de erro
+	 * @return MessageErrorResponseDto
+	 *     Retorna um objeto MessageErrorResponseDto com o status, erro e mensagem de erro
+	 * @author Euller Henrique
+	 */
+	public MessageErrorResponseDto obterMessageErrorResponseDto(int status, String error, String message) {
+		return MessageErrorResponseDto.builder().status(status).error(error).message(message).build();
 	}
 }
@@ -0,0 +1,19 @@
+package com.api.pagamento.domain.exception.http;
+
+/**
+ * Classe que representa uma exceção de conflito com o estado atual do recurso
+ *
+ * @author Euller Henrique
+ */
+public class ConflictException extends RuntimeException{
+
+    /**
+     * Construtor da exceção
+     *
+     * @param message
+     *          Mensagem de erro
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
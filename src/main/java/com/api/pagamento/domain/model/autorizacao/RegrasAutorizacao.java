@@ -0,0 +1,37 @@
+package com.api.pagamento.domain.model.autorizacao;
+
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Model responsável por representar o arquivo de regras de autorização dos pagamentos
+ * <p>
+ * Um pagamento é negado pela primeira regra que ele não atende, na ordem: estabelecimento bloqueado, prefixo do cartão bloqueado, valor
+ * máximo do tipo de pagamento e quantidade máxima de parcelas do tipo de pagamento. Um tipo de pagamento sem valor ou parcelas máximas
+ * não tem limite
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegrasAutorizacao {
+
+	private Map<TipoPagamentoTransacaoEnum, BigDecimal> valoresMaximos;
+
+	private Map<TipoPagamentoTransacaoEnum, Integer> parcelasMaximas;
+
+	private Set<String> estabelecimentosBloqueados;
+
+	private Set<String> prefixosCartaoBloqueados;
+
+}
@@ -0,0 +1,49 @@
+package com.api.pagamento.domain.model.idempotencia;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import static com.api.pagamento.domain.constant.idempotencia.IdempotenciaConstants.TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA;
+
+/**
+ * Entidade responsável por representar a tabela Idempotencia
+ * <p>
+ * Armazena a resposta de cada pagamento realizado com uma chave de idempotência, para que uma nova tentativa com a mesma chave
+ * receba a mesma resposta em vez de gerar um novo pagamento. A chave é inserida sem resposta antes do pagamento (reserva), portanto a
+ * resposta vazia indica um pagamento em andamento
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotencia")
+public class Idempotencia implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA)
+    private String chave;
+
+    @Column(columnDefinition = "text")
+    private String resposta;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+
+}
@@ -1,5 +1,6 @@
 package com.api.pagamento.domain.model.transacao;
 
+import com.api.pagamento.domain.annotation.id.IdTemporal;
 import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
 import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
 import jakarta.persistence.*;
@@ -16,6 +17,14 @@ import java.io.Serializable;
 
 /**
  * Entidade responsável por representar a tabela Transacao
+ * <p>
+ * A tabela é particionada por mês de data_hora e é criada, junto com os seus índices, pelo schema-postgres.sql. O id é gerado pela aplicação,
+ * ordenado pelo tempo ({@link IdTemporal})
+ * </p>
+ * <p>
+ * O número do cartão não é salvo: o cartão guarda apenas os últimos dígitos (mascarado) e o token do cartão identifica as transações do
+ * mesmo cartão
+ * </p>
  *
  * @author Euller Henrique
  */
@@ -32,22 +41,27 @@ public class Transacao implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy= GenerationType.SEQUENCE, generator = "seq_transacao")
-    @SequenceGenerator(name = "seq_transacao", sequenceName = "seq_transacao", allocationSize=1)
+    @IdTemporal
     private Long id;
 
     @NotNull
     @Column(length = 16)
     private String cartao;
 
+    @Column(length = 22)
+    private String tokenCartao;
+
+    @Column(length = 30)
+    private String bandeira;
+
     @Valid
     @NotNull
-    @OneToOne(fetch = FetchType.LAZY, cascade= CascadeType.PERSIST)
+    @Embedded
     private DescricaoTransacao descricao;
 
     @Valid
     @NotNull
-    @OneToOne(fetch = FetchType.LAZY, cascade=CascadeType.PERSIST)
+    @Embedded
     private FormaPagamentoTransacao formaPagamento;
 
 }
\ No newline at end of file
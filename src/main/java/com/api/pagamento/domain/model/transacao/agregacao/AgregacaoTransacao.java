@@ -0,0 +1,43 @@
+package com.api.pagamento.domain.model.transacao.agregacao;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção responsável por representar um grupo do resultado da agregação de transações
+ * <p>
+ * Apenas os campos dos agrupamentos solicitados são preenchidos
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgregacaoTransacao implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String estabelecimento;
+    private StatusTransacaoEnum status;
+    private TipoPagamentoTransacaoEnum tipo;
+    private LocalDateTime periodo;
+
+    private Long quantidade;
+    private BigDecimal total;
+    private BigDecimal media;
+    private BigDecimal minimo;
+    private BigDecimal maximo;
+
+}
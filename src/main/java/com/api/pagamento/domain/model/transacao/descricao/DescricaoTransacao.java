@@ -7,7 +7,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.DynamicUpdate;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -15,27 +14,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
- * Entidade responsável por representar a tabela Descricao
+ * Objeto embutido responsável por representar as colunas da descrição na tabela Transacao
  *
  * @author Euller Henrique
  */
 @Data
-@Entity
 @Builder
-@DynamicUpdate
+@Embeddable
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "descricao_transacao")
 public class DescricaoTransacao implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
-    @Id
-    @GeneratedValue(strategy= GenerationType.SEQUENCE, generator = "seq_descricao")
-    @SequenceGenerator(name = "seq_descricao", sequenceName = "seq_descricao", allocationSize=1)
-    private Long id;
-
     @NotNull
     @Column(precision = 10, scale = 2)
     private BigDecimal valor;
@@ -60,4 +52,4 @@ public class DescricaoTransacao implements Serializable {
     @Enumerated(EnumType.STRING)
     private StatusTransacaoEnum status;
 
-}
\ No newline at end of file
+}
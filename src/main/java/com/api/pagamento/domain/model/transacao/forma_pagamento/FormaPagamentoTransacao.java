@@ -7,33 +7,25 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.DynamicUpdate;
 
 import java.io.Serial;
 import java.io.Serializable;
 
 /**
- * Entidade responsável por representar a tabela FormaPagamento
+ * Objeto embutido responsável por representar as colunas da forma de pagamento na tabela Transacao
  *
  * @author Euller Henrique
  */
 @Data
-@Entity
 @Builder
-@DynamicUpdate
+@Embeddable
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "forma_pagamento_transacao")
 public class FormaPagamentoTransacao implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
-    @Id
-    @GeneratedValue(strategy= GenerationType.SEQUENCE, generator = "seq_forma_pagamento")
-    @SequenceGenerator(name = "seq_forma_pagamento", sequenceName = "seq_forma_pagamento", allocationSize=1)
-    private Long id;
-
     @NotNull
     @Column(length = 20)
     @Enumerated(EnumType.STRING)
@@ -42,4 +34,4 @@ public class FormaPagamentoTransacao implements Serializable {
     @NotNull
     private Integer parcelas;
 
-}
\ No newline at end of file
+}
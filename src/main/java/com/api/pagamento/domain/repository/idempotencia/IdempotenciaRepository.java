@@ -0,0 +1,98 @@
+package com.api.pagamento.domain.repository.idempotencia;
+
+import com.api.pagamento.domain.model.idempotencia.Idempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositório responsável por conectar a entidade da idempotência a tabela idempotencia
+ *
+ * @author Euller Henrique
+ */
+public interface IdempotenciaRepository extends JpaRepository<Idempotencia, String> {
+
+	/**
+	 * Reserva a chave de idempotência, ainda sem resposta, em um único comando que não altera a chave se ela já existir
+	 *
+	 * @param chave
+	 * 		Chave de idempotência
+	 * @param dataHora
+	 * 		Data e hora da reserva
+	 * @return int
+	 * 		1 se a chave foi reservada, 0 se a chave já existia
+	 * @author Euller Henrique
+	 */
+	@Modifying
+	@Transactional
+	@Query(value = "INSERT INTO idempotencia (chave, data_hora) VALUES (:chave, :dataHora) ON CONFLICT (chave) DO NOTHING", nativeQuery = true)
+	int reservar(@Param("chave") String chave, @Param("dataHora") LocalDateTime dataHora);
+
+	/**
+	 * Assume a reserva da chave de idempotência ainda sem resposta feita antes do limite (a instância que a reservou parou durante o pagamento),
+	 * renovando a data e hora da reserva. O limite é verificado no próprio comando, portanto apenas uma instância assume a reserva
+	 *
+	 * @param chave
+	 * 		Chave de idempotência
+	 * @param limite
+	 * 		Data e hora antes da qual a reserva é considerada abandonada
+	 * @param dataHora
+	 * 		Data e hora da nova reserva
+	 * @return int
+	 * 		1 se a reserva foi assumida, 0 caso contrário
+	 * @author Euller Henrique
+	 */
+	@Modifying
+	@Transactional
+	@Query("update Idempotencia i set i.dataHora = :dataHora where i.chave = :chave and i.resposta is null and i.dataHora < :limite")
+	int assumirReserva(@Param("chave") String chave, @Param("limite") LocalDateTime limite, @Param("dataHora") LocalDateTime dataHora);
+
+	/**
+	 * Registra a resposta do pagamento na chave de idempotência reservada
+	 *
+	 * @param chave
+	 * 		Chave de idempotência
+	 * @param resposta
+	 * 		Resposta do pagamento serializada
+	 * @return int
+	 * 		Quantidade de chaves alteradas
+	 * @author Euller Henrique
+	 */
+	@Modifying
+	@Transactional
+	@Query("update Idempotencia i set i.resposta = :resposta where i.chave = :chave")
+	int registrarResposta(@Param("chave") String chave, @Param("resposta") String resposta);
+
+	/**
+	 * Remove a reserva da chave de idempotência, se ela ainda não tiver resposta
+	 *
+	 * @param chave
+	 * 		Chave de idempotência
+	 * @return int
+	 * 		Quantidade de chaves removidas
+	 * @author Euller Henrique
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from Idempotencia i where i.chave = :chave and i.resposta is null")
+	int liberar(@Param("chave") String chave);
+
+	/**
+	 * Remove as chaves de idempotência registradas antes da data informada, em um único comando
+	 *
+	 * @param limite
+	 * 		Data e hora limite
+	 * @return int
+	 * 		Quantidade de chaves removidas
+	 * @author Euller Henrique
+	 */
+	@Modifying
+	@Transactional
+	@Query("delete from Idempotencia i where i.dataHora < :limite")
+	int removerAntesDe(@Param("limite") LocalDateTime limite);
+
+}
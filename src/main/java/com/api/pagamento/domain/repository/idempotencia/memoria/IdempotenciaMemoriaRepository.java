@@ -0,0 +1,96 @@
+package com.api.pagamento.domain.repository.idempotencia.memoria;
+
+import com.api.pagamento.domain.model.idempotencia.Idempotencia;
+import com.api.pagamento.domain.repository.idempotencia.IdempotenciaRepository;
+import com.api.pagamento.domain.repository.memoria.MemoriaRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_LIVRO;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_MEMORIA;
+
+/**
+ * Repositório das chaves de idempotência em memória, usado nos perfis memoria e livro no lugar da tabela idempotencia
+ * <p>
+ * As chaves são perdidas ao reiniciar a aplicação: uma nova tentativa com uma chave usada antes do reinício gera um novo pagamento
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+@Profile({ PERFIL_MEMORIA, PERFIL_LIVRO })
+public class IdempotenciaMemoriaRepository extends MemoriaRepository<Idempotencia, String> implements IdempotenciaRepository {
+
+	private final ConcurrentMap<String, Idempotencia> chaves = new ConcurrentHashMap<>();
+
+	@Override
+	protected Idempotencia armazenar(Idempotencia idempotencia) {
+		chaves.put(idempotencia.getChave(), copiar(idempotencia));
+		return idempotencia;
+	}
+
+	@Override
+	protected Optional<Idempotencia> obter(String chave) {
+		return Optional.ofNullable(chaves.get(chave)).map(IdempotenciaMemoriaRepository::copiar);
+	}
+
+	@Override
+	protected void remover(String chave) {
+		chaves.remove(chave);
+	}
+
+	@Override
+	protected Stream<Idempotencia> percorrer() {
+		return chaves.values().stream().map(IdempotenciaMemoriaRepository::copiar);
+	}
+
+	@Override
+	protected String obterId(Idempotencia idempotencia) {
+		return idempotencia.getChave();
+	}
+
+	@Override
+	public int reservar(String chave, LocalDateTime dataHora) {
+		return chaves.putIfAbsent(chave, Idempotencia.builder().chave(chave).dataHora(dataHora).build()) == null ? 1 : 0;
+	}
+
+	@Override
+	public int assumirReserva(String chave, LocalDateTime limite, LocalDateTime dataHora) {
+		AtomicInteger assumidas = new AtomicInteger();
+		chaves.computeIfPresent(chave, (c, idempotencia) -> idempotencia.getResposta() == null && idempotencia.getDataHora().isBefore(limite)
+				&& assumidas.incrementAndGet() > 0 ? Idempotencia.builder().chave(c).dataHora(dataHora).build() : idempotencia);
+		return assumidas.get();
+	}
+
+	@Override
+	public int registrarResposta(String chave, String resposta) {
+		return chaves.computeIfPresent(chave, (c, idempotencia) -> Idempotencia.builder().chave(c).resposta(resposta)
+				.dataHora(idempotencia.getDataHora()).build()) == null ? 0 : 1;
+	}
+
+	@Override
+	public int liberar(String chave) {
+		AtomicInteger removidas = new AtomicInteger();
+		chaves.computeIfPresent(chave, (c, idempotencia) -> idempotencia.getResposta() == null && removidas.incrementAndGet() > 0 ? null : idempotencia);
+		return removidas.get();
+	}
+
+	@Override
+	public int removerAntesDe(LocalDateTime limite) {
+		AtomicInteger removidas = new AtomicInteger();
+		chaves.values().removeIf(idempotencia -> idempotencia.getDataHora().isBefore(limite) && removidas.incrementAndGet() > 0);
+		return removidas.get();
+	}
+
+	private static Idempotencia copiar(Idempotencia idempotencia) {
+		return Idempotencia.builder().chave(idempotencia.getChave()).resposta(idempotencia.getResposta()).dataHora(idempotencia.getDataHora()).build();
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.api.pagamento.domain.repository.memoria;
+
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Consulta fluente (ordenação, limite e forma do resultado) executada sobre as entidades de um repositório em memória
+ * <p>
+ * Projeções e rolagem por posição não são suportadas
+ * </p>
+ *
+ * @param <T>
+ * 		Tipo da entidade
+ * @author Euller Henrique
+ */
+public class ConsultaFluenteMemoria<T> implements FluentQuery.FetchableFluentQuery<T> {
+
+	private final Supplier<Stream<T>> entidades;
+	private final Sort ordenacao;
+	private final int limite;
+
+	/**
+	 * Cria a consulta sem ordenação e sem limite
+	 *
+	 * @param entidades
+	 * 		Fornecedor das entidades que atendem a consulta
+	 * @author Euller Henrique
+	 */
+	public ConsultaFluenteMemoria(Supplier<Stream<T>> entidades) {
+		this(entidades, Sort.unsorted(), 0);
+	}
+
+	private ConsultaFluenteMemoria(Supplier<Stream<T>> entidades, Sort ordenacao, int limite) {
+		this.entidades = entidades;
+		this.ordenacao = ordenacao;
+		this.limite = limite;
+	}
+
+	/**
+	 * Monta o comparador equivalente a uma ordenação do Spring Data
+	 * <p>
+	 * Cada propriedade é lida pelo caminho informado na ordenação (ex: descricao.dataHora)
+	 * </p>
+	 *
+	 * @param ordenacao
+	 * 		Ordenação
+	 * @param <T>
+	 * 		Tipo da entidade
+	 * @return Comparator<T>
+	 * 		Comparador (nulo se a ordenação estiver vazia)
+	 * @author Euller Henrique
+	 */
+	public static <T> Comparator<T> comparador(Sort ordenacao) {
+		Comparator<T> comparador = null;
+		for (Sort.Order ordem : ordenacao) {
+			Comparator<T> comparadorOrdem = Comparator.comparing(entidade -> obterPropriedade(entidade, ordem.getProperty()),
+					Comparator.nullsLast(Comparator.naturalOrder()));
+			comparadorOrdem = ordem.isAscending() ? comparadorOrdem : comparadorOrdem.reversed();
+			comparador = comparador == null ? comparadorOrdem : comparador.thenComparing(comparadorOrdem);
+		}
+		return comparador;
+	}
+
+	@Override
+	public FetchableFluentQuery<T> sortBy(Sort sort) {
+		return new ConsultaFluenteMemoria<>(entidades, ordenacao.and(sort), limite);
+	}
+
+	@Override
+	public FetchableFluentQuery<T> limit(int limit) {
+		return new ConsultaFluenteMemoria<>(entidades, ordenacao, limit);
+	}
+
+	@Override
+	public <R> FetchableFluentQuery<R> as(Class<R> resultType) {
+		throw new UnsupportedOperationException("Projeções não são suportadas pelo repositório em memória");
+	}
+
+	@Override
+	public FetchableFluentQuery<T> project(Collection<String> properties) {
+		throw new UnsupportedOperationException("Projeções não são suportadas pelo repositório em memória");
+	}
+
+	@Override
+	public T oneValue() {
+		List<T> resultado = stream().limit(2).toList();
+		if (resultado.size() > 1) {
+			throw new IncorrectResultSizeDataAccessException(1, resultado.size());
+		}
+		return resultado.isEmpty() ? null : resultado.get(0);
+	}
+
+	@Override
+	public T firstValue() {
+		return stream().findFirst().orElse(null);
+	}
+
+	@Override
+	public List<T> all() {
+		return stream().toList();
+	}
+
+	@Override
+	public Window<T> scroll(ScrollPosition scrollPosition) {
+		throw new UnsupportedOperationException("Rolagem por posição não é suportada pelo repositório em memória");
+	}
+
+	@Override
+	public Page<T> page(Pageable pageable) {
+		List<T> todas = stream().toList();
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(todas);
+		}
+		int inicio = (int) Math.min(pageable.getOffset(), todas.size());
+		int fim = Math.min(inicio + pageable.getPageSize(), todas.size());
+		return new PageImpl<>(todas.subList(inicio, fim), pageable, todas.size());
+	}
+
+	@Override
+	public Stream<T> stream() {
+		Stream<T> resultado = entidades.get();
+		Comparator<T> comparador = comparador(ordenacao);
+		if (comparador != null) {
+			resultado = resultado.sorted(comparador);
+		}
+		return limite > 0 ? resultado.limit(limite) : resultado;
+	}
+
+	@Override
+	public long count() {
+		return stream().count();
+	}
+
+	@Override
+	public boolean exists() {
+		return stream().findAny().isPresent();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparable<Object> obterPropriedade(Object entidade, String caminho) {
+		return (Comparable<Object>) PropertyAccessorFactory.forBeanPropertyAccess(entidade).getPropertyValue(caminho);
+	}
+
+}
@@ -0,0 +1,210 @@
+package com.api.pagamento.domain.repository.memoria;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Mapa concorrente com chave long primitiva, endereçado diretamente pela chave
+ * <p>
+ * Os valores ficam em blocos de tamanho fixo e a posição de uma chave é calculada (bloco = chave / tamanho do bloco), portanto não há hash,
+ * colisão nem boxing da chave. É feito para chaves não negativas e próximas entre si, como ids sequenciais: percorrer as chaves em ordem
+ * crescente é só percorrer os blocos
+ * </p>
+ * <p>
+ * Leituras e escritas de uma chave não usam lock. Apenas a criação de um bloco (uma vez a cada 4096 chaves) é sincronizada
+ * </p>
+ *
+ * @param <V>
+ * 		Tipo do valor
+ * @author Euller Henrique
+ */
+public class MapaLong<V> {
+
+	private static final int BITS_BLOCO = 12;
+	private static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+	private static final int MASCARA_BLOCO = TAMANHO_BLOCO - 1;
+
+	private volatile AtomicReferenceArray<AtomicReferenceArray<V>> blocos = new AtomicReferenceArray<>(16);
+	private final AtomicLong tamanho = new AtomicLong();
+
+	/**
+	 * Obtém o valor da chave
+	 *
+	 * @param chave
+	 * 		Chave
+	 * @return V
+	 * 		Valor (nulo se a chave não existir)
+	 * @author Euller Henrique
+	 */
+	public V obter(long chave) {
+		AtomicReferenceArray<V> bloco = obterBloco(chave);
+		return bloco == null ? null : bloco.get(posicao(chave));
+	}
+
+	/**
+	 * Associa o valor à chave
+	 *
+	 * @param chave
+	 * 		Chave
+	 * @param valor
+	 * 		Valor
+	 * @return V
+	 * 		Valor anterior (nulo se a chave não existia)
+	 * @author Euller Henrique
+	 */
+	public V colocar(long chave, V valor) {
+		V anterior = obterOuCriarBloco(chave).getAndSet(posicao(chave), valor);
+		if (anterior == null) {
+			tamanho.incrementAndGet();
+		}
+		return anterior;
+	}
+
+	/**
+	 * Substitui o valor da chave somente se o valor atual for o esperado (mesma instância)
+	 *
+	 * @param chave
+	 * 		Chave
+	 * @param esperado
+	 * 		Valor atual esperado
+	 * @param novo
+	 * 		Novo valor
+	 * @return boolean
+	 * 		Se o valor foi substituído
+	 * @author Euller Henrique
+	 */
+	public boolean substituir(long chave, V esperado, V novo) {
+		AtomicReferenceArray<V> bloco = obterBloco(chave);
+		return bloco != null && bloco.compareAndSet(posicao(chave), esperado, novo);
+	}
+
+	/**
+	 * Remove a chave
+	 *
+	 * @param chave
+	 * 		Chave
+	 * @return V
+	 * 		Valor removido (nulo se a chave não existia)
+	 * @author Euller Henrique
+	 */
+	public V remover(long chave) {
+		AtomicReferenceArray<V> bloco = obterBloco(chave);
+		V anterior = bloco == null ? null : bloco.getAndSet(posicao(chave), null);
+		if (anterior != null) {
+			tamanho.decrementAndGet();
+		}
+		return anterior;
+	}
+
+	/**
+	 * Obtém a quantidade de chaves
+	 *
+	 * @return long
+	 * 		Quantidade de chaves
+	 * @author Euller Henrique
+	 */
+	public long tamanho() {
+		return tamanho.get();
+	}
+
+	/**
+	 * Percorre os valores em ordem crescente de chave, a partir da chave informada
+	 * <p>
+	 * O percurso não bloqueia as escritas: valores colocados ou removidos durante o percurso podem ou não aparecer
+	 * </p>
+	 *
+	 * @param chave
+	 * 		Primeira chave do percurso (inclusive)
+	 * @return Stream<V>
+	 * 		Valores em ordem crescente de chave
+	 * @author Euller Henrique
+	 */
+	public Stream<V> valoresAPartirDe(long chave) {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new Percurso(Math.max(chave, 0)),
+				Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	private AtomicReferenceArray<V> obterBloco(long chave) {
+		validarChave(chave);
+		long indice = chave >>> BITS_BLOCO;
+		AtomicReferenceArray<AtomicReferenceArray<V>> atuais = blocos;
+		return indice < atuais.length() ? atuais.get((int) indice) : null;
+	}
+
+	private AtomicReferenceArray<V> obterOuCriarBloco(long chave) {
+		AtomicReferenceArray<V> bloco = obterBloco(chave);
+		return bloco != null ? bloco : criarBloco((int) (chave >>> BITS_BLOCO));
+	}
+
+	private synchronized AtomicReferenceArray<V> criarBloco(int indice) {
+		AtomicReferenceArray<AtomicReferenceArray<V>> atuais = blocos;
+		if (indice >= atuais.length()) {
+			AtomicReferenceArray<AtomicReferenceArray<V>> maiores = new AtomicReferenceArray<>(Math.max(atuais.length() * 2, indice + 1));
+			for (int i = 0; i < atuais.length(); i++) {
+				maiores.set(i, atuais.get(i));
+			}
+			blocos = atuais = maiores;
+		}
+		if (atuais.get(indice) == null) {
+			atuais.set(indice, new AtomicReferenceArray<>(TAMANHO_BLOCO));
+		}
+		return atuais.get(indice);
+	}
+
+	private static int posicao(long chave) {
+		return (int) (chave & MASCARA_BLOCO);
+	}
+
+	private static void validarChave(long chave) {
+		if (chave < 0 || chave >>> BITS_BLOCO > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Chave fora do intervalo suportado pelo mapa: " + chave);
+		}
+	}
+
+	/**
+	 * Iterador que percorre os blocos em ordem, pulando os blocos que não existem
+	 *
+	 * @author Euller Henrique
+	 */
+	private class Percurso implements Iterator<V> {
+
+		private long chave;
+		private V proximo;
+
+		private Percurso(long chave) {
+			this.chave = chave;
+		}
+
+		@Override
+		public boolean hasNext() {
+			AtomicReferenceArray<AtomicReferenceArray<V>> atuais = blocos;
+			while (proximo == null && chave >>> BITS_BLOCO < atuais.length()) {
+				AtomicReferenceArray<V> bloco = atuais.get((int) (chave >>> BITS_BLOCO));
+				if (bloco == null) {
+					chave = ((chave >>> BITS_BLOCO) + 1) << BITS_BLOCO;
+					continue;
+				}
+				proximo = bloco.get(posicao(chave++));
+			}
+			return proximo != null;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			V valor = proximo;
+			proximo = null;
+			return valor;
+		}
+
+	}
+
+}
@@ -0,0 +1,240 @@
+package com.api.pagamento.domain.repository.memoria;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Base dos repositórios em memória, que implementa as operações do JpaRepository a partir de poucas operações de armazenamento
+ * <p>
+ * As entidades são armazenadas como cópias e cada leitura devolve uma cópia nova, como o JPA faz fora de uma transação: alterar uma
+ * entidade lida não altera o repositório. Consultas por exemplo (Example) não são suportadas
+ * </p>
+ *
+ * @param <T>
+ * 		Tipo da entidade
+ * @param <ID>
+ * 		Tipo do id da entidade
+ * @author Euller Henrique
+ */
+public abstract class MemoriaRepository<T, ID> implements JpaRepository<T, ID> {
+
+	/**
+	 * Armazena uma cópia da entidade, gerando o id se a entidade for nova
+	 *
+	 * @param entidade
+	 * 		Entidade
+	 * @return T
+	 * 		A própria entidade recebida, com o id preenchido
+	 * @author Euller Henrique
+	 */
+	protected abstract T armazenar(T entidade);
+
+	/**
+	 * Obtém uma cópia da entidade armazenada
+	 *
+	 * @param id
+	 * 		Id da entidade
+	 * @return Optional<T>
+	 * 		Cópia da entidade (vazio se não existir)
+	 * @author Euller Henrique
+	 */
+	protected abstract Optional<T> obter(ID id);
+
+	/**
+	 * Remove a entidade armazenada
+	 *
+	 * @param id
+	 * 		Id da entidade
+	 * @author Euller Henrique
+	 */
+	protected abstract void remover(ID id);
+
+	/**
+	 * Percorre cópias de todas as entidades armazenadas
+	 *
+	 * @return Stream<T>
+	 * 		Cópias das entidades
+	 * @author Euller Henrique
+	 */
+	protected abstract Stream<T> percorrer();
+
+	/**
+	 * Obtém o id da entidade
+	 *
+	 * @param entidade
+	 * 		Entidade
+	 * @return ID
+	 * 		Id da entidade
+	 * @author Euller Henrique
+	 */
+	protected abstract ID obterId(T entidade);
+
+	@Override
+	public <S extends T> S save(S entity) {
+		armazenar(entity);
+		return entity;
+	}
+
+	@Override
+	public <S extends T> List<S> saveAll(Iterable<S> entities) {
+		return StreamSupport.stream(entities.spliterator(), false).map(this::save).toList();
+	}
+
+	@Override
+	public <S extends T> S saveAndFlush(S entity) {
+		return save(entity);
+	}
+
+	@Override
+	public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+		return saveAll(entities);
+	}
+
+	@Override
+	public void flush() {
+		// As escritas em memória já são visíveis assim que feitas
+	}
+
+	@Override
+	public Optional<T> findById(ID id) {
+		return obter(id);
+	}
+
+	@Override
+	public boolean existsById(ID id) {
+		return obter(id).isPresent();
+	}
+
+	@Override
+	public List<T> findAll() {
+		return percorrer().toList();
+	}
+
+	@Override
+	public List<T> findAllById(Iterable<ID> ids) {
+		return StreamSupport.stream(ids.spliterator(), false).map(this::obter).flatMap(Optional::stream).toList();
+	}
+
+	@Override
+	public List<T> findAll(Sort sort) {
+		return new ConsultaFluenteMemoria<>(this::percorrer).sortBy(sort).all();
+	}
+
+	@Override
+	public Page<T> findAll(Pageable pageable) {
+		return new ConsultaFluenteMemoria<>(this::percorrer).sortBy(pageable.getSort()).page(pageable);
+	}
+
+	@Override
+	public long count() {
+		return percorrer().count();
+	}
+
+	@Override
+	public void deleteById(ID id) {
+		remover(id);
+	}
+
+	@Override
+	public void delete(T entity) {
+		remover(obterId(entity));
+	}
+
+	@Override
+	public void deleteAllById(Iterable<? extends ID> ids) {
+		ids.forEach(this::remover);
+	}
+
+	@Override
+	public void deleteAll(Iterable<? extends T> entities) {
+		entities.forEach(this::delete);
+	}
+
+	@Override
+	public void deleteAll() {
+		percorrer().map(this::obterId).toList().forEach(this::remover);
+	}
+
+	@Override
+	public void deleteAllInBatch(Iterable<T> entities) {
+		deleteAll(entities);
+	}
+
+	@Override
+	public void deleteAllByIdInBatch(Iterable<ID> ids) {
+		deleteAllById(ids);
+	}
+
+	@Override
+	public void deleteAllInBatch() {
+		deleteAll();
+	}
+
+	@Override
+	@Deprecated
+	public T getOne(ID id) {
+		return getReferenceById(id);
+	}
+
+	@Override
+	@Deprecated
+	public T getById(ID id) {
+		return getReferenceById(id);
+	}
+
+	@Override
+	public T getReferenceById(ID id) {
+		return obter(id).orElseThrow(() -> new EntityNotFoundException("Entidade não encontrada no repositório em memória: " + id));
+	}
+
+	@Override
+	public <S extends T> Optional<S> findOne(Example<S> example) {
+		throw exemploNaoSuportado();
+	}
+
+	@Override
+	public <S extends T> List<S> findAll(Example<S> example) {
+		throw exemploNaoSuportado();
+	}
+
+	@Override
+	public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+		throw exemploNaoSuportado();
+	}
+
+	@Override
+	public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+		throw exemploNaoSuportado();
+	}
+
+	@Override
+	public <S extends T> long count(Example<S> example) {
+		throw exemploNaoSuportado();
+	}
+
+	@Override
+	public <S extends T> boolean exists(Example<S> example) {
+		throw exemploNaoSuportado();
+	}
+
+	@Override
+	public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+		throw exemploNaoSuportado();
+	}
+
+	private static UnsupportedOperationException exemploNaoSuportado() {
+		return new UnsupportedOperationException("Consultas por exemplo não são suportadas pelo repositório em memória");
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.api.pagamento.domain.repository.nsu;
+
+/**
+ * Repositório responsável por reservar os blocos de nsus
+ * <p>
+ * Cada bloco tem {@link com.api.pagamento.domain.constant.nsu.NsuConstants#TAMANHO_BLOCO_NSU} nsus e é reservado por uma única thread de
+ * uma única instância, portanto os nsus de blocos diferentes nunca se repetem. Depois do último bloco a numeração volta ao primeiro
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public interface BlocoNsuRepository {
+
+	/**
+	 * Reserva o próximo bloco de nsus
+	 *
+	 * @return long
+	 * 		Número do bloco (de 0 a {@link com.api.pagamento.domain.constant.nsu.NsuConstants#QUANTIDADE_BLOCOS_NSU} menos um)
+	 * @author Euller Henrique
+	 */
+	long reservarBloco();
+
+}
@@ -0,0 +1,45 @@
+package com.api.pagamento.domain.repository.nsu;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.SEQUENCIA_BLOCO_NSU;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_BANCO;
+
+/**
+ * Repositório responsável por reservar os blocos de nsus na sequência seq_bloco_nsu, compartilhada por todas as instâncias da aplicação
+ * <p>
+ * A sequência é cíclica (criada pelo schema-postgres.sql), e cada valor é um bloco: o banco é consultado uma vez a cada
+ * {@link com.api.pagamento.domain.constant.nsu.NsuConstants#TAMANHO_BLOCO_NSU} nsus
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+@Profile(PERFIL_BANCO)
+public class BlocoNsuSequenciaRepository implements BlocoNsuRepository {
+
+	private static final String SQL_PROXIMO_BLOCO = "SELECT nextval('" + SEQUENCIA_BLOCO_NSU + "')";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Cria o repositório
+	 *
+	 * @param dataSource
+	 * 		DataSource da aplicação (fora de uma transação somente leitura, vai para o banco primário)
+	 * @author Euller Henrique
+	 */
+	public BlocoNsuSequenciaRepository(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Override
+	public long reservarBloco() {
+		return jdbcTemplate.queryForObject(SQL_PROXIMO_BLOCO, Long.class);
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.api.pagamento.domain.repository.nsu.livro;
+
+import com.api.pagamento.domain.repository.nsu.memoria.BlocoNsuMemoriaRepository;
+import com.api.pagamento.domain.repository.transacao.livro.LivroTransacao;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.NSU_MINIMO;
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.TAMANHO_BLOCO_NSU;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_LIVRO;
+
+/**
+ * Repositório dos blocos de nsus do perfil livro, usado no lugar da sequência seq_bloco_nsu
+ * <p>
+ * Os blocos são reservados em memória, mas como as transações do livro são mantidas ao reiniciar a aplicação, a numeração continua a partir
+ * do bloco seguinte ao do maior nsu gravado no livro, e não do primeiro bloco. Assim como o livro, não é compartilhada entre instâncias
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+@Profile(PERFIL_LIVRO)
+public class BlocoNsuLivroRepository extends BlocoNsuMemoriaRepository {
+
+	/**
+	 * Cria o repositório, com a numeração a partir do bloco seguinte ao do maior nsu gravado no livro
+	 *
+	 * @param livroTransacao
+	 * 		Livro das transações
+	 * @author Euller Henrique
+	 */
+	public BlocoNsuLivroRepository(LivroTransacao livroTransacao) {
+		super(obterPrimeiroBloco(livroTransacao.obterMaiorNsu()));
+	}
+
+	private static long obterPrimeiroBloco(long maiorNsu) {
+		return maiorNsu < NSU_MINIMO ? 0 : (maiorNsu - NSU_MINIMO) / TAMANHO_BLOCO_NSU + 1;
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.api.pagamento.domain.repository.nsu.memoria;
+
+import com.api.pagamento.domain.repository.nsu.BlocoNsuRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.QUANTIDADE_BLOCOS_NSU;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_MEMORIA;
+
+/**
+ * Repositório dos blocos de nsus em memória, usado no perfil memoria no lugar da sequência seq_bloco_nsu
+ * <p>
+ * A numeração recomeça ao reiniciar a aplicação e não é compartilhada entre instâncias, como as próprias transações do perfil
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+@Profile(PERFIL_MEMORIA)
+public class BlocoNsuMemoriaRepository implements BlocoNsuRepository {
+
+	private final AtomicLong proximoBloco;
+
+	/**
+	 * Cria o repositório, com a numeração a partir do primeiro bloco
+	 *
+	 * @author Euller Henrique
+	 */
+	public BlocoNsuMemoriaRepository() {
+		this(0);
+	}
+
+	/**
+	 * Cria o repositório, com a numeração a partir do bloco informado
+	 *
+	 * @param primeiroBloco
+	 * 		Primeiro bloco reservado
+	 * @author Euller Henrique
+	 */
+	protected BlocoNsuMemoriaRepository(long primeiroBloco) {
+		this.proximoBloco = new AtomicLong(primeiroBloco);
+	}
+
+	@Override
+	public long reservarBloco() {
+		return Math.floorMod(proximoBloco.getAndIncrement(), QUANTIDADE_BLOCOS_NSU);
+	}
+
+}
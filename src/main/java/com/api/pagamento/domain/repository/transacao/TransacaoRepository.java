@@ -1,11 +1,204 @@
 package com.api.pagamento.domain.repository.transacao;
 
 import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.repository.transacao.agregacao.AgregacaoTransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.contexto.ContextoTransacaoRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.api.pagamento.domain.constant.paginacao.PaginacaoConstants.TAMANHO_LOTE_EXPORTACAO;
 
 /**
  * Repositório responsável por conectar a entidade da transação a tabela transacao
  *
  * @author Euller Henrique
  */
-public interface TransacaoRepository extends JpaRepository<Transacao, Long> { }
+public interface TransacaoRepository extends JpaRepository<Transacao, Long>, JpaSpecificationExecutor<Transacao>, AgregacaoTransacaoRepository,
+		ContextoTransacaoRepository {
+
+	/**
+	 * Busca as transações com id maior que o cursor informado, ordenadas pelo id (paginação por cursor/keyset)
+	 *
+	 * @param id
+	 * 		Id da última transação da página anterior
+	 * @param limite
+	 * 		Quantidade máxima de transações retornadas
+	 * @return List<Transacao>
+	 * 		Lista de models com os dados das transações
+	 * @author Euller Henrique
+	 */
+	List<Transacao> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+	/**
+	 * Busca as transações do cartão com id maior que o cursor informado, ordenadas pelo id (paginação por cursor/keyset)
+	 * <p>
+	 * A busca é feita pelo índice do token do cartão e do id, portanto não percorre as transações dos outros cartões
+	 * </p>
+	 *
+	 * @param tokenCartao
+	 * 		Token do cartão
+	 * @param id
+	 * 		Id da última transação da página anterior
+	 * @param limite
+	 * 		Quantidade máxima de transações retornadas
+	 * @return List<Transacao>
+	 * 		Lista de models com os dados das transações
+	 * @author Euller Henrique
+	 */
+	List<Transacao> findByTokenCartaoAndIdGreaterThanOrderByIdAsc(String tokenCartao, Long id, Limit limite);
+
+	/**
+	 * Busca as transações ainda sem token do cartão (salvas com o número do cartão) após o id informado, ordenadas pelo id
+	 *
+	 * @param id
+	 * 		Id da última transação do lote anterior
+	 * @param limite
+	 * 		Quantidade máxima de transações retornadas
+	 * @return List<Transacao>
+	 * 		Lista de models com os dados das transações
+	 * @author Euller Henrique
+	 */
+	List<Transacao> findByTokenCartaoIsNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+	/**
+	 * Percorre todas as transações ordenadas pelo id através de um cursor no servidor
+	 * <p>
+	 * As linhas são lidas do banco em lotes (fetch size), portanto a tabela nunca é carregada inteira em memória.
+	 * O stream deve ser consumido dentro de uma transação e fechado ao final
+	 * </p>
+	 *
+	 * @return Stream<Transacao>
+	 * 		Stream de models com os dados das transações
+	 * @author Euller Henrique
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_LOTE_EXPORTACAO),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select t from Transacao t order by t.id")
+	Stream<Transacao> streamAllByOrderByIdAsc();
+
+	/**
+	 * Altera o status de uma transação somente se o status atual for o esperado (compare-and-set)
+	 * <p>
+	 * A verificação e a alteração acontecem em um único comando no banco, que retorna a transação alterada.
+	 * Duas alterações concorrentes da mesma transação nunca são aplicadas ambas, sem a necessidade de bloqueio prévio da linha
+	 * </p>
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @param statusEsperado
+	 * 		Status que a transação deve ter para ser alterada
+	 * @param statusNovo
+	 * 		Novo status da transação
+	 * @return Optional<Transacao>
+	 * 		Model com os dados da transação alterada (vazio se nenhuma linha foi alterada)
+	 * @author Euller Henrique
+	 */
+	@Transactional
+	@Query(value = "UPDATE transacao SET status = :statusNovo WHERE id = :id AND status = :statusEsperado RETURNING *", nativeQuery = true)
+	Optional<Transacao> atualizarStatus(@Param("id") Long id, @Param("statusEsperado") String statusEsperado, @Param("statusNovo") String statusNovo);
+
+	/**
+	 * Altera o status das transações informadas que estiverem no status esperado, em um único comando
+	 *
+	 * @param ids
+	 * 		Ids das transações
+	 * @param statusEsperado
+	 * 		Status que as transações devem ter para serem alteradas
+	 * @param statusNovo
+	 * 		Novo status das transações
+	 * @return List<Long>
+	 * 		Ids das transações alteradas
+	 * @author Euller Henrique
+	 */
+	@Transactional
+	@Query(value = "UPDATE transacao SET status = :statusNovo WHERE id IN (:ids) AND status = :statusEsperado RETURNING id", nativeQuery = true)
+	List<Long> atualizarStatus(@Param("ids") Collection<Long> ids, @Param("statusEsperado") String statusEsperado, @Param("statusNovo") String statusNovo);
+
+	/**
+	 * Cria a partição da tabela transacao do mês informado, se ainda não existir
+	 * <p>
+	 * As transações do mês que estiverem na partição padrão são movidas para a nova partição
+	 * </p>
+	 *
+	 * @param mes
+	 * 		Qualquer dia do mês da partição
+	 * @return boolean
+	 * 		Se a partição foi criada (falso se já existia)
+	 * @author Euller Henrique
+	 */
+	@Transactional
+	@Query(value = "SELECT criar_particao_transacao(:mes)", nativeQuery = true)
+	boolean criarParticao(@Param("mes") LocalDate mes);
+
+	/**
+	 * Busca a data e hora da transação mais antiga anterior ao limite
+	 *
+	 * @param limite
+	 * 		Data e hora limite
+	 * @return Optional<LocalDateTime>
+	 * 		Data e hora da transação mais antiga (vazio se não houver transação anterior ao limite)
+	 * @author Euller Henrique
+	 */
+	@Query("select min(t.descricao.dataHora) from Transacao t where t.descricao.dataHora < :limite")
+	Optional<LocalDateTime> buscarDataHoraMaisAntigaAntesDe(@Param("limite") LocalDateTime limite);
+
+	/**
+	 * Percorre as transações do período ordenadas pelo id através de um cursor no servidor
+	 * <p>
+	 * O stream deve ser consumido dentro de uma transação e fechado ao final
+	 * </p>
+	 *
+	 * @param inicio
+	 * 		Início do período (inclusivo)
+	 * @param fim
+	 * 		Fim do período (exclusivo)
+	 * @return Stream<Transacao>
+	 * 		Stream de models com os dados das transações
+	 * @author Euller Henrique
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_LOTE_EXPORTACAO),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("select t from Transacao t where t.descricao.dataHora >= :inicio and t.descricao.dataHora < :fim order by t.id")
+	Stream<Transacao> streamByPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+	/**
+	 * Bloqueia contra escrita, até o fim da transação, as transações do mês informado
+	 *
+	 * @param mes
+	 * 		Primeiro dia do mês
+	 * @return boolean
+	 * 		Se o mês possui partição própria
+	 * @author Euller Henrique
+	 */
+	@Transactional
+	@Query(value = "SELECT bloquear_mes_transacao(:mes)", nativeQuery = true)
+	boolean bloquearMes(@Param("mes") LocalDate mes);
+
+	/**
+	 * Remove as transações do mês informado, descartando a partição do mês inteira
+	 *
+	 * @param mes
+	 * 		Primeiro dia do mês
+	 * @return boolean
+	 * 		Se o mês possuía partição própria
+	 * @author Euller Henrique
+	 */
+	@Transactional
+	@Query(value = "SELECT remover_mes_transacao(:mes)", nativeQuery = true)
+	boolean removerMes(@Param("mes") LocalDate mes);
+
+}
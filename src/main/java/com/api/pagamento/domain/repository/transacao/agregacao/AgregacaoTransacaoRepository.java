@@ -0,0 +1,35 @@
+package com.api.pagamento.domain.repository.transacao.agregacao;
+
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório responsável por agregar as transações da tabela transacao no banco
+ *
+ * @author Euller Henrique
+ */
+public interface AgregacaoTransacaoRepository {
+
+	/**
+	 * Calcula quantidade, soma, média, mínimo e máximo do valor das transações do período, agrupados pelos campos informados
+	 *
+	 * @param agrupamentos
+	 * 		Campos do agrupamento (vazio para um único grupo com o período inteiro)
+	 * @param dataHoraInicio
+	 * 		Início do período (nulo para sem início)
+	 * @param dataHoraFim
+	 * 		Fim do período (nulo para sem fim)
+	 * @param limite
+	 * 		Quantidade máxima de grupos retornados
+	 * @return List<AgregacaoTransacao>
+	 * 		Lista de projeções com os dados de cada grupo, ordenada pelos campos do agrupamento
+	 * @author Euller Henrique
+	 */
+	List<AgregacaoTransacao> agregar(Collection<AgrupamentoTransacaoEnum> agrupamentos, LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim,
+			int limite);
+
+}
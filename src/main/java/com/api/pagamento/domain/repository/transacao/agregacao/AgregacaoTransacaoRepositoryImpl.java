@@ -0,0 +1,104 @@
+package com.api.pagamento.domain.repository.transacao.agregacao;
+
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação do repositório de agregação das transações
+ * <p>
+ * A agregação é feita pelo banco em uma única consulta com group by, portanto apenas os grupos trafegam entre o banco e a aplicação.
+ * As expressões do group by vêm do enum de agrupamentos e nunca da requisição
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@RequiredArgsConstructor
+public class AgregacaoTransacaoRepositoryImpl implements AgregacaoTransacaoRepository {
+
+	private final EntityManager entityManager;
+
+	@Override
+	public List<AgregacaoTransacao> agregar(Collection<AgrupamentoTransacaoEnum> agrupamentos, LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim,
+			int limite) {
+		Set<AgrupamentoTransacaoEnum> agrupamentosUnicos = new LinkedHashSet<>(agrupamentos);
+		String colunas = agrupamentosUnicos.stream().map(agrupamento -> agrupamento.getExpressao() + " AS " + agrupamento.getColuna() + ", ")
+				.collect(Collectors.joining());
+		String groupBy = agrupamentosUnicos.stream().map(AgrupamentoTransacaoEnum::getColuna).collect(Collectors.joining(", "));
+
+		List<String> condicoes = new ArrayList<>();
+		if (dataHoraInicio != null) {
+			condicoes.add("data_hora >= :dataHoraInicio");
+		}
+		if (dataHoraFim != null) {
+			condicoes.add("data_hora <= :dataHoraFim");
+		}
+
+		String sql = "SELECT " + colunas
+				+ "count(*) AS quantidade, sum(valor) AS total, round(avg(valor), 2) AS media, min(valor) AS minimo, max(valor) AS maximo"
+				+ " FROM transacao"
+				+ (condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes))
+				+ (groupBy.isEmpty() ? "" : " GROUP BY " + groupBy + " ORDER BY " + groupBy)
+				+ " LIMIT :limite";
+
+		Query query = entityManager.createNativeQuery(sql, Tuple.class).setParameter("limite", limite);
+		if (dataHoraInicio != null) {
+			query.setParameter("dataHoraInicio", dataHoraInicio);
+		}
+		if (dataHoraFim != null) {
+			query.setParameter("dataHoraFim", dataHoraFim);
+		}
+
+		@SuppressWarnings("unchecked")
+		List<Tuple> grupos = query.getResultList();
+		return grupos.stream().map(grupo -> obterAgregacao(grupo, agrupamentosUnicos)).toList();
+	}
+
+	/**
+	 * Converte uma linha do resultado em projeção
+	 *
+	 * @param grupo
+	 * 		Linha do resultado
+	 * @param agrupamentos
+	 * 		Campos do agrupamento presentes na linha
+	 * @return AgregacaoTransacao
+	 * 		Projeção com os dados do grupo
+	 * @author Euller Henrique
+	 */
+	private AgregacaoTransacao obterAgregacao(Tuple grupo, Set<AgrupamentoTransacaoEnum> agrupamentos) {
+		AgregacaoTransacao.AgregacaoTransacaoBuilder agregacao = AgregacaoTransacao.builder()
+				.quantidade(((Number) grupo.get("quantidade")).longValue())
+				.total((BigDecimal) grupo.get("total"))
+				.media((BigDecimal) grupo.get("media"))
+				.minimo((BigDecimal) grupo.get("minimo"))
+				.maximo((BigDecimal) grupo.get("maximo"));
+
+		for (AgrupamentoTransacaoEnum agrupamento : agrupamentos) {
+			Object valor = grupo.get(agrupamento.getColuna());
+			switch (agrupamento) {
+				case ESTABELECIMENTO -> agregacao.estabelecimento((String) valor);
+				case STATUS -> agregacao.status(StatusTransacaoEnum.valueOf((String) valor));
+				case TIPO -> agregacao.tipo(TipoPagamentoTransacaoEnum.valueOf((String) valor));
+				case DIA, HORA -> agregacao.periodo(valor instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) valor);
+			}
+		}
+
+		return agregacao.build();
+	}
+
+}
@@ -0,0 +1,195 @@
+package com.api.pagamento.domain.repository.transacao.arquivo;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static com.api.pagamento.domain.constant.arquivo.ArquivoConstants.EXTENSAO_SEGMENTO;
+import static com.api.pagamento.domain.constant.arquivo.ArquivoConstants.EXTENSAO_SEGMENTO_TEMPORARIO;
+import static com.api.pagamento.domain.constant.arquivo.ArquivoConstants.IDADE_MINIMA_SEGMENTO_TEMPORARIO_DESCARTADO;
+
+/**
+ * Repositório responsável pelo arquivo de transações antigas, guardadas fora do banco em segmentos comprimidos e somente leitura
+ * <p>
+ * Cada arquivamento gera um segmento com as transações de um mês, nomeado pelo mês e pelo menor e maior id. Os segmentos existentes são abertos
+ * ao iniciar a aplicação e ficam mapeados em memória; buscar uma transação não acessa o banco
+ * </p>
+ * <p>
+ * O diretório deve ser compartilhado por todas as instâncias da aplicação: o arquivamento é feito por uma única instância (a que obtém o
+ * bloqueio do mês no banco) e as demais abrem os novos segmentos ao verificar o diretório periodicamente
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+public class ArquivoTransacaoRepository {
+
+	private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyy_MM");
+
+	private final Path diretorio;
+	private final List<SegmentoTransacao> segmentos = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Cria o repositório, abrindo os segmentos existentes no diretório e descartando segmentos temporários de arquivamentos interrompidos
+	 * <p>
+	 * Apenas os segmentos temporários sem alteração há algum tempo são descartados, pois um segmento temporário recente pode estar sendo
+	 * gravado por outra instância
+	 * </p>
+	 *
+	 * @param diretorio
+	 * 		Diretório dos segmentos
+	 * @throws IOException
+	 * 		Exceção lançada caso o diretório ou um segmento não possa ser lido
+	 * @author Euller Henrique
+	 */
+	public ArquivoTransacaoRepository(@Value("${api.arquivamento.diretorio}") Path diretorio) throws IOException {
+		this.diretorio = Files.createDirectories(diretorio);
+
+		Instant limiteTemporario = Instant.now().minus(IDADE_MINIMA_SEGMENTO_TEMPORARIO_DESCARTADO);
+		try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO_SEGMENTO_TEMPORARIO)) {
+			for (Path arquivo : arquivos) {
+				if (Files.getLastModifiedTime(arquivo).toInstant().isBefore(limiteTemporario)) {
+					Files.deleteIfExists(arquivo);
+				}
+			}
+		}
+		abrirNovosSegmentos();
+	}
+
+	/**
+	 * Abre os segmentos gravados no diretório por outras instâncias depois da última verificação
+	 *
+	 * @return int
+	 * 		Quantidade de segmentos abertos
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedDelayString = "${api.arquivamento.verificacao}")
+	public int verificarSegmentos() {
+		try {
+			return abrirNovosSegmentos();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Busca uma transação arquivada
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @return Optional<Transacao>
+	 * 		Model com os dados da transação (vazio se não estiver arquivada)
+	 * @author Euller Henrique
+	 */
+	public Optional<Transacao> buscar(Long id) {
+		for (SegmentoTransacao segmento : segmentos) {
+			Optional<Transacao> transacao = segmento.buscar(id);
+			if (transacao.isPresent()) {
+				return transacao;
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Arquiva as transações de um mês em um novo segmento, que passa a ser usado nas buscas assim que está gravado em disco
+	 * <p>
+	 * Um segmento com o mesmo nome (mesmo mês e mesmos ids, de um arquivamento que não chegou a remover as transações do banco) é substituído
+	 * </p>
+	 *
+	 * @param mes
+	 * 		Mês das transações
+	 * @param transacoes
+	 * 		Stream de models com os dados das transações, em ordem crescente de id e já tokenizadas
+	 * @return long
+	 * 		Quantidade de transações arquivadas
+	 * @author Euller Henrique
+	 */
+	public synchronized long salvar(LocalDate mes, Stream<Transacao> transacoes) {
+		Path temporario = diretorio.resolve("transacao_" + mes.format(FORMATO_MES) + "_" + UUID.randomUUID() + EXTENSAO_SEGMENTO_TEMPORARIO);
+
+		try (EscritorSegmentoTransacao escritor = new EscritorSegmentoTransacao(temporario)) {
+			for (Transacao transacao : (Iterable<Transacao>) transacoes::iterator) {
+				escritor.escrever(transacao);
+			}
+			if (escritor.getQuantidadeTransacoes() == 0) {
+				return 0;
+			}
+
+			Path arquivo = diretorio.resolve("transacao_" + mes.format(FORMATO_MES) + "_" + escritor.getMenorId() + "_" + escritor.getMaiorId()
+					+ EXTENSAO_SEGMENTO);
+			escritor.concluir(arquivo);
+
+			segmentos.removeIf(segmento -> segmento.getArquivo().equals(arquivo));
+			segmentos.add(SegmentoTransacao.abrir(arquivo));
+			return escritor.getQuantidadeTransacoes();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Reescreve na versão atual os segmentos gravados antes de as transações arquivadas serem tokenizadas, aplicando a conversão a cada transação
+	 * <p>
+	 * Cada segmento é gravado em um arquivo temporário e substitui o original de uma só vez, portanto uma interrupção mantém o segmento anterior
+	 * </p>
+	 *
+	 * @param conversao
+	 * 		Conversão aplicada às transações dos segmentos reescritos (a tokenização)
+	 * @return int
+	 * 		Quantidade de segmentos reescritos
+	 * @author Euller Henrique
+	 */
+	public synchronized int reescreverSegmentosAnteriores(UnaryOperator<Transacao> conversao) {
+		int reescritos = 0;
+		for (SegmentoTransacao segmento : segmentos) {
+			if (segmento.getVersao() > SegmentoTransacao.VERSAO_SEM_TOKENIZACAO) {
+				continue;
+			}
+
+			Path temporario = diretorio.resolve(segmento.getArquivo().getFileName() + "_" + UUID.randomUUID() + EXTENSAO_SEGMENTO_TEMPORARIO);
+			try (EscritorSegmentoTransacao escritor = new EscritorSegmentoTransacao(temporario)) {
+				for (Transacao transacao : (Iterable<Transacao>) segmento.percorrer().map(conversao)::iterator) {
+					escritor.escrever(transacao);
+				}
+				escritor.concluir(segmento.getArquivo());
+				segmentos.remove(segmento);
+				segmentos.add(SegmentoTransacao.abrir(segmento.getArquivo()));
+				reescritos++;
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+		return reescritos;
+	}
+
+	private synchronized int abrirNovosSegmentos() throws IOException {
+		int abertos = 0;
+		try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO_SEGMENTO)) {
+			for (Path arquivo : arquivos) {
+				if (segmentos.stream().noneMatch(segmento -> segmento.getArquivo().equals(arquivo))) {
+					segmentos.add(SegmentoTransacao.abrir(arquivo));
+					abertos++;
+				}
+			}
+		}
+		return abertos;
+	}
+
+}
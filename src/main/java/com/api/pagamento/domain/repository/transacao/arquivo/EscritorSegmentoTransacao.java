@@ -0,0 +1,200 @@
+package com.api.pagamento.domain.repository.transacao.arquivo;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static com.api.pagamento.domain.constant.arquivo.ArquivoConstants.TRANSACOES_POR_BLOCO;
+
+/**
+ * Escritor de um segmento do arquivo de transações
+ * <p>
+ * As transações, recebidas em ordem crescente de id, são agrupadas em blocos que são comprimidos e escritos à medida que enchem, portanto
+ * apenas um bloco e o índice ficam em memória. O segmento é escrito em um arquivo temporário, que só é renomeado para o nome definitivo depois
+ * de gravado em disco (fsync): um segmento visível está sempre completo
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public class EscritorSegmentoTransacao implements Closeable {
+
+	private final Path arquivoTemporario;
+	private final FileChannel canal;
+	private final ByteArrayOutputStream bloco = new ByteArrayOutputStream();
+	private final DataOutputStream saidaBloco = new DataOutputStream(bloco);
+	private final Deflater compressor = new Deflater();
+	private byte[] comprimido = new byte[64 * 1024];
+
+	private long[] primeirosIds = new long[64];
+	private long[] posicoes = new long[64];
+	private int[] tamanhosComprimidos = new int[64];
+	private int[] tamanhosOriginais = new int[64];
+	private int quantidadeBlocos;
+	private int transacoesNoBloco;
+	private long quantidadeTransacoes;
+	private long menorId;
+	private long maiorId;
+	private boolean concluido;
+
+	/**
+	 * Cria o escritor e o arquivo temporário do segmento
+	 *
+	 * @param arquivoTemporario
+	 * 		Caminho do arquivo temporário
+	 * @throws IOException
+	 * 		Exceção lançada caso o arquivo não possa ser criado
+	 * @author Euller Henrique
+	 */
+	public EscritorSegmentoTransacao(Path arquivoTemporario) throws IOException {
+		this.arquivoTemporario = arquivoTemporario;
+		this.canal = FileChannel.open(arquivoTemporario, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Adiciona uma transação ao segmento
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação (com id maior que o da transação anterior)
+	 * @throws IOException
+	 * 		Exceção lançada caso o bloco não possa ser escrito
+	 * @author Euller Henrique
+	 */
+	public void escrever(Transacao transacao) throws IOException {
+		long id = transacao.getId();
+		if (quantidadeTransacoes > 0 && id <= maiorId) {
+			throw new IllegalArgumentException("As transações do segmento devem estar em ordem crescente de id: " + id + " após " + maiorId);
+		}
+
+		if (transacoesNoBloco == 0) {
+			if (quantidadeBlocos == primeirosIds.length) {
+				aumentarIndice();
+			}
+			primeirosIds[quantidadeBlocos] = id;
+		}
+		SegmentoTransacao.escrever(saidaBloco, transacao);
+
+		if (quantidadeTransacoes == 0) {
+			menorId = id;
+		}
+		maiorId = id;
+		quantidadeTransacoes++;
+		if (++transacoesNoBloco == TRANSACOES_POR_BLOCO) {
+			escreverBloco();
+		}
+	}
+
+	/**
+	 * Conclui o segmento: escreve o último bloco, o índice e o rodapé, grava o arquivo em disco e o renomeia para o nome definitivo
+	 *
+	 * @param arquivo
+	 * 		Caminho definitivo do segmento (substituído, se já existir)
+	 * @throws IOException
+	 * 		Exceção lançada caso o segmento não possa ser concluído
+	 * @author Euller Henrique
+	 */
+	public void concluir(Path arquivo) throws IOException {
+		if (transacoesNoBloco > 0) {
+			escreverBloco();
+		}
+
+		long posicaoIndice = canal.position();
+		ByteBuffer indice = ByteBuffer.allocate(quantidadeBlocos * SegmentoTransacao.TAMANHO_ENTRADA_INDICE + SegmentoTransacao.TAMANHO_RODAPE);
+		for (int i = 0; i < quantidadeBlocos; i++) {
+			indice.putLong(primeirosIds[i]).putLong(posicoes[i]).putInt(tamanhosComprimidos[i]).putInt(tamanhosOriginais[i]);
+		}
+		indice.putLong(posicaoIndice).putInt(quantidadeBlocos).putLong(menorId).putLong(maiorId).putLong(quantidadeTransacoes)
+				.putInt(SegmentoTransacao.VERSAO).putInt(SegmentoTransacao.IDENTIFICADOR);
+		escreverTudo(indice.flip());
+		if (canal.position() > Integer.MAX_VALUE) {
+			throw new IllegalStateException("O segmento excede o tamanho máximo de um arquivo mapeado: " + canal.position() + " bytes");
+		}
+
+		canal.force(true);
+		canal.close();
+		Files.move(arquivoTemporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		concluido = true;
+	}
+
+	public long getQuantidadeTransacoes() {
+		return quantidadeTransacoes;
+	}
+
+	public long getMenorId() {
+		return menorId;
+	}
+
+	public long getMaiorId() {
+		return maiorId;
+	}
+
+	/**
+	 * Libera o compressor e, se o segmento não foi concluído, descarta o arquivo temporário
+	 *
+	 * @throws IOException
+	 * 		Exceção lançada caso o arquivo temporário não possa ser removido
+	 * @author Euller Henrique
+	 */
+	@Override
+	public void close() throws IOException {
+		compressor.end();
+		if (!concluido) {
+			canal.close();
+			Files.deleteIfExists(arquivoTemporario);
+		}
+	}
+
+	/**
+	 * Comprime o bloco atual, escreve no arquivo e registra a sua posição no índice
+	 *
+	 * @throws IOException
+	 * 		Exceção lançada caso o bloco não possa ser escrito
+	 * @author Euller Henrique
+	 */
+	private void escreverBloco() throws IOException {
+		byte[] original = bloco.toByteArray();
+		compressor.reset();
+		compressor.setInput(original);
+		compressor.finish();
+		int tamanhoComprimido = 0;
+		while (!compressor.finished()) {
+			if (tamanhoComprimido == comprimido.length) {
+				comprimido = Arrays.copyOf(comprimido, comprimido.length * 2);
+			}
+			tamanhoComprimido += compressor.deflate(comprimido, tamanhoComprimido, comprimido.length - tamanhoComprimido);
+		}
+
+		posicoes[quantidadeBlocos] = canal.position();
+		tamanhosComprimidos[quantidadeBlocos] = tamanhoComprimido;
+		tamanhosOriginais[quantidadeBlocos] = original.length;
+		escreverTudo(ByteBuffer.wrap(comprimido, 0, tamanhoComprimido));
+
+		quantidadeBlocos++;
+		transacoesNoBloco = 0;
+		bloco.reset();
+	}
+
+	private void escreverTudo(ByteBuffer conteudo) throws IOException {
+		while (conteudo.hasRemaining()) {
+			canal.write(conteudo);
+		}
+	}
+
+	private void aumentarIndice() {
+		primeirosIds = Arrays.copyOf(primeirosIds, primeirosIds.length * 2);
+		posicoes = Arrays.copyOf(posicoes, posicoes.length * 2);
+		tamanhosComprimidos = Arrays.copyOf(tamanhosComprimidos, tamanhosComprimidos.length * 2);
+		tamanhosOriginais = Arrays.copyOf(tamanhosOriginais, tamanhosOriginais.length * 2);
+	}
+
+}
@@ -0,0 +1,272 @@
+package com.api.pagamento.domain.repository.transacao.arquivo;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Segmento (arquivo somente leitura) do arquivo de transações, lido através de um mapeamento em memória (mmap)
+ * <p>
+ * O arquivo é formado por blocos comprimidos (deflate) de transações ordenadas pelo id, seguidos do índice dos blocos (id da primeira transação,
+ * posição e tamanhos de cada bloco) e de um rodapé de tamanho fixo. O índice fica em memória: buscar uma transação é uma busca binária no índice
+ * e a descompressão de um único bloco, lido direto das páginas do arquivo mapeado, sem cópia para um buffer intermediário
+ * </p>
+ * <p>
+ * A versão 2 acrescenta a bandeira e a versão 3 o token do cartão ao fim de cada transação; segmentos das versões anteriores continuam sendo
+ * lidos, com os campos que não possuem nulos. A versão 4 mantém o formato da versão 3 e indica que todas as transações do segmento foram
+ * gravadas tokenizadas; os segmentos anteriores podem guardar o número do cartão e são reescritos na versão atual
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public class SegmentoTransacao {
+
+	static final int IDENTIFICADOR = 0x54525347;
+	static final int VERSAO = 4;
+	static final int VERSAO_SEM_BANDEIRA = 1;
+	static final int VERSAO_SEM_TOKEN_CARTAO = 2;
+	static final int VERSAO_SEM_TOKENIZACAO = 3;
+	static final int TAMANHO_RODAPE = Long.BYTES * 4 + Integer.BYTES * 3;
+	static final int TAMANHO_ENTRADA_INDICE = Long.BYTES * 2 + Integer.BYTES * 2;
+
+	private final Path arquivo;
+	private final MappedByteBuffer conteudo;
+	private final long menorId;
+	private final long maiorId;
+	private final long quantidadeTransacoes;
+	private final int versao;
+	private final long[] primeirosIds;
+	private final long[] posicoes;
+	private final int[] tamanhosComprimidos;
+	private final int[] tamanhosOriginais;
+
+	private SegmentoTransacao(Path arquivo, MappedByteBuffer conteudo) {
+		this.arquivo = arquivo;
+		this.conteudo = conteudo;
+
+		ByteBuffer rodape = conteudo.slice(conteudo.capacity() - TAMANHO_RODAPE, TAMANHO_RODAPE);
+		long posicaoIndice = rodape.getLong();
+		int quantidadeBlocos = rodape.getInt();
+		this.menorId = rodape.getLong();
+		this.maiorId = rodape.getLong();
+		this.quantidadeTransacoes = rodape.getLong();
+		this.versao = rodape.getInt();
+		if (rodape.getInt() != IDENTIFICADOR || versao < VERSAO_SEM_BANDEIRA || versao > VERSAO) {
+			throw new IllegalStateException("Segmento de transações inválido: " + arquivo);
+		}
+
+		this.primeirosIds = new long[quantidadeBlocos];
+		this.posicoes = new long[quantidadeBlocos];
+		this.tamanhosComprimidos = new int[quantidadeBlocos];
+		this.tamanhosOriginais = new int[quantidadeBlocos];
+		ByteBuffer indice = conteudo.slice((int) posicaoIndice, quantidadeBlocos * TAMANHO_ENTRADA_INDICE);
+		for (int i = 0; i < quantidadeBlocos; i++) {
+			primeirosIds[i] = indice.getLong();
+			posicoes[i] = indice.getLong();
+			tamanhosComprimidos[i] = indice.getInt();
+			tamanhosOriginais[i] = indice.getInt();
+		}
+	}
+
+	/**
+	 * Abre um segmento, mapeando o arquivo em memória e carregando o seu índice
+	 *
+	 * @param arquivo
+	 * 		Caminho do segmento
+	 * @return SegmentoTransacao
+	 * 		Segmento aberto
+	 * @throws IOException
+	 * 		Exceção lançada caso o arquivo não possa ser lido
+	 * @author Euller Henrique
+	 */
+	public static SegmentoTransacao abrir(Path arquivo) throws IOException {
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			return new SegmentoTransacao(arquivo, canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+		}
+	}
+
+	/**
+	 * Busca uma transação do segmento pelo id
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @return Optional<Transacao>
+	 * 		Model com os dados da transação (vazio se não estiver no segmento)
+	 * @author Euller Henrique
+	 */
+	public Optional<Transacao> buscar(long id) {
+		if (id < menorId || id > maiorId) {
+			return Optional.empty();
+		}
+
+		int posicao = Arrays.binarySearch(primeirosIds, id);
+		int bloco = posicao >= 0 ? posicao : -posicao - 2;
+		if (bloco < 0) {
+			return Optional.empty();
+		}
+
+		try {
+			DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(descomprimir(bloco)));
+			while (entrada.available() > 0) {
+				Transacao transacao = ler(entrada, versao);
+				if (transacao.getId() == id) {
+					return Optional.of(transacao);
+				}
+				if (transacao.getId() > id) {
+					break;
+				}
+			}
+			return Optional.empty();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Percorre todas as transações do segmento, em ordem crescente de id, descomprimindo um bloco de cada vez
+	 *
+	 * @return Stream<Transacao>
+	 * 		Stream de models com os dados das transações
+	 * @author Euller Henrique
+	 */
+	public Stream<Transacao> percorrer() {
+		return IntStream.range(0, primeirosIds.length).boxed().flatMap(bloco -> {
+			try {
+				DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(descomprimir(bloco)));
+				List<Transacao> transacoes = new ArrayList<>();
+				while (entrada.available() > 0) {
+					transacoes.add(ler(entrada, versao));
+				}
+				return transacoes.stream();
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
+
+	public Path getArquivo() {
+		return arquivo;
+	}
+
+	public int getVersao() {
+		return versao;
+	}
+
+	public long getQuantidadeTransacoes() {
+		return quantidadeTransacoes;
+	}
+
+	/**
+	 * Escreve uma transação no formato do segmento
+	 *
+	 * @param saida
+	 * 		Saída do bloco
+	 * @param transacao
+	 * 		Model com os dados da transação
+	 * @throws IOException
+	 * 		Exceção lançada caso a saída não possa ser escrita
+	 * @author Euller Henrique
+	 */
+	static void escrever(DataOutput saida, Transacao transacao) throws IOException {
+		DescricaoTransacao descricao = transacao.getDescricao();
+		saida.writeLong(transacao.getId());
+		saida.writeUTF(transacao.getCartao());
+		saida.writeLong(descricao.getValor().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+		saida.writeLong(descricao.getDataHora().toEpochSecond(ZoneOffset.UTC));
+		saida.writeInt(descricao.getDataHora().getNano());
+		saida.writeUTF(descricao.getEstabelecimento());
+		saida.writeUTF(descricao.getNsu());
+		saida.writeUTF(descricao.getCodigoAutorizacao());
+		saida.writeUTF(descricao.getStatus().name());
+		saida.writeUTF(transacao.getFormaPagamento().getTipo().name());
+		saida.writeInt(transacao.getFormaPagamento().getParcelas());
+		saida.writeUTF(transacao.getBandeira() == null ? "" : transacao.getBandeira());
+		saida.writeUTF(transacao.getTokenCartao() == null ? "" : transacao.getTokenCartao());
+	}
+
+	/**
+	 * Lê uma transação no formato do segmento
+	 *
+	 * @param entrada
+	 * 		Entrada do bloco descomprimido
+	 * @param versao
+	 * 		Versão do segmento
+	 * @return Transacao
+	 * 		Model com os dados da transação
+	 * @throws IOException
+	 * 		Exceção lançada caso a entrada não possa ser lida
+	 * @author Euller Henrique
+	 */
+	private static Transacao ler(DataInput entrada, int versao) throws IOException {
+		long id = entrada.readLong();
+		String cartao = entrada.readUTF();
+		BigDecimal valor = BigDecimal.valueOf(entrada.readLong(), 2);
+		LocalDateTime dataHora = LocalDateTime.ofEpochSecond(entrada.readLong(), entrada.readInt(), ZoneOffset.UTC);
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(valor).dataHora(dataHora).estabelecimento(entrada.readUTF())
+				.nsu(entrada.readUTF()).codigoAutorizacao(entrada.readUTF()).status(StatusTransacaoEnum.valueOf(entrada.readUTF())).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.valueOf(entrada.readUTF()))
+				.parcelas(entrada.readInt()).build();
+		String bandeira = versao == VERSAO_SEM_BANDEIRA ? "" : entrada.readUTF();
+		String tokenCartao = versao <= VERSAO_SEM_TOKEN_CARTAO ? "" : entrada.readUTF();
+
+		return Transacao.builder().id(id).cartao(cartao).tokenCartao(tokenCartao.isEmpty() ? null : tokenCartao)
+				.bandeira(bandeira.isEmpty() ? null : bandeira).descricao(descricao).formaPagamento(formaPagamento).build();
+	}
+
+	/**
+	 * Descomprime um bloco direto do arquivo mapeado
+	 *
+	 * @param bloco
+	 * 		Posição do bloco no índice
+	 * @return byte[]
+	 * 		Bloco descomprimido
+	 * @author Euller Henrique
+	 */
+	private byte[] descomprimir(int bloco) {
+		Inflater descompressor = new Inflater();
+		try {
+			descompressor.setInput(conteudo.slice((int) posicoes[bloco], tamanhosComprimidos[bloco]));
+			byte[] original = new byte[tamanhosOriginais[bloco]];
+			int lidos = 0;
+			while (lidos < original.length) {
+				int descomprimidos = descompressor.inflate(original, lidos, original.length - lidos);
+				if (descomprimidos == 0 && (descompressor.finished() || descompressor.needsInput() || descompressor.needsDictionary())) {
+					throw new DataFormatException("bloco " + bloco + " menor que o tamanho original");
+				}
+				lidos += descomprimidos;
+			}
+			return original;
+		} catch (DataFormatException ex) {
+			throw new IllegalStateException("Bloco corrompido no segmento de transações: " + arquivo, ex);
+		} finally {
+			descompressor.end();
+		}
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.api.pagamento.domain.repository.transacao.contexto;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+
+/**
+ * Repositório responsável por controlar as transações mantidas em memória pelo contexto de persistência
+ *
+ * @author Euller Henrique
+ */
+public interface ContextoTransacaoRepository {
+
+	/**
+	 * Remove a transação do contexto de persistência, para que ela deixe de ser acompanhada e possa ser coletada
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação
+	 * @author Euller Henrique
+	 */
+	void desanexar(Transacao transacao);
+
+	/**
+	 * Remove todas as transações do contexto de persistência
+	 *
+	 * @author Euller Henrique
+	 */
+	void limparContexto();
+
+}
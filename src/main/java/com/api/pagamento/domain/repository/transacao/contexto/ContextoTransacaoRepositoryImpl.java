@@ -0,0 +1,27 @@
+package com.api.pagamento.domain.repository.transacao.contexto;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Implementação do repositório do contexto de persistência das transações, sobre o EntityManager da transação de banco atual
+ *
+ * @author Euller Henrique
+ */
+@RequiredArgsConstructor
+public class ContextoTransacaoRepositoryImpl implements ContextoTransacaoRepository {
+
+	private final EntityManager entityManager;
+
+	@Override
+	public void desanexar(Transacao transacao) {
+		entityManager.detach(transacao);
+	}
+
+	@Override
+	public void limparContexto() {
+		entityManager.clear();
+	}
+
+}
@@ -0,0 +1,199 @@
+package com.api.pagamento.domain.repository.transacao.diario;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao;
+import com.api.pagamento.domain.repository.transacao.livro.SegmentosLivro;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.api.pagamento.domain.constant.diario.DiarioConstants.ARQUIVO_REJEITADOS_DIARIO;
+import static com.api.pagamento.domain.constant.diario.DiarioConstants.PREFIXO_SEGMENTO_DIARIO;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_BANCO;
+import static com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao.TAMANHO;
+
+/**
+ * Diário dos pagamentos (write-ahead log): guarda em disco local os pagamentos aceitos que ainda não foram inseridos no banco
+ * <p>
+ * Cada pagamento é um registro do livro ({@link RegistroLivroTransacao}) adicionado ao fim de segmentos mapeados em memória e gravado em
+ * disco em grupo ({@link SegmentosLivro}): um único fsync confirma todos os pagamentos escritos enquanto o fsync anterior acontecia. Os
+ * segmentos já inseridos no banco são descartados; ao reabrir o diário, os registros dos segmentos restantes são lidos novamente
+ * </p>
+ * <p>
+ * Os pagamentos que o banco recusa definitivamente são copiados, no mesmo formato, para o arquivo de rejeitados, para que possam ser
+ * corrigidos e inseridos manualmente sem impedir a descarga dos demais
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+@Profile(PERFIL_BANCO)
+@ConditionalOnProperty(name = "api.diario.habilitado", havingValue = "true")
+public class DiarioTransacao implements Closeable {
+
+	private final SegmentosLivro segmentos;
+	private final Path rejeitados;
+	private final ReentrantLock escrita = new ReentrantLock();
+	private final ByteBuffer rascunho = ByteBuffer.allocate(TAMANHO);
+
+	/**
+	 * Abre o diário: mapeia os segmentos existentes, encontra o fim do diário e inicia a thread de gravação
+	 *
+	 * @param diretorio
+	 * 		Diretório dos segmentos
+	 * @param tamanhoSegmento
+	 * 		Tamanho de cada segmento (usado apenas em um diário novo)
+	 * @throws IOException
+	 * 		Exceção lançada caso o diretório ou um segmento não possa ser lido
+	 * @author Euller Henrique
+	 */
+	public DiarioTransacao(@Value("${api.diario.diretorio}") Path diretorio, @Value("${api.diario.tamanho-segmento}") DataSize tamanhoSegmento)
+			throws IOException {
+		this.segmentos = new SegmentosLivro(diretorio, PREFIXO_SEGMENTO_DIARIO, tamanhoSegmento, "diario-transacao-gravador");
+		this.rejeitados = diretorio.resolve(ARQUIVO_REJEITADOS_DIARIO);
+		segmentos.recuperar(0, (registro, segmento, posicao) -> {
+			// Os registros são lidos depois, por quem descarrega o diário no banco
+		});
+	}
+
+	/**
+	 * Adiciona o pagamento ao diário, retornando apenas depois que ele (e todos os anteriores) estiver gravado em disco
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação, já com id
+	 * @throws IllegalStateException
+	 * 		Exceção lançada caso o diário esteja fechado ou a gravação em disco tenha falhado
+	 * @author Euller Henrique
+	 */
+	public void adicionar(Transacao transacao) {
+		long registros;
+		escrita.lock();
+		try {
+			RegistroLivroTransacao.escreverTransacao(rascunho, 0, transacao.getId(), transacao);
+			segmentos.escrever(rascunho);
+		} finally {
+			registros = segmentos.publicar();
+			escrita.unlock();
+		}
+		segmentos.aguardarGravacao(registros);
+	}
+
+	/**
+	 * Lê os pagamentos gravados em disco a partir do registro informado
+	 *
+	 * @param inicio
+	 * 		Primeiro registro lido
+	 * @param limite
+	 * 		Quantidade máxima de pagamentos lidos
+	 * @return List<Transacao>
+	 * 		Models com os dados das transações, na ordem do diário (um por registro, portanto o próximo registro é o início mais o tamanho)
+	 * @author Euller Henrique
+	 */
+	public List<Transacao> ler(long inicio, int limite) {
+		long fim = Math.min(segmentos.registrosGravados(), inicio + limite);
+		List<Transacao> transacoes = new ArrayList<>((int) Math.max(0, fim - inicio));
+		for (long registro = inicio; registro < fim; registro++) {
+			transacoes.add(RegistroLivroTransacao.lerTransacao(segmentos.obterSegmento(registro), segmentos.posicao(registro)));
+		}
+		return transacoes;
+	}
+
+	/**
+	 * Copia para o arquivo de rejeitados um pagamento que o banco recusou definitivamente, retornando depois que ele está gravado em disco
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação, já com id
+	 * @author Euller Henrique
+	 */
+	public synchronized void rejeitar(Transacao transacao) {
+		ByteBuffer registro = ByteBuffer.allocate(TAMANHO);
+		RegistroLivroTransacao.escreverTransacao(registro, 0, transacao.getId(), transacao);
+		try (FileChannel canal = FileChannel.open(rejeitados, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			while (registro.hasRemaining()) {
+				canal.write(registro);
+			}
+			canal.force(true);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Lê os pagamentos do arquivo de rejeitados
+	 *
+	 * @return List<Transacao>
+	 * 		Models com os dados das transações, na ordem em que foram rejeitadas
+	 * @author Euller Henrique
+	 */
+	public synchronized List<Transacao> lerRejeitados() {
+		try {
+			if (!Files.exists(rejeitados)) {
+				return List.of();
+			}
+			ByteBuffer conteudo = ByteBuffer.wrap(Files.readAllBytes(rejeitados));
+			List<Transacao> transacoes = new ArrayList<>(conteudo.capacity() / TAMANHO);
+			for (int posicao = 0; posicao + TAMANHO <= conteudo.capacity(); posicao += TAMANHO) {
+				transacoes.add(RegistroLivroTransacao.lerTransacao(conteudo, posicao));
+			}
+			return transacoes;
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Descarta os segmentos cujos pagamentos já foram todos inseridos no banco
+	 *
+	 * @param registro
+	 * 		Primeiro registro ainda não inserido no banco
+	 * @author Euller Henrique
+	 */
+	public void descartarAte(long registro) {
+		try {
+			segmentos.descartarAte(registro);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Obtém o primeiro registro do diário, do qual a leitura deve começar ao reabri-lo
+	 *
+	 * @return long
+	 * 		Número do primeiro registro do primeiro segmento não descartado
+	 * @author Euller Henrique
+	 */
+	public long primeiroRegistro() {
+		return segmentos.primeiroRegistro();
+	}
+
+	/**
+	 * Encerra a thread de gravação, após gravar em disco os registros pendentes
+	 *
+	 * @author Euller Henrique
+	 */
+	@Override
+	public void close() {
+		escrita.lock();
+		try {
+			segmentos.close();
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.api.pagamento.domain.repository.transacao.diario;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_BANCO;
+
+/**
+ * Repositório responsável por inserir no banco, em lote, os pagamentos do diário
+ * <p>
+ * Os pagamentos são inseridos direto pelo jdbc (sem o contexto de persistência), em uma única transação de banco por lote. Um pagamento que
+ * já está no banco é ignorado, portanto ler o diário novamente após uma queda não duplica nem altera transações
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+@Profile(PERFIL_BANCO)
+@ConditionalOnProperty(name = "api.diario.habilitado", havingValue = "true")
+public class InsercaoTransacaoRepository {
+
+	private static final String SQL_INSERIR = "INSERT INTO transacao (id, cartao, valor, data_hora, estabelecimento, nsu, codigo_autorizacao,"
+			+ " status, tipo, parcelas, bandeira, token_cartao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	/**
+	 * Cria o repositório
+	 *
+	 * @param dataSource
+	 * 		DataSource da aplicação (as transações de escrita vão para o banco primário)
+	 * @param transactionManager
+	 * 		Gerenciador de transações da aplicação
+	 * @author Euller Henrique
+	 */
+	public InsercaoTransacaoRepository(DataSource dataSource, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Insere as transações em uma única transação de banco, ignorando as que já existirem
+	 *
+	 * @param transacoes
+	 * 		Models com os dados das transações, já com id
+	 * @author Euller Henrique
+	 */
+	public void inserir(List<Transacao> transacoes) {
+		transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_INSERIR, transacoes, transacoes.size(), (ps, transacao) -> {
+			ps.setLong(1, transacao.getId());
+			ps.setString(2, transacao.getCartao());
+			ps.setBigDecimal(3, transacao.getDescricao().getValor());
+			ps.setTimestamp(4, Timestamp.valueOf(transacao.getDescricao().getDataHora()));
+			ps.setString(5, transacao.getDescricao().getEstabelecimento());
+			ps.setString(6, transacao.getDescricao().getNsu());
+			ps.setString(7, transacao.getDescricao().getCodigoAutorizacao());
+			ps.setString(8, transacao.getDescricao().getStatus().name());
+			ps.setString(9, transacao.getFormaPagamento().getTipo().name());
+			ps.setInt(10, transacao.getFormaPagamento().getParcelas());
+			ps.setString(11, transacao.getBandeira());
+			ps.setString(12, transacao.getTokenCartao());
+		}));
+	}
+
+}
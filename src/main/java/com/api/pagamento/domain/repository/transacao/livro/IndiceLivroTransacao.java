@@ -0,0 +1,157 @@
+package com.api.pagamento.domain.repository.transacao.livro;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static com.api.pagamento.domain.constant.livro.LivroConstants.BITS_BLOCO_INDICE_LIVRO;
+
+/**
+ * Índice id → registro do livro de transações, guardado fora do heap
+ * <p>
+ * Os ids são sequenciais, portanto o índice é um vetor de longs endereçado pelo id, dividido em blocos de memória direta (fora do heap, sem
+ * custo para o coletor de lixo). Cada posição guarda o número do registro mais recente da transação + 1 (0 para id sem registro)
+ * </p>
+ * <p>
+ * Há um único escritor por vez (o livro escreve com lock). A escrita de uma posição é publicada com release e a leitura é feita com acquire:
+ * quem lê o número de um registro enxerga o registro inteiro, escrito antes no arquivo mapeado
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public class IndiceLivroTransacao {
+
+	private static final int IDS_POR_BLOCO = 1 << BITS_BLOCO_INDICE_LIVRO;
+	private static final int MASCARA_BLOCO = IDS_POR_BLOCO - 1;
+	private static final int TAMANHO_BLOCO = IDS_POR_BLOCO * Long.BYTES;
+	private static final VarHandle REGISTROS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+	private volatile ByteBuffer[] blocos = new ByteBuffer[0];
+
+	/**
+	 * Obtém o registro mais recente da transação
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @return long
+	 * 		Número do registro + 1 (0 se a transação não tiver registro)
+	 * @author Euller Henrique
+	 */
+	public long obter(long id) {
+		ByteBuffer[] atuais = blocos;
+		if (id < 0 || id >>> BITS_BLOCO_INDICE_LIVRO >= atuais.length) {
+			return 0;
+		}
+		return (long) REGISTROS.getAcquire(atuais[(int) (id >>> BITS_BLOCO_INDICE_LIVRO)], posicao(id));
+	}
+
+	/**
+	 * Associa o registro à transação (apenas um escritor por vez)
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @param registro
+	 * 		Número do registro + 1
+	 * @author Euller Henrique
+	 */
+	public void colocar(long id, long registro) {
+		if (id < 0 || id >>> BITS_BLOCO_INDICE_LIVRO >= Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Id fora do intervalo suportado pelo índice do livro: " + id);
+		}
+
+		int bloco = (int) (id >>> BITS_BLOCO_INDICE_LIVRO);
+		if (bloco >= blocos.length) {
+			aumentar(bloco + 1);
+		}
+		REGISTROS.setRelease(blocos[bloco], posicao(id), registro);
+	}
+
+	/**
+	 * Grava as posições dos ids 0 a quantidadeIds - 1 no canal
+	 *
+	 * @param canal
+	 * 		Canal de destino
+	 * @param quantidadeIds
+	 * 		Quantidade de ids gravados
+	 * @throws IOException
+	 * 		Exceção lançada caso o canal não possa ser escrito
+	 * @author Euller Henrique
+	 */
+	public void gravar(FileChannel canal, long quantidadeIds) throws IOException {
+		ByteBuffer[] atuais = blocos;
+		long restantes = quantidadeIds * Long.BYTES;
+		for (int i = 0; i < atuais.length && restantes > 0; i++) {
+			ByteBuffer bloco = atuais[i].duplicate().clear().limit((int) Math.min(TAMANHO_BLOCO, restantes));
+			restantes -= bloco.remaining();
+			while (bloco.hasRemaining()) {
+				canal.write(bloco);
+			}
+		}
+	}
+
+	/**
+	 * Copia as posições dos ids 0 a quantidadeIds - 1 para blocos no heap, para serem gravadas depois sem bloquear os escritores
+	 *
+	 * @param quantidadeIds
+	 * 		Quantidade de ids copiados
+	 * @return IndiceLivroTransacao
+	 * 		Cópia do índice
+	 * @author Euller Henrique
+	 */
+	public IndiceLivroTransacao copiar(long quantidadeIds) {
+		ByteBuffer[] atuais = blocos;
+		IndiceLivroTransacao copia = new IndiceLivroTransacao();
+		copia.blocos = new ByteBuffer[(int) Math.min(atuais.length, (quantidadeIds + MASCARA_BLOCO) >>> BITS_BLOCO_INDICE_LIVRO)];
+		for (int i = 0; i < copia.blocos.length; i++) {
+			copia.blocos[i] = ByteBuffer.allocate(TAMANHO_BLOCO).put(atuais[i].duplicate().clear()).clear();
+		}
+		return copia;
+	}
+
+	/**
+	 * Lê as posições dos ids 0 a quantidadeIds - 1 do canal
+	 *
+	 * @param canal
+	 * 		Canal de origem
+	 * @param quantidadeIds
+	 * 		Quantidade de ids lidos
+	 * @return IndiceLivroTransacao
+	 * 		Índice lido
+	 * @throws IOException
+	 * 		Exceção lançada caso o canal não possa ser lido ou termine antes do esperado
+	 * @author Euller Henrique
+	 */
+	public static IndiceLivroTransacao ler(FileChannel canal, long quantidadeIds) throws IOException {
+		IndiceLivroTransacao indice = new IndiceLivroTransacao();
+		indice.aumentar((int) ((quantidadeIds + MASCARA_BLOCO) >>> BITS_BLOCO_INDICE_LIVRO));
+		long restantes = quantidadeIds * Long.BYTES;
+		for (ByteBuffer bloco : indice.blocos) {
+			ByteBuffer destino = bloco.duplicate().clear().limit((int) Math.min(TAMANHO_BLOCO, restantes));
+			restantes -= destino.remaining();
+			while (destino.hasRemaining()) {
+				if (canal.read(destino) < 0) {
+					throw new EOFException("Snapshot do livro de transações incompleto");
+				}
+			}
+		}
+		return indice;
+	}
+
+	private void aumentar(int quantidadeBlocos) {
+		ByteBuffer[] maiores = Arrays.copyOf(blocos, Math.max(quantidadeBlocos, blocos.length + blocos.length / 2));
+		for (int i = blocos.length; i < maiores.length; i++) {
+			maiores[i] = ByteBuffer.allocateDirect(TAMANHO_BLOCO + Long.BYTES).alignedSlice(Long.BYTES).limit(TAMANHO_BLOCO).slice();
+		}
+		blocos = maiores;
+	}
+
+	private static int posicao(long id) {
+		return (int) (id & MASCARA_BLOCO) * Long.BYTES;
+	}
+
+}
@@ -0,0 +1,387 @@
+package com.api.pagamento.domain.repository.transacao.livro;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.repository.transacao.memoria.ArmazenamentoTransacao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.api.pagamento.domain.constant.livro.LivroConstants.ARQUIVO_SNAPSHOT_LIVRO;
+import static com.api.pagamento.domain.constant.livro.LivroConstants.EXTENSAO_SNAPSHOT_TEMPORARIO;
+import static com.api.pagamento.domain.constant.livro.LivroConstants.PREFIXO_SEGMENTO_LIVRO;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_LIVRO;
+import static com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao.TAMANHO;
+import static com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao.TIPO_REMOCAO;
+import static com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao.TIPO_TRANSACAO;
+
+/**
+ * Livro das transações: armazenamento em disco usado no perfil livro, em que cada escrita é um registro adicionado ao fim de um log
+ * <p>
+ * Pagamentos, estornos e remoções são registros de tamanho fixo ({@link RegistroLivroTransacao}) escritos em segmentos mapeados em memória
+ * (mmap); um registro nunca é alterado. O índice id → registro mais recente fica fora do heap ({@link IndiceLivroTransacao}), portanto buscar
+ * uma transação é ler um único registro do arquivo mapeado
+ * </p>
+ * <p>
+ * Uma escrita só retorna depois que o seu registro, e todos os anteriores, estão gravados em disco. A gravação é feita por uma única thread,
+ * que grava de uma vez tudo o que foi escrito desde a gravação anterior (group commit): com muitas escritas simultâneas, um único fsync
+ * confirma todas. As leituras só enxergam registros gravados: enquanto um estorno não está em disco, a transação é lida pelo registro anterior
+ * </p>
+ * <p>
+ * O índice é salvo periodicamente em um snapshot, junto com a quantidade de registros que ele cobre. Ao abrir o livro, o snapshot é carregado e
+ * apenas os registros posteriores são lidos novamente; o primeiro registro incompleto (de uma escrita interrompida) marca o fim do livro
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Component
+@Profile(PERFIL_LIVRO)
+public class LivroTransacao implements ArmazenamentoTransacao, Closeable {
+
+	private static final int IDENTIFICADOR_SNAPSHOT = 0x4C565253;
+	private static final int VERSAO_SNAPSHOT = 1;
+	private static final int TAMANHO_CABECALHO_SNAPSHOT = Integer.BYTES * 2 + Long.BYTES * 3;
+
+	private final Path diretorio;
+	private final SegmentosLivro segmentos;
+	private final ReentrantLock escrita = new ReentrantLock();
+	private final ByteBuffer rascunho = ByteBuffer.allocate(TAMANHO);
+
+	private IndiceLivroTransacao indice;
+	private long proximoRegistro;
+	private volatile long ultimoId;
+	private volatile long quantidade;
+	private long registrosSnapshot;
+
+	/**
+	 * Abre o livro: mapeia os segmentos existentes, carrega o snapshot, lê os registros posteriores a ele e inicia a thread de gravação
+	 *
+	 * @param diretorio
+	 * 		Diretório dos segmentos e do snapshot
+	 * @param tamanhoSegmento
+	 * 		Tamanho de cada segmento (usado apenas em um livro novo; um livro existente mantém o tamanho dos seus segmentos)
+	 * @throws IOException
+	 * 		Exceção lançada caso o diretório, um segmento ou o snapshot não possa ser lido
+	 * @author Euller Henrique
+	 */
+	public LivroTransacao(@Value("${api.livro.diretorio}") Path diretorio, @Value("${api.livro.tamanho-segmento}") DataSize tamanhoSegmento)
+			throws IOException {
+		this.diretorio = diretorio;
+		this.segmentos = new SegmentosLivro(diretorio, PREFIXO_SEGMENTO_LIVRO, tamanhoSegmento, "livro-transacao-gravador");
+		if (segmentos.primeiroRegistro() != 0) {
+			throw new IllegalStateException("Segmento do livro ausente: o primeiro segmento deve ser o de número zero");
+		}
+		Files.deleteIfExists(diretorio.resolve(ARQUIVO_SNAPSHOT_LIVRO + EXTENSAO_SNAPSHOT_TEMPORARIO));
+
+		carregarSnapshot();
+		this.proximoRegistro = segmentos.recuperar(registrosSnapshot,
+				(registro, segmento, posicao) -> aplicar(registro, RegistroLivroTransacao.lerTipo(segmento, posicao),
+						RegistroLivroTransacao.lerId(segmento, posicao)));
+	}
+
+	@Override
+	public Optional<Transacao> obter(long id) {
+		return Optional.ofNullable(lerGravada(id));
+	}
+
+	@Override
+	public Stream<Transacao> percorrer(long id) {
+		return LongStream.rangeClosed(Math.max(id, 1), ultimoId).mapToObj(this::lerGravada).filter(Objects::nonNull);
+	}
+
+	@Override
+	public long quantidade() {
+		return quantidade;
+	}
+
+	@Override
+	public void salvar(List<? extends Transacao> transacoes) {
+		long registros;
+		escrita.lock();
+		try {
+			for (Transacao transacao : transacoes) {
+				long id = transacao.getId() == null ? ultimoId + 1 : transacao.getId();
+				RegistroLivroTransacao.escreverTransacao(rascunho, indice.obter(id), id, transacao);
+				escrever(id);
+				transacao.setId(id);
+			}
+		} finally {
+			registros = publicar();
+		}
+		segmentos.aguardarGravacao(registros);
+	}
+
+	@Override
+	public List<Transacao> alterarStatus(Collection<Long> ids, StatusTransacaoEnum statusEsperado, StatusTransacaoEnum statusNovo) {
+		List<Transacao> alteradas = new ArrayList<>(ids.size());
+		long registros;
+		escrita.lock();
+		try {
+			for (Long id : ids) {
+				long anterior = indice.obter(id);
+				Transacao transacao = anterior == 0 ? null : lerRegistro(anterior - 1);
+				if (transacao == null || transacao.getDescricao().getStatus() != statusEsperado) {
+					continue;
+				}
+
+				transacao.getDescricao().setStatus(statusNovo);
+				RegistroLivroTransacao.escreverTransacao(rascunho, anterior, id, transacao);
+				escrever(id);
+				alteradas.add(transacao);
+			}
+		} finally {
+			registros = publicar();
+		}
+		segmentos.aguardarGravacao(registros);
+		return alteradas;
+	}
+
+	@Override
+	public void remover(Collection<Long> ids) {
+		long registros;
+		escrita.lock();
+		try {
+			for (Long id : ids) {
+				long anterior = indice.obter(id);
+				if (anterior != 0 && lerTipo(anterior - 1) == TIPO_TRANSACAO) {
+					RegistroLivroTransacao.escreverRemocao(rascunho, anterior, id);
+					escrever(id);
+				}
+			}
+		} finally {
+			registros = publicar();
+		}
+		segmentos.aguardarGravacao(registros);
+	}
+
+	/**
+	 * Obtém o maior nsu entre todos os pagamentos gravados no livro, incluindo versões anteriores e transações removidas
+	 * <p>
+	 * Percorre todos os registros gravados, portanto deve ser usado apenas ao iniciar a aplicação
+	 * </p>
+	 *
+	 * @return long
+	 * 		Maior nsu do livro (zero se o livro não tiver pagamentos)
+	 * @author Euller Henrique
+	 */
+	public long obterMaiorNsu() {
+		long maiorNsu = 0;
+		long gravados = segmentos.registrosGravados();
+		for (long registro = 0; registro < gravados; registro++) {
+			ByteBuffer segmento = segmentos.obterSegmento(registro);
+			int posicao = segmentos.posicao(registro);
+			if (RegistroLivroTransacao.lerTipo(segmento, posicao) == TIPO_TRANSACAO) {
+				String nsu = RegistroLivroTransacao.lerNsu(segmento, posicao);
+				if (!nsu.isEmpty()) {
+					maiorNsu = Math.max(maiorNsu, Long.parseLong(nsu));
+				}
+			}
+		}
+		return maiorNsu;
+	}
+
+	/**
+	 * Salva o índice em um novo snapshot, que substitui o anterior assim que todos os registros que ele cobre estão gravados em disco
+	 * <p>
+	 * Os escritores ficam bloqueados apenas durante a cópia do índice para o heap; a gravação do snapshot é feita sem bloqueio
+	 * </p>
+	 *
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedDelayString = "${api.livro.intervalo-snapshot}")
+	public synchronized void gravarSnapshot() {
+		long registros;
+		long ultimo;
+		long quantidadeTransacoes;
+		IndiceLivroTransacao copia;
+		escrita.lock();
+		try {
+			if (proximoRegistro == registrosSnapshot) {
+				return;
+			}
+			registros = proximoRegistro;
+			ultimo = ultimoId;
+			quantidadeTransacoes = quantidade;
+			copia = indice.copiar(ultimo + 1);
+		} finally {
+			escrita.unlock();
+		}
+		segmentos.aguardarGravacao(registros);
+
+		Path snapshot = diretorio.resolve(ARQUIVO_SNAPSHOT_LIVRO);
+		Path temporario = diretorio.resolve(ARQUIVO_SNAPSHOT_LIVRO + EXTENSAO_SNAPSHOT_TEMPORARIO);
+		try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE)) {
+			ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO_SNAPSHOT).putInt(IDENTIFICADOR_SNAPSHOT).putInt(VERSAO_SNAPSHOT)
+					.putLong(registros).putLong(ultimo).putLong(quantidadeTransacoes).flip();
+			while (cabecalho.hasRemaining()) {
+				canal.write(cabecalho);
+			}
+			copia.gravar(canal, ultimo + 1);
+			canal.force(true);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+
+		try {
+			Files.move(temporario, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			segmentos.gravarDiretorio();
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		registrosSnapshot = registros;
+	}
+
+	/**
+	 * Grava um último snapshot e encerra a thread de gravação, após gravar em disco os registros pendentes
+	 *
+	 * @author Euller Henrique
+	 */
+	@Override
+	public void close() {
+		if (segmentos.falha() == null) {
+			gravarSnapshot();
+		}
+
+		escrita.lock();
+		try {
+			segmentos.close();
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Adiciona ao fim do livro o registro que está no rascunho e o associa à transação (com o lock de escrita)
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @author Euller Henrique
+	 */
+	private void escrever(long id) {
+		long registro = segmentos.escrever(rascunho);
+		proximoRegistro = registro + 1;
+		aplicar(registro, RegistroLivroTransacao.lerTipo(rascunho, 0), id);
+	}
+
+	/**
+	 * Torna os registros escritos visíveis para a thread de gravação e libera o lock de escrita
+	 *
+	 * @return long
+	 * 		Quantidade de registros que precisam estar gravados em disco para a escrita ser confirmada
+	 * @author Euller Henrique
+	 */
+	private long publicar() {
+		long registros = segmentos.publicar();
+		escrita.unlock();
+		return registros;
+	}
+
+	/**
+	 * Atualiza o índice, o último id e a quantidade de transações com um registro escrito (ou lido ao abrir o livro)
+	 *
+	 * @param registro
+	 * 		Número do registro
+	 * @param tipo
+	 * 		Tipo do registro
+	 * @param id
+	 * 		Id da transação
+	 * @author Euller Henrique
+	 */
+	private void aplicar(long registro, byte tipo, long id) {
+		long anterior = indice.obter(id);
+		boolean existia = anterior != 0 && lerTipo(anterior - 1) == TIPO_TRANSACAO;
+		indice.colocar(id, registro + 1);
+
+		if (tipo == TIPO_TRANSACAO && !existia) {
+			quantidade++;
+		} else if (tipo == TIPO_REMOCAO && existia) {
+			quantidade--;
+		}
+		if (id > ultimoId) {
+			ultimoId = id;
+		}
+	}
+
+	/**
+	 * Lê a versão gravada em disco mais recente da transação, seguindo os registros anteriores enquanto o mais recente não está gravado
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @return Transacao
+	 * 		Model com os dados da transação (nulo se não existir ou tiver sido removida)
+	 * @author Euller Henrique
+	 */
+	private Transacao lerGravada(long id) {
+		long referencia = indice.obter(id);
+		long gravados = segmentos.registrosGravados();
+		while (referencia > gravados) {
+			long registro = referencia - 1;
+			referencia = RegistroLivroTransacao.lerAnterior(segmentos.obterSegmento(registro), segmentos.posicao(registro));
+		}
+		return referencia == 0 ? null : lerRegistro(referencia - 1);
+	}
+
+	private Transacao lerRegistro(long registro) {
+		return RegistroLivroTransacao.lerTransacao(segmentos.obterSegmento(registro), segmentos.posicao(registro));
+	}
+
+	private byte lerTipo(long registro) {
+		return RegistroLivroTransacao.lerTipo(segmentos.obterSegmento(registro), segmentos.posicao(registro));
+	}
+
+	/**
+	 * Carrega o índice do snapshot, se existir; sem snapshot, o índice começa vazio e o livro é lido desde o primeiro registro
+	 *
+	 * @throws IOException
+	 * 		Exceção lançada caso o snapshot não possa ser lido
+	 * @author Euller Henrique
+	 */
+	private void carregarSnapshot() throws IOException {
+		Path snapshot = diretorio.resolve(ARQUIVO_SNAPSHOT_LIVRO);
+		if (!Files.exists(snapshot)) {
+			indice = new IndiceLivroTransacao();
+			return;
+		}
+
+		try (FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+			ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO_SNAPSHOT);
+			while (cabecalho.hasRemaining() && canal.read(cabecalho) >= 0) {
+				// Lê o cabeçalho inteiro
+			}
+			cabecalho.flip();
+			if (cabecalho.remaining() < TAMANHO_CABECALHO_SNAPSHOT || cabecalho.getInt() != IDENTIFICADOR_SNAPSHOT
+					|| cabecalho.getInt() != VERSAO_SNAPSHOT) {
+				throw new IllegalStateException("Snapshot do livro de transações inválido: " + snapshot);
+			}
+			registrosSnapshot = cabecalho.getLong();
+			ultimoId = cabecalho.getLong();
+			quantidade = cabecalho.getLong();
+			if (registrosSnapshot > segmentos.quantidadeRegistros()) {
+				throw new IllegalStateException("O snapshot do livro cobre registros que não estão nos segmentos: " + snapshot);
+			}
+			indice = IndiceLivroTransacao.ler(canal, ultimoId + 1);
+		}
+	}
+
+}
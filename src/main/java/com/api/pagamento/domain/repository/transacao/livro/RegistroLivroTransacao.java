@@ -0,0 +1,260 @@
+package com.api.pagamento.domain.repository.transacao.livro;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato de um registro do livro de transações
+ * <p>
+ * Todo registro tem o mesmo tamanho, portanto a posição de um registro no livro é o seu número vezes o tamanho. O registro guarda a transação
+ * inteira (não apenas o que mudou), o número do registro anterior da mesma transação e um checksum (CRC32C) que identifica registros
+ * incompletos ao reabrir o livro. Os textos são gravados em UTF-8 precedidos do tamanho, em campos com o tamanho máximo permitido pela api
+ * (a bandeira, opcional, é gravada com tamanho zero quando não existir, como nos registros anteriores a ela). O token do cartão é gravado
+ * decodificado, nos seus 16 bytes, e fica zerado nos registros anteriores a ele; os enums são gravados pela posição, portanto novos valores
+ * devem ser adicionados ao final do enum
+ * </p>
+ *
+ * <pre>
+ *   0  crc32c (int)            16  registro anterior + 1 (long)   48  cartão (2 + 64)
+ *   4  tipo do registro         24  valor em centavos (long)       114 nsu (2 + 36)
+ *   5  status                   32  data e hora, segundos (long)   152 código de autorização (2 + 36)
+ *   6  tipo de pagamento        40  data e hora, nanos (int)       190 estabelecimento (2 + 400)
+ *   8  id (long)                44  parcelas (int)                 592 bandeira (2 + 30)
+ *                                                                  624 token do cartão (16)
+ * </pre>
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class RegistroLivroTransacao {
+
+	public static final int TAMANHO = 640;
+	public static final byte TIPO_TRANSACAO = 1;
+	public static final byte TIPO_REMOCAO = 2;
+
+	private static final int CRC = 0;
+	private static final int TIPO = 4;
+	private static final int STATUS = 5;
+	private static final int TIPO_PAGAMENTO = 6;
+	private static final int ID = 8;
+	private static final int ANTERIOR = 16;
+	private static final int VALOR = 24;
+	private static final int SEGUNDOS = 32;
+	private static final int NANOS = 40;
+	private static final int PARCELAS = 44;
+	private static final int CARTAO = 48;
+	private static final int NSU = 114;
+	private static final int CODIGO_AUTORIZACAO = 152;
+	private static final int ESTABELECIMENTO = 190;
+	private static final int BANDEIRA = 592;
+	private static final int TOKEN_CARTAO = 624;
+
+	private static final StatusTransacaoEnum[] STATUS_TRANSACAO = StatusTransacaoEnum.values();
+	private static final TipoPagamentoTransacaoEnum[] TIPOS_PAGAMENTO = TipoPagamentoTransacaoEnum.values();
+
+	/**
+	 * Escreve um registro de transação no buffer
+	 *
+	 * @param destino
+	 * 		Buffer de {@link #TAMANHO} bytes, com array
+	 * @param anterior
+	 * 		Número do registro anterior da transação + 1 (0 se não houver)
+	 * @param id
+	 * 		Id da transação
+	 * @param transacao
+	 * 		Model com os dados da transação
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso um texto exceda o tamanho do seu campo ou o token do cartão não tenha 16 bytes
+	 * @author Euller Henrique
+	 */
+	public static void escreverTransacao(ByteBuffer destino, long anterior, long id, Transacao transacao) {
+		DescricaoTransacao descricao = transacao.getDescricao();
+		FormaPagamentoTransacao formaPagamento = transacao.getFormaPagamento();
+		Arrays.fill(destino.array(), (byte) 0);
+
+		destino.put(TIPO, TIPO_TRANSACAO)
+				.put(STATUS, (byte) descricao.getStatus().ordinal())
+				.put(TIPO_PAGAMENTO, (byte) formaPagamento.getTipo().ordinal())
+				.putLong(ID, id)
+				.putLong(ANTERIOR, anterior)
+				.putLong(VALOR, descricao.getValor().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact())
+				.putLong(SEGUNDOS, descricao.getDataHora().toEpochSecond(ZoneOffset.UTC))
+				.putInt(NANOS, descricao.getDataHora().getNano())
+				.putInt(PARCELAS, formaPagamento.getParcelas());
+		escreverTexto(destino, CARTAO, NSU, transacao.getCartao());
+		escreverTexto(destino, NSU, CODIGO_AUTORIZACAO, descricao.getNsu());
+		escreverTexto(destino, CODIGO_AUTORIZACAO, ESTABELECIMENTO, descricao.getCodigoAutorizacao());
+		escreverTexto(destino, ESTABELECIMENTO, BANDEIRA, descricao.getEstabelecimento());
+		if (transacao.getBandeira() != null) {
+			escreverTexto(destino, BANDEIRA, TOKEN_CARTAO, transacao.getBandeira());
+		}
+		if (transacao.getTokenCartao() != null) {
+			escreverToken(destino, transacao.getTokenCartao());
+		}
+		escreverCrc(destino);
+	}
+
+	/**
+	 * Escreve um registro de remoção de transação no buffer
+	 *
+	 * @param destino
+	 * 		Buffer de {@link #TAMANHO} bytes, com array
+	 * @param anterior
+	 * 		Número do registro anterior da transação + 1
+	 * @param id
+	 * 		Id da transação removida
+	 * @author Euller Henrique
+	 */
+	public static void escreverRemocao(ByteBuffer destino, long anterior, long id) {
+		Arrays.fill(destino.array(), (byte) 0);
+		destino.put(TIPO, TIPO_REMOCAO).putLong(ID, id).putLong(ANTERIOR, anterior);
+		escreverCrc(destino);
+	}
+
+	/**
+	 * Lê a transação de um registro
+	 *
+	 * @param origem
+	 * 		Segmento do livro
+	 * @param posicao
+	 * 		Posição do registro no segmento
+	 * @return Transacao
+	 * 		Model com os dados da transação (nulo se for um registro de remoção)
+	 * @author Euller Henrique
+	 */
+	public static Transacao lerTransacao(ByteBuffer origem, int posicao) {
+		if (lerTipo(origem, posicao) != TIPO_TRANSACAO) {
+			return null;
+		}
+
+		LocalDateTime dataHora = LocalDateTime.ofEpochSecond(origem.getLong(posicao + SEGUNDOS), origem.getInt(posicao + NANOS), ZoneOffset.UTC);
+		DescricaoTransacao descricao = DescricaoTransacao.builder()
+				.valor(BigDecimal.valueOf(origem.getLong(posicao + VALOR), 2))
+				.dataHora(dataHora)
+				.estabelecimento(lerTexto(origem, posicao + ESTABELECIMENTO))
+				.nsu(lerTexto(origem, posicao + NSU))
+				.codigoAutorizacao(lerTexto(origem, posicao + CODIGO_AUTORIZACAO))
+				.status(STATUS_TRANSACAO[origem.get(posicao + STATUS)])
+				.build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder()
+				.tipo(TIPOS_PAGAMENTO[origem.get(posicao + TIPO_PAGAMENTO)])
+				.parcelas(origem.getInt(posicao + PARCELAS))
+				.build();
+
+		String bandeira = lerTexto(origem, posicao + BANDEIRA);
+
+		return Transacao.builder().id(origem.getLong(posicao + ID)).cartao(lerTexto(origem, posicao + CARTAO))
+				.tokenCartao(lerToken(origem, posicao + TOKEN_CARTAO))
+				.bandeira(bandeira.isEmpty() ? null : bandeira).descricao(descricao).formaPagamento(formaPagamento).build();
+	}
+
+	public static byte lerTipo(ByteBuffer origem, int posicao) {
+		return origem.get(posicao + TIPO);
+	}
+
+	public static long lerId(ByteBuffer origem, int posicao) {
+		return origem.getLong(posicao + ID);
+	}
+
+	public static long lerAnterior(ByteBuffer origem, int posicao) {
+		return origem.getLong(posicao + ANTERIOR);
+	}
+
+	public static String lerNsu(ByteBuffer origem, int posicao) {
+		return lerTexto(origem, posicao + NSU);
+	}
+
+	/**
+	 * Verifica se o registro está completo: tem tipo e o checksum confere
+	 *
+	 * @param origem
+	 * 		Segmento do livro
+	 * @param posicao
+	 * 		Posição do registro no segmento
+	 * @return boolean
+	 * 		Se o registro é válido
+	 * @author Euller Henrique
+	 */
+	public static boolean valido(ByteBuffer origem, int posicao) {
+		byte tipo = lerTipo(origem, posicao);
+		return (tipo == TIPO_TRANSACAO || tipo == TIPO_REMOCAO) && origem.getInt(posicao + CRC) == calcularCrc(origem.slice(posicao, TAMANHO));
+	}
+
+	/**
+	 * Verifica se o registro está zerado (nunca foi escrito)
+	 *
+	 * @param origem
+	 * 		Segmento do livro
+	 * @param posicao
+	 * 		Posição do registro no segmento
+	 * @return boolean
+	 * 		Se todos os bytes do registro são zero
+	 * @author Euller Henrique
+	 */
+	public static boolean vazio(ByteBuffer origem, int posicao) {
+		for (int i = 0; i < TAMANHO; i += Long.BYTES) {
+			if (origem.getLong(posicao + i) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void escreverTexto(ByteBuffer destino, int inicio, int fim, String texto) {
+		byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > fim - inicio - Short.BYTES) {
+			throw new IllegalArgumentException("Texto maior que o campo do registro do livro: " + texto);
+		}
+		destino.putShort(inicio, (short) bytes.length).put(inicio + Short.BYTES, bytes);
+	}
+
+	private static String lerTexto(ByteBuffer origem, int posicao) {
+		byte[] bytes = new byte[origem.getShort(posicao)];
+		origem.get(posicao + Short.BYTES, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void escreverToken(ByteBuffer destino, String token) {
+		byte[] bytes = Base64.getUrlDecoder().decode(token);
+		if (bytes.length != TAMANHO - TOKEN_CARTAO) {
+			throw new IllegalArgumentException("Token do cartão com tamanho diferente do campo do registro do livro: " + token);
+		}
+		destino.put(TOKEN_CARTAO, bytes);
+	}
+
+	private static String lerToken(ByteBuffer origem, int posicao) {
+		byte[] bytes = new byte[TAMANHO - TOKEN_CARTAO];
+		origem.get(posicao, bytes);
+		for (byte b : bytes) {
+			if (b != 0) {
+				return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+			}
+		}
+		return null;
+	}
+
+	private static void escreverCrc(ByteBuffer destino) {
+		destino.putInt(CRC, calcularCrc(destino.duplicate().clear()));
+	}
+
+	private static int calcularCrc(ByteBuffer registro) {
+		CRC32C crc = new CRC32C();
+		crc.update(registro.position(CRC + Integer.BYTES));
+		return (int) crc.getValue();
+	}
+
+}
@@ -0,0 +1,451 @@
+package com.api.pagamento.domain.repository.transacao.livro;
+
+import org.springframework.util.unit.DataSize;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.api.pagamento.domain.constant.livro.LivroConstants.EXTENSAO_SEGMENTO_LIVRO;
+import static com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao.TAMANHO;
+
+/**
+ * Log de registros do livro ({@link RegistroLivroTransacao}) dividido em segmentos de tamanho fixo mapeados em memória (mmap), com gravação
+ * em grupo
+ * <p>
+ * Os registros são numerados a partir de zero e a posição de um registro é o seu número vezes o tamanho. Os registros são escritos por um
+ * único escritor por vez (quem usa o log controla a exclusão) e gravados em disco por uma única thread, que grava de uma vez tudo o que foi
+ * escrito desde a gravação anterior (group commit): com muitas escritas simultâneas, um único fsync confirma todas
+ * </p>
+ * <p>
+ * Segmentos do início do log podem ser descartados quando os seus registros não são mais necessários; os demais mantêm a numeração
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public class SegmentosLivro implements Closeable {
+
+	private final Path diretorio;
+	private final String prefixo;
+	private final int registrosPorSegmento;
+	private final ReentrantLock gravacao = new ReentrantLock();
+	private final Condition pendente = gravacao.newCondition();
+	private final Condition gravado = gravacao.newCondition();
+	private final Thread gravador;
+
+	private volatile MappedByteBuffer[] segmentos;
+	private volatile int primeiroSegmento;
+	private long proximoRegistro;
+	private volatile long registrosEscritos;
+	private volatile long registrosGravados;
+	private volatile RuntimeException falha;
+	private volatile boolean aberto = true;
+
+	/**
+	 * Abre o log, mapeando os segmentos existentes; a thread de gravação só é iniciada pela recuperação do log
+	 *
+	 * @param diretorio
+	 * 		Diretório dos segmentos
+	 * @param prefixo
+	 * 		Prefixo do nome dos segmentos
+	 * @param tamanhoSegmento
+	 * 		Tamanho de cada segmento (usado apenas em um log novo; um log existente mantém o tamanho dos seus segmentos)
+	 * @param nomeGravador
+	 * 		Nome da thread de gravação
+	 * @throws IOException
+	 * 		Exceção lançada caso o diretório ou um segmento não possa ser lido
+	 * @author Euller Henrique
+	 */
+	public SegmentosLivro(Path diretorio, String prefixo, DataSize tamanhoSegmento, String nomeGravador) throws IOException {
+		this.diretorio = Files.createDirectories(diretorio);
+		this.prefixo = prefixo;
+
+		List<Path> arquivos = listarSegmentos();
+		long tamanho = arquivos.isEmpty() ? tamanhoSegmento.toBytes() : Files.size(arquivos.get(0));
+		if (tamanho < TAMANHO || tamanho > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Tamanho de segmento do livro inválido: " + tamanho + " bytes");
+		}
+		this.registrosPorSegmento = (int) (tamanho / TAMANHO);
+		this.primeiroSegmento = arquivos.isEmpty() ? 0 : numeroSegmento(arquivos.get(0));
+		this.segmentos = new MappedByteBuffer[primeiroSegmento + arquivos.size()];
+		for (int i = 0; i < arquivos.size(); i++) {
+			segmentos[primeiroSegmento + i] = mapear(arquivos.get(i), false);
+		}
+
+		this.gravador = new Thread(this::gravar, nomeGravador);
+		gravador.setDaemon(true);
+	}
+
+	/**
+	 * Lê os registros a partir do informado até o primeiro registro vazio ou incompleto, que marca o fim do log, apaga o que houver depois
+	 * dele (restos de escritas que não chegaram a ser confirmadas) e inicia a thread de gravação
+	 *
+	 * @param inicio
+	 * 		Primeiro registro lido (registros de segmentos descartados são ignorados)
+	 * @param consumidor
+	 * 		Consumidor de cada registro válido lido
+	 * @return long
+	 * 		Quantidade de registros do log, contando os de segmentos descartados
+	 * @throws IOException
+	 * 		Exceção lançada caso um segmento posterior ao fim não possa ser removido
+	 * @author Euller Henrique
+	 */
+	public long recuperar(long inicio, ConsumidorRegistro consumidor) throws IOException {
+		long registro = Math.max(inicio, primeiroRegistro());
+		while (registro < quantidadeRegistros()) {
+			ByteBuffer segmento = obterSegmento(registro);
+			int posicao = posicao(registro);
+			if (!RegistroLivroTransacao.valido(segmento, posicao)) {
+				break;
+			}
+			consumidor.consumir(registro, segmento, posicao);
+			registro++;
+		}
+
+		int ultimoSegmento = (int) (registro / registrosPorSegmento);
+		if (ultimoSegmento < segmentos.length) {
+			MappedByteBuffer segmento = segmentos[ultimoSegmento];
+			byte[] zeros = new byte[TAMANHO];
+			for (int posicao = posicao(registro); posicao < registrosPorSegmento * TAMANHO; posicao += TAMANHO) {
+				if (!RegistroLivroTransacao.vazio(segmento, posicao)) {
+					segmento.put(posicao, zeros);
+				}
+			}
+			segmento.force();
+			for (int i = ultimoSegmento + 1; i < segmentos.length; i++) {
+				Files.delete(diretorio.resolve(nomeSegmento(i)));
+			}
+			segmentos = Arrays.copyOf(segmentos, ultimoSegmento + 1);
+		}
+
+		this.proximoRegistro = registro;
+		this.registrosEscritos = registro;
+		this.registrosGravados = registro;
+		gravador.start();
+		return registro;
+	}
+
+	/**
+	 * Adiciona o registro ao fim do log (sem gravá-lo em disco), criando um novo segmento quando ele é o primeiro do segmento
+	 *
+	 * @param registro
+	 * 		Buffer de {@link RegistroLivroTransacao#TAMANHO} bytes, com array
+	 * @return long
+	 * 		Número do registro escrito
+	 * @throws IllegalStateException
+	 * 		Exceção lançada caso o log esteja fechado ou a gravação em disco tenha falhado
+	 * @author Euller Henrique
+	 */
+	public long escrever(ByteBuffer registro) {
+		if (!aberto || falha != null) {
+			throw new IllegalStateException("O livro de transações não aceita escritas: está fechado ou a gravação em disco falhou", falha);
+		}
+
+		long numero = proximoRegistro;
+		criarSegmento(numero).put(posicao(numero), registro.array());
+		proximoRegistro++;
+		return numero;
+	}
+
+	/**
+	 * Torna os registros escritos visíveis para a thread de gravação
+	 *
+	 * @return long
+	 * 		Quantidade de registros que precisam estar gravados em disco para as escritas anteriores serem confirmadas
+	 * @author Euller Henrique
+	 */
+	public long publicar() {
+		long registros = proximoRegistro;
+		registrosEscritos = registros;
+		return registros;
+	}
+
+	/**
+	 * Aguarda a thread de gravação gravar em disco a quantidade de registros informada
+	 *
+	 * @param registros
+	 * 		Quantidade de registros
+	 * @throws IllegalStateException
+	 * 		Exceção lançada caso a gravação em disco tenha falhado
+	 * @author Euller Henrique
+	 */
+	public void aguardarGravacao(long registros) {
+		if (registrosGravados >= registros) {
+			return;
+		}
+
+		gravacao.lock();
+		try {
+			pendente.signal();
+			while (registrosGravados < registros) {
+				if (falha != null) {
+					throw new IllegalStateException("Falha ao gravar o livro de transações em disco", falha);
+				}
+				gravado.awaitUninterruptibly();
+			}
+		} finally {
+			gravacao.unlock();
+		}
+	}
+
+	/**
+	 * Descarta os segmentos cujos registros são todos anteriores ao informado
+	 *
+	 * @param registro
+	 * 		Primeiro registro que deve ser mantido
+	 * @throws IOException
+	 * 		Exceção lançada caso um segmento não possa ser removido
+	 * @author Euller Henrique
+	 */
+	public void descartarAte(long registro) throws IOException {
+		int ultimoDescartado = (int) Math.min(registro / registrosPorSegmento, segmentos.length - 1L) - 1;
+		for (int segmento = primeiroSegmento; segmento <= ultimoDescartado; segmento++) {
+			Files.delete(diretorio.resolve(nomeSegmento(segmento)));
+			segmentos[segmento] = null;
+			primeiroSegmento = segmento + 1;
+		}
+	}
+
+	/**
+	 * Obtém o segmento em que está o registro
+	 *
+	 * @param registro
+	 * 		Número do registro
+	 * @return ByteBuffer
+	 * 		Segmento mapeado
+	 * @author Euller Henrique
+	 */
+	public ByteBuffer obterSegmento(long registro) {
+		return segmentos[(int) (registro / registrosPorSegmento)];
+	}
+
+	/**
+	 * Obtém a posição do registro dentro do seu segmento
+	 *
+	 * @param registro
+	 * 		Número do registro
+	 * @return int
+	 * 		Posição em bytes
+	 * @author Euller Henrique
+	 */
+	public int posicao(long registro) {
+		return (int) (registro % registrosPorSegmento) * TAMANHO;
+	}
+
+	public long quantidadeRegistros() {
+		return (long) segmentos.length * registrosPorSegmento;
+	}
+
+	public long primeiroRegistro() {
+		return (long) primeiroSegmento * registrosPorSegmento;
+	}
+
+	public long registrosGravados() {
+		return registrosGravados;
+	}
+
+	public RuntimeException falha() {
+		return falha;
+	}
+
+	/**
+	 * Encerra a thread de gravação, após gravar em disco os registros pendentes; nenhuma escrita pode estar em andamento
+	 *
+	 * @author Euller Henrique
+	 */
+	@Override
+	public void close() {
+		if (!aberto) {
+			return;
+		}
+
+		gravacao.lock();
+		try {
+			aberto = false;
+			pendente.signal();
+		} finally {
+			gravacao.unlock();
+		}
+		try {
+			gravador.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Grava em disco o conteúdo do diretório, para que um arquivo novo não se perca em uma queda do sistema
+	 *
+	 * @throws IOException
+	 * 		Exceção lançada caso o diretório não possa ser gravado
+	 * @author Euller Henrique
+	 */
+	public void gravarDiretorio() throws IOException {
+		try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+			canal.force(true);
+		}
+	}
+
+	/**
+	 * Laço da thread de gravação: grava em disco, de uma vez, todos os registros escritos desde a gravação anterior e acorda quem aguarda
+	 *
+	 * @author Euller Henrique
+	 */
+	private void gravar() {
+		long gravados = registrosGravados;
+		while (true) {
+			long escritos;
+			gravacao.lock();
+			try {
+				while (aberto && registrosEscritos == gravados) {
+					pendente.awaitUninterruptibly();
+				}
+				escritos = registrosEscritos;
+				if (escritos == gravados) {
+					return;
+				}
+			} finally {
+				gravacao.unlock();
+			}
+
+			try {
+				forcar(gravados, escritos);
+				gravados = escritos;
+			} catch (RuntimeException ex) {
+				falha = ex;
+			}
+
+			gravacao.lock();
+			try {
+				registrosGravados = gravados;
+				gravado.signalAll();
+			} finally {
+				gravacao.unlock();
+			}
+			if (falha != null) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Grava em disco (fsync das páginas do arquivo mapeado) os registros do intervalo
+	 *
+	 * @param inicio
+	 * 		Primeiro registro (inclusive)
+	 * @param fim
+	 * 		Último registro (exclusive)
+	 * @author Euller Henrique
+	 */
+	private void forcar(long inicio, long fim) {
+		MappedByteBuffer[] atuais = segmentos;
+		for (long registro = inicio; registro < fim; ) {
+			int segmento = (int) (registro / registrosPorSegmento);
+			long fimSegmento = Math.min(fim, (segmento + 1L) * registrosPorSegmento);
+			atuais[segmento].force(posicao(registro), (int) (fimSegmento - registro) * TAMANHO);
+			registro = fimSegmento;
+		}
+	}
+
+	/**
+	 * Obtém o segmento do registro, criando um novo segmento quando o registro é o primeiro dele (pelo escritor)
+	 *
+	 * @param registro
+	 * 		Número do registro
+	 * @return MappedByteBuffer
+	 * 		Segmento mapeado
+	 * @author Euller Henrique
+	 */
+	private MappedByteBuffer criarSegmento(long registro) {
+		int segmento = (int) (registro / registrosPorSegmento);
+		if (segmento < segmentos.length) {
+			return segmentos[segmento];
+		}
+
+		try {
+			MappedByteBuffer novo = mapear(diretorio.resolve(nomeSegmento(segmento)), true);
+			gravarDiretorio();
+			MappedByteBuffer[] maiores = Arrays.copyOf(segmentos, segmento + 1);
+			maiores[segmento] = novo;
+			segmentos = maiores;
+			return novo;
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private MappedByteBuffer mapear(Path arquivo, boolean novo) throws IOException {
+		try (FileChannel canal = novo
+				? FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+				: FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			if (!novo && canal.size() != (long) registrosPorSegmento * TAMANHO) {
+				throw new IllegalStateException("Segmento do livro com tamanho diferente dos demais: " + arquivo);
+			}
+			MappedByteBuffer segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) registrosPorSegmento * TAMANHO);
+			if (novo) {
+				canal.force(true);
+			}
+			return segmento;
+		}
+	}
+
+	private List<Path> listarSegmentos() throws IOException {
+		List<Path> arquivos = new ArrayList<>();
+		try (DirectoryStream<Path> conteudo = Files.newDirectoryStream(diretorio, prefixo + "*" + EXTENSAO_SEGMENTO_LIVRO)) {
+			conteudo.forEach(arquivos::add);
+		}
+		arquivos.sort(null);
+		for (int i = 1; i < arquivos.size(); i++) {
+			int esperado = numeroSegmento(arquivos.get(0)) + i;
+			if (!arquivos.get(i).getFileName().toString().equals(nomeSegmento(esperado))) {
+				throw new IllegalStateException("Segmento do livro ausente: " + nomeSegmento(esperado));
+			}
+		}
+		return arquivos;
+	}
+
+	private int numeroSegmento(Path arquivo) {
+		String nome = arquivo.getFileName().toString();
+		return Integer.parseInt(nome.substring(prefixo.length(), nome.length() - EXTENSAO_SEGMENTO_LIVRO.length()));
+	}
+
+	private String nomeSegmento(int segmento) {
+		return prefixo + "%08d".formatted(segmento) + EXTENSAO_SEGMENTO_LIVRO;
+	}
+
+	/**
+	 * Consumidor dos registros lidos na recuperação do log
+	 *
+	 * @author Euller Henrique
+	 */
+	@FunctionalInterface
+	public interface ConsumidorRegistro {
+
+		/**
+		 * Consome um registro válido
+		 *
+		 * @param registro
+		 * 		Número do registro
+		 * @param segmento
+		 * 		Segmento do registro
+		 * @param posicao
+		 * 		Posição do registro no segmento
+		 * @author Euller Henrique
+		 */
+		void consumir(long registro, ByteBuffer segmento, int posicao);
+
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.api.pagamento.domain.repository.transacao.memoria;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.memoria.MapaLong;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_MEMORIA;
+
+/**
+ * Armazenamento das transações em memória, usado no perfil memoria
+ * <p>
+ * As transações ficam em um mapa de chave long primitiva e os ids são gerados por um contador atômico, portanto são sequenciais e
+ * percorrer as transações em ordem de id não exige ordenação. A alteração de status é feita por compare-and-set, com a mesma garantia do
+ * update condicional no banco: só uma alteração concorrente vence
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Component
+@Profile(PERFIL_MEMORIA)
+public class ArmazenamentoMemoriaTransacao implements ArmazenamentoTransacao {
+
+	private final MapaLong<Transacao> transacoes = new MapaLong<>();
+	private final AtomicLong sequencia = new AtomicLong();
+
+	@Override
+	public Optional<Transacao> obter(long id) {
+		return id < 0 ? Optional.empty() : Optional.ofNullable(transacoes.obter(id));
+	}
+
+	@Override
+	public Stream<Transacao> percorrer(long id) {
+		return transacoes.valoresAPartirDe(id);
+	}
+
+	@Override
+	public long quantidade() {
+		return transacoes.tamanho();
+	}
+
+	@Override
+	public void salvar(List<? extends Transacao> transacoesSalvas) {
+		for (Transacao transacao : transacoesSalvas) {
+			if (transacao.getId() == null) {
+				transacao.setId(sequencia.incrementAndGet());
+			} else {
+				sequencia.accumulateAndGet(transacao.getId(), Math::max);
+			}
+			transacoes.colocar(transacao.getId(), copiar(transacao));
+		}
+	}
+
+	@Override
+	public List<Transacao> alterarStatus(Collection<Long> ids, StatusTransacaoEnum statusEsperado, StatusTransacaoEnum statusNovo) {
+		List<Transacao> alteradas = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			alterarStatus(id, statusEsperado, statusNovo).ifPresent(alteradas::add);
+		}
+		return alteradas;
+	}
+
+	@Override
+	public void remover(Collection<Long> ids) {
+		ids.forEach(transacoes::remover);
+	}
+
+	/**
+	 * Copia a transação, inclusive a descrição e a forma de pagamento
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação
+	 * @return Transacao
+	 * 		Cópia da transação
+	 * @author Euller Henrique
+	 */
+	public static Transacao copiar(Transacao transacao) {
+		DescricaoTransacao descricao = transacao.getDescricao();
+		FormaPagamentoTransacao formaPagamento = transacao.getFormaPagamento();
+		return Transacao.builder()
+				.id(transacao.getId())
+				.cartao(transacao.getCartao())
+				.tokenCartao(transacao.getTokenCartao())
+				.bandeira(transacao.getBandeira())
+				.descricao(DescricaoTransacao.builder()
+						.valor(descricao.getValor())
+						.dataHora(descricao.getDataHora())
+						.estabelecimento(descricao.getEstabelecimento())
+						.nsu(descricao.getNsu())
+						.codigoAutorizacao(descricao.getCodigoAutorizacao())
+						.status(descricao.getStatus())
+						.build())
+				.formaPagamento(FormaPagamentoTransacao.builder()
+						.tipo(formaPagamento.getTipo())
+						.parcelas(formaPagamento.getParcelas())
+						.build())
+				.build();
+	}
+
+	private Optional<Transacao> alterarStatus(long id, StatusTransacaoEnum statusEsperado, StatusTransacaoEnum statusNovo) {
+		while (true) {
+			Transacao atual = transacoes.obter(id);
+			if (atual == null || atual.getDescricao().getStatus() != statusEsperado) {
+				return Optional.empty();
+			}
+
+			Transacao alterada = copiar(atual);
+			alterada.getDescricao().setStatus(statusNovo);
+			if (transacoes.substituir(id, atual, alterada)) {
+				return Optional.of(alterada);
+			}
+		}
+	}
+
+}
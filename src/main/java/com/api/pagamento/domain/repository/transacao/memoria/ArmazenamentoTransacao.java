@@ -0,0 +1,87 @@
+package com.api.pagamento.domain.repository.transacao.memoria;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento das transações usado pelo repositório das transações fora do banco
+ * <p>
+ * O repositório avalia as consultas (pesquisa, agregação, períodos) percorrendo o armazenamento, que só precisa guardar as transações pelo
+ * id. As transações devolvidas pelo armazenamento não devem ser alteradas: o repositório as copia antes de entregá-las
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public interface ArmazenamentoTransacao {
+
+	/**
+	 * Obtém uma transação
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @return Optional<Transacao>
+	 * 		Model com os dados da transação (vazio se não existir)
+	 * @author Euller Henrique
+	 */
+	Optional<Transacao> obter(long id);
+
+	/**
+	 * Percorre as transações em ordem crescente de id, a partir do id informado
+	 *
+	 * @param id
+	 * 		Primeiro id do percurso (inclusive)
+	 * @return Stream<Transacao>
+	 * 		Models com os dados das transações
+	 * @author Euller Henrique
+	 */
+	Stream<Transacao> percorrer(long id);
+
+	/**
+	 * Obtém a quantidade de transações armazenadas
+	 *
+	 * @return long
+	 * 		Quantidade de transações
+	 * @author Euller Henrique
+	 */
+	long quantidade();
+
+	/**
+	 * Salva as transações, gerando o id das transações novas
+	 *
+	 * @param transacoes
+	 * 		Models com os dados das transações (o id das transações novas é preenchido)
+	 * @author Euller Henrique
+	 */
+	void salvar(List<? extends Transacao> transacoes);
+
+	/**
+	 * Altera o status das transações informadas que estiverem no status esperado; alterações concorrentes da mesma transação nunca são
+	 * aplicadas ambas
+	 *
+	 * @param ids
+	 * 		Ids das transações
+	 * @param statusEsperado
+	 * 		Status que as transações devem ter para serem alteradas
+	 * @param statusNovo
+	 * 		Novo status das transações
+	 * @return List<Transacao>
+	 * 		Models com os dados das transações alteradas
+	 * @author Euller Henrique
+	 */
+	List<Transacao> alterarStatus(Collection<Long> ids, StatusTransacaoEnum statusEsperado, StatusTransacaoEnum statusNovo);
+
+	/**
+	 * Remove as transações informadas
+	 *
+	 * @param ids
+	 * 		Ids das transações
+	 * @author Euller Henrique
+	 */
+	void remover(Collection<Long> ids);
+
+}
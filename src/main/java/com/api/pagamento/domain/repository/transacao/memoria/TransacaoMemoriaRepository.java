@@ -0,0 +1,367 @@
+package com.api.pagamento.domain.repository.transacao.memoria;
+
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+import com.api.pagamento.domain.repository.memoria.ConsultaFluenteMemoria;
+import com.api.pagamento.domain.repository.memoria.MemoriaRepository;
+import com.api.pagamento.domain.repository.transacao.TransacaoRepository;
+import com.api.pagamento.domain.specification.transacao.TransacaoSpecification;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_LIVRO;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_MEMORIA;
+
+/**
+ * Repositório das transações fora do banco, usado nos perfis memoria e livro no lugar da tabela transacao
+ * <p>
+ * As transações são guardadas pelo armazenamento do perfil (mapa em memória ou livro em disco) e as consultas são avaliadas em memória,
+ * percorrendo as transações em ordem de id
+ * </p>
+ * <p>
+ * Não há partições nem bloqueio de mês: criar uma partição não faz nada e remover um mês apenas remove as suas transações
+ * </p>
+ * <p>
+ * Não há índices além do id: as transações de um cartão são encontradas percorrendo as transações a partir do cursor
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Repository
+@Profile({ PERFIL_MEMORIA, PERFIL_LIVRO })
+public class TransacaoMemoriaRepository extends MemoriaRepository<Transacao, Long> implements TransacaoRepository {
+
+	private final ArmazenamentoTransacao transacoes;
+
+	/**
+	 * Cria o repositório sobre o armazenamento do perfil
+	 *
+	 * @param transacoes
+	 * 		Armazenamento das transações
+	 * @author Euller Henrique
+	 */
+	public TransacaoMemoriaRepository(ArmazenamentoTransacao transacoes) {
+		this.transacoes = transacoes;
+	}
+
+	@Override
+	protected Transacao armazenar(Transacao transacao) {
+		transacoes.salvar(List.of(transacao));
+		return transacao;
+	}
+
+	@Override
+	protected Optional<Transacao> obter(Long id) {
+		return transacoes.obter(id).map(ArmazenamentoMemoriaTransacao::copiar);
+	}
+
+	@Override
+	protected void remover(Long id) {
+		transacoes.remover(List.of(id));
+	}
+
+	@Override
+	protected Stream<Transacao> percorrer() {
+		return transacoes.percorrer(0).map(ArmazenamentoMemoriaTransacao::copiar);
+	}
+
+	@Override
+	protected Long obterId(Transacao transacao) {
+		return transacao.getId();
+	}
+
+	/**
+	 * Salva as transações de uma vez no armazenamento (no livro, com uma única espera pela gravação em disco)
+	 *
+	 * @param entities
+	 * 		Models com os dados das transações
+	 * @return List<S>
+	 * 		As próprias transações recebidas, com o id preenchido
+	 * @author Euller Henrique
+	 */
+	@Override
+	public <S extends Transacao> List<S> saveAll(Iterable<S> entities) {
+		List<S> transacoesSalvas = StreamSupport.stream(entities.spliterator(), false).toList();
+		transacoes.salvar(transacoesSalvas);
+		return transacoesSalvas;
+	}
+
+	@Override
+	public long count() {
+		return transacoes.quantidade();
+	}
+
+	@Override
+	public List<Transacao> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite) {
+		return transacoes.percorrer(id + 1).limit(limite.isLimited() ? limite.max() : Long.MAX_VALUE)
+				.map(ArmazenamentoMemoriaTransacao::copiar).toList();
+	}
+
+	@Override
+	public List<Transacao> findByTokenCartaoAndIdGreaterThanOrderByIdAsc(String tokenCartao, Long id, Limit limite) {
+		return transacoes.percorrer(id + 1).filter(transacao -> tokenCartao.equals(transacao.getTokenCartao()))
+				.limit(limite.isLimited() ? limite.max() : Long.MAX_VALUE).map(ArmazenamentoMemoriaTransacao::copiar).toList();
+	}
+
+	@Override
+	public List<Transacao> findByTokenCartaoIsNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limite) {
+		return transacoes.percorrer(id + 1).filter(transacao -> transacao.getTokenCartao() == null)
+				.limit(limite.isLimited() ? limite.max() : Long.MAX_VALUE).map(ArmazenamentoMemoriaTransacao::copiar).toList();
+	}
+
+	@Override
+	public Stream<Transacao> streamAllByOrderByIdAsc() {
+		return percorrer();
+	}
+
+	@Override
+	public Optional<Transacao> atualizarStatus(Long id, String statusEsperado, String statusNovo) {
+		return transacoes.alterarStatus(List.of(id), StatusTransacaoEnum.valueOf(statusEsperado), StatusTransacaoEnum.valueOf(statusNovo)).stream()
+				.findFirst().map(ArmazenamentoMemoriaTransacao::copiar);
+	}
+
+	@Override
+	public List<Long> atualizarStatus(Collection<Long> ids, String statusEsperado, String statusNovo) {
+		return transacoes.alterarStatus(ids, StatusTransacaoEnum.valueOf(statusEsperado), StatusTransacaoEnum.valueOf(statusNovo)).stream()
+				.map(Transacao::getId).toList();
+	}
+
+	@Override
+	public boolean criarParticao(LocalDate mes) {
+		return false;
+	}
+
+	@Override
+	public Optional<LocalDateTime> buscarDataHoraMaisAntigaAntesDe(LocalDateTime limite) {
+		return transacoes.percorrer(0).map(transacao -> transacao.getDescricao().getDataHora()).filter(dataHora -> dataHora.isBefore(limite))
+				.min(Comparator.naturalOrder());
+	}
+
+	@Override
+	public Stream<Transacao> streamByPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+		return transacoes.percorrer(0).filter(transacao -> noPeriodo(transacao, inicio, fim)).map(ArmazenamentoMemoriaTransacao::copiar);
+	}
+
+	@Override
+	public boolean bloquearMes(LocalDate mes) {
+		return true;
+	}
+
+	@Override
+	public boolean removerMes(LocalDate mes) {
+		LocalDateTime inicio = mes.atStartOfDay();
+		LocalDateTime fim = mes.plusMonths(1).atStartOfDay();
+		transacoes.remover(transacoes.percorrer(0).filter(transacao -> noPeriodo(transacao, inicio, fim)).map(Transacao::getId).toList());
+		return true;
+	}
+
+	@Override
+	public List<AgregacaoTransacao> agregar(Collection<AgrupamentoTransacaoEnum> agrupamentos, LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim,
+			int limite) {
+		Set<AgrupamentoTransacaoEnum> agrupamentosUnicos = new LinkedHashSet<>(agrupamentos);
+		Map<List<Comparable<Object>>, Grupo> grupos = new TreeMap<>(TransacaoMemoriaRepository::compararChaves);
+
+		transacoes.percorrer(0)
+				.filter(transacao -> dataHoraInicio == null || !transacao.getDescricao().getDataHora().isBefore(dataHoraInicio))
+				.filter(transacao -> dataHoraFim == null || !transacao.getDescricao().getDataHora().isAfter(dataHoraFim))
+				.forEach(transacao -> grupos.computeIfAbsent(obterChave(transacao, agrupamentosUnicos), chave -> new Grupo())
+						.somar(transacao.getDescricao().getValor()));
+
+		if (agrupamentosUnicos.isEmpty() && grupos.isEmpty()) {
+			return List.of(AgregacaoTransacao.builder().quantidade(0L).build());
+		}
+		return grupos.entrySet().stream().limit(limite)
+				.map(grupo -> obterAgregacao(grupo.getKey(), grupo.getValue(), agrupamentosUnicos)).toList();
+	}
+
+	@Override
+	public void desanexar(Transacao transacao) {
+		// As transações lidas já são cópias, não há contexto de persistência
+	}
+
+	@Override
+	public void limparContexto() {
+		// As transações lidas já são cópias, não há contexto de persistência
+	}
+
+	@Override
+	public Optional<Transacao> findOne(Specification<Transacao> spec) {
+		return Optional.ofNullable(findBy(spec, FluentQuery.FetchableFluentQuery::oneValue));
+	}
+
+	@Override
+	public List<Transacao> findAll(Specification<Transacao> spec) {
+		return findBy(spec, FluentQuery.FetchableFluentQuery::all);
+	}
+
+	@Override
+	public Page<Transacao> findAll(Specification<Transacao> spec, Pageable pageable) {
+		return findBy(spec, consulta -> consulta.sortBy(pageable.getSort()).page(pageable));
+	}
+
+	@Override
+	public List<Transacao> findAll(Specification<Transacao> spec, Sort sort) {
+		return findBy(spec, consulta -> consulta.sortBy(sort).all());
+	}
+
+	@Override
+	public long count(Specification<Transacao> spec) {
+		return findBy(spec, FluentQuery.FetchableFluentQuery::count);
+	}
+
+	@Override
+	public boolean exists(Specification<Transacao> spec) {
+		return findBy(spec, FluentQuery.FetchableFluentQuery::exists);
+	}
+
+	@Override
+	public long delete(Specification<Transacao> spec) {
+		List<Long> ids = findBy(spec, consulta -> consulta.stream().map(Transacao::getId).toList());
+		transacoes.remover(ids);
+		return ids.size();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <S extends Transacao, R> R findBy(Specification<Transacao> spec, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+		return queryFunction.apply(new ConsultaFluenteMemoria<>(() -> (Stream<S>) filtrar(spec)));
+	}
+
+	/**
+	 * Filtra as transações pela consulta dinâmica
+	 * <p>
+	 * Uma consulta JPA qualquer só pode ser avaliada pelo banco, portanto apenas a consulta da pesquisa de transações, que também sabe se
+	 * avaliar em memória, é suportada
+	 * </p>
+	 *
+	 * @param spec
+	 * 		Consulta dinâmica (nula para todas as transações)
+	 * @return Stream<Transacao>
+	 * 		Cópias das transações que atendem a consulta
+	 * @author Euller Henrique
+	 */
+	private Stream<Transacao> filtrar(Specification<Transacao> spec) {
+		if (spec == null) {
+			return percorrer();
+		}
+		if (!(spec instanceof TransacaoSpecification.Pesquisa pesquisa)) {
+			throw new UnsupportedOperationException("Apenas a consulta da pesquisa de transações é suportada pelo repositório em memória");
+		}
+
+		Transacao cursor = pesquisa.filtros().getApos() == null ? null : transacoes.obter(pesquisa.filtros().getApos()).orElse(null);
+		return transacoes.percorrer(0).filter(transacao -> pesquisa.atende(transacao, cursor)).map(ArmazenamentoMemoriaTransacao::copiar);
+	}
+
+	private static boolean noPeriodo(Transacao transacao, LocalDateTime inicio, LocalDateTime fim) {
+		LocalDateTime dataHora = transacao.getDescricao().getDataHora();
+		return !dataHora.isBefore(inicio) && dataHora.isBefore(fim);
+	}
+
+	/**
+	 * Obtém os valores da transação nos campos do agrupamento, na mesma forma ordenada pelo group by do banco (enums pelo nome)
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação
+	 * @param agrupamentos
+	 * 		Campos do agrupamento
+	 * @return List<Comparable<Object>>
+	 * 		Valores da transação em cada campo
+	 * @author Euller Henrique
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<Comparable<Object>> obterChave(Transacao transacao, Set<AgrupamentoTransacaoEnum> agrupamentos) {
+		List<Comparable<Object>> chave = new ArrayList<>(agrupamentos.size());
+		for (AgrupamentoTransacaoEnum agrupamento : agrupamentos) {
+			Comparable<?> valor = switch (agrupamento) {
+				case ESTABELECIMENTO -> transacao.getDescricao().getEstabelecimento();
+				case STATUS -> transacao.getDescricao().getStatus().name();
+				case TIPO -> transacao.getFormaPagamento().getTipo().name();
+				case DIA -> transacao.getDescricao().getDataHora().truncatedTo(ChronoUnit.DAYS);
+				case HORA -> transacao.getDescricao().getDataHora().truncatedTo(ChronoUnit.HOURS);
+			};
+			chave.add((Comparable<Object>) valor);
+		}
+		return chave;
+	}
+
+	private static int compararChaves(List<Comparable<Object>> chave, List<Comparable<Object>> outraChave) {
+		for (int i = 0; i < chave.size(); i++) {
+			int comparacao = chave.get(i).compareTo(outraChave.get(i));
+			if (comparacao != 0) {
+				return comparacao;
+			}
+		}
+		return 0;
+	}
+
+	private static AgregacaoTransacao obterAgregacao(List<Comparable<Object>> chave, Grupo grupo, Set<AgrupamentoTransacaoEnum> agrupamentos) {
+		AgregacaoTransacao.AgregacaoTransacaoBuilder agregacao = AgregacaoTransacao.builder()
+				.quantidade(grupo.quantidade)
+				.total(grupo.total)
+				.media(grupo.total.divide(BigDecimal.valueOf(grupo.quantidade), 2, RoundingMode.HALF_UP))
+				.minimo(grupo.minimo)
+				.maximo(grupo.maximo);
+
+		int indice = 0;
+		for (AgrupamentoTransacaoEnum agrupamento : agrupamentos) {
+			Object valor = chave.get(indice++);
+			switch (agrupamento) {
+				case ESTABELECIMENTO -> agregacao.estabelecimento((String) valor);
+				case STATUS -> agregacao.status(StatusTransacaoEnum.valueOf((String) valor));
+				case TIPO -> agregacao.tipo(TipoPagamentoTransacaoEnum.valueOf((String) valor));
+				case DIA, HORA -> agregacao.periodo((LocalDateTime) valor);
+			}
+		}
+
+		return agregacao.build();
+	}
+
+	/**
+	 * Acumulador de um grupo da agregação
+	 *
+	 * @author Euller Henrique
+	 */
+	private static class Grupo {
+
+		private long quantidade;
+		private BigDecimal total = BigDecimal.ZERO;
+		private BigDecimal minimo;
+		private BigDecimal maximo;
+
+		private void somar(BigDecimal valor) {
+			quantidade++;
+			total = total.add(valor);
+			minimo = minimo == null || valor.compareTo(minimo) < 0 ? valor : minimo;
+			maximo = maximo == null || valor.compareTo(maximo) > 0 ? valor : maximo;
+		}
+
+	}
+
+}
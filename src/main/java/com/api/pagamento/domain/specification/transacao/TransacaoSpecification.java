@@ -0,0 +1,216 @@
+package com.api.pagamento.domain.specification.transacao;
+
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
+import com.api.pagamento.domain.enumeration.transacao.pesquisa.OrdenacaoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classe responsável por montar as consultas dinâmicas da pesquisa de transações
+ * <p>
+ * Apenas os filtros informados entram na consulta, portanto o banco pode usar o índice composto que corresponde à combinação pesquisada
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class TransacaoSpecification {
+
+	private static final String ID = "id";
+	private static final String DESCRICAO = "descricao";
+	private static final String FORMA_PAGAMENTO = "formaPagamento";
+
+	/**
+	 * Monta a consulta com os filtros da pesquisa e, se houver cursor, a condição para começar após a última transação da página anterior
+	 *
+	 * @param pesquisa
+	 * 		Dto com os filtros, a ordenação e o cursor da pesquisa
+	 * @return Specification<Transacao>
+	 * 		Consulta dinâmica da pesquisa
+	 * @author Euller Henrique
+	 */
+	public static Specification<Transacao> pesquisar(PesquisaTransacaoRequestDto pesquisa) {
+		return new Pesquisa(pesquisa);
+	}
+
+	/**
+	 * Obtém a ordenação da pesquisa, com o id como critério de desempate
+	 *
+	 * @param pesquisa
+	 * 		Dto com a ordenação da pesquisa
+	 * @return Sort
+	 * 		Ordenação da consulta
+	 * @author Euller Henrique
+	 */
+	public static Sort ordenar(PesquisaTransacaoRequestDto pesquisa) {
+		if (OrdenacaoTransacaoEnum.ID.equals(pesquisa.getOrdenacao())) {
+			return Sort.by(pesquisa.getDirecao(), ID);
+		}
+		return Sort.by(pesquisa.getDirecao(), pesquisa.getOrdenacao().getCampo(), ID);
+	}
+
+	/**
+	 * Monta a condição de keyset: (campo, id) depois de (valor do cursor, id do cursor) na direção da ordenação
+	 * <p>
+	 * A condição redundante campo >= valor do cursor (ou <=, na ordem decrescente) permite ao banco iniciar a leitura do índice diretamente
+	 * no cursor, portanto o custo de uma página não depende de quantas páginas vieram antes
+	 * </p>
+	 *
+	 * @param cb
+	 * 		Construtor de critérios
+	 * @param campo
+	 * 		Campo da ordenação
+	 * @param valorCursor
+	 * 		Subconsulta com o valor do campo na transação do cursor
+	 * @param id
+	 * 		Campo id
+	 * @param apos
+	 * 		Id da transação do cursor
+	 * @param direcao
+	 * 		Direção da ordenação
+	 * @return Predicate
+	 * 		Condição para começar após o cursor
+	 * @author Euller Henrique
+	 */
+	private static Predicate aposCursor(CriteriaBuilder cb, Path<Comparable<Object>> campo, Subquery<Comparable<Object>> valorCursor,
+			Path<Long> id, Long apos, Sort.Direction direcao) {
+		if (direcao.isAscending()) {
+			return cb.and(cb.greaterThanOrEqualTo(campo, valorCursor), cb.or(cb.greaterThan(campo, valorCursor), cb.greaterThan(id, apos)));
+		}
+		return cb.and(cb.lessThanOrEqualTo(campo, valorCursor), cb.or(cb.lessThan(campo, valorCursor), cb.lessThan(id, apos)));
+	}
+
+	/**
+	 * Obtém o caminho do campo da ordenação a partir da raiz da consulta (ex: descricao.dataHora)
+	 *
+	 * @param root
+	 * 		Raiz da consulta
+	 * @param ordenacao
+	 * 		Campo da ordenação
+	 * @return Path<Comparable<Object>>
+	 * 		Caminho do campo
+	 * @author Euller Henrique
+	 */
+	private static Path<Comparable<Object>> obterCaminho(Root<Transacao> root, OrdenacaoTransacaoEnum ordenacao) {
+		Path<?> caminho = root;
+		for (String atributo : ordenacao.getCampo().split("\\.")) {
+			caminho = caminho.get(atributo);
+		}
+		return obterComparavel(caminho);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Path<Comparable<Object>> obterComparavel(Path<?> caminho) {
+		return (Path<Comparable<Object>>) caminho;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparable<Object> obterValor(Transacao transacao, OrdenacaoTransacaoEnum ordenacao) {
+		Comparable<?> valor = switch (ordenacao) {
+			case ID -> transacao.getId();
+			case DATA_HORA -> transacao.getDescricao().getDataHora();
+			case VALOR -> transacao.getDescricao().getValor();
+		};
+		return (Comparable<Object>) valor;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<Comparable<Object>> obterTipo() {
+		return (Class<Comparable<Object>>) (Class<?>) Comparable.class;
+	}
+
+	/**
+	 * Consulta dinâmica da pesquisa
+	 * <p>
+	 * Guarda os filtros da pesquisa para que a mesma consulta também possa ser avaliada sobre transações em memória, com o mesmo resultado
+	 * da consulta no banco
+	 * </p>
+	 *
+	 * @param filtros
+	 * 		Dto com os filtros, a ordenação e o cursor da pesquisa
+	 * @author Euller Henrique
+	 */
+	public record Pesquisa(PesquisaTransacaoRequestDto filtros) implements Specification<Transacao> {
+
+		@Override
+		public Predicate toPredicate(Root<Transacao> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+			List<Predicate> predicados = new ArrayList<>();
+
+			if (filtros.getStatus() != null) {
+				predicados.add(cb.equal(root.get(DESCRICAO).get("status"), filtros.getStatus()));
+			}
+			if (filtros.getEstabelecimento() != null) {
+				predicados.add(cb.equal(root.get(DESCRICAO).get("estabelecimento"), filtros.getEstabelecimento()));
+			}
+			if (filtros.getDataHoraInicio() != null) {
+				predicados.add(cb.greaterThanOrEqualTo(root.get(DESCRICAO).get("dataHora"), filtros.getDataHoraInicio()));
+			}
+			if (filtros.getDataHoraFim() != null) {
+				predicados.add(cb.lessThanOrEqualTo(root.get(DESCRICAO).get("dataHora"), filtros.getDataHoraFim()));
+			}
+			if (filtros.getTipo() != null) {
+				predicados.add(cb.equal(root.get(FORMA_PAGAMENTO).get("tipo"), filtros.getTipo()));
+			}
+			if (filtros.getValorMinimo() != null) {
+				predicados.add(cb.greaterThanOrEqualTo(root.get(DESCRICAO).get("valor"), filtros.getValorMinimo()));
+			}
+			if (filtros.getValorMaximo() != null) {
+				predicados.add(cb.lessThanOrEqualTo(root.get(DESCRICAO).get("valor"), filtros.getValorMaximo()));
+			}
+			if (filtros.getApos() != null) {
+				Subquery<Comparable<Object>> valorCursor = query.subquery(obterTipo());
+				Root<Transacao> cursor = valorCursor.from(Transacao.class);
+				valorCursor.select(obterCaminho(cursor, filtros.getOrdenacao())).where(cb.equal(cursor.get(ID), filtros.getApos()));
+				predicados.add(aposCursor(cb, obterCaminho(root, filtros.getOrdenacao()), valorCursor, root.get(ID), filtros.getApos(),
+						filtros.getDirecao()));
+			}
+
+			return cb.and(predicados.toArray(Predicate[]::new));
+		}
+
+		/**
+		 * Verifica se a transação atende a consulta, sem passar pelo banco
+		 *
+		 * @param transacao
+		 * 		Model com os dados da transação
+		 * @param cursor
+		 * 		Model com os dados da transação do cursor (nulo se a pesquisa não tiver cursor)
+		 * @return boolean
+		 * 		Se a transação atende os filtros e, havendo cursor, vem depois dele na ordenação
+		 * @author Euller Henrique
+		 */
+		public boolean atende(Transacao transacao, Transacao cursor) {
+			DescricaoTransacao descricao = transacao.getDescricao();
+			return (filtros.getStatus() == null || filtros.getStatus().equals(descricao.getStatus()))
+					&& (filtros.getEstabelecimento() == null || filtros.getEstabelecimento().equals(descricao.getEstabelecimento()))
+					&& (filtros.getDataHoraInicio() == null || !descricao.getDataHora().isBefore(filtros.getDataHoraInicio()))
+					&& (filtros.getDataHoraFim() == null || !descricao.getDataHora().isAfter(filtros.getDataHoraFim()))
+					&& (filtros.getTipo() == null || filtros.getTipo().equals(transacao.getFormaPagamento().getTipo()))
+					&& (filtros.getValorMinimo() == null || descricao.getValor().compareTo(filtros.getValorMinimo()) >= 0)
+					&& (filtros.getValorMaximo() == null || descricao.getValor().compareTo(filtros.getValorMaximo()) <= 0)
+					&& (filtros.getApos() == null || cursor != null && vemDepois(transacao, cursor));
+		}
+
+		private boolean vemDepois(Transacao transacao, Transacao cursor) {
+			int comparacao = obterValor(transacao, filtros.getOrdenacao()).compareTo(obterValor(cursor, filtros.getOrdenacao()));
+			if (comparacao == 0) {
+				comparacao = transacao.getId().compareTo(cursor.getId());
+			}
+			return filtros.getDirecao().isAscending() ? comparacao > 0 : comparacao < 0;
+		}
+
+	}
+
+}
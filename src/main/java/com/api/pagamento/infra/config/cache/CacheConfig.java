@@ -0,0 +1,57 @@
+package com.api.pagamento.infra.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static com.api.pagamento.domain.constant.cache.CacheConstants.CACHE_AGREGACAO;
+import static com.api.pagamento.domain.constant.cache.CacheConstants.CACHE_TRANSACAO;
+
+/**
+ * Classe de configuração dos caches em memória
+ * <p>
+ * Os caches são limitados por tamanho e por tempo de expiração e registram estatísticas (acertos, faltas e remoções),
+ * expostas pelo actuator em /actuator/metrics/cache.gets e /actuator/metrics/cache.evictions
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	/**
+	 * Cria o gerenciador de caches
+	 *
+	 * @param tamanhoMaximoTransacao
+	 * 		Quantidade máxima de transações em cache
+	 * @param expiracaoTransacao
+	 * 		Tempo de vida de uma transação em cache (limita o tempo que outra instância pode responder um status desatualizado)
+	 * @param tamanhoMaximoAgregacao
+	 * 		Quantidade máxima de agregações em cache
+	 * @param expiracaoAgregacao
+	 * 		Tempo de vida de uma agregação em cache (limita o tempo que uma transação com data retroativa demora a ser considerada)
+	 * @return CacheManager
+	 * 		Gerenciador de caches
+	 * @author Euller Henrique
+	 */
+	@Bean
+	public CacheManager cacheManager(@Value("${api.cache.transacao.tamanho-maximo}") long tamanhoMaximoTransacao,
+			@Value("${api.cache.transacao.expiracao}") Duration expiracaoTransacao, @Value("${api.cache.agregacao.tamanho-maximo}") long tamanhoMaximoAgregacao,
+			@Value("${api.cache.agregacao.expiracao}") Duration expiracaoAgregacao) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.setAllowNullValues(false);
+		cacheManager.registerCustomCache(CACHE_TRANSACAO,
+				Caffeine.newBuilder().maximumSize(tamanhoMaximoTransacao).expireAfterWrite(expiracaoTransacao).recordStats().build());
+		cacheManager.registerCustomCache(CACHE_AGREGACAO,
+				Caffeine.newBuilder().maximumSize(tamanhoMaximoAgregacao).expireAfterWrite(expiracaoAgregacao).recordStats().build());
+		return cacheManager;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.api.pagamento.infra.config.datasource;
+
+import com.api.pagamento.domain.enumeration.datasource.OrigemDataSourceEnum;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_BANCO;
+
+/**
+ * Classe de configuração dos bancos de dados
+ * <p>
+ * Cada banco tem o seu pool de conexões: as escritas usam o pool do primário e as leituras somente leitura usam o pool da réplica, para
+ * que consultas pesadas não disputem conexões nem recursos com os pagamentos. Sem réplica habilitada, tudo vai para o primário
+ * </p>
+ * <p>
+ * Não é usada nos perfis memoria e livro, em que os repositórios não usam banco
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Configuration
+@Profile(PERFIL_BANCO)
+public class DataSourceConfig {
+
+	/**
+	 * Cria o pool de conexões do banco primário, configurado pelas propriedades spring.datasource
+	 *
+	 * @param dataSourceProperties
+	 * 		Propriedades do banco primário
+	 * @return HikariDataSource
+	 * 		Pool de conexões do banco primário
+	 * @author Euller Henrique
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSourcePrimario(DataSourceProperties dataSourceProperties) {
+		HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName(OrigemDataSourceEnum.PRIMARIO.name().toLowerCase());
+		return dataSource;
+	}
+
+	/**
+	 * Cria o pool de conexões da réplica
+	 *
+	 * @param url
+	 * 		Url jdbc da réplica
+	 * @param usuario
+	 * 		Usuário da réplica
+	 * @param senha
+	 * 		Senha da réplica
+	 * @param tamanhoMaximo
+	 * 		Quantidade máxima de conexões com a réplica
+	 * @return HikariDataSource
+	 * 		Pool de conexões da réplica
+	 * @author Euller Henrique
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "api.datasource.replica.habilitada", havingValue = "true")
+	public HikariDataSource dataSourceReplica(@Value("${api.datasource.replica.url}") String url,
+			@Value("${api.datasource.replica.username}") String usuario, @Value("${api.datasource.replica.password}") String senha,
+			@Value("${api.datasource.replica.tamanho-maximo}") int tamanhoMaximo) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername(usuario);
+		dataSource.setPassword(senha);
+		dataSource.setMaximumPoolSize(tamanhoMaximo);
+		dataSource.setPoolName(OrigemDataSourceEnum.REPLICA.name().toLowerCase());
+		return dataSource;
+	}
+
+	/**
+	 * Cria o DataSource usado pela aplicação, que roteia cada conexão para o primário ou para a réplica
+	 *
+	 * @param primario
+	 * 		Pool de conexões do banco primário
+	 * @param replica
+	 * 		Pool de conexões da réplica (vazio se a réplica não estiver habilitada)
+	 * @return DataSource
+	 * 		DataSource com roteamento
+	 * @author Euller Henrique
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario, @Qualifier("dataSourceReplica") Optional<DataSource> replica) {
+		RoteamentoDataSource roteamentoDataSource = new RoteamentoDataSource();
+		roteamentoDataSource.setTargetDataSources(
+				Map.of(OrigemDataSourceEnum.PRIMARIO, primario, OrigemDataSourceEnum.REPLICA, replica.orElse(primario)));
+		roteamentoDataSource.setDefaultTargetDataSource(primario);
+		roteamentoDataSource.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.api.pagamento.infra.config.datasource;
+
+import com.api.pagamento.domain.enumeration.datasource.OrigemDataSourceEnum;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que roteia cada conexão para o banco primário ou para a réplica
+ * <p>
+ * Transações somente leitura vão para a réplica, todo o resto vai para o primário. A thread pode ser fixada no primário
+ * (requisições de escrita e leituras que precisam ver uma escrita que a réplica ainda não recebeu)
+ * </p>
+ * <p>
+ * A escolha é feita quando a conexão é obtida, portanto o DataSource deve ser envolvido por um LazyConnectionDataSourceProxy, que só obtém
+ * a conexão no primeiro comando, depois que a transação já foi marcada como somente leitura
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+	private static final ThreadLocal<Boolean> PRIMARIO_FIXADO = ThreadLocal.withInitial(() -> false);
+
+	/**
+	 * Fixa as conexões da thread atual no banco primário, até que sejam liberadas
+	 *
+	 * @author Euller Henrique
+	 */
+	public static void fixarPrimario() {
+		PRIMARIO_FIXADO.set(true);
+	}
+
+	/**
+	 * Verifica se as conexões da thread atual estão fixadas no primário, para repassar a decisão a uma tarefa executada em outra thread
+	 *
+	 * @return boolean
+	 * 		Se as conexões da thread atual estão fixadas no primário
+	 * @author Euller Henrique
+	 */
+	public static boolean primarioFixado() {
+		return PRIMARIO_FIXADO.get();
+	}
+
+	/**
+	 * Libera as conexões da thread atual para serem roteadas pelo tipo da transação
+	 *
+	 * @author Euller Henrique
+	 */
+	public static void liberar() {
+		PRIMARIO_FIXADO.remove();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PRIMARIO_FIXADO.get() ?
+				OrigemDataSourceEnum.REPLICA :
+				OrigemDataSourceEnum.PRIMARIO;
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.api.pagamento.infra.config.id;
+
+import com.api.pagamento.infra.id.GeradorIdTemporal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import static com.api.pagamento.domain.constant.id.IdConstants.PROPRIEDADE_GERADOR_ID;
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_BANCO;
+
+/**
+ * Classe de configuração do gerador de ids das transações
+ * <p>
+ * Cada instância da aplicação deve ter um número de nó diferente (api.id.instancia). Os perfis memoria e livro não usam este gerador: os seus
+ * índices são endereçados pelo id e continuam com ids sequenciais locais
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Configuration
+@Profile(PERFIL_BANCO)
+public class GeradorIdConfig {
+
+	/**
+	 * Cria o gerador de ids
+	 *
+	 * @param no
+	 * 		Número do nó desta instância (de 0 a 1023)
+	 * @return GeradorIdTemporal
+	 * 		Gerador de ids
+	 * @author Euller Henrique
+	 */
+	@Bean
+	public GeradorIdTemporal geradorIdTemporal(@Value("${api.id.instancia}") int no) {
+		return new GeradorIdTemporal(no);
+	}
+
+	/**
+	 * Informa ao Hibernate o gerador de ids, usado pelas entidades anotadas com {@link com.api.pagamento.domain.annotation.id.IdTemporal}
+	 *
+	 * @param geradorIdTemporal
+	 * 		Gerador de ids
+	 * @return HibernatePropertiesCustomizer
+	 * 		Customizador das propriedades do Hibernate
+	 * @author Euller Henrique
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer geradorIdHibernatePropertiesCustomizer(GeradorIdTemporal geradorIdTemporal) {
+		return propriedades -> propriedades.put(PROPRIEDADE_GERADOR_ID, geradorIdTemporal);
+	}
+
+}
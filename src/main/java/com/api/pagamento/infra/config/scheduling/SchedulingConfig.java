@@ -0,0 +1,14 @@
+package com.api.pagamento.infra.config.scheduling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Classe de configuração das tarefas agendadas
+ *
+ * @author Euller Henrique
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.api.pagamento.infra.filter.replica;
+
+import com.api.pagamento.infra.config.datasource.RoteamentoDataSource;
+import com.api.pagamento.service.replica.ReplicaService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static com.api.pagamento.domain.constant.http.header.HeaderHttpConstants.CONSISTENCY_TOKEN;
+
+/**
+ * Filtro responsável por decidir se as leituras de uma requisição podem ir para a réplica
+ * <p>
+ * Requisições de escrita ficam no primário do início ao fim, inclusive nas leituras que fazem (idempotência, validação do estorno).
+ * Requisições GET com o cabeçalho Consistency-Token só vão para a réplica se ela já tiver aplicado a escrita que gerou o token
+ * </p>
+ * <p>
+ * A decisão vale para a thread da requisição. Respostas escritas em outra thread, como o stream do /exportar, devem repassá-la
+ * ({@link RoteamentoDataSource#primarioFixado()})
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Component
+@RequiredArgsConstructor
+public class LeituraReplicaFilter extends OncePerRequestFilter {
+
+	private final ReplicaService replicaService;
+
+	@Override
+	protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!HttpMethod.GET.matches(request.getMethod()) || !replicaService.replicaAlcancou(request.getHeader(CONSISTENCY_TOKEN))) {
+			RoteamentoDataSource.fixarPrimario();
+		}
+
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RoteamentoDataSource.liberar();
+		}
+	}
+
+}
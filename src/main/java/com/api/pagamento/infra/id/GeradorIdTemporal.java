@@ -0,0 +1,96 @@
+package com.api.pagamento.infra.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.api.pagamento.domain.constant.id.IdConstants.*;
+
+/**
+ * Gerador de ids de 64 bits ordenados pelo tempo, sem consulta ao banco
+ * <p>
+ * Cada id é formado, do bit mais significativo para o menos, por 41 bits de milissegundos desde {@link com.api.pagamento.domain.constant.id.IdConstants#EPOCA_ID},
+ * 10 bits do número do nó (definido na configuração, único por instância) e 12 bits de contador. Os ids de instâncias diferentes nunca se
+ * repetem e, por começarem pelo tempo, são sempre maiores que os já gravados: as inserções vão para a borda direita do índice da chave primária
+ * </p>
+ * <p>
+ * O milissegundo e o contador ficam em um único {@link AtomicLong}, avançado sem bloqueio. Mais de 4096 ids no mesmo milissegundo, ou o relógio
+ * voltando, fazem o gerador usar os milissegundos seguintes, mantendo os ids crescentes e sem repetição
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public class GeradorIdTemporal {
+
+	private final long no;
+	private final AtomicLong ultimo = new AtomicLong();
+
+	/**
+	 * Cria o gerador
+	 *
+	 * @param no
+	 * 		Número do nó (de 0 a 1023)
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso o número do nó esteja fora do intervalo
+	 * @author Euller Henrique
+	 */
+	public GeradorIdTemporal(int no) {
+		if (no < 0 || no > NO_MAXIMO_ID) {
+			throw new IllegalArgumentException("O número do nó do gerador de ids deve estar entre 0 e " + NO_MAXIMO_ID);
+		}
+		this.no = no;
+	}
+
+	/**
+	 * Gera um novo id, maior que todos os gerados antes por este gerador
+	 *
+	 * @return long
+	 * 		Id gerado
+	 * @author Euller Henrique
+	 */
+	public long gerar() {
+		long agora = (System.currentTimeMillis() - EPOCA_ID) << BITS_CONTADOR_ID;
+		long valor = ultimo.accumulateAndGet(agora, (anterior, inicio) -> Math.max(anterior + 1, inicio));
+		return (valor >>> BITS_CONTADOR_ID) << (BITS_NO_ID + BITS_CONTADOR_ID) | no << BITS_CONTADOR_ID | valor & MASCARA_CONTADOR_ID;
+	}
+
+	/**
+	 * Avança o gerador para depois do id informado, se ele foi gerado por este nó, para que não seja gerado novamente mesmo que o relógio
+	 * tenha voltado desde então (por exemplo, ids lidos do diário de pagamentos ao reiniciar)
+	 *
+	 * @param id
+	 * 		Id já usado
+	 * @author Euller Henrique
+	 */
+	public void avancar(long id) {
+		if (obterNo(id) == no) {
+			long valor = (id >>> (BITS_NO_ID + BITS_CONTADOR_ID)) << BITS_CONTADOR_ID | id & MASCARA_CONTADOR_ID;
+			ultimo.accumulateAndGet(valor, Math::max);
+		}
+	}
+
+	/**
+	 * Obtém o número do nó do id
+	 *
+	 * @param id
+	 * 		Id gerado
+	 * @return int
+	 * 		Número do nó que gerou o id
+	 * @author Euller Henrique
+	 */
+	public static int obterNo(long id) {
+		return (int) (id >>> BITS_CONTADOR_ID & NO_MAXIMO_ID);
+	}
+
+	/**
+	 * Obtém o instante em que o id foi gerado
+	 *
+	 * @param id
+	 * 		Id gerado
+	 * @return long
+	 * 		Milissegundos desde 1970-01-01T00:00:00Z
+	 * @author Euller Henrique
+	 */
+	public static long obterMilissegundos(long id) {
+		return (id >>> (BITS_NO_ID + BITS_CONTADOR_ID)) + EPOCA_ID;
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.api.pagamento.infra.id;
+
+import com.api.pagamento.domain.annotation.id.IdTemporal;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+import static com.api.pagamento.domain.constant.id.IdConstants.PROPRIEDADE_GERADOR_ID;
+
+/**
+ * Gerador de ids do Hibernate para as entidades anotadas com {@link IdTemporal}
+ * <p>
+ * Usa o {@link GeradorIdTemporal} da aplicação, recebido nas propriedades do Hibernate, para que os ids gerados pelo Hibernate e os gerados
+ * fora dele (diário de pagamentos) venham do mesmo contador e nunca se repitam
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public class IdTemporalGenerator implements BeforeExecutionGenerator {
+
+	private final transient GeradorIdTemporal geradorIdTemporal;
+
+	/**
+	 * Cria o gerador, chamado pelo Hibernate ao mapear a entidade
+	 *
+	 * @param anotacao
+	 * 		Anotação do id
+	 * @param membro
+	 * 		Atributo do id
+	 * @param contexto
+	 * 		Contexto de criação do gerador
+	 * @throws IllegalStateException
+	 * 		Exceção lançada caso o gerador de ids da aplicação não esteja nas propriedades do Hibernate
+	 * @author Euller Henrique
+	 */
+	public IdTemporalGenerator(IdTemporal anotacao, Member membro, CustomIdGeneratorCreationContext contexto) {
+		Object gerador = contexto.getServiceRegistry().requireService(ConfigurationService.class).getSettings().get(PROPRIEDADE_GERADOR_ID);
+		if (!(gerador instanceof GeradorIdTemporal geradorConfigurado)) {
+			throw new IllegalStateException("O gerador de ids não foi informado na propriedade " + PROPRIEDADE_GERADOR_ID + " do Hibernate");
+		}
+		this.geradorIdTemporal = geradorConfigurado;
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+		return geradorIdTemporal.gerar();
+	}
+
+	@Override
+	public EnumSet<EventType> getEventTypes() {
+		return EventTypeSets.INSERT_ONLY;
+	}
+
+}
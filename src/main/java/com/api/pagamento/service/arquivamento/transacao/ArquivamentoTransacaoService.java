@@ -0,0 +1,65 @@
+package com.api.pagamento.service.arquivamento.transacao;
+
+import com.api.pagamento.service.model.transacao.TransacaoModelService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Serviço responsável por mover as transações antigas do banco para o arquivo de transações
+ * <p>
+ * Os meses anteriores ao período de retenção são arquivados um a um, do mais antigo para o mais recente. Uma transação arquivada continua
+ * disponível na busca por id, mas deixa de aparecer na listagem, na pesquisa, na agregação e na exportação
+ * </p>
+ * <p>
+ * Todas as instâncias executam o agendamento, mas cada mês é arquivado apenas pela instância que obtém o seu bloqueio no banco; as demais
+ * encontram o segmento no diretório compartilhado do arquivo
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class ArquivamentoTransacaoService {
+
+	private final TransacaoModelService transacaoModelService;
+	private final int mesesRetencao;
+
+	/**
+	 * Cria o serviço
+	 *
+	 * @param transacaoModelService
+	 * 		Serviço de model da transação
+	 * @param mesesRetencao
+	 * 		Quantidade de meses completos, além do atual, mantidos no banco
+	 * @author Euller Henrique
+	 */
+	public ArquivamentoTransacaoService(TransacaoModelService transacaoModelService, @Value("${api.arquivamento.meses-retencao}") int mesesRetencao) {
+		this.transacaoModelService = transacaoModelService;
+		this.mesesRetencao = mesesRetencao;
+	}
+
+	/**
+	 * Arquiva as transações dos meses anteriores ao período de retenção
+	 *
+	 * @return long
+	 * 		Quantidade de transações arquivadas
+	 * @author Euller Henrique
+	 */
+	@Scheduled(cron = "${api.arquivamento.cron}")
+	public long arquivarTransacoes() {
+		LocalDate limite = YearMonth.now().minusMonths(mesesRetencao).atDay(1);
+
+		long arquivadas = 0;
+		Optional<LocalDate> mes;
+		while ((mes = transacaoModelService.buscarMesMaisAntigoAntesDe(limite)).isPresent()) {
+			arquivadas += transacaoModelService.arquivarTransacoes(mes.get());
+		}
+
+		return arquivadas;
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.api.pagamento.service.autorizacao.transacao;
+
+import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.autorizacao.RegrasAutorizacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants.*;
+
+/**
+ * Regras de autorização compiladas em uma árvore de avaliação imutável
+ * <p>
+ * Os estabelecimentos bloqueados ficam em um conjunto com os nomes normalizados, os prefixos de cartão bloqueados em uma árvore de dígitos
+ * (percorrida no máximo até o tamanho do maior prefixo) e os limites do tipo de pagamento em vetores indexados pelo tipo. Avaliar um
+ * pagamento não altera a árvore, portanto uma mesma árvore é avaliada por várias threads sem bloqueio e substituída por inteiro quando as
+ * regras mudam
+ * </p>
+ * <p>
+ * Cada regra conta, na métrica {@link com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants#METRICA_REGRA_AUTORIZACAO}, os
+ * pagamentos que ela negou. Os autorizados não são contados pela árvore, e sim pelo {@link AutorizacaoTransacaoService} após a decisão final,
+ * que inclui os limites de velocidade do cartão. Os contadores são do registro de métricas, portanto continuam somando depois que a árvore é substituída
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public final class ArvoreAutorizacaoTransacao {
+
+	private static final int QUANTIDADE_TIPOS = TipoPagamentoTransacaoEnum.values().length;
+
+	private final Set<String> estabelecimentosBloqueados;
+	private final NoPrefixo prefixosCartaoBloqueados;
+	private final BigDecimal[] valoresMaximos = new BigDecimal[QUANTIDADE_TIPOS];
+	private final int[] parcelasMaximas = new int[QUANTIDADE_TIPOS];
+	private final Counter estabelecimentoBloqueado;
+	private final Counter prefixoCartaoBloqueado;
+	private final Counter[] valorMaximo = new Counter[QUANTIDADE_TIPOS];
+	private final Counter[] parcelaMaxima = new Counter[QUANTIDADE_TIPOS];
+
+	private ArvoreAutorizacaoTransacao(RegrasAutorizacao regras, MeterRegistry meterRegistry) {
+		this.estabelecimentosBloqueados = Set.copyOf(obterOuVazio(regras.getEstabelecimentosBloqueados()).stream()
+				.map(ArvoreAutorizacaoTransacao::normalizarEstabelecimento).collect(Collectors.toSet()));
+		this.prefixosCartaoBloqueados = new NoPrefixo();
+		for (String prefixo : obterOuVazio(regras.getPrefixosCartaoBloqueados())) {
+			adicionarPrefixo(prefixo);
+		}
+
+		Arrays.fill(parcelasMaximas, Integer.MAX_VALUE);
+		Map<TipoPagamentoTransacaoEnum, BigDecimal> valores = obterOuVazio(regras.getValoresMaximos());
+		Map<TipoPagamentoTransacaoEnum, Integer> parcelas = obterOuVazio(regras.getParcelasMaximas());
+		for (TipoPagamentoTransacaoEnum tipo : TipoPagamentoTransacaoEnum.values()) {
+			BigDecimal valor = valores.get(tipo);
+			Integer parcela = parcelas.get(tipo);
+			if ((valor != null && valor.signum() <= 0) || (parcela != null && parcela < 1)) {
+				throw new IllegalArgumentException("Os limites do tipo de pagamento " + tipo + " devem ser maiores que zero");
+			}
+			valoresMaximos[tipo.ordinal()] = valor;
+			parcelasMaximas[tipo.ordinal()] = parcela == null ? Integer.MAX_VALUE : parcela;
+			valorMaximo[tipo.ordinal()] = obterContador(meterRegistry, PREFIXO_REGRA_VALOR_MAXIMO + tipo);
+			parcelaMaxima[tipo.ordinal()] = obterContador(meterRegistry, PREFIXO_REGRA_PARCELAS_MAXIMAS + tipo);
+		}
+
+		this.estabelecimentoBloqueado = obterContador(meterRegistry, REGRA_ESTABELECIMENTO_BLOQUEADO);
+		this.prefixoCartaoBloqueado = obterContador(meterRegistry, REGRA_PREFIXO_CARTAO_BLOQUEADO);
+	}
+
+	/**
+	 * Compila as regras de autorização
+	 *
+	 * @param regras
+	 * 		Model com as regras de autorização
+	 * @param meterRegistry
+	 * 		Registro das métricas onde ficam os contadores de cada regra
+	 * @return ArvoreAutorizacaoTransacao
+	 * 		Árvore de avaliação das regras
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso um limite não seja maior que zero ou um prefixo de cartão não tenha apenas dígitos
+	 * @author Euller Henrique
+	 */
+	public static ArvoreAutorizacaoTransacao compilar(RegrasAutorizacao regras, MeterRegistry meterRegistry) {
+		return new ArvoreAutorizacaoTransacao(regras, meterRegistry);
+	}
+
+	/**
+	 * Avalia o pagamento, contando a negação na regra que a tomou
+	 *
+	 * @param request
+	 * 		Dto com os dados de requisição da transação (já validado)
+	 * @return String
+	 * 		Nome da regra que negou o pagamento, ou {@link com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants#REGRA_AUTORIZADO} se nenhuma negou
+	 * @author Euller Henrique
+	 */
+	public String avaliar(TransacaoRequestDto request) {
+		if (!estabelecimentosBloqueados.isEmpty()
+				&& estabelecimentosBloqueados.contains(normalizarEstabelecimento(request.getDescricao().getEstabelecimento()))) {
+			estabelecimentoBloqueado.increment();
+			return REGRA_ESTABELECIMENTO_BLOQUEADO;
+		}
+		if (prefixoBloqueado(request.getCartao())) {
+			prefixoCartaoBloqueado.increment();
+			return REGRA_PREFIXO_CARTAO_BLOQUEADO;
+		}
+
+		TipoPagamentoTransacaoEnum tipo = request.getFormaPagamento().getTipo();
+		BigDecimal valor = valoresMaximos[tipo.ordinal()];
+		if (valor != null && request.getDescricao().getValor().compareTo(valor) > 0) {
+			valorMaximo[tipo.ordinal()].increment();
+			return PREFIXO_REGRA_VALOR_MAXIMO + tipo;
+		}
+		if (request.getFormaPagamento().getParcelas() > parcelasMaximas[tipo.ordinal()]) {
+			parcelaMaxima[tipo.ordinal()].increment();
+			return PREFIXO_REGRA_PARCELAS_MAXIMAS + tipo;
+		}
+
+		return REGRA_AUTORIZADO;
+	}
+
+	private boolean prefixoBloqueado(String cartao) {
+		NoPrefixo no = prefixosCartaoBloqueados;
+		for (int i = 0; i < cartao.length() && !no.bloqueado; i++) {
+			int digito = cartao.charAt(i) - '0';
+			if (digito < 0 || digito > 9 || (no = no.filhos[digito]) == null) {
+				return false;
+			}
+		}
+		return no.bloqueado;
+	}
+
+	private void adicionarPrefixo(String prefixo) {
+		if (prefixo == null || prefixo.isEmpty() || !prefixo.chars().allMatch(c -> c >= '0' && c <= '9')) {
+			throw new IllegalArgumentException("O prefixo de cartão bloqueado deve ter apenas dígitos: " + prefixo);
+		}
+		NoPrefixo no = prefixosCartaoBloqueados;
+		for (int i = 0; i < prefixo.length(); i++) {
+			int digito = prefixo.charAt(i) - '0';
+			if (no.filhos[digito] == null) {
+				no.filhos[digito] = new NoPrefixo();
+			}
+			no = no.filhos[digito];
+		}
+		no.bloqueado = true;
+	}
+
+	private static String normalizarEstabelecimento(String estabelecimento) {
+		return estabelecimento.strip().toLowerCase(Locale.ROOT);
+	}
+
+	private static Counter obterContador(MeterRegistry meterRegistry, String regra) {
+		return Counter.builder(METRICA_REGRA_AUTORIZACAO).tag(TAG_REGRA_AUTORIZACAO, regra).register(meterRegistry);
+	}
+
+	private static <T> Set<T> obterOuVazio(Set<T> conjunto) {
+		return conjunto == null ? Set.of() : conjunto;
+	}
+
+	private static <K, V> Map<K, V> obterOuVazio(Map<K, V> mapa) {
+		return mapa == null ? Map.of() : mapa;
+	}
+
+	/**
+	 * Nó da árvore de prefixos de cartão: um filho por dígito e se o prefixo que termina no nó está bloqueado
+	 */
+	private static final class NoPrefixo {
+		private final NoPrefixo[] filhos = new NoPrefixo[10];
+		private boolean bloqueado;
+	}
+
+}
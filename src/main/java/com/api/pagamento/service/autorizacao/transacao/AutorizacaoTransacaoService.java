@@ -0,0 +1,142 @@
+package com.api.pagamento.service.autorizacao.transacao;
+
+import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.model.autorizacao.RegrasAutorizacao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants.METRICA_REGRA_AUTORIZACAO;
+import static com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants.REGRA_AUTORIZADO;
+import static com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants.TAG_REGRA_AUTORIZACAO;
+
+/**
+ * Serviço responsável por decidir se um pagamento é negado pelas regras do arquivo de regras de autorização
+ * <p>
+ * As regras são compiladas em uma árvore de avaliação imutável ({@link ArvoreAutorizacaoTransacao}), avaliada na própria thread da
+ * requisição sem bloqueio. O arquivo é verificado periodicamente e, quando alterado, as novas regras são compiladas e substituem as
+ * anteriores de uma só vez: cada pagamento é avaliado inteiro pelas regras antigas ou inteiro pelas novas. Um arquivo inválido não
+ * substitui as regras em uso
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class AutorizacaoTransacaoService {
+
+	private final Resource arquivoRegras;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+	private final Counter autorizado;
+	private final AtomicReference<ArvoreAutorizacaoTransacao> arvore = new AtomicReference<>();
+
+	private long ultimaModificacao;
+
+	/**
+	 * Cria o serviço, carregando as regras do arquivo
+	 *
+	 * @param arquivoRegras
+	 * 		Arquivo de regras de autorização (file: para que alterações sejam percebidas sem reiniciar a aplicação)
+	 * @param objectMapper
+	 * 		Leitor do arquivo de regras (json)
+	 * @param meterRegistry
+	 * 		Registro das métricas onde ficam os contadores de cada regra
+	 * @throws UncheckedIOException
+	 * 		Exceção lançada caso o arquivo de regras não possa ser lido
+	 * @author Euller Henrique
+	 */
+	public AutorizacaoTransacaoService(@Value("${api.autorizacao.regras}") Resource arquivoRegras, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) {
+		this.arquivoRegras = arquivoRegras;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+		this.autorizado = Counter.builder(METRICA_REGRA_AUTORIZACAO).tag(TAG_REGRA_AUTORIZACAO, REGRA_AUTORIZADO).register(meterRegistry);
+		recarregarRegras();
+	}
+
+	/**
+	 * Avalia o pagamento pelas regras de autorização
+	 *
+	 * @param request
+	 * 		Dto com os dados de requisição da transação (já validado)
+	 * @return String
+	 * 		Nome da regra que negou o pagamento, ou nulo se nenhuma regra o negou
+	 * @author Euller Henrique
+	 */
+	public String obterMotivoNegacao(TransacaoRequestDto request) {
+		String regra = arvore.get().avaliar(request);
+		return REGRA_AUTORIZADO.equals(regra) ? null : regra;
+	}
+
+	/**
+	 * Conta o pagamento autorizado na regra {@link com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants#REGRA_AUTORIZADO}
+	 * <p>
+	 * Chamado apenas após a decisão final: um pagamento que as regras não negaram ainda pode ser negado pelos limites de velocidade do
+	 * cartão, e é contado apenas no limite que o negou
+	 * </p>
+	 *
+	 * @author Euller Henrique
+	 */
+	public void registrarAutorizacao() {
+		autorizado.increment();
+	}
+
+	/**
+	 * Recarrega as regras se o arquivo foi alterado desde a última leitura
+	 *
+	 * @return boolean
+	 * 		Se as regras foram substituídas
+	 * @throws UncheckedIOException
+	 * 		Exceção lançada caso o arquivo de regras não possa ser lido (as regras em uso são mantidas)
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso as regras sejam inválidas (as regras em uso são mantidas)
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedDelayString = "${api.autorizacao.verificacao}")
+	public synchronized boolean recarregarRegras() {
+		long modificacao = obterModificacao();
+		if (arvore.get() != null && modificacao == ultimaModificacao) {
+			return false;
+		}
+
+		try (InputStream entrada = arquivoRegras.getInputStream()) {
+			substituirRegras(objectMapper.readValue(entrada, RegrasAutorizacao.class));
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Não foi possível ler o arquivo de regras de autorização " + arquivoRegras.getDescription(), ex);
+		}
+		ultimaModificacao = modificacao;
+		return true;
+	}
+
+	/**
+	 * Compila as regras e substitui as regras em uso
+	 *
+	 * @param regras
+	 * 		Model com as regras de autorização
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso as regras sejam inválidas (as regras em uso são mantidas)
+	 * @author Euller Henrique
+	 */
+	public void substituirRegras(RegrasAutorizacao regras) {
+		arvore.set(ArvoreAutorizacaoTransacao.compilar(regras, meterRegistry));
+	}
+
+	private long obterModificacao() {
+		try {
+			return arquivoRegras.lastModified();
+		} catch (IOException ex) {
+			// Arquivo dentro do jar ou em um local sem data de modificação: é lido apenas uma vez
+			return 0;
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.api.pagamento.service.bin.transacao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serviço responsável por obter a bandeira e o emissor do cartão pelo seu BIN (primeiros dígitos), a partir da tabela de BINs
+ * <p>
+ * A tabela é compilada em um índice de faixas imutável ({@link TabelaBinTransacao}), consultado na própria thread da requisição sem
+ * bloqueio. O arquivo é verificado periodicamente e, quando alterado, a nova tabela é lida por inteiro e substitui a anterior de uma só
+ * vez. Um arquivo inválido não substitui a tabela em uso
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class BinTransacaoService {
+
+	private final Resource arquivoTabela;
+	private final AtomicReference<TabelaBinTransacao> tabela = new AtomicReference<>();
+
+	private long ultimaModificacao;
+
+	/**
+	 * Cria o serviço, carregando a tabela do arquivo
+	 *
+	 * @param arquivoTabela
+	 * 		Arquivo csv da tabela de BINs (file: para que alterações sejam percebidas sem reiniciar a aplicação)
+	 * @throws UncheckedIOException
+	 * 		Exceção lançada caso o arquivo da tabela não possa ser lido
+	 * @author Euller Henrique
+	 */
+	public BinTransacaoService(@Value("${api.bin.tabela}") Resource arquivoTabela) {
+		this.arquivoTabela = arquivoTabela;
+		recarregarTabela();
+	}
+
+	/**
+	 * Obtém a bandeira do cartão
+	 *
+	 * @param cartao
+	 * 		Número do cartão
+	 * @return String
+	 * 		Bandeira do cartão (nulo se o BIN não estiver na tabela)
+	 * @author Euller Henrique
+	 */
+	public String obterBandeira(String cartao) {
+		TabelaBinTransacao tabelaAtual = tabela.get();
+		int faixa = tabelaAtual.localizar(cartao);
+		return faixa < 0 ? null : tabelaAtual.obterBandeira(faixa);
+	}
+
+	/**
+	 * Obtém o emissor do cartão
+	 *
+	 * @param cartao
+	 * 		Número do cartão
+	 * @return String
+	 * 		Emissor do cartão (nulo se o BIN não estiver na tabela ou a sua faixa não informar o emissor)
+	 * @author Euller Henrique
+	 */
+	public String obterEmissor(String cartao) {
+		TabelaBinTransacao tabelaAtual = tabela.get();
+		int faixa = tabelaAtual.localizar(cartao);
+		return faixa < 0 ? null : tabelaAtual.obterEmissor(faixa);
+	}
+
+	/**
+	 * Recarrega a tabela se o arquivo foi alterado desde a última leitura
+	 *
+	 * @return boolean
+	 * 		Se a tabela foi substituída
+	 * @throws UncheckedIOException
+	 * 		Exceção lançada caso o arquivo da tabela não possa ser lido (a tabela em uso é mantida)
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso a tabela seja inválida (a tabela em uso é mantida)
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedDelayString = "${api.bin.verificacao}")
+	public synchronized boolean recarregarTabela() {
+		long modificacao = obterModificacao();
+		if (tabela.get() != null && modificacao == ultimaModificacao) {
+			return false;
+		}
+
+		try (BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivoTabela.getInputStream(), StandardCharsets.UTF_8))) {
+			tabela.set(TabelaBinTransacao.ler(leitor));
+		} catch (IOException ex) {
+			throw new UncheckedIOException("Não foi possível ler a tabela de BINs " + arquivoTabela.getDescription(), ex);
+		}
+		ultimaModificacao = modificacao;
+		return true;
+	}
+
+	private long obterModificacao() {
+		try {
+			return arquivoTabela.lastModified();
+		} catch (IOException ex) {
+			// Arquivo dentro do jar ou em um local sem data de modificação: é lido apenas uma vez
+			return 0;
+		}
+	}
+
+}
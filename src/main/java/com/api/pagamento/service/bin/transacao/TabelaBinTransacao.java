@@ -0,0 +1,171 @@
+package com.api.pagamento.service.bin.transacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.api.pagamento.domain.constant.bin.BinConstants.*;
+
+/**
+ * Tabela de BINs (primeiros dígitos do cartão) compilada em um índice de faixas imutável
+ * <p>
+ * Cada faixa é normalizada para {@link com.api.pagamento.domain.constant.bin.BinConstants#DIGITOS_BIN} dígitos (o início completado com
+ * zeros e o fim com noves) e guardada em vetores de int ordenados pelo início, com a bandeira e o emissor como posições em um vetor de
+ * textos sem repetição. Localizar um cartão é uma busca binária no vetor de inícios, sem criar objetos; uma tabela com 500 mil faixas
+ * ocupa cerca de 8 MB e é percorrida em no máximo 19 comparações
+ * </p>
+ * <p>
+ * As faixas não podem se sobrepor, portanto um BIN pertence no máximo a uma faixa. Um cartão com menos dígitos conhecidos que o BIN (por
+ * exemplo, mascarado) só é localizado quando todos os BINs que começam com os seus dígitos estão na mesma faixa
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+public final class TabelaBinTransacao {
+
+	private static final int[] POTENCIAS_DEZ = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+	private final int[] inicios;
+	private final int[] fins;
+	private final int[] bandeiras;
+	private final int[] emissores;
+	private final String[] textos;
+
+	private TabelaBinTransacao(int[] inicios, int[] fins, int[] bandeiras, int[] emissores, String[] textos) {
+		this.inicios = inicios;
+		this.fins = fins;
+		this.bandeiras = bandeiras;
+		this.emissores = emissores;
+		this.textos = textos;
+	}
+
+	/**
+	 * Lê a tabela no formato csv, uma faixa por linha: início, fim, bandeira e emissor (opcional), com o início e o fim de 6 a 8 dígitos.
+	 * Linhas em branco, iniciadas por # e o cabeçalho (linha iniciada por "inicio") são ignorados
+	 *
+	 * @param leitor
+	 * 		Leitor do arquivo csv
+	 * @return TabelaBinTransacao
+	 * 		Tabela com as faixas ordenadas
+	 * @throws IOException
+	 * 		Exceção lançada caso o arquivo não possa ser lido
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso uma linha seja inválida ou duas faixas se sobreponham
+	 * @author Euller Henrique
+	 */
+	public static TabelaBinTransacao ler(BufferedReader leitor) throws IOException {
+		List<String> linhas = new ArrayList<>();
+		String linha;
+		while ((linha = leitor.readLine()) != null) {
+			linha = linha.strip();
+			if (!linha.isEmpty() && linha.charAt(0) != '#' && !linha.startsWith("inicio")) {
+				linhas.add(linha);
+			}
+		}
+
+		int quantidade = linhas.size();
+		int[] inicios = new int[quantidade];
+		int[] fins = new int[quantidade];
+		int[] bandeiras = new int[quantidade];
+		int[] emissores = new int[quantidade];
+		Map<String, Integer> posicoesTextos = new HashMap<>();
+		long[] ordem = new long[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			String[] colunas = linhas.get(i).split(",", -1);
+			if (colunas.length < 3 || colunas.length > 4) {
+				throw new IllegalArgumentException("A faixa de BIN deve ter início, fim, bandeira e emissor (opcional): " + linhas.get(i));
+			}
+			inicios[i] = normalizarBin(colunas[0], '0');
+			fins[i] = normalizarBin(colunas[1], '9');
+			if (fins[i] < inicios[i]) {
+				throw new IllegalArgumentException("O fim da faixa de BIN deve ser maior ou igual ao início: " + linhas.get(i));
+			}
+			String bandeira = colunas[2].strip();
+			if (bandeira.isEmpty() || bandeira.getBytes(StandardCharsets.UTF_8).length > TAMANHO_MAXIMO_BANDEIRA) {
+				throw new IllegalArgumentException("A bandeira deve ter de 1 a " + TAMANHO_MAXIMO_BANDEIRA + " bytes: " + linhas.get(i));
+			}
+			String emissor = colunas.length == 4 ? colunas[3].strip() : "";
+			bandeiras[i] = posicoesTextos.computeIfAbsent(bandeira, texto -> posicoesTextos.size());
+			emissores[i] = emissor.isEmpty() ? -1 : posicoesTextos.computeIfAbsent(emissor, texto -> posicoesTextos.size());
+			ordem[i] = (long) inicios[i] << 32 | i;
+		}
+
+		Arrays.sort(ordem);
+		int[] iniciosOrdenados = new int[quantidade];
+		int[] finsOrdenados = new int[quantidade];
+		int[] bandeirasOrdenadas = new int[quantidade];
+		int[] emissoresOrdenados = new int[quantidade];
+		for (int i = 0; i < quantidade; i++) {
+			int origem = (int) ordem[i];
+			iniciosOrdenados[i] = inicios[origem];
+			finsOrdenados[i] = fins[origem];
+			bandeirasOrdenadas[i] = bandeiras[origem];
+			emissoresOrdenados[i] = emissores[origem];
+			if (i > 0 && iniciosOrdenados[i] <= finsOrdenados[i - 1]) {
+				throw new IllegalArgumentException("As faixas de BIN se sobrepõem: " + iniciosOrdenados[i - 1] + "-" + finsOrdenados[i - 1] + " e "
+						+ iniciosOrdenados[i] + "-" + finsOrdenados[i]);
+			}
+		}
+
+		String[] textos = new String[posicoesTextos.size()];
+		posicoesTextos.forEach((texto, posicao) -> textos[posicao] = texto);
+		return new TabelaBinTransacao(iniciosOrdenados, finsOrdenados, bandeirasOrdenadas, emissoresOrdenados, textos);
+	}
+
+	/**
+	 * Localiza a faixa do BIN do cartão
+	 *
+	 * @param cartao
+	 * 		Número do cartão (apenas os dígitos iniciais, até o primeiro caractere que não for dígito, são considerados)
+	 * @return int
+	 * 		Posição da faixa, ou -1 se o BIN não estiver em nenhuma faixa
+	 * @author Euller Henrique
+	 */
+	public int localizar(String cartao) {
+		int bin = 0;
+		int digitos = 0;
+		while (digitos < DIGITOS_BIN && digitos < cartao.length()) {
+			int digito = cartao.charAt(digitos) - '0';
+			if (digito < 0 || digito > 9) {
+				break;
+			}
+			bin = bin * 10 + digito;
+			digitos++;
+		}
+		if (digitos == 0) {
+			return -1;
+		}
+
+		int binsPorPrefixo = POTENCIAS_DEZ[DIGITOS_BIN - digitos];
+		int menorBin = bin * binsPorPrefixo;
+		int posicao = Arrays.binarySearch(inicios, menorBin);
+		int faixa = posicao >= 0 ? posicao : -posicao - 2;
+		return faixa >= 0 && fins[faixa] >= menorBin + binsPorPrefixo - 1 ? faixa : -1;
+	}
+
+	public String obterBandeira(int faixa) {
+		return textos[bandeiras[faixa]];
+	}
+
+	public String obterEmissor(int faixa) {
+		return emissores[faixa] < 0 ? null : textos[emissores[faixa]];
+	}
+
+	public int getQuantidadeFaixas() {
+		return inicios.length;
+	}
+
+	private static int normalizarBin(String bin, char preenchimento) {
+		String digitos = bin.strip();
+		if (digitos.length() < DIGITOS_MINIMOS_BIN || digitos.length() > DIGITOS_BIN || !digitos.chars().allMatch(c -> c >= '0' && c <= '9')) {
+			throw new IllegalArgumentException("O BIN deve ter de " + DIGITOS_MINIMOS_BIN + " a " + DIGITOS_BIN + " dígitos: " + bin);
+		}
+		return Integer.parseInt(digitos + String.valueOf(preenchimento).repeat(DIGITOS_BIN - digitos.length()));
+	}
+
+}
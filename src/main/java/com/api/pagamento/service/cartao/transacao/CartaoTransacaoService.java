@@ -0,0 +1,106 @@
+package com.api.pagamento.service.cartao.transacao;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static com.api.pagamento.domain.constant.cartao.CartaoConstants.*;
+
+/**
+ * Serviço responsável por obter o token e a máscara do cartão, que substituem o número do cartão nas transações salvas
+ * <p>
+ * O token é o HMAC-SHA256 do número com a chave da aplicação, truncado em 128 bits e codificado em base64 url (22 caracteres): o mesmo
+ * cartão tem sempre o mesmo token, portanto as transações de um cartão são buscadas pelo índice do token, e o número não pode ser obtido a
+ * partir do token sem a chave. A máscara mantém apenas os últimos dígitos do número
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class CartaoTransacaoService {
+
+	private final ThreadLocal<Mac> macs;
+
+	/**
+	 * Cria o serviço
+	 *
+	 * @param chaveToken
+	 * 		Chave do HMAC dos tokens (trocar a chave muda o token de todos os cartões)
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso a chave tenha menos de 32 bytes
+	 * @author Euller Henrique
+	 */
+	public CartaoTransacaoService(@Value("${api.cartao.chave-token}") String chaveToken) {
+		byte[] chave = chaveToken.getBytes(StandardCharsets.UTF_8);
+		if (chave.length < TAMANHO_MINIMO_CHAVE_TOKEN_CARTAO) {
+			throw new IllegalArgumentException("A chave do token do cartão deve ter ao menos " + TAMANHO_MINIMO_CHAVE_TOKEN_CARTAO + " bytes");
+		}
+		SecretKeySpec chaveSecreta = new SecretKeySpec(chave, ALGORITMO_TOKEN_CARTAO);
+		this.macs = ThreadLocal.withInitial(() -> criarMac(chaveSecreta));
+	}
+
+	/**
+	 * Obtém o token do cartão
+	 *
+	 * @param cartao
+	 * 		Número do cartão
+	 * @return String
+	 * 		Token do cartão, com 22 caracteres
+	 * @author Euller Henrique
+	 */
+	public String obterToken(String cartao) {
+		byte[] hmac = macs.get().doFinal(cartao.getBytes(StandardCharsets.UTF_8));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hmac, BYTES_TOKEN_CARTAO));
+	}
+
+	/**
+	 * Obtém o cartão mascarado: os últimos dígitos do número, precedidos de um caractere de máscara para cada dígito omitido
+	 *
+	 * @param cartao
+	 * 		Número do cartão
+	 * @return String
+	 * 		Cartão mascarado, com o mesmo tamanho do número
+	 * @author Euller Henrique
+	 */
+	public String mascarar(String cartao) {
+		int omitidos = Math.max(0, cartao.length() - DIGITOS_VISIVEIS_CARTAO);
+		return String.valueOf(CARACTERE_MASCARA_CARTAO).repeat(omitidos) + cartao.substring(omitidos);
+	}
+
+	/**
+	 * Tokeniza a transação salva antes do token do cartão, trocando o número do cartão pelo token e pela máscara. Transações já tokenizadas
+	 * são devolvidas sem alteração
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação
+	 * @return Transacao
+	 * 		A mesma transação, tokenizada
+	 * @author Euller Henrique
+	 */
+	public Transacao tokenizar(Transacao transacao) {
+		String cartao = transacao.getCartao();
+		if (transacao.getTokenCartao() == null && cartao != null && cartao.indexOf(CARACTERE_MASCARA_CARTAO) < 0) {
+			transacao.setTokenCartao(obterToken(cartao));
+			transacao.setCartao(mascarar(cartao));
+		}
+		return transacao;
+	}
+
+	private static Mac criarMac(SecretKeySpec chaveSecreta) {
+		try {
+			Mac mac = Mac.getInstance(ALGORITMO_TOKEN_CARTAO);
+			mac.init(chaveSecreta);
+			return mac;
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Algoritmo do token do cartão indisponível: " + ALGORITMO_TOKEN_CARTAO, ex);
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.api.pagamento.service.cartao.transacao;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.repository.transacao.TransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.arquivo.ArquivoTransacaoRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_PERSISTENTE;
+
+/**
+ * Serviço responsável por tokenizar as transações salvas antes do token do cartão, que ainda guardam o número do cartão
+ * <p>
+ * Executado ao iniciar a aplicação e depois periodicamente, troca o número do cartão pelo token e pela máscara em lotes, cada um em uma
+ * transação de banco própria (quando há banco), até não restarem transações sem token. Os lotes avançam pelo id, e as transações sem token
+ * são encontradas pelo índice do token do cartão, portanto a verificação periódica após a tokenização não percorre a tabela. Apenas o
+ * cartão e o token são alterados. No livro de transações, a versão tokenizada de cada transação é acrescentada ao livro e substitui a anterior
+ * </p>
+ * <p>
+ * Os segmentos do arquivo de transações antigas gravados antes do token do cartão também são reescritos, já tokenizados
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+@Profile(PERFIL_PERSISTENTE)
+public class TokenizacaoCartaoTransacaoService {
+
+	private final TransacaoRepository transacaoRepository;
+	private final ArquivoTransacaoRepository arquivoTransacaoRepository;
+	private final CartaoTransacaoService cartaoTransacaoService;
+	private final TransactionOperations transactionOperations;
+	private final int tamanhoLote;
+
+	/**
+	 * Cria o serviço
+	 *
+	 * @param transacaoRepository
+	 * 		Repositório da tabela transacao
+	 * @param arquivoTransacaoRepository
+	 * 		Repositório do arquivo de transações antigas
+	 * @param cartaoTransacaoService
+	 * 		Serviço do token e da máscara do cartão
+	 * @param transactionManager
+	 * 		Gerenciador de transações da aplicação (ausente no livro de transações, que não usa banco)
+	 * @param tamanhoLote
+	 * 		Quantidade de transações tokenizadas por transação de banco
+	 * @author Euller Henrique
+	 */
+	public TokenizacaoCartaoTransacaoService(TransacaoRepository transacaoRepository, ArquivoTransacaoRepository arquivoTransacaoRepository,
+			CartaoTransacaoService cartaoTransacaoService, ObjectProvider<PlatformTransactionManager> transactionManager,
+			@Value("${api.cartao.tokenizacao.tamanho-lote}") int tamanhoLote) {
+		this.transacaoRepository = transacaoRepository;
+		this.arquivoTransacaoRepository = arquivoTransacaoRepository;
+		this.cartaoTransacaoService = cartaoTransacaoService;
+		PlatformTransactionManager gerenciador = transactionManager.getIfAvailable();
+		this.transactionOperations = gerenciador == null ? TransactionOperations.withoutTransaction() : new TransactionTemplate(gerenciador);
+		this.tamanhoLote = tamanhoLote;
+	}
+
+	/**
+	 * Tokeniza, lote a lote, todas as transações sem token do cartão, e reescreve os segmentos do arquivo gravados antes do token do cartão
+	 *
+	 * @return long
+	 * 		Quantidade de transações tokenizadas
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedDelayString = "${api.cartao.tokenizacao.intervalo}")
+	public long tokenizarTransacoes() {
+		long tokenizadas = 0;
+		long ultimoId = 0;
+		List<Transacao> lote;
+		do {
+			long inicioLote = ultimoId;
+			lote = transactionOperations.execute(status -> tokenizarLote(inicioLote));
+			tokenizadas += lote.stream().filter(transacao -> transacao.getTokenCartao() != null).count();
+			ultimoId = lote.isEmpty() ? ultimoId : lote.get(lote.size() - 1).getId();
+		} while (lote.size() == tamanhoLote);
+
+		arquivoTransacaoRepository.reescreverSegmentosAnteriores(cartaoTransacaoService::tokenizar);
+		return tokenizadas;
+	}
+
+	/**
+	 * Tokeniza um lote de transações sem token do cartão
+	 *
+	 * @param ultimoId
+	 * 		Id da última transação do lote anterior
+	 * @return List<Transacao>
+	 * 		Transações do lote
+	 * @author Euller Henrique
+	 */
+	private List<Transacao> tokenizarLote(long ultimoId) {
+		List<Transacao> transacoes = transacaoRepository.findByTokenCartaoIsNullAndIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(tamanhoLote));
+		transacoes.forEach(cartaoTransacaoService::tokenizar);
+
+		transacaoRepository.saveAll(transacoes.stream().filter(transacao -> transacao.getTokenCartao() != null).toList());
+		return transacoes;
+	}
+
+}
@@ -0,0 +1,268 @@
+package com.api.pagamento.service.contador.transacao;
+
+import com.api.pagamento.domain.dto.response.transacao.contador.ContadorTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.contador.ContadoresTransacaoResponseDto;
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+import com.api.pagamento.service.model.transacao.TransacaoModelService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.api.pagamento.domain.constant.contador.ContadorConstants.SEGUNDOS_ULTIMO_MINUTO;
+
+/**
+ * Serviço responsável por manter, em memória, a quantidade e o valor total das transações por status e por tipo de pagamento
+ * <p>
+ * Os contadores são reconstruídos a partir do banco uma única vez, ao iniciar a aplicação, e depois atualizados a cada pagamento e estorno
+ * com somadores (LongAdder) que não disputam o mesmo campo entre threads. Consultar os contadores não executa nenhuma consulta no banco
+ * </p>
+ * <p>
+ * Os contadores refletem apenas as transações realizadas por esta instância da aplicação desde que ela iniciou, somadas às existentes no banco
+ * nesse momento
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class ContadorTransacaoService {
+
+	private final TransacaoModelService transacaoModelService;
+	private final Map<StatusTransacaoEnum, Contador> contadoresStatus = new EnumMap<>(StatusTransacaoEnum.class);
+	private final Map<TipoPagamentoTransacaoEnum, Contador> contadoresTipo = new EnumMap<>(TipoPagamentoTransacaoEnum.class);
+
+	/**
+	 * Cria o serviço com os contadores zerados
+	 *
+	 * @param transacaoModelService
+	 * 		Serviço utilizado para reconstruir os contadores a partir do banco
+	 * @author Euller Henrique
+	 */
+	public ContadorTransacaoService(TransacaoModelService transacaoModelService) {
+		this.transacaoModelService = transacaoModelService;
+
+		long segundoAtual = obterSegundoAtual();
+		for (StatusTransacaoEnum status : StatusTransacaoEnum.values()) {
+			contadoresStatus.put(status, new Contador(segundoAtual));
+		}
+		for (TipoPagamentoTransacaoEnum tipo : TipoPagamentoTransacaoEnum.values()) {
+			contadoresTipo.put(tipo, new Contador(segundoAtual));
+		}
+	}
+
+	/**
+	 * Reconstrói os contadores a partir das transações existentes no banco, agregadas por status e por tipo de pagamento
+	 *
+	 * @author Euller Henrique
+	 */
+	@PostConstruct
+	public void reconstruirContadores() {
+		for (AgregacaoTransacao grupo : transacaoModelService.agregarTransacoes(List.of(AgrupamentoTransacaoEnum.STATUS), null, null)) {
+			contadoresStatus.get(grupo.getStatus()).adicionar(grupo.getQuantidade(), obterCentavos(grupo.getTotal()));
+		}
+		for (AgregacaoTransacao grupo : transacaoModelService.agregarTransacoes(List.of(AgrupamentoTransacaoEnum.TIPO), null, null)) {
+			contadoresTipo.get(grupo.getTipo()).adicionar(grupo.getQuantidade(), obterCentavos(grupo.getTotal()));
+		}
+	}
+
+	/**
+	 * Registra uma transação paga no contador do seu status e no contador do seu tipo de pagamento
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação paga
+	 * @author Euller Henrique
+	 */
+	public void registrarPagamento(Transacao transacao) {
+		long centavos = obterCentavos(transacao.getDescricao().getValor());
+
+		contadoresStatus.get(transacao.getDescricao().getStatus()).registrar(centavos);
+		contadoresTipo.get(transacao.getFormaPagamento().getTipo()).registrar(centavos);
+	}
+
+	/**
+	 * Registra uma transação estornada: ela sai do contador do status anterior e entra no contador do seu novo status
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação estornada (já com o novo status)
+	 * @param statusAnterior
+	 * 		Status da transação antes do estorno
+	 * @author Euller Henrique
+	 */
+	public void registrarEstorno(Transacao transacao, StatusTransacaoEnum statusAnterior) {
+		long centavos = obterCentavos(transacao.getDescricao().getValor());
+
+		contadoresStatus.get(statusAnterior).adicionar(-1, -centavos);
+		contadoresStatus.get(transacao.getDescricao().getStatus()).registrar(centavos);
+	}
+
+	/**
+	 * Obtém os contadores por status e por tipo de pagamento
+	 * <p>
+	 * Cada contador é lido sem bloquear os pagamentos, portanto um contador lido durante um pagamento pode já ter a quantidade e ainda não ter o valor
+	 * </p>
+	 *
+	 * @return ContadoresTransacaoResponseDto
+	 *     Dto com os contadores por status e por tipo de pagamento
+	 * @author Euller Henrique
+	 */
+	public ContadoresTransacaoResponseDto obterContadores() {
+		long segundoAtual = obterSegundoAtual();
+
+		Map<StatusTransacaoEnum, ContadorTransacaoResponseDto> status = new EnumMap<>(StatusTransacaoEnum.class);
+		contadoresStatus.forEach((chave, contador) -> status.put(chave, contador.obterContadorTransacaoResponseDto(segundoAtual)));
+		Map<TipoPagamentoTransacaoEnum, ContadorTransacaoResponseDto> tipos = new EnumMap<>(TipoPagamentoTransacaoEnum.class);
+		contadoresTipo.forEach((chave, contador) -> tipos.put(chave, contador.obterContadorTransacaoResponseDto(segundoAtual)));
+
+		return ContadoresTransacaoResponseDto.builder().status(status).tipos(tipos).build();
+	}
+
+	/**
+	 * Marca, a cada segundo, o total registrado em cada contador, para que o último minuto seja calculado pela diferença com a marca de um minuto atrás
+	 *
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedRate = 1, timeUnit = TimeUnit.SECONDS)
+	public void marcarSegundo() {
+		long segundoAtual = obterSegundoAtual();
+
+		contadoresStatus.values().forEach(contador -> contador.marcar(segundoAtual));
+		contadoresTipo.values().forEach(contador -> contador.marcar(segundoAtual));
+	}
+
+	/**
+	 * Obtém o valor em centavos, arredondado para as duas casas decimais gravadas no banco
+	 *
+	 * @param valor
+	 * 		Valor da transação
+	 * @return long
+	 *     Valor em centavos
+	 * @author Euller Henrique
+	 */
+	private static long obterCentavos(BigDecimal valor) {
+		return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+	/**
+	 * Obtém o valor a partir dos centavos, no mesmo formato retornado pelas transações
+	 *
+	 * @param centavos
+	 * 		Valor em centavos
+	 * @return String
+	 *     Valor com duas casas decimais
+	 * @author Euller Henrique
+	 */
+	private static String obterValor(long centavos) {
+		return BigDecimal.valueOf(centavos, 2).toPlainString();
+	}
+
+	/**
+	 * Obtém o segundo atual (segundos desde 01/01/1970)
+	 *
+	 * @return long
+	 *     Segundo atual
+	 * @author Euller Henrique
+	 */
+	private static long obterSegundoAtual() {
+		return Instant.now().getEpochSecond();
+	}
+
+	/**
+	 * Contador de um status ou de um tipo de pagamento
+	 * <p>
+	 * Além da quantidade e do valor atuais, mantém o total já registrado (que nunca diminui) e uma marca desse total a cada segundo,
+	 * guardadas em um anel com um pouco mais de um minuto de marcas
+	 * </p>
+	 *
+	 * @author Euller Henrique
+	 */
+	private static final class Contador {
+
+		private final LongAdder quantidade = new LongAdder();
+		private final LongAdder centavos = new LongAdder();
+		private final LongAdder quantidadeRegistrada = new LongAdder();
+		private final LongAdder centavosRegistrados = new LongAdder();
+		private final AtomicReferenceArray<Marca> marcas = new AtomicReferenceArray<>(SEGUNDOS_ULTIMO_MINUTO + 1);
+
+		private Contador(long segundoAtual) {
+			marcar(segundoAtual);
+		}
+
+		private void adicionar(long quantidade, long centavos) {
+			this.quantidade.add(quantidade);
+			this.centavos.add(centavos);
+		}
+
+		private void registrar(long centavos) {
+			adicionar(1, centavos);
+			quantidadeRegistrada.increment();
+			centavosRegistrados.add(centavos);
+		}
+
+		/**
+		 * Marca o total registrado no segundo. Apenas a primeira marca de cada segundo é mantida, para que a marca criada junto com o contador
+		 * não seja substituída por uma marca que já inclui transações
+		 */
+		private void marcar(long segundo) {
+			int posicao = (int) (segundo % marcas.length());
+			Marca marca = marcas.get(posicao);
+			if (marca == null || marca.segundo != segundo) {
+				marcas.set(posicao, new Marca(segundo, quantidadeRegistrada.sum(), centavosRegistrados.sum()));
+			}
+		}
+
+		/**
+		 * Obtém o dto do contador, com o último minuto calculado a partir da marca mais antiga que ainda está dentro do minuto
+		 * (a marca de um minuto atrás, ou a marca criada junto com o contador, se a aplicação iniciou há menos de um minuto)
+		 */
+		private ContadorTransacaoResponseDto obterContadorTransacaoResponseDto(long segundoAtual) {
+			long inicio = segundoAtual - SEGUNDOS_ULTIMO_MINUTO;
+			Marca marcaInicio = null;
+			for (int i = 0; i < marcas.length(); i++) {
+				Marca marca = marcas.get(i);
+				if (marca != null && marca.segundo >= inicio && (marcaInicio == null || marca.segundo < marcaInicio.segundo)) {
+					marcaInicio = marca;
+				}
+			}
+			long quantidadeInicio = marcaInicio == null ? 0 : marcaInicio.quantidadeRegistrada;
+			long centavosInicio = marcaInicio == null ? 0 : marcaInicio.centavosRegistrados;
+
+			return ContadorTransacaoResponseDto.builder().quantidade(quantidade.sum()).total(obterValor(centavos.sum()))
+					.quantidadeUltimoMinuto(quantidadeRegistrada.sum() - quantidadeInicio)
+					.totalUltimoMinuto(obterValor(centavosRegistrados.sum() - centavosInicio)).build();
+		}
+
+	}
+
+	/**
+	 * Total registrado em um contador em um segundo
+	 *
+	 * @author Euller Henrique
+	 */
+	private static final class Marca {
+
+		private final long segundo;
+		private final long quantidadeRegistrada;
+		private final long centavosRegistrados;
+
+		private Marca(long segundo, long quantidadeRegistrada, long centavosRegistrados) {
+			this.segundo = segundo;
+			this.quantidadeRegistrada = quantidadeRegistrada;
+			this.centavosRegistrados = centavosRegistrados;
+		}
+
+	}
+
+}
@@ -0,0 +1,318 @@
+package com.api.pagamento.service.diario.transacao;
+
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.repository.transacao.diario.DiarioTransacao;
+import com.api.pagamento.domain.repository.transacao.diario.InsercaoTransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.memoria.ArmazenamentoMemoriaTransacao;
+import com.api.pagamento.infra.id.GeradorIdTemporal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.api.pagamento.domain.constant.perfil.PerfilConstants.PERFIL_BANCO;
+
+/**
+ * Serviço responsável por salvar os pagamentos no diário e inseri-los no banco depois, em lote (write-behind)
+ * <p>
+ * Um pagamento é confirmado assim que está gravado no diário em disco local, sem aguardar o commit no banco. Uma thread insere no banco os
+ * pagamentos do diário em lotes grandes (uma transação de banco por lote) e descarta do diário o que já foi inserido. Se o banco estiver
+ * indisponível, os pagamentos continuam no diário e a inserção é tentada novamente
+ * </p>
+ * <p>
+ * Se o banco recusar o lote por violar uma restrição (erro que se repetiria a cada tentativa), os pagamentos do lote são inseridos um a
+ * um e os recusados vão para o arquivo de rejeitados do diário, para não bloquear a descarga dos seguintes
+ * </p>
+ * <p>
+ * Os pagamentos ainda não inseridos ficam em memória e são retornados nas buscas por id. Ao reiniciar a aplicação, os pagamentos do diário
+ * são carregados em memória novamente e inseridos no banco
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Slf4j
+@Service
+@Profile(PERFIL_BANCO)
+@ConditionalOnProperty(name = "api.diario.habilitado", havingValue = "true")
+public class DiarioTransacaoService implements Closeable {
+
+	private final DiarioTransacao diarioTransacao;
+	private final InsercaoTransacaoRepository insercaoTransacaoRepository;
+	private final GeradorIdTemporal geradorIdTemporal;
+	private final int tamanhoLote;
+	private final long intervalo;
+	private final long esperaMaxima;
+	private final Map<Long, Transacao> pendentes = new ConcurrentHashMap<>();
+	private final ReentrantLock descarga = new ReentrantLock();
+	private final Condition pendente = descarga.newCondition();
+	private final Condition descarregado = descarga.newCondition();
+	private final Thread escritor;
+
+	private long registrosDescarregados;
+	private boolean bancoIndisponivel;
+	private volatile boolean ativo = true;
+
+	/**
+	 * Cria o serviço: carrega em memória os pagamentos que estão no diário e inicia a thread que os insere no banco
+	 *
+	 * @param diarioTransacao
+	 * 		Diário dos pagamentos
+	 * @param insercaoTransacaoRepository
+	 * 		Repositório de inserção em lote
+	 * @param geradorIdTemporal
+	 * 		Gerador de ids das transações
+	 * @param tamanhoLote
+	 * 		Quantidade máxima de pagamentos inseridos por transação de banco
+	 * @param intervalo
+	 * 		Intervalo entre verificações do diário quando não há pagamentos a inserir, e entre tentativas quando o banco falha
+	 * @param esperaMaxima
+	 * 		Tempo máximo que uma alteração aguarda a inserção no banco da transação que ela altera
+	 * @author Euller Henrique
+	 */
+	public DiarioTransacaoService(DiarioTransacao diarioTransacao, InsercaoTransacaoRepository insercaoTransacaoRepository,
+			GeradorIdTemporal geradorIdTemporal, @Value("${api.diario.tamanho-lote}") int tamanhoLote, @Value("${api.diario.intervalo}") Duration intervalo,
+			@Value("${api.diario.espera-maxima}") Duration esperaMaxima) {
+		this.diarioTransacao = diarioTransacao;
+		this.insercaoTransacaoRepository = insercaoTransacaoRepository;
+		this.geradorIdTemporal = geradorIdTemporal;
+		this.tamanhoLote = tamanhoLote;
+		this.intervalo = intervalo.toNanos();
+		this.esperaMaxima = esperaMaxima.toNanos();
+
+		this.registrosDescarregados = diarioTransacao.primeiroRegistro();
+		long registro = registrosDescarregados;
+		for (List<Transacao> lote; !(lote = diarioTransacao.ler(registro, tamanhoLote)).isEmpty(); registro += lote.size()) {
+			for (Transacao transacao : lote) {
+				pendentes.put(transacao.getId(), transacao);
+				geradorIdTemporal.avancar(transacao.getId());
+			}
+		}
+
+		this.escritor = new Thread(this::descarregar, "diario-transacao-escritor");
+		escritor.setDaemon(true);
+		escritor.start();
+	}
+
+	/**
+	 * Salva o pagamento no diário, retornando assim que ele está gravado em disco local
+	 *
+	 * @param transacao
+	 * 		Model com os dados da transação (recebe o id)
+	 * @return Long
+	 * 		Id da transação
+	 * @author Euller Henrique
+	 */
+	public Long salvar(Transacao transacao) {
+		transacao.setId(geradorIdTemporal.gerar());
+		pendentes.put(transacao.getId(), ArmazenamentoMemoriaTransacao.copiar(transacao));
+		try {
+			diarioTransacao.adicionar(transacao);
+		} catch (RuntimeException ex) {
+			pendentes.remove(transacao.getId());
+			throw ex;
+		}
+		return transacao.getId();
+	}
+
+	/**
+	 * Busca um pagamento que ainda não foi inserido no banco
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @return Optional<Transacao>
+	 * 		Model com os dados da transação (vazio se não estiver pendente)
+	 * @author Euller Henrique
+	 */
+	public Optional<Transacao> buscar(Long id) {
+		return Optional.ofNullable(pendentes.get(id)).map(ArmazenamentoMemoriaTransacao::copiar);
+	}
+
+	/**
+	 * Aguarda a inserção no banco das transações informadas que ainda estiverem pendentes, antes de alterá-las no banco
+	 *
+	 * @param ids
+	 * 		Ids das transações
+	 * @throws IllegalStateException
+	 * 		Exceção lançada caso as transações não sejam inseridas no banco dentro do tempo máximo
+	 * @author Euller Henrique
+	 */
+	public void aguardarDescarga(Collection<Long> ids) {
+		if (ids.stream().noneMatch(pendentes::containsKey)) {
+			return;
+		}
+
+		long restante = esperaMaxima;
+		descarga.lock();
+		try {
+			pendente.signal();
+			while (ids.stream().anyMatch(pendentes::containsKey)) {
+				if (restante <= 0) {
+					throw new IllegalStateException("A transação ainda não foi inserida no banco pelo diário de pagamentos");
+				}
+				restante = descarregado.awaitNanos(restante);
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("A transação ainda não foi inserida no banco pelo diário de pagamentos", ex);
+		} finally {
+			descarga.unlock();
+		}
+	}
+
+	/**
+	 * Encerra a thread que insere os pagamentos no banco; os pagamentos ainda não inseridos continuam no diário
+	 *
+	 * @author Euller Henrique
+	 */
+	@Override
+	public void close() {
+		descarga.lock();
+		try {
+			ativo = false;
+			pendente.signal();
+		} finally {
+			descarga.unlock();
+		}
+		try {
+			escritor.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Laço da thread escritora: descarrega o próximo lote até o serviço ser encerrado
+	 * <p>
+	 * Uma falha inesperada (na leitura ou no descarte do diário, por exemplo) é registrada no log e o lote é tentado novamente após o
+	 * intervalo, para que a thread não termine e os pagamentos continuem sendo inseridos quando a falha passar
+	 * </p>
+	 *
+	 * @author Euller Henrique
+	 */
+	private void descarregar() {
+		while (ativo) {
+			boolean descarregou;
+			try {
+				descarregou = descarregarLote();
+			} catch (RuntimeException ex) {
+				log.error("Falha ao descarregar os pagamentos do diário, nova tentativa após o intervalo", ex);
+				descarregou = false;
+			}
+			if (!descarregou) {
+				aguardar();
+			}
+		}
+	}
+
+	/**
+	 * Insere no banco o próximo lote de pagamentos gravados no diário, remove-os da memória e descarta do diário os segmentos já inseridos
+	 *
+	 * @return boolean
+	 * 		Verdadeiro se um lote foi inserido, falso se não há pagamentos a inserir ou o banco está indisponível
+	 * @author Euller Henrique
+	 */
+	private boolean descarregarLote() {
+		List<Transacao> lote = diarioTransacao.ler(registrosDescarregados, tamanhoLote);
+		if (lote.isEmpty()) {
+			return false;
+		}
+
+		try {
+			insercaoTransacaoRepository.inserir(lote);
+		} catch (DataIntegrityViolationException ex) {
+			log.warn("Lote de {} pagamentos do diário recusado pelo banco, inserindo um a um", lote.size(), ex);
+			if (!inserirUmAUm(lote)) {
+				return false;
+			}
+		} catch (RuntimeException ex) {
+			// Banco indisponível: os pagamentos continuam no diário e a inserção é tentada novamente após o intervalo
+			registrarIndisponibilidade(ex);
+			return false;
+		}
+		if (bancoIndisponivel) {
+			bancoIndisponivel = false;
+			log.info("Inserção dos pagamentos do diário no banco retomada");
+		}
+
+		registrosDescarregados += lote.size();
+		lote.forEach(transacao -> pendentes.remove(transacao.getId()));
+		descarga.lock();
+		try {
+			descarregado.signalAll();
+		} finally {
+			descarga.unlock();
+		}
+
+		// Se o descarte falhar, os segmentos são descartados junto com os do próximo lote
+		diarioTransacao.descartarAte(registrosDescarregados);
+		return true;
+	}
+
+	/**
+	 * Insere os pagamentos do lote um a um, copiando para o arquivo de rejeitados os que o banco recusar por violar uma restrição
+	 * <p>
+	 * A inserção ignora os pagamentos já inseridos, portanto o lote pode ser repetido se o banco ficar indisponível no meio
+	 * </p>
+	 *
+	 * @param lote
+	 * 		Models com os dados das transações
+	 * @return boolean
+	 * 		Verdadeiro se todos os pagamentos foram inseridos ou rejeitados, falso se o banco ficou indisponível
+	 * @author Euller Henrique
+	 */
+	private boolean inserirUmAUm(List<Transacao> lote) {
+		for (Transacao transacao : lote) {
+			try {
+				insercaoTransacaoRepository.inserir(List.of(transacao));
+			} catch (DataIntegrityViolationException ex) {
+				log.error("Pagamento {} do diário recusado pelo banco, copiado para o arquivo de rejeitados", transacao.getId(), ex);
+				diarioTransacao.rejeitar(transacao);
+			} catch (RuntimeException ex) {
+				registrarIndisponibilidade(ex);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Registra no log a falha de inserção por indisponibilidade do banco apenas na primeira tentativa, e não a cada nova tentativa
+	 *
+	 * @param ex
+	 * 		Exceção da inserção
+	 * @author Euller Henrique
+	 */
+	private void registrarIndisponibilidade(RuntimeException ex) {
+		if (!bancoIndisponivel) {
+			bancoIndisponivel = true;
+			log.warn("Falha ao inserir os pagamentos do diário no banco, nova tentativa a cada intervalo", ex);
+		}
+	}
+
+	private void aguardar() {
+		descarga.lock();
+		try {
+			if (ativo) {
+				pendente.awaitNanos(intervalo);
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			ativo = false;
+		} finally {
+			descarga.unlock();
+		}
+	}
+
+}
@@ -1,16 +1,52 @@
 package com.api.pagamento.service.dto.transacao;
 
 import com.api.pagamento.domain.converter.Converter;
+import com.api.pagamento.service.autorizacao.transacao.AutorizacaoTransacaoService;
+import com.api.pagamento.service.bin.transacao.BinTransacaoService;
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import com.api.pagamento.service.contador.transacao.ContadorTransacaoService;
 import com.api.pagamento.service.model.transacao.TransacaoModelService;
 import com.api.pagamento.service.util.transacao.TransacaoUtilService;
 import com.api.pagamento.service.validator.transacao.TransacaoValidatorService;
+import com.api.pagamento.service.velocidade.transacao.VelocidadeTransacaoService;
 import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.agregacao.AgregacaoTransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
+import com.api.pagamento.domain.dto.response.error.MessageErrorResponseDto;
 import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.agregacao.AgregacaoTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoEstornoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoPagamentoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.pagina.PaginaTransacaoResponseDto;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.exception.handler.util.ExceptionUtil;
+import com.api.pagamento.domain.exception.http.BadRequestException;
 import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.specification.transacao.TransacaoSpecification;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.api.pagamento.domain.constant.cache.CacheConstants.CACHE_AGREGACAO;
+import static com.api.pagamento.domain.constant.cache.CacheConstants.CACHE_TRANSACAO;
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_404_TRANSACAO_NAO_ENCONTRADA;
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_500_TRANSACAO_ALTERADA_DURANTE_ESTORNO;
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERROR_400_TRANSACAO_ARQUIVADA_NAO_PODE_SER_ESTORNADA;
 
 /**
  * Serviço responsável por retornar dto(s) ou lançar exceção (Se não existir ou se alguma validação falhar)
@@ -25,9 +61,20 @@ public class TransacaoDtoService {
 	private final TransacaoUtilService transacaoUtilService;
 	private final TransacaoValidatorService transacaoValidatorService;
 	private final Converter converter;
+	private final ObjectMapper objectMapper;
+	private final ExceptionUtil exceptionUtil;
+	private final CacheManager cacheManager;
+	private final ContadorTransacaoService contadorTransacaoService;
+	private final AutorizacaoTransacaoService autorizacaoTransacaoService;
+	private final BinTransacaoService binTransacaoService;
+	private final VelocidadeTransacaoService velocidadeTransacaoService;
+	private final CartaoTransacaoService cartaoTransacaoService;
 
 	/**
 	 * Busca uma transação
+	 * <p>
+	 * A transação é lida do cache e, apenas quando não estiver nele, do banco (read-through)
+	 * </p>
 	 *
 	 * @param id
 	 * 		Id da transação
@@ -35,25 +82,134 @@ public class TransacaoDtoService {
      *      Dto com os dados de resposta da transação
 	 * @author Euller Henrique
 	 */
+	@Cacheable(cacheNames = CACHE_TRANSACAO, key = "#id", sync = true)
 	public TransacaoResponseDto buscarTransacao(Long id) {
 		Transacao transacao = transacaoModelService.buscarTransacao(id);
 		return converter.originToDestiny(transacao, TransacaoResponseDto.class);
 	}
 
 	/**
-	 * Lista as transacoes
+	 * Lista as transacoes a partir de um cursor
+	 * <p>
+	 * Uma transação a mais é buscada apenas para saber se existe próxima página
+	 * </p>
+	 *
+	 * @param apos
+	 * 		Id da última transação da página anterior (nulo para a primeira página)
+	 * @param tamanho
+	 * 		Quantidade de transações da página
+	 * @return PaginaTransacaoResponseDto
+     *     Dto com as transações da página e o cursor da próxima página
+	 * @author Euller Henrique
+	 */
+	public PaginaTransacaoResponseDto listarTransacoes(Long apos, int tamanho) {
+		transacaoValidatorService.validarTamanhoPagina(tamanho);
+
+		List<Transacao> transacoes = transacaoModelService.listarTransacoes(apos, tamanho + 1);
+
+		return obterPagina(transacoes, tamanho);
+	}
+
+	/**
+	 * Lista as transações do cartão de forma paginada por cursor
+	 * <p>
+	 * Uma transação a mais é buscada apenas para saber se existe próxima página
+	 * </p>
 	 *
-	 * @return List<TransacaoResponseDto>
-     *     Lista de dtos com os dados de resposta das transações
+	 * @param tokenCartao
+	 * 		Token do cartão, retornado no pagamento
+	 * @param apos
+	 * 		Cursor retornado pela página anterior (nulo para a primeira página)
+	 * @param tamanho
+	 * 		Quantidade de transações da página
+	 * @return PaginaTransacaoResponseDto
+	 *     Dto com as transações da página e o cursor da próxima página
 	 * @author Euller Henrique
 	 */
-	public List<TransacaoResponseDto> listarTransacoes() {
-		List<Transacao> transacoes = transacaoModelService.listarTransacoes();
-		return converter.originToDestiny(transacoes, TransacaoResponseDto.class);
+	public PaginaTransacaoResponseDto listarTransacoesCartao(String tokenCartao, Long apos, int tamanho) {
+		transacaoValidatorService.validarTamanhoPagina(tamanho);
+
+		List<Transacao> transacoes = transacaoModelService.listarTransacoesCartao(tokenCartao, apos, tamanho + 1);
+
+		return obterPagina(transacoes, tamanho);
+	}
+
+	/**
+	 * Pesquisa as transações pelos filtros informados, de forma paginada por cursor
+	 * <p>
+	 * Uma transação a mais é buscada apenas para saber se existe próxima página
+	 * </p>
+	 *
+	 * @param pesquisa
+	 * 		Dto com os filtros, a ordenação e a paginação da pesquisa
+	 * @return PaginaTransacaoResponseDto
+	 *     Dto com as transações da página e o cursor da próxima página
+	 * @author Euller Henrique
+	 */
+	public PaginaTransacaoResponseDto pesquisarTransacoes(PesquisaTransacaoRequestDto pesquisa) {
+		transacaoValidatorService.validarPesquisa(pesquisa);
+
+		List<Transacao> transacoes = transacaoModelService.pesquisarTransacoes(TransacaoSpecification.pesquisar(pesquisa),
+				TransacaoSpecification.ordenar(pesquisa), pesquisa.getTamanho() + 1);
+
+		return obterPagina(transacoes, pesquisa.getTamanho());
+	}
+
+	/**
+	 * Agrega o valor das transações (quantidade, soma, média, mínimo e máximo) pelos agrupamentos e período informados
+	 * <p>
+	 * O cálculo é feito pelo banco. O resultado de um período fechado (que termina antes do dia atual) fica em cache,
+	 * portanto atualizar um painel com períodos anteriores não consulta o banco novamente
+	 * </p>
+	 *
+	 * @param agregacao
+	 * 		Dto com os agrupamentos e o período da agregação
+	 * @return List<AgregacaoTransacaoResponseDto>
+	 *     Dtos com os dados de cada grupo
+	 * @author Euller Henrique
+	 */
+	@Cacheable(cacheNames = CACHE_AGREGACAO, key = "#agregacao",
+			condition = "#agregacao.dataHoraFim != null && #agregacao.dataHoraFim.isBefore(T(java.time.LocalDate).now().atStartOfDay())")
+	public List<AgregacaoTransacaoResponseDto> agregarTransacoes(AgregacaoTransacaoRequestDto agregacao) {
+		transacaoValidatorService.validarAgregacao(agregacao);
+
+		return converter.originToDestiny(
+				transacaoModelService.agregarTransacoes(agregacao.getAgrupamentos(), agregacao.getDataHoraInicio(), agregacao.getDataHoraFim()),
+				AgregacaoTransacaoResponseDto.class);
+	}
+
+	/**
+	 * Exporta todas as transações no formato NDJSON (um json por linha)
+	 * <p>
+	 * Cada transação é escrita na saída assim que é lida do banco, portanto a primeira linha é enviada antes da tabela ser lida por completo
+	 * </p>
+	 *
+	 * @param saida
+	 * 		Stream de saída onde as transações serão escritas
+	 * @author Euller Henrique
+	 */
+	public void exportarTransacoes(OutputStream saida) {
+		transacaoModelService.exportarTransacoes(transacao -> {
+			TransacaoResponseDto transacaoResponseDto = converter.originToDestiny(transacao, TransacaoResponseDto.class);
+			try {
+				saida.write(objectMapper.writeValueAsBytes(transacaoResponseDto));
+				saida.write('\n');
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
 	}
 
 	/**
 	 * Realiza um pagamento
+	 * <p>
+	 * A transação realizada é colocada no cache, pois costuma ser consultada logo após o pagamento. Com o diário de pagamentos habilitado,
+	 * o pagamento é confirmado quando está gravado no diário e inserido no banco depois, em lote
+	 * </p>
+	 * <p>
+	 * O cache recebe a transação convertida do model salvo, sem o motivo da negação, e não o dto da resposta: a busca pelo id responde o
+	 * mesmo conteúdo vindo do cache ou do banco
+	 * </p>
 	 *
 	 * @param request
 	 * 		Dto com os dados de requisição da transação
@@ -64,19 +220,79 @@ public class TransacaoDtoService {
 	public TransacaoResponseDto pagar(TransacaoRequestDto request) {
 		transacaoValidatorService.validarTipoPagamentoAoPagar(request);
 
-		TransacaoResponseDto transacaoResponseDto = converter.originToDestiny(request, TransacaoResponseDto.class);
-
-		transacaoResponseDto.getDescricao().setNsu(transacaoUtilService.obterNsu());
-		transacaoResponseDto.getDescricao().setCodigoAutorizacao(transacaoUtilService.obterCodigoAutorizacao());
-		transacaoResponseDto.getDescricao().setStatus(transacaoUtilService.obterStatusAoPagar());
+		TransacaoResponseDto transacaoResponseDto = obterTransacaoResponseDtoAoPagar(request);
 		Transacao transacaoNaoSalva = converter.originToDestiny(transacaoResponseDto, Transacao.class);
-		transacaoResponseDto.setId(transacaoModelService.salvarTransacao(transacaoNaoSalva).toString());
+		Long id = transacaoModelService.salvarTransacao(transacaoNaoSalva);
+		transacaoResponseDto.setId(id.toString());
+		contadorTransacaoService.registrarPagamento(transacaoNaoSalva);
+
+		Cache cache = cacheManager.getCache(CACHE_TRANSACAO);
+		if (cache != null) {
+			TransacaoResponseDto transacaoEmCache = converter.originToDestiny(transacaoNaoSalva, TransacaoResponseDto.class);
+			transacaoEmCache.setId(id.toString());
+			cache.put(id, transacaoEmCache);
+		}
 
 		return transacaoResponseDto;
 	}
 
+	/**
+	 * Realiza os pagamentos de um lote
+	 * <p>
+	 * Cada item é validado separadamente: um item inválido recebe o seu erro e não impede os demais.
+	 * Os itens aceitos são salvos juntos, em uma única transação de banco com inserts em lote
+	 * </p>
+	 *
+	 * @param requests
+	 * 		Dtos com os dados de requisição das transações
+	 * @return List<ResultadoPagamentoLoteResponseDto>
+	 *      Dtos com o resultado de cada item, na mesma ordem recebida
+	 * @author Euller Henrique
+	 */
+	public List<ResultadoPagamentoLoteResponseDto> pagarLote(List<TransacaoRequestDto> requests) {
+		transacaoValidatorService.validarTamanhoLote(requests.size());
+
+		List<ResultadoPagamentoLoteResponseDto> resultados = new ArrayList<>(requests.size());
+		List<TransacaoResponseDto> transacoesResponseDto = new ArrayList<>();
+		List<Transacao> transacoesNaoSalvas = new ArrayList<>();
+
+		for (int indice = 0; indice < requests.size(); indice++) {
+			TransacaoRequestDto request = requests.get(indice);
+			try {
+				transacaoValidatorService.validarCamposAoPagar(request);
+				transacaoValidatorService.validarTipoPagamentoAoPagar(request);
+			} catch (BadRequestException ex) {
+				MessageErrorResponseDto erro = obterErro(HttpStatus.BAD_REQUEST, ex.getMessage());
+				resultados.add(ResultadoPagamentoLoteResponseDto.builder().indice(indice).erro(erro).build());
+				continue;
+			}
+
+			TransacaoResponseDto transacaoResponseDto = obterTransacaoResponseDtoAoPagar(request);
+			transacoesResponseDto.add(transacaoResponseDto);
+			transacoesNaoSalvas.add(converter.originToDestiny(transacaoResponseDto, Transacao.class));
+			resultados.add(ResultadoPagamentoLoteResponseDto.builder().indice(indice).transacao(transacaoResponseDto).build());
+		}
+
+		if (!transacoesNaoSalvas.isEmpty()) {
+			List<Long> ids = transacaoModelService.salvarTransacoes(transacoesNaoSalvas);
+			for (int i = 0; i < ids.size(); i++) {
+				transacoesResponseDto.get(i).setId(ids.get(i).toString());
+			}
+			transacoesNaoSalvas.forEach(contadorTransacaoService::registrarPagamento);
+		}
+
+		return resultados;
+	}
+
 	/**
 	 * Estorna a transação
+	 * <p>
+	 * O estorno é feito em um único comando que só altera a transação se ela estiver autorizada.
+	 * Apenas quando nada é alterado a transação é buscada, para informar o motivo (não encontrada, já estornada, negada ou arquivada)
+	 * </p>
+	 * <p>
+	 * A transação estornada substitui a que estiver no cache
+	 * </p>
      *
      * @param id
      *      Id da transação
@@ -84,14 +300,159 @@ public class TransacaoDtoService {
      *      Dto com os dados de resposta da transação
 	 * @author Euller Henrique
      */
+	@CachePut(cacheNames = CACHE_TRANSACAO, key = "#id")
 	public TransacaoResponseDto estornar(Long id) {
-		Transacao transacao = transacaoModelService.buscarTransacao(id);
-		transacaoValidatorService.validarStatusTransacaoAoEstornar(transacao);
-
-		transacao.getDescricao().setStatus(transacaoUtilService.obterStatusAoEstornar());
-		transacaoModelService.salvarTransacao(transacao);
+		Transacao transacao = transacaoModelService.atualizarStatusTransacao(id, StatusTransacaoEnum.AUTORIZADO, transacaoUtilService.obterStatusAoEstornar())
+				.orElseThrow(() -> {
+					Transacao transacaoNaoEstornada = transacaoModelService.buscarTransacao(id);
+					transacaoValidatorService.validarStatusTransacaoAoEstornar(transacaoNaoEstornada);
+					if (transacaoModelService.transacaoArquivada(id)) {
+						return new BadRequestException(ERROR_400_TRANSACAO_ARQUIVADA_NAO_PODE_SER_ESTORNADA);
+					}
+					return new IllegalStateException(ERRO_500_TRANSACAO_ALTERADA_DURANTE_ESTORNO);
+				});
+		contadorTransacaoService.registrarEstorno(transacao, StatusTransacaoEnum.AUTORIZADO);
 
 		return converter.originToDestiny(transacao, TransacaoResponseDto.class);
 	}
 
+	/**
+	 * Realiza os estornos de um lote
+	 * <p>
+	 * As transações são buscadas em uma única consulta e validadas em memória. As elegíveis são estornadas em um único comando,
+	 * que só altera as que ainda estiverem autorizadas. Cada id recebe o seu resultado (transação estornada ou erro) e as transações
+	 * estornadas são atualizadas no cache
+	 * </p>
+	 *
+	 * @param ids
+	 * 		Ids das transações (ids repetidos são considerados uma única vez e ids nulos são ignorados)
+	 * @return List<ResultadoEstornoLoteResponseDto>
+	 *      Dtos com o resultado de cada id, na mesma ordem recebida
+	 * @author Euller Henrique
+	 */
+	public List<ResultadoEstornoLoteResponseDto> estornarLote(List<Long> ids) {
+		transacaoValidatorService.validarTamanhoLote(ids.size());
+
+		Set<Long> idsUnicos = new LinkedHashSet<>(ids);
+		idsUnicos.remove(null);
+		Map<Long, Transacao> transacoes = transacaoModelService.buscarTransacoes(idsUnicos);
+		List<Long> idsElegiveis = new ArrayList<>();
+		Map<Long, MessageErrorResponseDto> erros = new HashMap<>();
+
+		for (Long id : idsUnicos) {
+			Transacao transacao = transacoes.get(id);
+			if (transacao == null) {
+				erros.put(id, transacaoModelService.transacaoArquivada(id) ?
+						obterErro(HttpStatus.BAD_REQUEST, ERROR_400_TRANSACAO_ARQUIVADA_NAO_PODE_SER_ESTORNADA) :
+						obterErro(HttpStatus.NOT_FOUND, ERRO_404_TRANSACAO_NAO_ENCONTRADA));
+				continue;
+			}
+			try {
+				transacaoValidatorService.validarStatusTransacaoAoEstornar(transacao);
+				idsElegiveis.add(id);
+			} catch (BadRequestException ex) {
+				erros.put(id, obterErro(HttpStatus.BAD_REQUEST, ex.getMessage()));
+			}
+		}
+
+		StatusTransacaoEnum statusAoEstornar = transacaoUtilService.obterStatusAoEstornar();
+		Set<Long> idsEstornados = idsElegiveis.isEmpty() ?
+				Set.of() :
+				transacaoModelService.atualizarStatusTransacoes(idsElegiveis, StatusTransacaoEnum.AUTORIZADO, statusAoEstornar);
+		Cache cache = cacheManager.getCache(CACHE_TRANSACAO);
+
+		List<ResultadoEstornoLoteResponseDto> resultados = new ArrayList<>(idsUnicos.size());
+		for (Long id : idsUnicos) {
+			ResultadoEstornoLoteResponseDto.ResultadoEstornoLoteResponseDtoBuilder resultado = ResultadoEstornoLoteResponseDto.builder().id(id);
+			if (idsEstornados.contains(id)) {
+				Transacao transacao = transacoes.get(id);
+				transacao.getDescricao().setStatus(statusAoEstornar);
+				contadorTransacaoService.registrarEstorno(transacao, StatusTransacaoEnum.AUTORIZADO);
+				TransacaoResponseDto transacaoResponseDto = converter.originToDestiny(transacao, TransacaoResponseDto.class);
+				if (cache != null) {
+					cache.put(id, transacaoResponseDto);
+				}
+				resultado.transacao(transacaoResponseDto);
+			} else {
+				resultado.erro(erros.getOrDefault(id, obterErro(HttpStatus.INTERNAL_SERVER_ERROR, ERRO_500_TRANSACAO_ALTERADA_DURANTE_ESTORNO)));
+			}
+			resultados.add(resultado.build());
+		}
+
+		return resultados;
+	}
+
+	/**
+	 * Obtém a página com as transações e, se houver transações além do tamanho da página, o cursor da próxima página
+	 *
+	 * @param transacoes
+	 * 		Models com os dados das transações (até uma a mais que o tamanho da página)
+	 * @param tamanho
+	 * 		Quantidade de transações da página
+	 * @return PaginaTransacaoResponseDto
+	 *     Dto com as transações da página e o cursor da próxima página
+	 * @author Euller Henrique
+	 */
+	private PaginaTransacaoResponseDto obterPagina(List<Transacao> transacoes, int tamanho) {
+		String proximoCursor = null;
+		if (transacoes.size() > tamanho) {
+			transacoes = transacoes.subList(0, tamanho);
+			proximoCursor = transacoes.get(tamanho - 1).getId().toString();
+		}
+
+		List<TransacaoResponseDto> transacoesResponseDto = converter.originToDestiny(transacoes, TransacaoResponseDto.class);
+		return PaginaTransacaoResponseDto.builder().transacoes(transacoesResponseDto).proximoCursor(proximoCursor).build();
+	}
+
+	/**
+	 * Obtém o dto de erro de um item de um lote, no mesmo formato retornado pelos endpoints
+	 *
+	 * @param status
+	 * 		Status http do erro
+	 * @param mensagem
+	 * 		Mensagem de erro
+	 * @return MessageErrorResponseDto
+	 *      Dto com os dados do erro
+	 * @author Euller Henrique
+	 */
+	private MessageErrorResponseDto obterErro(HttpStatus status, String mensagem) {
+		return exceptionUtil.obterMessageErrorResponseDto(status.value(), status.getReasonPhrase(), mensagem);
+	}
+
+	/**
+	 * Obtém o dto de resposta de um pagamento ainda não salvo, com cartão mascarado, token do cartão, bandeira (obtida pela tabela de BINs),
+	 * nsu, código de autorização e status preenchidos
+	 * <p>
+	 * O pagamento é negado pelas regras de autorização ou, se elas o autorizarem, pelos limites de velocidade do cartão, que somam apenas os
+	 * pagamentos autorizados. O motivo da negação (nome da regra ou do limite excedido) é informado apenas na resposta do pagamento: ele não é salvo nem colocado no cache
+	 * </p>
+	 *
+	 * @param request
+	 * 		Dto com os dados de requisição da transação
+	 * @return TransacaoResponseDto
+	 *      Dto com os dados da resposta da transação (sem id)
+	 * @author Euller Henrique
+	 */
+	private TransacaoResponseDto obterTransacaoResponseDtoAoPagar(TransacaoRequestDto request) {
+		TransacaoResponseDto transacaoResponseDto = converter.originToDestiny(request, TransacaoResponseDto.class);
+
+		transacaoResponseDto.setCartao(cartaoTransacaoService.mascarar(request.getCartao()));
+		transacaoResponseDto.setTokenCartao(cartaoTransacaoService.obterToken(request.getCartao()));
+		transacaoResponseDto.setBandeira(binTransacaoService.obterBandeira(request.getCartao()));
+		transacaoResponseDto.getDescricao().setNsu(transacaoUtilService.obterNsu());
+		transacaoResponseDto.getDescricao().setCodigoAutorizacao(transacaoUtilService.obterCodigoAutorizacao());
+
+		String motivo = autorizacaoTransacaoService.obterMotivoNegacao(request);
+		if (motivo == null) {
+			motivo = velocidadeTransacaoService.registrar(request.getCartao(), request.getDescricao().getValor());
+		}
+		if (motivo == null) {
+			autorizacaoTransacaoService.registrarAutorizacao();
+		}
+		transacaoResponseDto.getDescricao().setStatus(motivo == null ? StatusTransacaoEnum.AUTORIZADO : StatusTransacaoEnum.NEGADO);
+		transacaoResponseDto.getDescricao().setMotivo(motivo);
+
+		return transacaoResponseDto;
+	}
+
 }
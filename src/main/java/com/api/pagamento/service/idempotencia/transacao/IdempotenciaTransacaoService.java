@@ -0,0 +1,256 @@
+package com.api.pagamento.service.idempotencia.transacao;
+
+import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.exception.http.BadRequestException;
+import com.api.pagamento.domain.exception.http.ConflictException;
+import com.api.pagamento.domain.model.idempotencia.Idempotencia;
+import com.api.pagamento.domain.repository.idempotencia.IdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_400_CHAVE_IDEMPOTENCIA_DEVE_TER_NO_MAXIMO_XXX_CARACTERES;
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_409_PAGAMENTO_COM_A_CHAVE_IDEMPOTENCIA_EM_ANDAMENTO;
+import static com.api.pagamento.domain.constant.idempotencia.IdempotenciaConstants.INTERVALO_CONSULTA_CHAVE_RESERVADA_MS;
+import static com.api.pagamento.domain.constant.idempotencia.IdempotenciaConstants.TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA;
+
+/**
+ * Serviço responsável por garantir que um pagamento com uma chave de idempotência seja realizado uma única vez
+ * <p>
+ * As respostas ficam em um cache em memória, limitado por tamanho e por tempo, e também na tabela idempotencia, consultada quando a chave
+ * não está mais em memória (ex: após expirar ou após reiniciar a aplicação). Requisições simultâneas com a mesma chave aguardam o resultado
+ * da primeira em vez de realizar um novo pagamento
+ * </p>
+ * <p>
+ * Entre instâncias da aplicação, a chave é reservada na tabela antes do pagamento, com uma inserção que não altera uma chave já existente:
+ * apenas a instância que inseriu a chave realiza o pagamento, as demais aguardam a resposta registrada por ela. Uma reserva sem resposta há mais
+ * que o tempo de espera é considerada abandonada (a instância parou durante o pagamento) e é assumida por uma nova tentativa
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Slf4j
+@Service
+public class IdempotenciaTransacaoService {
+
+	private final IdempotenciaRepository idempotenciaRepository;
+	private final ObjectMapper objectMapper;
+	private final Duration retencao;
+	private final Duration espera;
+	private final Cache<String, CompletableFuture<TransacaoResponseDto>> respostas;
+
+	/**
+	 * Cria o serviço e o cache em memória das respostas
+	 *
+	 * @param idempotenciaRepository
+	 * 		Repositório da tabela idempotencia
+	 * @param objectMapper
+	 * 		Serializador das respostas
+	 * @param tamanhoMaximo
+	 * 		Quantidade máxima de chaves em memória
+	 * @param expiracao
+	 * 		Tempo de vida de uma chave em memória
+	 * @param retencao
+	 * 		Tempo de vida de uma chave na tabela idempotencia
+	 * @param espera
+	 * 		Tempo máximo que uma requisição aguarda a resposta de um pagamento em andamento em outra instância
+	 * @author Euller Henrique
+	 */
+	public IdempotenciaTransacaoService(IdempotenciaRepository idempotenciaRepository, ObjectMapper objectMapper,
+			@Value("${api.idempotencia.tamanho-maximo}") long tamanhoMaximo, @Value("${api.idempotencia.expiracao}") Duration expiracao,
+			@Value("${api.idempotencia.retencao}") Duration retencao, @Value("${api.idempotencia.espera}") Duration espera) {
+		this.idempotenciaRepository = idempotenciaRepository;
+		this.objectMapper = objectMapper;
+		this.retencao = retencao;
+		this.espera = espera;
+		this.respostas = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterWrite(expiracao).build();
+	}
+
+	/**
+	 * Executa o pagamento uma única vez por chave de idempotência
+	 * <p>
+	 * Se a chave já foi utilizada, retorna a resposta armazenada sem executar o pagamento. Se o pagamento com a chave ainda está em andamento,
+	 * aguarda o seu resultado. Se o pagamento falhar, a chave é liberada para uma nova tentativa
+	 * </p>
+	 * <p>
+	 * Se o pagamento foi realizado, mas a resposta não pôde ser registrada na tabela, a resposta é retornada mesmo assim e a chave continua
+	 * reservada: novas tentativas nesta instância recebem a resposta em memória, e nas demais aguardam até a reserva ser considerada abandonada
+	 * </p>
+	 *
+	 * @param chave
+	 * 		Chave de idempotência enviada pelo cliente
+	 * @param pagamento
+	 * 		Pagamento a ser executado
+	 * @return TransacaoResponseDto
+	 * 		Dto com os dados de resposta da transação
+	 * @throws BadRequestException
+	 * 		Exceção lançada caso a chave seja maior que o tamanho máximo
+	 * @throws ConflictException
+	 * 		Exceção lançada caso o pagamento com a chave continue em andamento em outra instância ao fim do tempo de espera
+	 * @author Euller Henrique
+	 */
+	public TransacaoResponseDto executar(String chave, Supplier<TransacaoResponseDto> pagamento) {
+		if (chave.length() > TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA) {
+			throw new BadRequestException(ERRO_400_CHAVE_IDEMPOTENCIA_DEVE_TER_NO_MAXIMO_XXX_CARACTERES.formatted(TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA));
+		}
+
+		CompletableFuture<TransacaoResponseDto> resposta = new CompletableFuture<>();
+		CompletableFuture<TransacaoResponseDto> respostaExistente = respostas.asMap().putIfAbsent(chave, resposta);
+		if (respostaExistente != null) {
+			return aguardar(respostaExistente);
+		}
+
+		try {
+			TransacaoResponseDto transacaoResponseDto = obterRespostaOuPagar(chave, pagamento);
+			resposta.complete(transacaoResponseDto);
+			return transacaoResponseDto;
+		} catch (RuntimeException ex) {
+			respostas.asMap().remove(chave, resposta);
+			resposta.completeExceptionally(ex);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Remove da tabela idempotencia as chaves mais antigas que o tempo de retenção
+	 *
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedDelayString = "${api.idempotencia.limpeza}")
+	public void removerChavesExpiradas() {
+		idempotenciaRepository.removerAntesDe(LocalDateTime.now().minus(retencao));
+	}
+
+	/**
+	 * Aguarda a resposta do pagamento em andamento com a mesma chave
+	 *
+	 * @param resposta
+	 * 		Resposta do pagamento em andamento
+	 * @return TransacaoResponseDto
+	 * 		Dto com os dados de resposta da transação
+	 * @author Euller Henrique
+	 */
+	private TransacaoResponseDto aguardar(CompletableFuture<TransacaoResponseDto> resposta) {
+		try {
+			return resposta.join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException causa) {
+				throw causa;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Obtém a resposta salva na tabela idempotencia ou, se a chave ainda não existir, reserva a chave e realiza o pagamento
+	 * <p>
+	 * Enquanto a chave estiver reservada por outra instância, sem resposta, a tabela é consultada novamente até a resposta ser registrada, a
+	 * reserva ser liberada (o pagamento falhou e a chave pode ser reservada novamente), a reserva ficar mais antiga que o tempo de espera (a
+	 * instância parou durante o pagamento e a reserva é assumida) ou o tempo de espera acabar
+	 * </p>
+	 *
+	 * @param chave
+	 * 		Chave de idempotência
+	 * @param pagamento
+	 * 		Pagamento a ser executado
+	 * @return TransacaoResponseDto
+	 * 		Dto com os dados de resposta da transação
+	 * @throws ConflictException
+	 * 		Exceção lançada caso a chave continue reservada, por uma reserva recente, após o tempo de espera
+	 * @author Euller Henrique
+	 */
+	private TransacaoResponseDto obterRespostaOuPagar(String chave, Supplier<TransacaoResponseDto> pagamento) {
+		long limite = System.nanoTime() + espera.toNanos();
+		while (true) {
+			Optional<Idempotencia> idempotencia = idempotenciaRepository.findById(chave);
+			if (idempotencia.isPresent() && idempotencia.get().getResposta() != null) {
+				return desserializar(idempotencia.get());
+			}
+			if (idempotencia.isEmpty() && idempotenciaRepository.reservar(chave, LocalDateTime.now()) > 0) {
+				return pagar(chave, pagamento);
+			}
+			LocalDateTime agora = LocalDateTime.now();
+			if (idempotencia.isPresent() && idempotencia.get().getDataHora().isBefore(agora.minus(espera))
+					&& idempotenciaRepository.assumirReserva(chave, agora.minus(espera), agora) > 0) {
+				log.warn("Reserva abandonada da chave de idempotência {} assumida", chave);
+				return pagar(chave, pagamento);
+			}
+			if (System.nanoTime() - limite >= 0) {
+				throw new ConflictException(ERRO_409_PAGAMENTO_COM_A_CHAVE_IDEMPOTENCIA_EM_ANDAMENTO);
+			}
+			aguardarConsulta();
+		}
+	}
+
+	/**
+	 * Realiza o pagamento com a chave reservada e registra a resposta na tabela idempotencia
+	 * <p>
+	 * Se o pagamento falhar, a reserva é removida. Se o registro da resposta falhar, a reserva é mantida, pois o pagamento já foi realizado
+	 * </p>
+	 *
+	 * @param chave
+	 * 		Chave de idempotência reservada
+	 * @param pagamento
+	 * 		Pagamento a ser executado
+	 * @return TransacaoResponseDto
+	 * 		Dto com os dados de resposta da transação
+	 * @author Euller Henrique
+	 */
+	private TransacaoResponseDto pagar(String chave, Supplier<TransacaoResponseDto> pagamento) {
+		TransacaoResponseDto transacaoResponseDto;
+		try {
+			transacaoResponseDto = pagamento.get();
+		} catch (RuntimeException ex) {
+			idempotenciaRepository.liberar(chave);
+			throw ex;
+		}
+
+		try {
+			idempotenciaRepository.registrarResposta(chave, objectMapper.writeValueAsString(transacaoResponseDto));
+		} catch (JsonProcessingException | RuntimeException ex) {
+			// A resposta fica apenas em memória: novas tentativas nas outras instâncias aguardam e, com a reserva abandonada, pagam novamente
+			log.error("Não foi possível registrar a resposta do pagamento {} com a chave de idempotência reservada", transacaoResponseDto.getId(), ex);
+		}
+		return transacaoResponseDto;
+	}
+
+	private static void aguardarConsulta() {
+		try {
+			Thread.sleep(INTERVALO_CONSULTA_CHAVE_RESERVADA_MS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Converte a resposta salva na tabela idempotencia em dto
+	 *
+	 * @param idempotencia
+	 * 		Model com os dados da chave de idempotência
+	 * @return TransacaoResponseDto
+	 * 		Dto com os dados de resposta da transação
+	 * @author Euller Henrique
+	 */
+	private TransacaoResponseDto desserializar(Idempotencia idempotencia) {
+		try {
+			return objectMapper.readValue(idempotencia.getResposta(), TransacaoResponseDto.class);
+		} catch (JsonProcessingException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+}
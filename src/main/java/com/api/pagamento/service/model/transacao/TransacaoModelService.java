@@ -1,18 +1,56 @@
 package com.api.pagamento.service.model.transacao;
 
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.exception.http.BadRequestException;
 import com.api.pagamento.domain.exception.http.NotFoundException;
 import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
 import com.api.pagamento.domain.repository.transacao.TransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.arquivo.ArquivoTransacaoRepository;
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import com.api.pagamento.service.diario.transacao.DiarioTransacaoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.api.pagamento.domain.constant.agregacao.AgregacaoConstants.QUANTIDADE_MAXIMA_GRUPOS;
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_400_AGREGACAO_EXCEDE_XXX_GRUPOS;
 import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_404_NENHUMA_TRANSACAO_ENCONTRADA;
 import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_404_TRANSACAO_NAO_ENCONTRADA;
 
 
 /**
  * Serviço responsável por retornar model(s) (se existir) ou  lançar exceção (se não existir)
+ * <p>
+ * As consultas somente leitura são executadas na réplica, quando habilitada, e as escritas no banco primário
+ * </p>
+ * <p>
+ * Com o diário de pagamentos habilitado, um pagamento é salvo no diário e inserido no banco depois; até lá, ele é encontrado apenas nas
+ * buscas por id, e alterá-lo aguarda a sua inserção no banco
+ * </p>
+ * <p>
+ * As transações salvas antes do token do cartão, e ainda não tokenizadas, são retornadas por todas as consultas com o token e o cartão
+ * mascarado, sem alterar o banco (a tokenização periódica altera o banco)
+ * </p>
  *
  * @author Euller Henrique
  */
@@ -21,9 +59,16 @@ import static com.api.pagamento.domain.constant.http.message.error.ErrorConstant
 public class TransacaoModelService {
 
     private final TransacaoRepository transacaoRepository;
+    private final ArquivoTransacaoRepository arquivoTransacaoRepository;
+    private final Optional<DiarioTransacaoService> diarioTransacaoService;
+    private final CartaoTransacaoService cartaoTransacaoService;
 
     /**
      * Busca uma transação
+     * <p>
+     * A transação que não está no banco é buscada entre os pagamentos do diário ainda não inseridos e, por fim, no arquivo de transações antigas.
+     * O pagamento pendente é obtido antes da consulta ao banco, pois ele deixa de estar pendente assim que é inserido
+     * </p>
      *
      * @param id
      * 		Id da transação
@@ -31,27 +76,191 @@ public class TransacaoModelService {
      *     Model com os dados da transação
      * @author Euller Henrique
      */
+    @Transactional(readOnly = true)
     public Transacao buscarTransacao(Long id) {
-        return transacaoRepository.findById(id).orElseThrow(() -> new NotFoundException(ERRO_404_TRANSACAO_NAO_ENCONTRADA));
+        Optional<Transacao> pendente = diarioTransacaoService.flatMap(diario -> diario.buscar(id));
+        return transacaoRepository.findById(id).or(() -> pendente).or(() -> arquivoTransacaoRepository.buscar(id))
+                .map(cartaoTransacaoService::tokenizar).orElseThrow(() -> new NotFoundException(ERRO_404_TRANSACAO_NAO_ENCONTRADA));
+    }
+
+    /**
+     * Verifica se uma transação está no arquivo de transações antigas
+     *
+     * @param id
+     * 		Id da transação
+     * @return boolean
+     *     Se a transação está arquivada
+     * @author Euller Henrique
+     */
+    public boolean transacaoArquivada(Long id) {
+        return arquivoTransacaoRepository.buscar(id).isPresent();
+    }
+
+    /**
+     * Busca o mês da transação mais antiga anterior ao limite
+     *
+     * @param limite
+     *         Data limite
+     * @return Optional<LocalDate>
+     *     Primeiro dia do mês (vazio se não houver transação anterior ao limite)
+     * @author Euller Henrique
+     */
+    public Optional<LocalDate> buscarMesMaisAntigoAntesDe(LocalDate limite) {
+        return transacaoRepository.buscarDataHoraMaisAntigaAntesDe(limite.atStartOfDay()).map(dataHora -> YearMonth.from(dataHora).atDay(1));
+    }
+
+    /**
+     * Move as transações de um mês do banco para o arquivo de transações antigas
+     * <p>
+     * As transações do mês são bloqueadas contra escrita, copiadas para um segmento do arquivo e só então removidas do banco, tudo na mesma
+     * transação de banco: se a remoção falhar, as transações continuam no banco (e o segmento será substituído no próximo arquivamento). As
+     * transações ainda não tokenizadas são arquivadas com o token e o cartão mascarado
+     * </p>
+     *
+     * @param mes
+     *         Primeiro dia do mês
+     * @return long
+     *     Quantidade de transações arquivadas
+     * @author Euller Henrique
+     */
+    @Transactional
+    public long arquivarTransacoes(LocalDate mes) {
+        transacaoRepository.bloquearMes(mes);
+
+        long arquivadas;
+        try (Stream<Transacao> transacoes = transacaoRepository.streamByPeriodo(mes.atStartOfDay(), mes.plusMonths(1).atStartOfDay())) {
+            arquivadas = arquivoTransacaoRepository.salvar(mes, transacoes.peek(transacaoRepository::desanexar)
+                    .map(cartaoTransacaoService::tokenizar));
+        }
+
+        transacaoRepository.removerMes(mes);
+        return arquivadas;
+    }
+
+    /**
+     * Lista as transacoes a partir de um cursor
+     * <p>
+     * A busca é feita pelo índice do id (keyset), portanto o custo é o mesmo para qualquer página
+     * </p>
+     *
+     * @param apos
+     *         Id da última transação da página anterior (nulo para a primeira página)
+     * @param limite
+     *         Quantidade máxima de transações retornadas
+     * @return List<Transacao>
+     *     Lista de models com os dados das transações
+     * @author Euller Henrique
+     */
+    @Transactional(readOnly = true)
+    public List<Transacao> listarTransacoes(Long apos, int limite) {
+        List<Transacao> transacoes = transacaoRepository.findByIdGreaterThanOrderByIdAsc(apos == null ? 0L : apos, Limit.of(limite));
+        if (transacoes.isEmpty()) {
+            throw new NotFoundException(ERRO_404_NENHUMA_TRANSACAO_ENCONTRADA);
+        }
+        transacoes.forEach(cartaoTransacaoService::tokenizar);
+        return transacoes;
+    }
+
+    /**
+     * Lista as transacoes do cartão a partir de um cursor
+     * <p>
+     * A busca é feita pelo índice do token do cartão e do id (keyset), portanto o custo é o mesmo para qualquer página e não depende da
+     * quantidade de transações dos outros cartões
+     * </p>
+     *
+     * @param tokenCartao
+     *         Token do cartão
+     * @param apos
+     *         Id da última transação da página anterior (nulo para a primeira página)
+     * @param limite
+     *         Quantidade máxima de transações retornadas
+     * @return List<Transacao>
+     *     Lista de models com os dados das transações
+     * @author Euller Henrique
+     */
+    @Transactional(readOnly = true)
+    public List<Transacao> listarTransacoesCartao(String tokenCartao, Long apos, int limite) {
+        List<Transacao> transacoes = transacaoRepository.findByTokenCartaoAndIdGreaterThanOrderByIdAsc(tokenCartao, apos == null ? 0L : apos,
+                Limit.of(limite));
+        if (transacoes.isEmpty()) {
+            throw new NotFoundException(ERRO_404_NENHUMA_TRANSACAO_ENCONTRADA);
+        }
+        return transacoes;
     }
 
     /**
-     * Lista as transacoes
+     * Pesquisa as transações que atendem a consulta dinâmica
      *
+     * @param consulta
+     *         Consulta dinâmica com os filtros da pesquisa
+     * @param ordenacao
+     *         Ordenação das transações
+     * @param limite
+     *         Quantidade máxima de transações retornadas
      * @return List<Transacao>
      *     Lista de models com os dados das transações
      * @author Euller Henrique
      */
-    public List<Transacao> listarTransacoes() {
-        List<Transacao> transacoes = transacaoRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<Transacao> pesquisarTransacoes(Specification<Transacao> consulta, Sort ordenacao, int limite) {
+        List<Transacao> transacoes = transacaoRepository.findBy(consulta, q -> q.sortBy(ordenacao).limit(limite).all());
         if (transacoes.isEmpty()) {
             throw new NotFoundException(ERRO_404_NENHUMA_TRANSACAO_ENCONTRADA);
         }
+        transacoes.forEach(cartaoTransacaoService::tokenizar);
         return transacoes;
     }
 
+    /**
+     * Agrega o valor das transações do período pelos campos informados
+     *
+     * @param agrupamentos
+     *         Campos do agrupamento
+     * @param dataHoraInicio
+     *         Início do período (nulo para sem início)
+     * @param dataHoraFim
+     *         Fim do período (nulo para sem fim)
+     * @return List<AgregacaoTransacao>
+     *     Lista de projeções com os dados de cada grupo
+     * @throws BadRequestException
+     *         Exceção lançada caso a agregação tenha mais grupos que o máximo permitido
+     * @author Euller Henrique
+     */
+    @Transactional(readOnly = true)
+    public List<AgregacaoTransacao> agregarTransacoes(List<AgrupamentoTransacaoEnum> agrupamentos, LocalDateTime dataHoraInicio,
+            LocalDateTime dataHoraFim) {
+        List<AgregacaoTransacao> grupos = transacaoRepository.agregar(agrupamentos, dataHoraInicio, dataHoraFim, QUANTIDADE_MAXIMA_GRUPOS + 1);
+        if (grupos.size() > QUANTIDADE_MAXIMA_GRUPOS) {
+            throw new BadRequestException(ERRO_400_AGREGACAO_EXCEDE_XXX_GRUPOS.formatted(QUANTIDADE_MAXIMA_GRUPOS));
+        }
+        return grupos;
+    }
+
+    /**
+     * Percorre todas as transações, entregando uma a uma ao consumidor
+     * <p>
+     * O contexto de persistência é limpo após cada transação consumida, para que o uso de memória não cresça com o tamanho da tabela
+     * </p>
+     *
+     * @param consumidor
+     *         Consumidor que recebe cada model com os dados da transação
+     * @author Euller Henrique
+     */
+    @Transactional(readOnly = true)
+    public void exportarTransacoes(Consumer<Transacao> consumidor) {
+        try (Stream<Transacao> transacoes = transacaoRepository.streamAllByOrderByIdAsc()) {
+            transacoes.forEach(transacao -> {
+                consumidor.accept(cartaoTransacaoService.tokenizar(transacao));
+                transacaoRepository.limparContexto();
+            });
+        }
+    }
+
     /**
      * Salva uma transação
+     * <p>
+     * Com o diário de pagamentos habilitado, a transação é salva no diário e inserida no banco depois
+     * </p>
      *
      * @param transacao
      *         Model com os dados da transação
@@ -60,7 +269,80 @@ public class TransacaoModelService {
      * @author Euller Henrique
      */
     public Long salvarTransacao(Transacao transacao) {
-        return transacaoRepository.save(transacao).getId();
+        return diarioTransacaoService.map(diario -> diario.salvar(transacao)).orElseGet(() -> transacaoRepository.save(transacao).getId());
+    }
+
+    /**
+     * Salva as transações em uma única transação de banco
+     * <p>
+     * Os ids são obtidos em blocos da sequência e os inserts são enviados em lote (jdbc batch)
+     * </p>
+     *
+     * @param transacoes
+     *         Models com os dados das transações
+     * @return List<Long>
+     *       Ids das transações salvas, na mesma ordem recebida
+     * @author Euller Henrique
+     */
+    public List<Long> salvarTransacoes(List<Transacao> transacoes) {
+        return transacaoRepository.saveAll(transacoes).stream().map(Transacao::getId).toList();
+    }
+
+    /**
+     * Altera o status de uma transação somente se o status atual for o esperado
+     *
+     * @param id
+     *         Id da transação
+     * @param statusEsperado
+     *         Status que a transação deve ter para ser alterada
+     * @param statusNovo
+     *         Novo status da transação
+     * @return Optional<Transacao>
+     *       Model com os dados da transação alterada (vazio se a transação não existir ou não estiver no status esperado)
+     * @author Euller Henrique
+     */
+    public Optional<Transacao> atualizarStatusTransacao(Long id, StatusTransacaoEnum statusEsperado, StatusTransacaoEnum statusNovo) {
+        diarioTransacaoService.ifPresent(diario -> diario.aguardarDescarga(List.of(id)));
+        return transacaoRepository.atualizarStatus(id, statusEsperado.name(), statusNovo.name()).map(cartaoTransacaoService::tokenizar);
+    }
+
+    /**
+     * Busca as transações informadas em uma única consulta
+     * <p>
+     * As transações que não estão no banco são buscadas entre os pagamentos do diário ainda não inseridos
+     * </p>
+     *
+     * @param ids
+     *         Ids das transações
+     * @return Map<Long, Transacao>
+     *       Models com os dados das transações encontradas, indexados pelo id (ids não encontrados não aparecem)
+     * @author Euller Henrique
+     */
+    public Map<Long, Transacao> buscarTransacoes(Collection<Long> ids) {
+        Map<Long, Transacao> pendentes = new HashMap<>();
+        diarioTransacaoService.ifPresent(diario -> ids.forEach(id -> diario.buscar(id).ifPresent(transacao -> pendentes.put(id, transacao))));
+        Map<Long, Transacao> transacoes = transacaoRepository.findAllById(ids).stream().map(cartaoTransacaoService::tokenizar)
+                .collect(Collectors.toMap(Transacao::getId, Function.identity()));
+        pendentes.forEach(transacoes::putIfAbsent);
+        return transacoes;
+    }
+
+    /**
+     * Altera o status das transações que estiverem no status esperado, em um único comando
+     *
+     * @param ids
+     *         Ids das transações
+     * @param statusEsperado
+     *         Status que as transações devem ter para serem alteradas
+     * @param statusNovo
+     *         Novo status das transações
+     * @return Set<Long>
+     *       Ids das transações alteradas
+     * @author Euller Henrique
+     */
+    public Set<Long> atualizarStatusTransacoes(Collection<Long> ids, StatusTransacaoEnum statusEsperado, StatusTransacaoEnum statusNovo) {
+        diarioTransacaoService.ifPresent(diario -> diario.aguardarDescarga(ids));
+        return new HashSet<>(transacaoRepository.atualizarStatus(ids, statusEsperado.name(), statusNovo.name()));
     }
 
 }
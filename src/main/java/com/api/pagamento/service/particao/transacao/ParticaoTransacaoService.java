@@ -0,0 +1,60 @@
+package com.api.pagamento.service.particao.transacao;
+
+import com.api.pagamento.domain.repository.transacao.TransacaoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+/**
+ * Serviço responsável por criar antecipadamente as partições mensais da tabela transacao
+ * <p>
+ * Executado ao iniciar a aplicação e depois periodicamente, cria a partição do mês atual e dos próximos meses, para que as transações
+ * desses meses não caiam na partição padrão
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class ParticaoTransacaoService {
+
+	private final TransacaoRepository transacaoRepository;
+	private final int mesesAntecedencia;
+
+	/**
+	 * Cria o serviço
+	 *
+	 * @param transacaoRepository
+	 * 		Repositório da tabela transacao
+	 * @param mesesAntecedencia
+	 * 		Quantidade de meses, além do atual, com partição criada
+	 * @author Euller Henrique
+	 */
+	public ParticaoTransacaoService(TransacaoRepository transacaoRepository, @Value("${api.particao.meses-antecedencia}") int mesesAntecedencia) {
+		this.transacaoRepository = transacaoRepository;
+		this.mesesAntecedencia = mesesAntecedencia;
+	}
+
+	/**
+	 * Cria as partições do mês atual e dos próximos meses que ainda não existirem
+	 *
+	 * @return int
+	 * 		Quantidade de partições criadas
+	 * @author Euller Henrique
+	 */
+	@Scheduled(fixedDelayString = "${api.particao.criacao}")
+	public int criarParticoes() {
+		YearMonth mesAtual = YearMonth.now();
+
+		int criadas = 0;
+		for (int i = 0; i <= mesesAntecedencia; i++) {
+			if (transacaoRepository.criarParticao(mesAtual.plusMonths(i).atDay(1))) {
+				criadas++;
+			}
+		}
+
+		return criadas;
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.api.pagamento.service.replica;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço responsável por garantir que um cliente leia as próprias escritas, mesmo quando as leituras vão para a réplica
+ * <p>
+ * Após uma escrita o cliente recebe a posição do log (wal) do primário. Uma leitura que informa essa posição só vai para a réplica se a
+ * réplica já tiver aplicado o log até ela; caso contrário vai para o primário
+ * </p>
+ * <p>
+ * A última posição aplicada pela réplica fica em memória e só é consultada de novo quando uma leitura exige uma posição maior
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class ReplicaService {
+
+	private static final String SQL_POSICAO_PRIMARIO = "select cast(pg_current_wal_insert_lsn() as text)";
+	private static final String SQL_POSICAO_REPLICA = "select cast(pg_last_wal_replay_lsn() as text)";
+
+	private final JdbcTemplate primario;
+	private final JdbcTemplate replica;
+	private final AtomicLong posicaoReplica = new AtomicLong(-1);
+
+	/**
+	 * Cria o serviço
+	 *
+	 * @param primario
+	 * 		Pool de conexões do banco primário (vazio nos perfis memoria e livro, que não usam banco)
+	 * @param replica
+	 * 		Pool de conexões da réplica (vazio se a réplica não estiver habilitada)
+	 * @author Euller Henrique
+	 */
+	public ReplicaService(@Qualifier("dataSourcePrimario") Optional<DataSource> primario,
+			@Qualifier("dataSourceReplica") Optional<DataSource> replica) {
+		this.primario = primario.map(JdbcTemplate::new).orElse(null);
+		this.replica = primario.isPresent() ? replica.map(JdbcTemplate::new).orElse(null) : null;
+	}
+
+	/**
+	 * Obtém a posição atual do log do primário, que inclui todas as escritas já confirmadas
+	 *
+	 * @return Optional<String>
+	 * 		Posição do log no formato do postgres (vazio se a réplica não estiver habilitada)
+	 * @author Euller Henrique
+	 */
+	public Optional<String> obterPosicaoEscrita() {
+		return replica == null ? Optional.empty() : Optional.ofNullable(primario.queryForObject(SQL_POSICAO_PRIMARIO, String.class));
+	}
+
+	/**
+	 * Verifica se a réplica já aplicou o log até a posição informada
+	 *
+	 * @param posicao
+	 * 		Posição do log recebida após uma escrita (nula se o cliente não exige ler as próprias escritas)
+	 * @return boolean
+	 * 		Se a leitura pode ir para a réplica (falso para posição inválida, réplica indisponível ou que não acompanha o primário)
+	 * @author Euller Henrique
+	 */
+	public boolean replicaAlcancou(String posicao) {
+		if (replica == null || posicao == null) {
+			return true;
+		}
+
+		long posicaoExigida = converterPosicao(posicao);
+		if (posicaoExigida < 0) {
+			return false;
+		}
+		if (posicaoExigida <= posicaoReplica.get()) {
+			return true;
+		}
+
+		String posicaoAtual;
+		try {
+			posicaoAtual = replica.queryForObject(SQL_POSICAO_REPLICA, String.class);
+		} catch (DataAccessException ex) {
+			return false;
+		}
+		return posicaoExigida <= posicaoReplica.accumulateAndGet(posicaoAtual == null ? -1 : converterPosicao(posicaoAtual), Math::max);
+	}
+
+	private static long converterPosicao(String posicao) {
+		int divisor = posicao.indexOf('/');
+		try {
+			return divisor < 0 ? -1 : Long.parseLong(posicao.substring(0, divisor), 16) << 32 | Long.parseLong(posicao.substring(divisor + 1), 16);
+		} catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+
+}
@@ -1,13 +1,21 @@
 package com.api.pagamento.service.util.transacao;
 
 import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.repository.nsu.BlocoNsuRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.NSU_MINIMO;
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.TAMANHO_BLOCO_NSU;
 
 /**
  * Serviço responsável por armazenar métodos utilitários
+ * <p>
+ * Os nsus são únicos: cada thread reserva um bloco de nsus ({@link BlocoNsuRepository}) e os usa em ordem, sem disputar nenhum campo com as
+ * outras threads até o bloco acabar. O código de autorização vem do {@link ThreadLocalRandom}, também sem estado compartilhado
+ * </p>
  *
  * @author Euller Henrique
  */
@@ -15,10 +23,11 @@ import java.util.Random;
 @RequiredArgsConstructor
 public class TransacaoUtilService {
 
-	private static final Random RANDOM = new Random();
+	private final BlocoNsuRepository blocoNsuRepository;
+	private final ThreadLocal<BlocoNsu> blocoNsu = ThreadLocal.withInitial(BlocoNsu::new);
 
 	/**
-	 * Obtêm o nsu de forma randômica
+	 * Obtêm o próximo nsu do bloco da thread, reservando um novo bloco quando o atual termina
 	 *
 	 * @return String
 	 * 		Número de identificação da transação
@@ -26,7 +35,12 @@ public class TransacaoUtilService {
 	 *
 	 */
 	public String obterNsu() {
-		return String.valueOf(RANDOM.nextInt(100000000, 999999999));
+		BlocoNsu bloco = blocoNsu.get();
+		if (bloco.proximo == bloco.fim) {
+			bloco.proximo = NSU_MINIMO + blocoNsuRepository.reservarBloco() * TAMANHO_BLOCO_NSU;
+			bloco.fim = bloco.proximo + TAMANHO_BLOCO_NSU;
+		}
+		return String.valueOf(bloco.proximo++);
 	}
 
 	/**
@@ -37,19 +51,7 @@ public class TransacaoUtilService {
 	 * @author Euller Henrique
 	 */
 	public String obterCodigoAutorizacao() {
-		return String.valueOf(RANDOM.nextInt(100000000, 999999999));
-	}
-
-	/**
-	 * Obtêm o status da transação ao pagar de forma randômica (AUTORIZADO ou NEGADO)
-	 *
-	 * @return StatusTransacaoEnum
-	 * 		Status da transação ao pagar
-	 * @see StatusTransacaoEnum
-	 * @author Euller Henrique
-	 */
-	public StatusTransacaoEnum obterStatusAoPagar() {
-		return StatusTransacaoEnum.values()[RANDOM.nextInt(2)];
+		return String.valueOf(ThreadLocalRandom.current().nextInt(100000000, 999999999));
 	}
 
 	/**
@@ -64,4 +66,12 @@ public class TransacaoUtilService {
 		return StatusTransacaoEnum.CANCELADO;
 	}
 
+	/**
+	 * Bloco de nsus reservado por uma thread: o próximo nsu a ser usado e o fim do bloco (exclusivo)
+	 */
+	private static final class BlocoNsu {
+		private long proximo;
+		private long fim;
+	}
+
 }
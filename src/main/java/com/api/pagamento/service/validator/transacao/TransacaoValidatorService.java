@@ -1,14 +1,28 @@
 package com.api.pagamento.service.validator.transacao;
 
 import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.agregacao.AgregacaoTransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
 import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
 import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
 import com.api.pagamento.domain.exception.http.BadRequestException;
 import com.api.pagamento.domain.model.transacao.Transacao;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+import static com.api.pagamento.domain.constant.divider.DividerConstants.ESPACO;
 import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.*;
+import static com.api.pagamento.domain.constant.http.message.error.word.WordErrorConstants.O_CAMPO_XXX;
+import static com.api.pagamento.domain.constant.lote.LoteConstants.TAMANHO_LOTE_MAXIMO;
+import static com.api.pagamento.domain.constant.lote.LoteConstants.TAMANHO_LOTE_MINIMO;
+import static com.api.pagamento.domain.constant.paginacao.PaginacaoConstants.TAMANHO_PAGINA_MAXIMO;
+import static com.api.pagamento.domain.constant.paginacao.PaginacaoConstants.TAMANHO_PAGINA_MINIMO;
 
 /**
  * Serviço responsável por armazenar métodos validadores
@@ -19,6 +33,30 @@ import static com.api.pagamento.domain.constant.http.message.error.ErrorConstant
 @RequiredArgsConstructor
 public class TransacaoValidatorService {
 
+	private final Validator validator;
+
+	/**
+	 * Valida os campos da requisição ao pagar
+	 * <p>
+	 * Aplica as mesmas validações da anotação @Valid, para requisições que não passam pela validação do controller (ex: itens de um lote)
+	 * </p>
+	 *
+	 * @param request
+	 * 		Dto com os dados de request da transação
+	 * @throws BadRequestException
+	 * 		Exceção lançada caso algum campo esteja preenchido incorretamente
+	 */
+	public void validarCamposAoPagar(TransacaoRequestDto request) {
+		if (request == null) {
+			throw new BadRequestException(ERRO_400_CAMPOS_PREENCHIDOS_INCORRETAMENTE);
+		}
+
+		validator.validate(request).stream().min(Comparator.comparing(violacao -> violacao.getPropertyPath().toString()))
+				.ifPresent(violacao -> {
+					throw new BadRequestException(obterMensagemViolacao(violacao));
+				});
+	}
+
 	/**
 	 * Valida o tipo de pagamento ao pagar
 	 * <p>
@@ -62,4 +100,95 @@ public class TransacaoValidatorService {
 			throw new BadRequestException(ERROR_400_TRANSACAO_NEGADA_NAO_PODE_SER_ESTORNADA);
 		}
 	}
+
+	/**
+	 * Valida o tamanho da página ao listar
+	 * <p>
+	 * O tamanho deve estar entre o mínimo e o máximo permitidos, para que cada chamada tenha custo limitado
+	 * </p>
+	 *
+	 * @param tamanho
+	 * 		Quantidade de transações solicitadas
+	 * @throws BadRequestException
+	 * 		Exceção lançada caso o tamanho da página seja inválido
+	 */
+	public void validarTamanhoPagina(int tamanho) {
+		if (tamanho < TAMANHO_PAGINA_MINIMO || tamanho > TAMANHO_PAGINA_MAXIMO) {
+			throw new BadRequestException(ERRO_400_TAMANHO_PAGINA_DEVE_SER_ENTRE_XXX_E_YYY.formatted(TAMANHO_PAGINA_MINIMO, TAMANHO_PAGINA_MAXIMO));
+		}
+	}
+
+	/**
+	 * Valida os filtros e o tamanho da página ao pesquisar
+	 *
+	 * @param pesquisa
+	 * 		Dto com os filtros, a ordenação e a paginação da pesquisa
+	 * @throws BadRequestException
+	 * 		Exceção lançada caso o tamanho da página seja inválido ou algum intervalo esteja invertido
+	 */
+	public void validarPesquisa(PesquisaTransacaoRequestDto pesquisa) {
+		validarTamanhoPagina(pesquisa.getTamanho());
+		validarPeriodo(pesquisa.getDataHoraInicio(), pesquisa.getDataHoraFim());
+
+		if (pesquisa.getValorMinimo() != null && pesquisa.getValorMaximo() != null && pesquisa.getValorMinimo().compareTo(pesquisa.getValorMaximo()) > 0) {
+			throw new BadRequestException(ERRO_400_VALOR_MINIMO_DEVE_SER_MENOR_OU_IGUAL_AO_VALOR_MAXIMO);
+		}
+	}
+
+	/**
+	 * Valida os agrupamentos e o período ao agregar
+	 *
+	 * @param agregacao
+	 * 		Dto com os agrupamentos e o período da agregação
+	 * @throws BadRequestException
+	 * 		Exceção lançada caso os agrupamentos DIA e HORA sejam combinados ou o período esteja invertido
+	 */
+	public void validarAgregacao(AgregacaoTransacaoRequestDto agregacao) {
+		if (agregacao.getAgrupamentos().contains(AgrupamentoTransacaoEnum.DIA) && agregacao.getAgrupamentos().contains(AgrupamentoTransacaoEnum.HORA)) {
+			throw new BadRequestException(ERRO_400_AGRUPAMENTOS_DIA_E_HORA_NAO_PODEM_SER_COMBINADOS);
+		}
+		validarPeriodo(agregacao.getDataHoraInicio(), agregacao.getDataHoraFim());
+	}
+
+	/**
+	 * Valida o tamanho do lote
+	 *
+	 * @param tamanho
+	 * 		Quantidade de itens do lote
+	 * @throws BadRequestException
+	 * 		Exceção lançada caso o tamanho do lote seja inválido
+	 */
+	public void validarTamanhoLote(int tamanho) {
+		if (tamanho < TAMANHO_LOTE_MINIMO || tamanho > TAMANHO_LOTE_MAXIMO) {
+			throw new BadRequestException(ERRO_400_TAMANHO_LOTE_DEVE_SER_ENTRE_XXX_E_YYY.formatted(TAMANHO_LOTE_MINIMO, TAMANHO_LOTE_MAXIMO));
+		}
+	}
+
+	/**
+	 * Valida se o início do período não é posterior ao fim (quando ambos são informados)
+	 *
+	 * @param dataHoraInicio
+	 * 		Início do período
+	 * @param dataHoraFim
+	 * 		Fim do período
+	 * @throws BadRequestException
+	 * 		Exceção lançada caso o período esteja invertido
+	 */
+	private void validarPeriodo(LocalDateTime dataHoraInicio, LocalDateTime dataHoraFim) {
+		if (dataHoraInicio != null && dataHoraFim != null && dataHoraInicio.isAfter(dataHoraFim)) {
+			throw new BadRequestException(ERRO_400_DATA_HORA_INICIO_DEVE_SER_ANTERIOR_A_DATA_HORA_FIM);
+		}
+	}
+
+	/**
+	 * Obtém a mensagem de erro de uma violação de validação no formato "O campo xxx mensagem"
+	 *
+	 * @param violacao
+	 * 		Violação de validação
+	 * @return String
+	 * 		Mensagem de erro
+	 */
+	private String obterMensagemViolacao(ConstraintViolation<TransacaoRequestDto> violacao) {
+		return O_CAMPO_XXX.formatted(violacao.getPropertyPath()) + ESPACO + violacao.getMessage();
+	}
 }
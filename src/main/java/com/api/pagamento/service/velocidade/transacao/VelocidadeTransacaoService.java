@@ -0,0 +1,209 @@
+package com.api.pagamento.service.velocidade.transacao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+
+import static com.api.pagamento.domain.constant.velocidade.VelocidadeConstants.*;
+
+/**
+ * Serviço responsável por limitar a quantidade e o valor dos pagamentos de um mesmo cartão dentro de uma janela de tempo deslizante
+ * <p>
+ * Cada cartão, identificado por um hash do número (o número não fica em memória), tem um anel de contadores por intervalo de tempo: a
+ * janela é dividida em intervalos iguais e cada posição do anel guarda a quantidade e o valor dos pagamentos de um intervalo, sendo
+ * reaproveitada quando o seu intervalo sai da janela. A janela considerada é o intervalo atual e os anteriores que cabem nela, portanto
+ * desliza a cada intervalo, sem consultar o banco
+ * </p>
+ * <p>
+ * Os anéis ficam em um cache concorrente (dividido internamente em partes com bloqueio próprio) limitado pela quantidade de cartões, e um
+ * cartão sem pagamentos durante uma janela é removido. Verificar e somar um pagamento é uma única operação atômica no anel do cartão. Os
+ * contadores são da instância: com várias instâncias, cada uma limita os pagamentos que recebeu
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@Service
+public class VelocidadeTransacaoService {
+
+	private final long duracaoIntervalo;
+	private final int quantidadeIntervalos;
+	private final int quantidadeMaxima;
+	private final long valorMaximo;
+	private final Cache<Long, AnelCartao> aneis;
+	private final Counter quantidadeMaximaExcedida;
+	private final Counter valorMaximoExcedido;
+
+	/**
+	 * Cria o serviço e o cache dos anéis de contadores
+	 *
+	 * @param janela
+	 * 		Duração da janela de tempo
+	 * @param quantidadeIntervalos
+	 * 		Quantidade de intervalos da janela (posições do anel); mais intervalos deixam a janela mais precisa e ocupam mais memória
+	 * @param quantidadeMaxima
+	 * 		Quantidade máxima de pagamentos de um cartão na janela
+	 * @param valorMaximo
+	 * 		Soma máxima do valor dos pagamentos de um cartão na janela
+	 * @param tamanhoMaximo
+	 * 		Quantidade máxima de cartões em memória
+	 * @param meterRegistry
+	 * 		Registro das métricas dos pagamentos negados e dos cartões em memória
+	 * @throws IllegalArgumentException
+	 * 		Exceção lançada caso a janela seja menor que um milissegundo por intervalo ou um limite não seja maior que zero
+	 * @author Euller Henrique
+	 */
+	public VelocidadeTransacaoService(@Value("${api.velocidade.janela}") Duration janela,
+			@Value("${api.velocidade.intervalos}") int quantidadeIntervalos, @Value("${api.velocidade.quantidade-maxima}") int quantidadeMaxima,
+			@Value("${api.velocidade.valor-maximo}") BigDecimal valorMaximo, @Value("${api.velocidade.tamanho-maximo}") long tamanhoMaximo,
+			MeterRegistry meterRegistry) {
+		if (quantidadeIntervalos < 1 || janela.toMillis() < quantidadeIntervalos || quantidadeMaxima < 1 || valorMaximo.signum() <= 0) {
+			throw new IllegalArgumentException("A janela deve ter ao menos um milissegundo por intervalo e os limites de velocidade devem ser"
+					+ " maiores que zero");
+		}
+		this.duracaoIntervalo = janela.toMillis() / quantidadeIntervalos;
+		this.quantidadeIntervalos = quantidadeIntervalos;
+		this.quantidadeMaxima = quantidadeMaxima;
+		this.valorMaximo = obterCentavos(valorMaximo);
+		this.aneis = Caffeine.newBuilder().maximumSize(tamanhoMaximo).expireAfterAccess(janela).build();
+		this.quantidadeMaximaExcedida = obterContador(meterRegistry, MOTIVO_QUANTIDADE_MAXIMA_VELOCIDADE);
+		this.valorMaximoExcedido = obterContador(meterRegistry, MOTIVO_VALOR_MAXIMO_VELOCIDADE);
+		Gauge.builder(METRICA_VELOCIDADE_CARTOES, aneis, Cache::estimatedSize).register(meterRegistry);
+	}
+
+	/**
+	 * Verifica os limites do cartão e, se o pagamento não os exceder, soma o pagamento aos contadores do cartão
+	 *
+	 * @param cartao
+	 * 		Número do cartão
+	 * @param valor
+	 * 		Valor do pagamento
+	 * @return String
+	 * 		Motivo da negação, ou nulo se o pagamento foi somado
+	 * @author Euller Henrique
+	 */
+	public String registrar(String cartao, BigDecimal valor) {
+		return registrar(cartao, valor, System.currentTimeMillis());
+	}
+
+	/**
+	 * Verifica os limites do cartão no instante informado e, se o pagamento não os exceder, soma o pagamento aos contadores do cartão
+	 *
+	 * @param cartao
+	 * 		Número do cartão
+	 * @param valor
+	 * 		Valor do pagamento
+	 * @param agora
+	 * 		Instante do pagamento, em milissegundos desde a época
+	 * @return String
+	 * 		Motivo da negação, ou nulo se o pagamento foi somado
+	 * @author Euller Henrique
+	 */
+	public String registrar(String cartao, BigDecimal valor, long agora) {
+		long centavos = obterCentavos(valor);
+		long intervalo = agora / duracaoIntervalo;
+		String[] motivo = new String[1];
+		aneis.asMap().compute(obterChave(cartao), (chave, anel) -> {
+			AnelCartao anelCartao = anel == null ? new AnelCartao(quantidadeIntervalos) : anel;
+			motivo[0] = anelCartao.registrar(intervalo, centavos);
+			return anelCartao;
+		});
+
+		if (MOTIVO_QUANTIDADE_MAXIMA_VELOCIDADE.equals(motivo[0])) {
+			quantidadeMaximaExcedida.increment();
+		} else if (MOTIVO_VALOR_MAXIMO_VELOCIDADE.equals(motivo[0])) {
+			valorMaximoExcedido.increment();
+		}
+		return motivo[0];
+	}
+
+	/**
+	 * Obtém a quantidade de cartões em memória, após remover os que excedem o tamanho máximo ou ficaram sem pagamentos durante uma janela
+	 *
+	 * @return long
+	 * 		Quantidade de cartões em memória
+	 * @author Euller Henrique
+	 */
+	public long obterQuantidadeCartoes() {
+		aneis.cleanUp();
+		return aneis.estimatedSize();
+	}
+
+	/**
+	 * Obtém a chave do cartão: hash FNV-1a de 64 bits do número
+	 *
+	 * @param cartao
+	 * 		Número do cartão
+	 * @return long
+	 * 		Chave do cartão
+	 * @author Euller Henrique
+	 */
+	private static long obterChave(String cartao) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < cartao.length(); i++) {
+			hash = (hash ^ cartao.charAt(i)) * 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static long obterCentavos(BigDecimal valor) {
+		return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+	private static Counter obterContador(MeterRegistry meterRegistry, String motivo) {
+		return Counter.builder(METRICA_VELOCIDADE_NEGADO).tag(TAG_MOTIVO_VELOCIDADE, motivo).register(meterRegistry);
+	}
+
+	/**
+	 * Anel de contadores de um cartão: o intervalo, a quantidade e o valor (em centavos) dos pagamentos de cada posição. Só é acessado
+	 * dentro do compute do cache, que bloqueia o cartão
+	 */
+	private final class AnelCartao {
+
+		private final long[] intervalos;
+		private final int[] quantidades;
+		private final long[] valores;
+
+		private AnelCartao(int quantidadeIntervalos) {
+			this.intervalos = new long[quantidadeIntervalos];
+			this.quantidades = new int[quantidadeIntervalos];
+			this.valores = new long[quantidadeIntervalos];
+		}
+
+		private String registrar(long intervalo, long centavos) {
+			int quantidade = 0;
+			long valor = 0;
+			for (int i = 0; i < intervalos.length; i++) {
+				if (intervalos[i] > intervalo - intervalos.length) {
+					quantidade += quantidades[i];
+					valor += valores[i];
+				}
+			}
+			if (quantidade >= quantidadeMaxima) {
+				return MOTIVO_QUANTIDADE_MAXIMA_VELOCIDADE;
+			}
+			if (valor + centavos > valorMaximo) {
+				return MOTIVO_VALOR_MAXIMO_VELOCIDADE;
+			}
+
+			int posicao = (int) Math.floorMod(intervalo, (long) intervalos.length);
+			if (intervalos[posicao] != intervalo) {
+				intervalos[posicao] = intervalo;
+				quantidades[posicao] = 0;
+				valores[posicao] = 0;
+			}
+			quantidades[posicao]++;
+			valores[posicao] += centavos;
+			return null;
+		}
+
+	}
+
+}
@@ -0,0 +1,198 @@
+-- Executado antes do Hibernate (ddl-auto: update) a cada inicialização, por isso todos os comandos devem ser idempotentes
+-- O script é enviado inteiro em um único comando (separator: EOF), permitindo blocos DO $$ ... $$
+
+-- Os ids da transação são gerados pela aplicação (IdTemporal), ordenados pelo tempo e sempre maiores que os gerados pela antiga sequência
+DROP SEQUENCE IF EXISTS seq_transacao;
+
+-- Blocos de nsus reservados pelas instâncias (cada valor é um bloco de 1000 nsus de 9 dígitos); depois do último bloco volta ao primeiro
+CREATE SEQUENCE IF NOT EXISTS seq_bloco_nsu MINVALUE 0 MAXVALUE 899999 START WITH 0 CYCLE;
+
+-- Migração para o armazenamento em tabela única: descrição e forma de pagamento passam a ser colunas da tabela transacao
+DO $$
+BEGIN
+    IF to_regclass('descricao_transacao') IS NOT NULL THEN
+        ALTER TABLE transacao
+            ADD COLUMN IF NOT EXISTS valor numeric(10,2),
+            ADD COLUMN IF NOT EXISTS data_hora timestamp(6),
+            ADD COLUMN IF NOT EXISTS estabelecimento varchar(100),
+            ADD COLUMN IF NOT EXISTS nsu varchar(9),
+            ADD COLUMN IF NOT EXISTS codigo_autorizacao varchar(9),
+            ADD COLUMN IF NOT EXISTS status varchar(20);
+
+        UPDATE transacao t
+           SET valor = d.valor, data_hora = d.data_hora, estabelecimento = d.estabelecimento, nsu = d.nsu,
+               codigo_autorizacao = d.codigo_autorizacao, status = d.status
+          FROM descricao_transacao d
+         WHERE d.id = t.descricao_id;
+
+        ALTER TABLE transacao
+            ALTER COLUMN valor SET NOT NULL,
+            ALTER COLUMN data_hora SET NOT NULL,
+            ALTER COLUMN estabelecimento SET NOT NULL,
+            ALTER COLUMN nsu SET NOT NULL,
+            ALTER COLUMN codigo_autorizacao SET NOT NULL,
+            ALTER COLUMN status SET NOT NULL,
+            DROP COLUMN IF EXISTS descricao_id;
+
+        DROP TABLE descricao_transacao;
+        DROP SEQUENCE IF EXISTS seq_descricao;
+    END IF;
+
+    IF to_regclass('forma_pagamento_transacao') IS NOT NULL THEN
+        ALTER TABLE transacao
+            ADD COLUMN IF NOT EXISTS tipo varchar(20),
+            ADD COLUMN IF NOT EXISTS parcelas integer;
+
+        UPDATE transacao t
+           SET tipo = f.tipo, parcelas = f.parcelas
+          FROM forma_pagamento_transacao f
+         WHERE f.id = t.forma_pagamento_id;
+
+        ALTER TABLE transacao
+            ALTER COLUMN tipo SET NOT NULL,
+            ALTER COLUMN parcelas SET NOT NULL,
+            DROP COLUMN IF EXISTS forma_pagamento_id;
+
+        DROP TABLE forma_pagamento_transacao;
+        DROP SEQUENCE IF EXISTS seq_forma_pagamento;
+    END IF;
+END $$;
+
+-- Particionamento mensal da tabela transacao por data_hora (a chave primária passa a incluir data_hora, exigência do PostgreSQL).
+-- Transações com data_hora fora dos meses criados ficam na partição transacao_padrao
+-- Uma tabela transacao ainda não particionada é migrada: suas linhas são copiadas para partições dos meses que possuírem transações
+DO $$
+DECLARE
+    mes date;
+    chave_primaria text;
+BEGIN
+    IF to_regclass('transacao') IS NOT NULL AND (SELECT relkind FROM pg_class WHERE oid = to_regclass('transacao')) = 'p' THEN
+        RETURN;
+    END IF;
+
+    IF to_regclass('transacao') IS NOT NULL THEN
+        ALTER TABLE transacao RENAME TO transacao_legado;
+        SELECT conname INTO chave_primaria FROM pg_constraint WHERE conrelid = 'transacao_legado'::regclass AND contype = 'p';
+        IF chave_primaria IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE transacao_legado DROP CONSTRAINT %I', chave_primaria);
+        END IF;
+        DROP INDEX IF EXISTS idx_transacao_data_hora, idx_transacao_status_data_hora, idx_transacao_estabelecimento_data_hora, idx_transacao_valor;
+    END IF;
+
+    CREATE TABLE transacao (
+        id bigint NOT NULL,
+        cartao varchar(16) NOT NULL,
+        token_cartao varchar(22),
+        bandeira varchar(30),
+        valor numeric(10,2) NOT NULL,
+        data_hora timestamp(6) NOT NULL,
+        estabelecimento varchar(100) NOT NULL,
+        nsu varchar(9) NOT NULL,
+        codigo_autorizacao varchar(9) NOT NULL,
+        status varchar(20) NOT NULL,
+        tipo varchar(20) NOT NULL,
+        parcelas integer NOT NULL,
+        PRIMARY KEY (id, data_hora)
+    ) PARTITION BY RANGE (data_hora);
+
+    CREATE TABLE transacao_padrao PARTITION OF transacao DEFAULT;
+
+    IF to_regclass('transacao_legado') IS NOT NULL THEN
+        FOR mes IN SELECT DISTINCT date_trunc('month', data_hora)::date FROM transacao_legado LOOP
+            EXECUTE format('CREATE TABLE %I PARTITION OF transacao FOR VALUES FROM (%L) TO (%L)',
+                    'transacao_' || to_char(mes, 'YYYY_MM'), mes, (mes + interval '1 month')::date);
+        END LOOP;
+
+        INSERT INTO transacao (id, cartao, valor, data_hora, estabelecimento, nsu, codigo_autorizacao, status, tipo, parcelas)
+        SELECT id, cartao, valor, data_hora, estabelecimento, nsu, codigo_autorizacao, status, tipo, parcelas FROM transacao_legado;
+
+        DROP TABLE transacao_legado;
+    END IF;
+END $$;
+
+-- Bandeira do cartão, obtida pela tabela de BINs no pagamento (nula nas transações anteriores e nos BINs fora da tabela)
+ALTER TABLE transacao ADD COLUMN IF NOT EXISTS bandeira varchar(30);
+
+-- Token do cartão (HMAC do número com a chave da aplicação). As transações anteriores ficam com o token nulo e o número do cartão até
+-- serem tokenizadas pela aplicação, que troca o número pela máscara
+ALTER TABLE transacao ADD COLUMN IF NOT EXISTS token_cartao varchar(22);
+
+-- Índices criados na tabela particionada (e, a partir dela, em cada partição). Ficam aqui, e não na entidade, porque o Hibernate
+-- não enxerga os índices de uma tabela particionada e tentaria criá-los novamente a cada inicialização
+CREATE INDEX IF NOT EXISTS idx_transacao_data_hora ON transacao (data_hora, id);
+CREATE INDEX IF NOT EXISTS idx_transacao_status_data_hora ON transacao (status, data_hora, id);
+CREATE INDEX IF NOT EXISTS idx_transacao_estabelecimento_data_hora ON transacao (estabelecimento, data_hora, id);
+CREATE INDEX IF NOT EXISTS idx_transacao_valor ON transacao (valor, id);
+CREATE INDEX IF NOT EXISTS idx_transacao_token_cartao ON transacao (token_cartao, id);
+
+-- Cria a partição do mês informado, se ainda não existir, e retorna se ela foi criada.
+-- As transações desse mês que estiverem na partição padrão são movidas para a nova partição, que é anexada já preenchida
+-- (anexar bloqueia a tabela transacao apenas contra alterações de estrutura, mas bloqueia a partição padrão por completo, com ACCESS EXCLUSIVE,
+-- para verificar que ela não tem linhas do mês). Antes de mover as linhas, a tabela transacao é bloqueada contra escrita (leituras continuam
+-- liberadas) até o fim da transação, para que outra sessão não insira na partição padrão uma transação do mês entre a cópia e o anexo: a
+-- inserção escolhe a partição antes de aguardar o bloqueio da partição padrão, portanto bloquear apenas a partição padrão não basta.
+-- As partições são criadas com meses de antecedência, portanto normalmente não há linhas a mover e o bloqueio dura um instante
+-- Um mês antigo é retirado da tabela sem apagar linha a linha descartando a sua partição, como em remover_mes_transacao, ou com
+-- ALTER TABLE transacao DETACH PARTITION transacao_AAAA_MM (sem CONCURRENTLY, recusado pelo PostgreSQL em tabelas com partição padrão)
+CREATE OR REPLACE FUNCTION criar_particao_transacao(mes date) RETURNS boolean AS $$
+DECLARE
+    inicio date := date_trunc('month', mes)::date;
+    fim date := (date_trunc('month', mes) + interval '1 month')::date;
+    particao text := 'transacao_' || to_char(mes, 'YYYY_MM');
+BEGIN
+    -- Serializa a criação entre instâncias da aplicação; o bloqueio é liberado ao fim da transação
+    PERFORM pg_advisory_xact_lock(hashtext('criar_particao_transacao'));
+
+    IF to_regclass(particao) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE transacao INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', particao);
+    -- Sem conseguir o bloqueio logo, a criação é desfeita e tentada novamente na próxima verificação das partições
+    SET LOCAL lock_timeout = '5s';
+    LOCK TABLE ONLY transacao IN SHARE ROW EXCLUSIVE MODE;
+    EXECUTE format('WITH movidas AS (DELETE FROM transacao_padrao WHERE data_hora >= %L AND data_hora < %L RETURNING *) INSERT INTO %I SELECT * FROM movidas',
+            inicio, fim, particao);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I CHECK (data_hora >= %L AND data_hora < %L)', particao, particao || '_intervalo', inicio, fim);
+    EXECUTE format('ALTER TABLE transacao ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', particao, inicio, fim);
+
+    RETURN true;
+END $$ LANGUAGE plpgsql;
+
+-- Bloqueia contra escrita (leituras continuam liberadas) a partição do mês informado e a partição padrão, até o fim da transação,
+-- para que as transações do mês não mudem enquanto são copiadas para o arquivo
+CREATE OR REPLACE FUNCTION bloquear_mes_transacao(mes date) RETURNS boolean AS $$
+DECLARE
+    particao text := 'transacao_' || to_char(mes, 'YYYY_MM');
+BEGIN
+    IF to_regclass(particao) IS NOT NULL THEN
+        EXECUTE format('LOCK TABLE %I IN SHARE MODE', particao);
+    END IF;
+    LOCK TABLE transacao_padrao IN SHARE MODE;
+
+    RETURN to_regclass(particao) IS NOT NULL;
+END $$ LANGUAGE plpgsql;
+
+-- Remove as transações do mês informado: a partição do mês é descartada inteira (sem apagar linha a linha) e as transações do mês
+-- que estiverem na partição padrão são apagadas. Retorna se a partição existia
+CREATE OR REPLACE FUNCTION remover_mes_transacao(mes date) RETURNS boolean AS $$
+DECLARE
+    inicio date := date_trunc('month', mes)::date;
+    fim date := (date_trunc('month', mes) + interval '1 month')::date;
+    particao text := 'transacao_' || to_char(mes, 'YYYY_MM');
+BEGIN
+    DELETE FROM transacao_padrao WHERE data_hora >= inicio AND data_hora < fim;
+
+    IF to_regclass(particao) IS NULL THEN
+        RETURN false;
+    END IF;
+
+    -- Descartar a partição bloqueia a tabela transacao por um instante; sem conseguir o bloqueio logo, o arquivamento é desfeito
+    SET LOCAL lock_timeout = '5s';
+    EXECUTE format('DROP TABLE %I', particao);
+
+    RETURN true;
+END $$ LANGUAGE plpgsql;
+
+-- A chave de idempotência é reservada antes do pagamento, ainda sem a resposta
+ALTER TABLE IF EXISTS idempotencia ALTER COLUMN resposta DROP NOT NULL;
@@ -5,12 +5,30 @@ import com.api.pagamento.controller.transacao.TransacaoController;
 import com.api.pagamento.domain.dto.builder.request.transacao.TransacaoRequestDtoBuilder;
 import com.api.pagamento.domain.dto.builder.response.transacao.TransacaoResponseDtoBuilder;
 import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.agregacao.AgregacaoTransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
 import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.agregacao.AgregacaoTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.contador.ContadorTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.contador.ContadoresTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.error.MessageErrorResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoEstornoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoPagamentoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.pagina.PaginaTransacaoResponseDto;
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
 import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.pesquisa.OrdenacaoTransacaoEnum;
 import com.api.pagamento.domain.exception.handler.http.HttpExceptionHandler;
+import com.api.pagamento.domain.exception.http.ConflictException;
 import com.api.pagamento.domain.exception.http.NotFoundException;
 import com.api.pagamento.domain.exception.handler.util.ExceptionUtil;
+import com.api.pagamento.infra.config.datasource.RoteamentoDataSource;
+import com.api.pagamento.infra.filter.replica.LeituraReplicaFilter;
+import com.api.pagamento.service.contador.transacao.ContadorTransacaoService;
 import com.api.pagamento.service.dto.transacao.TransacaoDtoService;
+import com.api.pagamento.service.idempotencia.transacao.IdempotenciaTransacaoService;
+import com.api.pagamento.service.replica.ReplicaService;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,23 +37,41 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import static com.api.pagamento.domain.constant.http.header.HeaderHttpConstants.CONSISTENCY_TOKEN;
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERRO_409_PAGAMENTO_COM_A_CHAVE_IDEMPOTENCIA_EM_ANDAMENTO;
+import static com.api.pagamento.domain.constant.http.type.TypeHttpConstants.APPLICATION_NDJSON;
 import static com.api.pagamento.domain.constant.pattern.PatternConstants.FORMATTER_DATA_HORA_PT_BR;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
  * Classe de teste responsável por realizar os testes unitários no controller da transação
@@ -52,6 +88,12 @@ class TransacaoControllerTest {
 
 	@Mock
 	private TransacaoDtoService transacaoDtoService;
+	@Mock
+	private IdempotenciaTransacaoService idempotenciaTransacaoService;
+	@Mock
+	private ContadorTransacaoService contadorTransacaoService;
+	@Mock
+	private ReplicaService replicaService;
 
 	@InjectMocks
 	private TransacaoController transacaoController;
@@ -96,6 +138,100 @@ class TransacaoControllerTest {
 				.andExpect(jsonPath("$.formaPagamento.parcelas", is(transacaoResponseDto.getFormaPagamento().getParcelas())));
 	}
 
+	/**
+	 * Teste que testa o retorno do endpoint pagar com uma chave de idempotência
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoEhSolicitadaComChaveDeIdempotenciaElaDeveSerRealizadaPeloServicoDeIdempotencia() throws Exception {
+		//Dado
+		//transacaoRequestDto e transacaoResponseDto já foram instanciados no setUp
+		String chave = "8f14e45f-ceea-467f-a0e6-2e7b1c3d5f6a";
+
+		//Quando
+		when(idempotenciaTransacaoService.executar(eq(chave), any())).thenReturn(transacaoResponseDto);
+
+		// Então
+		String jsonRequest = GSON.toJson(transacaoRequestDto);
+		mockMvc.perform(post("/transacao/v1/pagar").header("Idempotency-Key", chave).contentType(MediaType.APPLICATION_JSON).content(jsonRequest))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.id", is(transacaoResponseDto.getId())))
+				.andExpect(jsonPath("$.descricao.nsu", is(transacaoResponseDto.getDescricao().getNsu())));
+		verify(transacaoDtoService, never()).pagar(any());
+	}
+
+	/**
+	 * Teste que testa o conflito do endpoint pagar quando o pagamento com a chave de idempotência está em andamento em outra instância
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoEhSolicitadaComChaveDeIdempotenciaEmAndamentoUmConflitoDeveSerRetornado() throws Exception {
+		//Dado
+		String chave = "8f14e45f-ceea-467f-a0e6-2e7b1c3d5f6a";
+
+		//Quando
+		when(idempotenciaTransacaoService.executar(eq(chave), any()))
+				.thenThrow(new ConflictException(ERRO_409_PAGAMENTO_COM_A_CHAVE_IDEMPOTENCIA_EM_ANDAMENTO));
+
+		// Então
+		String jsonRequest = GSON.toJson(transacaoRequestDto);
+		mockMvc.perform(post("/transacao/v1/pagar").header("Idempotency-Key", chave).contentType(MediaType.APPLICATION_JSON).content(jsonRequest))
+				.andExpect(status().isConflict()).andExpect(jsonPath("$.status", is(409)))
+				.andExpect(jsonPath("$.message", is(ERRO_409_PAGAMENTO_COM_A_CHAVE_IDEMPOTENCIA_EM_ANDAMENTO)))
+				.andExpect(result -> assertTrue(result.getResolvedException() instanceof ConflictException));
+	}
+
+	/**
+	 * Teste que testa o cabeçalho de consistência do endpoint pagar com a réplica habilitada
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoEhRealizadaComReplicaHabilitadaAPosicaoDaEscritaDeveSerRetornada() throws Exception {
+		//Dado
+		//transacaoRequestDto e transacaoResponseDto já foram instanciados no setUp
+		String posicao = "0/1A2B3C4D";
+
+		//Quando
+		when(transacaoDtoService.pagar(transacaoRequestDto)).thenReturn(transacaoResponseDto);
+		when(replicaService.obterPosicaoEscrita()).thenReturn(Optional.of(posicao));
+
+		// Então
+		String jsonRequest = GSON.toJson(transacaoRequestDto);
+		mockMvc.perform(post("/transacao/v1/pagar").contentType(MediaType.APPLICATION_JSON).content(jsonRequest))
+				.andExpect(status().isOk()).andExpect(header().string("Consistency-Token", posicao))
+				.andExpect(jsonPath("$.id", is(transacaoResponseDto.getId())));
+	}
+
+	/**
+	 * Teste que testa o retorno do endpoint pagar em lote
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmLoteDeTransacoesEhSolicitadoOResultadoDeCadaItemDeveSerRetornado() throws Exception {
+		//Dado
+		//transacaoRequestDto e transacaoResponseDto já foram instanciados no setUp
+		MessageErrorResponseDto erro = MessageErrorResponseDto.builder().status(400).error("Bad Request").message("O campo cartao é obrigatório").build();
+		List<ResultadoPagamentoLoteResponseDto> resultados = List.of(
+				ResultadoPagamentoLoteResponseDto.builder().indice(0).transacao(transacaoResponseDto).build(),
+				ResultadoPagamentoLoteResponseDto.builder().indice(1).erro(erro).build());
+
+		//Quando
+		when(transacaoDtoService.pagarLote(anyList())).thenReturn(resultados);
+
+		// Então
+		String jsonRequest = GSON.toJson(List.of(transacaoRequestDto, transacaoRequestDto));
+		mockMvc.perform(post("/transacao/v1/pagar/lote").contentType(MediaType.APPLICATION_JSON).content(jsonRequest))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.length()", is(2)))
+				.andExpect(jsonPath("$[0].indice", is(0)))
+				.andExpect(jsonPath("$[0].transacao.id", is(transacaoResponseDto.getId())))
+				.andExpect(jsonPath("$[1].indice", is(1)))
+				.andExpect(jsonPath("$[1].erro.status", is(400)))
+				.andExpect(jsonPath("$[1].erro.message", is(erro.getMessage())));
+	}
+
 	/**
 	 * Teste que testa uma exceção do endpoint buscar
 	 *
@@ -181,22 +317,177 @@ class TransacaoControllerTest {
 			transacoesResponseDto.add(transacaoResponseDto);
 		}
 
+		PaginaTransacaoResponseDto paginaResponseDto = PaginaTransacaoResponseDto.builder().transacoes(transacoesResponseDto).proximoCursor("10").build();
+
+		//Quando
+		when(transacaoDtoService.listarTransacoes(null, 10)).thenReturn(paginaResponseDto);
+
+		// Então
+		mockMvc.perform(get("/transacao/v1/listar").param("tamanho", "10").contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.proximoCursor", is(paginaResponseDto.getProximoCursor())))
+				.andExpect(jsonPath("$.transacoes[*].id", containsInAnyOrder(transacoesResponseDto.stream().map(TransacaoResponseDto::getId).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].cartao", containsInAnyOrder(transacoesResponseDto.stream().map(TransacaoResponseDto::getCartao).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].descricao.valor", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getValor()).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].descricao.dataHora", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getDataHora().format(FORMATTER_DATA_HORA_PT_BR)).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].descricao.estabelecimento", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getEstabelecimento()).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].descricao.nsu", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getNsu()).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].descricao.codigoAutorizacao", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getCodigoAutorizacao()).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].descricao.status", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getStatus().toString()).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].formaPagamento.tipo", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getFormaPagamento().getTipo().toString()).toArray())))
+				.andExpect(jsonPath("$.transacoes[*].formaPagamento.parcelas", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getFormaPagamento().getParcelas()).toArray())));
+	}
+
+	/**
+	 * Teste que testa o retorno do endpoint de transações do cartão
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesDeUmCartaoSaoBuscadasElasDevemSerRetornadas() throws Exception {
+		//Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		PaginaTransacaoResponseDto paginaResponseDto = PaginaTransacaoResponseDto.builder().transacoes(List.of(transacaoResponseDto)).build();
+
+		//Quando
+		when(transacaoDtoService.listarTransacoesCartao(transacaoResponseDto.getTokenCartao(), 5L, 50)).thenReturn(paginaResponseDto);
+
+		// Então
+		mockMvc.perform(get("/transacao/v1/cartao/" + transacaoResponseDto.getTokenCartao()).param("apos", "5").contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.transacoes[0].id", is(transacaoResponseDto.getId())))
+				.andExpect(jsonPath("$.transacoes[0].cartao", is(transacaoResponseDto.getCartao())))
+				.andExpect(jsonPath("$.transacoes[0].tokenCartao", is(transacaoResponseDto.getTokenCartao())));
+	}
+
+	/**
+	 * Teste que testa o retorno do endpoint pesquisar
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoPesquisadasOsFiltrosDevemSerRepassadosAoServico() throws Exception {
+		//Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		PesquisaTransacaoRequestDto pesquisa = PesquisaTransacaoRequestDto.builder().status(StatusTransacaoEnum.AUTORIZADO).estabelecimento("PetShop Mundo cão")
+				.dataHoraInicio(LocalDateTime.of(2021, 1, 1, 0, 0, 0)).dataHoraFim(LocalDateTime.of(2021, 12, 31, 23, 59, 59))
+				.tipo(TipoPagamentoTransacaoEnum.AVISTA).valorMinimo(new BigDecimal("10.00")).valorMaximo(new BigDecimal("1000.00"))
+				.ordenacao(OrdenacaoTransacaoEnum.VALOR).direcao(Sort.Direction.ASC).apos(5L).tamanho(10).build();
+		PaginaTransacaoResponseDto paginaResponseDto = PaginaTransacaoResponseDto.builder().transacoes(List.of(transacaoResponseDto)).build();
+
 		//Quando
-		when(transacaoDtoService.listarTransacoes()).thenReturn(transacoesResponseDto);
+		when(transacaoDtoService.pesquisarTransacoes(pesquisa)).thenReturn(paginaResponseDto);
 
 		// Então
-		String jsonResponse = GSON.toJson(transacoesResponseDto);
-		mockMvc.perform(get("/transacao/v1/listar").contentType(MediaType.APPLICATION_JSON).content(jsonResponse))
-				.andExpect(jsonPath("$[*].id", containsInAnyOrder(transacoesResponseDto.stream().map(TransacaoResponseDto::getId).toArray())))
-				.andExpect(jsonPath("$[*].cartao", containsInAnyOrder(transacoesResponseDto.stream().map(TransacaoResponseDto::getCartao).toArray())))
-				.andExpect(jsonPath("$[*].descricao.valor", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getValor()).toArray())))
-				.andExpect(jsonPath("$[*].descricao.dataHora", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getDataHora().format(FORMATTER_DATA_HORA_PT_BR)).toArray())))
-				.andExpect(jsonPath("$[*].descricao.estabelecimento", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getEstabelecimento()).toArray())))
-				.andExpect(jsonPath("$[*].descricao.nsu", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getNsu()).toArray())))
-				.andExpect(jsonPath("$[*].descricao.codigoAutorizacao", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getCodigoAutorizacao()).toArray())))
-				.andExpect(jsonPath("$[*].descricao.status", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getDescricao().getStatus().toString()).toArray())))
-				.andExpect(jsonPath("$[*].formaPagamento.tipo", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getFormaPagamento().getTipo().toString()).toArray())))
-				.andExpect(jsonPath("$[*].formaPagamento.parcelas", containsInAnyOrder(transacoesResponseDto.stream().map(transacaoResponseDto -> transacaoResponseDto.getFormaPagamento().getParcelas()).toArray())));
+		mockMvc.perform(get("/transacao/v1/pesquisar").param("status", "AUTORIZADO").param("estabelecimento", "PetShop Mundo cão")
+						.param("dataHoraInicio", "01/01/2021 00:00:00").param("dataHoraFim", "31/12/2021 23:59:59").param("tipo", "AVISTA")
+						.param("valorMinimo", "10.00").param("valorMaximo", "1000.00").param("ordenacao", "VALOR").param("direcao", "ASC")
+						.param("apos", "5").param("tamanho", "10"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.transacoes[0].id", is(transacaoResponseDto.getId())));
+	}
+
+	/**
+	 * Teste que testa o retorno do endpoint agregar
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoAgregadasOsGruposDevemSerRetornadosApenasComOsAgrupamentosSolicitados() throws Exception {
+		//Dado
+		AgregacaoTransacaoRequestDto agregacao = AgregacaoTransacaoRequestDto.builder()
+				.agrupamentos(List.of(AgrupamentoTransacaoEnum.STATUS, AgrupamentoTransacaoEnum.DIA))
+				.dataHoraInicio(LocalDateTime.of(2021, 10, 1, 0, 0, 0)).dataHoraFim(LocalDateTime.of(2021, 10, 31, 23, 59, 59)).build();
+		AgregacaoTransacaoResponseDto grupo = AgregacaoTransacaoResponseDto.builder().status(StatusTransacaoEnum.AUTORIZADO)
+				.periodo(LocalDateTime.of(2021, 10, 1, 0, 0, 0)).quantidade(2L).total("1001.10").media("500.55").minimo("500.55").maximo("500.55").build();
+
+		//Quando
+		when(transacaoDtoService.agregarTransacoes(agregacao)).thenReturn(List.of(grupo));
+
+		// Então
+		mockMvc.perform(get("/transacao/v1/agregar").param("agrupamentos", "STATUS", "DIA").param("dataHoraInicio", "01/10/2021 00:00:00")
+						.param("dataHoraFim", "31/10/2021 23:59:59"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$[0].status", is("AUTORIZADO")))
+				.andExpect(jsonPath("$[0].periodo", is("01/10/2021 00:00:00")))
+				.andExpect(jsonPath("$[0].quantidade", is(2)))
+				.andExpect(jsonPath("$[0].total", is("1001.10")))
+				.andExpect(jsonPath("$[0].estabelecimento").doesNotExist());
+	}
+
+	/**
+	 * Teste que testa o retorno do endpoint contadores
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOsContadoresSaoSolicitadosElesDevemSerRetornadosPorStatusEPorTipo() throws Exception {
+		//Dado
+		ContadorTransacaoResponseDto contador = ContadorTransacaoResponseDto.builder().quantidade(11L).total("1500.55").quantidadeUltimoMinuto(2L)
+				.totalUltimoMinuto("1001.10").build();
+		ContadoresTransacaoResponseDto contadores = ContadoresTransacaoResponseDto.builder()
+				.status(Map.of(StatusTransacaoEnum.AUTORIZADO, contador)).tipos(Map.of(TipoPagamentoTransacaoEnum.AVISTA, contador)).build();
+
+		//Quando
+		when(contadorTransacaoService.obterContadores()).thenReturn(contadores);
+
+		// Então
+		mockMvc.perform(get("/transacao/v1/contadores"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status.AUTORIZADO.quantidade", is(11)))
+				.andExpect(jsonPath("$.status.AUTORIZADO.quantidadeUltimoMinuto", is(2)))
+				.andExpect(jsonPath("$.tipos.AVISTA.total", is("1500.55")));
+	}
+
+	/**
+	 * Teste que testa o retorno do endpoint exportar
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoExportadasElasDevemSerRetornadasUmaPorLinha() throws Exception {
+		//Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		String linhas = GSON.toJson(transacaoResponseDto) + "\n" + GSON.toJson(transacaoResponseDto) + "\n";
+
+		//Quando
+		doAnswer(invocation -> {
+			invocation.<OutputStream>getArgument(0).write(linhas.getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).when(transacaoDtoService).exportarTransacoes(any(OutputStream.class));
+
+		// Então
+		MvcResult mvcResult = mockMvc.perform(get("/transacao/v1/exportar")).andExpect(request().asyncStarted()).andReturn();
+		mockMvc.perform(asyncDispatch(mvcResult)).andExpect(status().isOk())
+				.andExpect(content().contentType(APPLICATION_NDJSON))
+				.andExpect(content().bytes(linhas.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Teste que verifica que a exportação com um Consistency-Token que a réplica ainda não alcançou lê do primário, mesmo com o stream
+	 * escrito em outra thread, e que a thread do stream é liberada ao final
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoExportadasComUmTokenQueAReplicaNaoAlcancouOStreamDeveLerDoPrimario() throws Exception {
+		//Dado
+		MockMvc mockMvcComFiltro = MockMvcBuilders.standaloneSetup(transacaoController).addFilters(new LeituraReplicaFilter(replicaService)).build();
+		List<Boolean> primarioFixadoNoStream = new ArrayList<>();
+		List<Thread> threadsDoStream = new ArrayList<>();
+
+		//Quando
+		when(replicaService.replicaAlcancou("0/16B3748")).thenReturn(false);
+		doAnswer(invocation -> {
+			primarioFixadoNoStream.add(RoteamentoDataSource.primarioFixado());
+			threadsDoStream.add(Thread.currentThread());
+			return null;
+		}).when(transacaoDtoService).exportarTransacoes(any(OutputStream.class));
+
+		// Então
+		MvcResult mvcResult = mockMvcComFiltro.perform(get("/transacao/v1/exportar").header(CONSISTENCY_TOKEN, "0/16B3748"))
+				.andExpect(request().asyncStarted()).andReturn();
+		mockMvcComFiltro.perform(asyncDispatch(mvcResult)).andExpect(status().isOk());
+		assertThat(primarioFixadoNoStream, contains(true));
+		assertThat(threadsDoStream.get(0), is(not(Thread.currentThread())));
+		assertThat(RoteamentoDataSource.primarioFixado(), is(false));
 	}
 
 	/**
@@ -229,5 +520,29 @@ class TransacaoControllerTest {
 
 	}
 
-}
+	/**
+	 * Teste que testa o retorno do endpoint estornar em lote
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmEstornoEmLoteEhSolicitadoOResultadoDeCadaIdDeveSerRetornado() throws Exception {
+		//Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		MessageErrorResponseDto erro = MessageErrorResponseDto.builder().status(404).error("Not Found").message("Transação não encontrada").build();
+		List<ResultadoEstornoLoteResponseDto> resultados = List.of(ResultadoEstornoLoteResponseDto.builder().id(1L).transacao(transacaoResponseDto).build(),
+				ResultadoEstornoLoteResponseDto.builder().id(2L).erro(erro).build());
+
+		//Quando
+		when(transacaoDtoService.estornarLote(List.of(1L, 2L))).thenReturn(resultados);
 
+		// Então
+		mockMvc.perform(put("/transacao/v1/estornar/lote").contentType(MediaType.APPLICATION_JSON).content("[1,2]"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.length()", is(2)))
+				.andExpect(jsonPath("$[0].id", is(1)))
+				.andExpect(jsonPath("$[0].transacao.id", is(transacaoResponseDto.getId())))
+				.andExpect(jsonPath("$[1].id", is(2)))
+				.andExpect(jsonPath("$[1].erro.status", is(404)));
+	}
+
+}
@@ -25,6 +25,12 @@ public class TransacaoResponseDtoBuilder {
     @Builder.Default()
     private String cartao = "4444********1234";
 
+    @Builder.Default()
+    private String tokenCartao = "Jk0vG1mWq5tC3xYz8aBcDg";
+
+    @Builder.Default()
+    private String bandeira = "VISA";
+
     @Builder.Default()
     private DescricaoTransacaoResponseDto descricao = new DescricaoResponseDtoBuilder().obterDescricaoTransacaoResponseDto();
 
@@ -32,7 +38,7 @@ public class TransacaoResponseDtoBuilder {
     private FormaPagamentoTransacaoResponseDto formaPagamento = new FormaPagamentoResponseDtoBuilder().obterFormaPagamentoTransacaoResponseDto();
 
     public TransacaoResponseDto obterTransacaoResponseDto() {
-        return new TransacaoResponseDto(id, cartao, descricao, formaPagamento);
+        return new TransacaoResponseDto(id, cartao, tokenCartao, bandeira, descricao, formaPagamento);
     }
 
 }
@@ -36,8 +36,11 @@ public class DescricaoResponseDtoBuilder {
     @Builder.Default
     private StatusTransacaoEnum status = StatusTransacaoEnum.AUTORIZADO;
 
+    @Builder.Default
+    private String motivo = null;
+
     public DescricaoTransacaoResponseDto obterDescricaoTransacaoResponseDto() {
-        return new DescricaoTransacaoResponseDto(valor, dataHora, estabelecimento, nsu, autorizacao, status);
+        return new DescricaoTransacaoResponseDto(valor, dataHora, estabelecimento, nsu, autorizacao, status, motivo);
     }
 
 }
@@ -0,0 +1,86 @@
+package com.api.pagamento.infra;
+
+import com.api.pagamento.infra.id.GeradorIdTemporal;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no gerador de ids das transações
+ *
+ * @author Euller Henrique
+ */
+class GeradorIdTemporalTest {
+
+	private static final int THREADS = 4;
+	private static final int IDS_POR_THREAD = 50_000;
+
+	/**
+	 * Teste que verifica que ids gerados ao mesmo tempo por várias threads não se repetem, são crescentes em cada thread e carregam o nó e o
+	 * instante em que foram gerados
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoIdsSaoGeradosConcorrentementeNaoDevemSeRepetir() {
+		//Dado
+		GeradorIdTemporal geradorIdTemporal = new GeradorIdTemporal(37);
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		long inicio = System.currentTimeMillis();
+
+		//Quando
+		List<CompletableFuture<Boolean>> crescentes = IntStream.range(0, THREADS).mapToObj(thread -> CompletableFuture.supplyAsync(() -> {
+			boolean crescente = true;
+			long anterior = 0;
+			for (int i = 0; i < IDS_POR_THREAD; i++) {
+				long id = geradorIdTemporal.gerar();
+				crescente &= id > anterior;
+				anterior = id;
+				ids.add(id);
+			}
+			return crescente;
+		})).toList();
+		List<Boolean> resultados = new ArrayList<>();
+		crescentes.forEach(crescente -> resultados.add(crescente.join()));
+		long id = geradorIdTemporal.gerar();
+
+		//Então
+		assertThat(ids.size(), is(THREADS * IDS_POR_THREAD));
+		assertThat(resultados.stream().allMatch(Boolean::booleanValue), is(true));
+		assertThat(GeradorIdTemporal.obterNo(id), is(37));
+		assertThat(GeradorIdTemporal.obterMilissegundos(id) >= inicio, is(true));
+	}
+
+	/**
+	 * Teste que verifica que os ids de nós diferentes não se repetem e que o gerador não aceita um nó fora do intervalo
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoNosDiferentesGeramIdsNaoDevemSeRepetir() {
+		//Dado
+		GeradorIdTemporal no1 = new GeradorIdTemporal(1);
+		GeradorIdTemporal no2 = new GeradorIdTemporal(2);
+
+		//Quando
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		IntStream.range(0, 10_000).forEach(i -> {
+			ids.add(no1.gerar());
+			ids.add(no2.gerar());
+		});
+
+		//Então
+		assertThat(ids.size(), is(20_000));
+		assertThrows(IllegalArgumentException.class, () -> new GeradorIdTemporal(1024));
+	}
+
+}
@@ -0,0 +1,182 @@
+package com.api.pagamento.repository;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.transacao.arquivo.ArquivoTransacaoRepository;
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no repositório do arquivo de transações
+ *
+ * @author Euller Henrique
+ */
+class ArquivoTransacaoRepositoryTest {
+
+	private static final LocalDate MES = LocalDate.of(2021, 10, 1);
+
+	@TempDir
+	private Path diretorio;
+
+	/**
+	 * Teste que verifica que as transações arquivadas (em vários blocos) são encontradas pelo id após reabrir o arquivo, e que ids fora do
+	 * arquivo não são encontrados
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoArquivadasElasDevemSerEncontradasPeloIdAposReabrirOArquivo() throws IOException {
+		//Dado
+		List<Transacao> transacoes = LongStream.rangeClosed(1, 1000).map(i -> i * 3).mapToObj(this::obterTransacao).toList();
+		Path interrompido = Files.createFile(diretorio.resolve("transacao_2021_09_interrompido.tmp"));
+		Files.setLastModifiedTime(interrompido, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+		//Quando
+		long arquivadas = new ArquivoTransacaoRepository(diretorio).salvar(MES, transacoes.stream());
+		ArquivoTransacaoRepository arquivoReaberto = new ArquivoTransacaoRepository(diretorio);
+
+		//Então
+		assertThat(arquivadas, is(1000L));
+		for (Transacao transacao : transacoes) {
+			assertThat(arquivoReaberto.buscar(transacao.getId()).orElseThrow(), is(transacao));
+		}
+		assertThat(arquivoReaberto.buscar(0L).isPresent(), is(false));
+		assertThat(arquivoReaberto.buscar(1L).isPresent(), is(false));
+		assertThat(arquivoReaberto.buscar(1501L).isPresent(), is(false));
+		assertThat(arquivoReaberto.buscar(3001L).isPresent(), is(false));
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			assertThat(arquivos.map(arquivo -> arquivo.getFileName().toString()).toList(), is(List.of("transacao_2021_10_3_3000.seg")));
+		}
+	}
+
+	/**
+	 * Teste que verifica que uma instância encontra as transações arquivadas por outra instância no diretório compartilhado após verificar o
+	 * diretório, e que o segmento temporário recente de outra instância não é descartado
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOutraInstanciaArquivaTransacoesElasDevemSerEncontradasAposVerificarOsSegmentos() throws IOException {
+		//Dado
+		List<Transacao> transacoes = LongStream.rangeClosed(1, 10).mapToObj(this::obterTransacao).toList();
+		ArquivoTransacaoRepository primeiraInstancia = new ArquivoTransacaoRepository(diretorio);
+		ArquivoTransacaoRepository segundaInstancia = new ArquivoTransacaoRepository(diretorio);
+		Path emGravacao = Files.createFile(diretorio.resolve("transacao_2021_11_em_gravacao.tmp"));
+
+		//Quando
+		primeiraInstancia.salvar(MES, transacoes.stream());
+		boolean encontradaAntesDaVerificacao = segundaInstancia.buscar(5L).isPresent();
+		int abertos = segundaInstancia.verificarSegmentos();
+		new ArquivoTransacaoRepository(diretorio);
+
+		//Então
+		assertThat(encontradaAntesDaVerificacao, is(false));
+		assertThat(abertos, is(1));
+		assertThat(segundaInstancia.verificarSegmentos(), is(0));
+		assertThat(segundaInstancia.buscar(5L).orElseThrow(), is(transacoes.get(4)));
+		assertThat(Files.exists(emGravacao), is(true));
+	}
+
+	/**
+	 * Teste que verifica que um segmento gravado antes da tokenização é reescrito com as transações tokenizadas e que, depois de reescrito, não
+	 * é reescrito novamente
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmSegmentoAnteriorATokenizacaoEhReescritoAsTransacoesDevemFicarTokenizadas() throws IOException {
+		//Dado
+		CartaoTransacaoService cartaoTransacaoService = new CartaoTransacaoService("chave-do-teste-do-token-do-cartao");
+		List<Transacao> transacoes = LongStream.rangeClosed(1, 10).mapToObj(this::obterTransacao).peek(transacao -> {
+			transacao.setCartao("4444555566661234");
+			transacao.setTokenCartao(null);
+		}).toList();
+		new ArquivoTransacaoRepository(diretorio).salvar(MES, transacoes.stream());
+		Path segmento = diretorio.resolve("transacao_2021_10_1_10.seg");
+		try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+			canal.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 3), canal.size() - Integer.BYTES * 2);
+		}
+		ArquivoTransacaoRepository arquivo = new ArquivoTransacaoRepository(diretorio);
+		boolean cartaoAntesDaReescrita = arquivo.buscar(5L).orElseThrow().getCartao().equals("4444555566661234");
+
+		//Quando
+		int reescritos = arquivo.reescreverSegmentosAnteriores(cartaoTransacaoService::tokenizar);
+		Transacao transacaoReescrita = arquivo.buscar(5L).orElseThrow();
+		Transacao transacaoReaberta = new ArquivoTransacaoRepository(diretorio).buscar(5L).orElseThrow();
+
+		//Então
+		assertThat(cartaoAntesDaReescrita, is(true));
+		assertThat(reescritos, is(1));
+		assertThat(arquivo.reescreverSegmentosAnteriores(cartaoTransacaoService::tokenizar), is(0));
+		assertThat(transacaoReescrita.getCartao(), is("************1234"));
+		assertThat(transacaoReescrita.getTokenCartao(), is(cartaoTransacaoService.obterToken("4444555566661234")));
+		assertThat(transacaoReaberta, is(transacaoReescrita));
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			assertThat(arquivos.map(caminho -> caminho.getFileName().toString()).toList(), is(List.of("transacao_2021_10_1_10.seg")));
+		}
+	}
+
+	/**
+	 * Teste que verifica que transações fora da ordem do id são recusadas sem deixar nenhum segmento no diretório
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesForaDeOrdemSaoArquivadasNenhumSegmentoDeveSerCriado() throws IOException {
+		//Dado
+		ArquivoTransacaoRepository arquivo = new ArquivoTransacaoRepository(diretorio);
+
+		//Quando
+		assertThrows(IllegalArgumentException.class, () -> arquivo.salvar(MES, Stream.of(obterTransacao(2), obterTransacao(1))));
+
+		//Então
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			assertThat(arquivos.count(), is(0L));
+		}
+		assertThat(arquivo.buscar(2L).isPresent(), is(false));
+	}
+
+	/**
+	 * Método que cria uma transação com o id informado
+	 *
+	 * @param id
+	 * 		Id da transação
+	 * @return Transacao
+	 * 		Model com os dados da transação
+	 * @author Euller Henrique
+	 */
+	private Transacao obterTransacao(long id) {
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(BigDecimal.valueOf(id, 2)).dataHora(LocalDateTime.of(2021, 10, 1, 10, 10, 10).plusSeconds(id))
+				.estabelecimento("PetShop Mundo cão " + id % 7).nsu("123456789").codigoAutorizacao("987654321")
+				.status(id % 2 == 0 ? StatusTransacaoEnum.AUTORIZADO : StatusTransacaoEnum.NEGADO).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.PARCELADO_LOJA).parcelas((int) (id % 12) + 1)
+				.build();
+		return Transacao.builder().id(id).cartao("************1234").tokenCartao("Jk0vG1mWq5tC3xYz8aBcDg").bandeira("VISA").descricao(descricao)
+				.formaPagamento(formaPagamento).build();
+	}
+
+}
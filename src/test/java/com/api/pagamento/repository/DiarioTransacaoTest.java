@@ -0,0 +1,78 @@
+package com.api.pagamento.repository;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.transacao.diario.DiarioTransacao;
+import com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no diário de pagamentos
+ *
+ * @author Euller Henrique
+ */
+class DiarioTransacaoTest {
+
+	private static final DataSize TAMANHO_SEGMENTO = DataSize.ofBytes(RegistroLivroTransacao.TAMANHO * 100L);
+
+	@TempDir
+	private Path diretorio;
+
+	/**
+	 * Teste que verifica que os pagamentos do diário são lidos novamente ao reabri-lo, exceto os dos segmentos descartados, e que a numeração
+	 * dos registros continua após o descarte
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoODiarioEhReabertoApenasOsSegmentosNaoDescartadosDevemSerLidos() throws IOException {
+		//Dado
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			LongStream.rangeClosed(1, 150).forEach(id -> diario.adicionar(obterTransacao(id)));
+		}
+
+		//Quando
+		List<Long> idsAntesDoDescarte;
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			idsAntesDoDescarte = diario.ler(diario.primeiroRegistro(), 1000).stream().map(Transacao::getId).toList();
+			diario.descartarAte(120);
+		}
+		long primeiroRegistro;
+		List<Long> idsAposODescarte;
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			diario.adicionar(obterTransacao(151L));
+			primeiroRegistro = diario.primeiroRegistro();
+			idsAposODescarte = diario.ler(primeiroRegistro, 1000).stream().map(Transacao::getId).toList();
+		}
+
+		//Então
+		assertThat(idsAntesDoDescarte, is(LongStream.rangeClosed(1, 150).boxed().toList()));
+		assertThat(Files.exists(diretorio.resolve("diario_00000000.log")), is(false));
+		assertThat(primeiroRegistro, is(100L));
+		assertThat(idsAposODescarte, is(LongStream.rangeClosed(101, 151).boxed().toList()));
+	}
+
+	private Transacao obterTransacao(Long id) {
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(new BigDecimal("150.25")).dataHora(LocalDateTime.of(2021, 10, 1, 10, 10, 10))
+				.estabelecimento("PetShop Mundo cão").nsu("123456789").codigoAutorizacao("987654321").status(StatusTransacaoEnum.AUTORIZADO).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.AVISTA).parcelas(1).build();
+		return Transacao.builder().id(id).cartao("4444********1234").descricao(descricao).formaPagamento(formaPagamento).build();
+	}
+
+}
@@ -0,0 +1,227 @@
+package com.api.pagamento.repository;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.nsu.livro.BlocoNsuLivroRepository;
+import com.api.pagamento.domain.repository.transacao.livro.LivroTransacao;
+import com.api.pagamento.domain.repository.transacao.livro.RegistroLivroTransacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no livro de transações
+ *
+ * @author Euller Henrique
+ */
+class LivroTransacaoTest {
+
+	private static final DataSize TAMANHO_SEGMENTO = DataSize.ofBytes(RegistroLivroTransacao.TAMANHO * 100L);
+
+	@TempDir
+	private Path diretorio;
+
+	/**
+	 * Teste que verifica que pagamentos, estornos e remoções (em vários segmentos) são recuperados ao reabrir o livro, tanto pelo snapshot
+	 * quanto lendo o livro desde o início
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOLivroEhReabertoAsTransacoesDevemSerRecuperadasComESemSnapshot() throws IOException {
+		//Dado
+		List<Transacao> esperadas;
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			livro.salvar(LongStream.rangeClosed(1, 150).mapToObj(i -> obterTransacao(null)).toList());
+			IntStream.rangeClosed(151, 250).forEach(i -> livro.salvar(List.of(obterTransacao(null))));
+			livro.alterarStatus(LongStream.rangeClosed(1, 10).boxed().toList(), StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO);
+			livro.remover(List.of(20L, 400L));
+			esperadas = livro.percorrer(0).toList();
+		}
+
+		//Quando
+		List<Transacao> recuperadasPeloSnapshot;
+		long quantidadePeloSnapshot;
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			recuperadasPeloSnapshot = livro.percorrer(0).toList();
+			quantidadePeloSnapshot = livro.quantidade();
+		}
+		Files.delete(diretorio.resolve("livro.snapshot"));
+		List<Transacao> recuperadasPeloLivro;
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			recuperadasPeloLivro = livro.percorrer(0).toList();
+		}
+
+		//Então
+		assertThat(esperadas.size(), is(249));
+		assertThat(esperadas.get(4).getDescricao().getStatus(), is(StatusTransacaoEnum.CANCELADO));
+		assertThat(esperadas.stream().anyMatch(transacao -> transacao.getId() == 20L), is(false));
+		assertThat(recuperadasPeloSnapshot, is(esperadas));
+		assertThat(quantidadePeloSnapshot, is(249L));
+		assertThat(recuperadasPeloLivro, is(esperadas));
+	}
+
+	/**
+	 * Teste que verifica que um registro incompleto (escrita interrompida) marca o fim do livro e que restos de escritas após ele são apagados,
+	 * sem reaparecer depois que novos registros são escritos por cima
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOUltimoRegistroEstaIncompletoOLivroDeveTerminarNoRegistroAnterior() throws IOException {
+		//Dado
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			livro.salvar(LongStream.rangeClosed(1, 5).mapToObj(i -> obterTransacao(null)).toList());
+		}
+		Files.delete(diretorio.resolve("livro.snapshot"));
+		ByteBuffer resto = ByteBuffer.allocate(RegistroLivroTransacao.TAMANHO);
+		RegistroLivroTransacao.escreverTransacao(resto, 0, 99, obterTransacao(99L));
+		try (FileChannel segmento = FileChannel.open(diretorio.resolve("livro_00000000.log"), StandardOpenOption.WRITE)) {
+			segmento.write(ByteBuffer.wrap(new byte[] { 1 }), 4L * RegistroLivroTransacao.TAMANHO + 300);
+			segmento.write(resto, 6L * RegistroLivroTransacao.TAMANHO);
+		}
+
+		//Quando
+		long quantidadeRecuperada;
+		boolean quintaRecuperada;
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			quantidadeRecuperada = livro.quantidade();
+			quintaRecuperada = livro.obter(5).isPresent();
+			livro.salvar(List.of(obterTransacao(null), obterTransacao(null)));
+		}
+		Files.delete(diretorio.resolve("livro.snapshot"));
+		List<Long> ids;
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			ids = livro.percorrer(0).map(Transacao::getId).toList();
+		}
+
+		//Então
+		assertThat(quantidadeRecuperada, is(4L));
+		assertThat(quintaRecuperada, is(false));
+		assertThat(ids, is(List.of(1L, 2L, 3L, 4L, 5L, 6L)));
+	}
+
+	/**
+	 * Teste que verifica que pagamentos simultâneos (confirmados em grupo pela thread de gravação) recebem ids distintos e estão no livro
+	 * ao reabri-lo
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoPagamentosSimultaneosSaoSalvosTodosDevemSerGravadosComIdsDistintos() throws Exception {
+		//Dado
+		List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+
+		//Quando
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			ExecutorService executor = Executors.newFixedThreadPool(8);
+			try {
+				List<Callable<Void>> tarefas = IntStream.range(0, 8).mapToObj(i -> (Callable<Void>) () -> {
+					for (int j = 0; j < 100; j++) {
+						Transacao transacao = obterTransacao(null);
+						livro.salvar(List.of(transacao));
+						ids.add(transacao.getId());
+					}
+					return null;
+				}).toList();
+				for (Future<Void> tarefa : executor.invokeAll(tarefas)) {
+					tarefa.get();
+				}
+			} finally {
+				executor.shutdown();
+			}
+		}
+		long quantidadeRecuperada;
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			quantidadeRecuperada = livro.percorrer(0).count();
+		}
+
+		//Então
+		assertThat(ids.stream().sorted().toList(), is(LongStream.rangeClosed(1, 800).boxed().toList()));
+		assertThat(quantidadeRecuperada, is(800L));
+	}
+
+	/**
+	 * Teste que verifica que um valor com mais de duas casas decimais é gravado no livro arredondado para centavos
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOValorTemMaisDeDuasCasasDecimaisEleDeveSerGravadoArredondado() {
+		//Dado
+		Transacao transacao = obterTransacao(1L);
+		transacao.getDescricao().setValor(new BigDecimal("100.125"));
+		ByteBuffer registro = ByteBuffer.allocate(RegistroLivroTransacao.TAMANHO);
+
+		//Quando
+		RegistroLivroTransacao.escreverTransacao(registro, 0, 1, transacao);
+		Transacao transacaoLida = RegistroLivroTransacao.lerTransacao(registro, 0);
+
+		//Então
+		assertThat(transacaoLida.getDescricao().getValor(), is(new BigDecimal("100.13")));
+	}
+
+	/**
+	 * Teste que verifica que, ao reabrir o livro, os blocos de nsus continuam após o bloco do maior nsu gravado, portanto os nsus dos
+	 * pagamentos já gravados não são reutilizados
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOLivroEhReabertoOsBlocosDeNsusDevemContinuarAposOMaiorNsuGravado() throws IOException {
+		//Dado
+		Transacao transacaoComMaiorNsu = obterTransacao(null);
+		transacaoComMaiorNsu.getDescricao().setNsu("123459999");
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			livro.salvar(List.of(obterTransacao(null), transacaoComMaiorNsu, obterTransacao(null)));
+			livro.remover(List.of(transacaoComMaiorNsu.getId()));
+		}
+
+		//Quando
+		long blocoLivroVazio;
+		try (LivroTransacao livro = new LivroTransacao(diretorio.resolve("vazio"), TAMANHO_SEGMENTO)) {
+			blocoLivroVazio = new BlocoNsuLivroRepository(livro).reservarBloco();
+		}
+		long primeiroBloco;
+		try (LivroTransacao livro = new LivroTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			primeiroBloco = new BlocoNsuLivroRepository(livro).reservarBloco();
+		}
+
+		//Então
+		assertThat(blocoLivroVazio, is(0L));
+		assertThat(primeiroBloco, is(23460L));
+	}
+
+	private Transacao obterTransacao(Long id) {
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(new BigDecimal("150.25")).dataHora(LocalDateTime.of(2021, 10, 1, 10, 10, 10))
+				.estabelecimento("PetShop Mundo cão").nsu("123456789").codigoAutorizacao("987654321").status(StatusTransacaoEnum.AUTORIZADO).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.PARCELADO_LOJA).parcelas(3).build();
+		return Transacao.builder().id(id).cartao("************1234").tokenCartao("Jk0vG1mWq5tC3xYz8aBcDg").bandeira("VISA").descricao(descricao)
+				.formaPagamento(formaPagamento).build();
+	}
+
+}
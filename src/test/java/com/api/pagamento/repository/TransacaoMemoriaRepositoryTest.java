@@ -0,0 +1,190 @@
+package com.api.pagamento.repository;
+
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.pesquisa.OrdenacaoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.transacao.memoria.ArmazenamentoMemoriaTransacao;
+import com.api.pagamento.domain.repository.transacao.memoria.TransacaoMemoriaRepository;
+import com.api.pagamento.domain.specification.transacao.TransacaoSpecification;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no repositório das transações em memória
+ *
+ * @author Euller Henrique
+ */
+class TransacaoMemoriaRepositoryTest {
+
+	private final TransacaoMemoriaRepository transacaoRepository = new TransacaoMemoriaRepository(new ArmazenamentoMemoriaTransacao());
+
+	/**
+	 * Teste que verifica que os ids são sequenciais (inclusive entre blocos do mapa), que a listagem por cursor segue a ordem do id e que
+	 * alterar uma transação lida não altera o repositório
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoSalvasOsIdsDevemSerSequenciaisEAsLeiturasDevemSerCopias() {
+		//Dado
+		List<Transacao> transacoes = IntStream.range(0, 5000).mapToObj(i -> obterTransacao(BigDecimal.TEN, StatusTransacaoEnum.AUTORIZADO)).toList();
+
+		//Quando
+		List<Long> ids = transacaoRepository.saveAll(transacoes).stream().map(Transacao::getId).toList();
+		Transacao transacaoLida = transacaoRepository.findById(4096L).orElseThrow();
+		transacaoLida.getDescricao().setStatus(StatusTransacaoEnum.CANCELADO);
+
+		//Então
+		assertThat(ids, is(IntStream.rangeClosed(1, 5000).mapToObj(Long::valueOf).toList()));
+		assertThat(transacaoRepository.count(), is(5000L));
+		assertThat(transacaoRepository.findByIdGreaterThanOrderByIdAsc(4094L, Limit.of(4)).stream().map(Transacao::getId).toList(),
+				is(List.of(4095L, 4096L, 4097L, 4098L)));
+		assertThat(transacaoRepository.findById(4096L).orElseThrow().getDescricao().getStatus(), is(StatusTransacaoEnum.AUTORIZADO));
+	}
+
+	/**
+	 * Teste que verifica que, entre várias alterações de status concorrentes da mesma transação, apenas uma é feita
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOStatusEhAlteradoConcorrentementeApenasUmaAlteracaoDeveSerFeita() throws Exception {
+		//Dado
+		Long id = transacaoRepository.save(obterTransacao(BigDecimal.TEN, StatusTransacaoEnum.AUTORIZADO)).getId();
+		Callable<Boolean> estorno = () -> transacaoRepository.atualizarStatus(id, StatusTransacaoEnum.AUTORIZADO.name(),
+				StatusTransacaoEnum.CANCELADO.name()).isPresent();
+
+		//Quando
+		List<Boolean> resultados = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (Future<Boolean> resultado : executor.invokeAll(IntStream.range(0, 8).mapToObj(i -> estorno).toList())) {
+				resultados.add(resultado.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		//Então
+		assertThat(resultados.stream().filter(Boolean::booleanValue).count(), is(1L));
+		assertThat(transacaoRepository.findById(id).orElseThrow().getDescricao().getStatus(), is(StatusTransacaoEnum.CANCELADO));
+	}
+
+	/**
+	 * Teste que verifica que a pesquisa em memória segue os filtros, a ordenação (com o id como desempate) e o cursor, percorrendo todas as
+	 * páginas sem repetir nem pular transações
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoPesquisadasEmMemoriaAsPaginasDevemSeguirOsFiltrosAOrdenacaoEOCursor() {
+		//Dado
+		IntStream.range(0, 30).forEach(i -> transacaoRepository.save(
+				obterTransacao(BigDecimal.valueOf(i % 4 + 1), i % 3 == 0 ? StatusTransacaoEnum.NEGADO : StatusTransacaoEnum.AUTORIZADO)));
+		List<Long> esperados = transacaoRepository.findAll().stream().filter(t -> t.getDescricao().getStatus() == StatusTransacaoEnum.AUTORIZADO)
+				.sorted(Comparator.comparing((Transacao t) -> t.getDescricao().getValor()).thenComparing(Transacao::getId).reversed())
+				.map(Transacao::getId).toList();
+
+		//Quando
+		List<Long> pesquisados = new ArrayList<>();
+		Long apos = null;
+		do {
+			PesquisaTransacaoRequestDto pesquisa = PesquisaTransacaoRequestDto.builder().status(StatusTransacaoEnum.AUTORIZADO)
+					.ordenacao(OrdenacaoTransacaoEnum.VALOR).direcao(Sort.Direction.DESC).apos(apos).build();
+			List<Transacao> pagina = transacaoRepository.findBy(TransacaoSpecification.pesquisar(pesquisa),
+					q -> q.sortBy(TransacaoSpecification.ordenar(pesquisa)).limit(3).all());
+			pagina.forEach(transacao -> pesquisados.add(transacao.getId()));
+			apos = pagina.size() < 3 ? null : pagina.get(pagina.size() - 1).getId();
+		} while (apos != null);
+
+		//Então
+		assertThat(pesquisados, is(esperados));
+	}
+
+	/**
+	 * Teste que verifica que as páginas das transações de um cartão trazem apenas as transações com o token do cartão, na ordem do id
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesDeUmCartaoSaoListadasAsPaginasDevemTerApenasAsTransacoesDoCartao() {
+		//Dado
+		IntStream.range(0, 20).forEach(i -> {
+			Transacao transacao = obterTransacao(BigDecimal.TEN, StatusTransacaoEnum.AUTORIZADO);
+			transacao.setTokenCartao(i % 3 == 0 ? "Jk0vG1mWq5tC3xYz8aBcDg" : "QkFEQ0FSVEFPMTIzNDU2Nw");
+			transacaoRepository.save(transacao);
+		});
+		List<Long> esperados = transacaoRepository.findAll().stream().filter(t -> t.getTokenCartao().equals("Jk0vG1mWq5tC3xYz8aBcDg"))
+				.map(Transacao::getId).toList();
+
+		//Quando
+		List<Long> listados = new ArrayList<>();
+		List<Transacao> pagina;
+		long apos = 0;
+		do {
+			pagina = transacaoRepository.findByTokenCartaoAndIdGreaterThanOrderByIdAsc("Jk0vG1mWq5tC3xYz8aBcDg", apos, Limit.of(3));
+			pagina.forEach(transacao -> listados.add(transacao.getId()));
+			apos = pagina.isEmpty() ? apos : pagina.get(pagina.size() - 1).getId();
+		} while (pagina.size() == 3);
+
+		//Então
+		assertThat(esperados.size(), is(7));
+		assertThat(listados, is(esperados));
+	}
+
+	/**
+	 * Teste que verifica que a agregação em memória devolve os mesmos grupos que o group by do banco, ordenados pelos campos do agrupamento
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoAgregadasEmMemoriaOsGruposDevemSerOrdenadosPelosCamposDoAgrupamento() {
+		//Dado
+		transacaoRepository.save(obterTransacao(new BigDecimal("10.00"), StatusTransacaoEnum.NEGADO));
+		transacaoRepository.save(obterTransacao(new BigDecimal("20.00"), StatusTransacaoEnum.AUTORIZADO));
+		transacaoRepository.save(obterTransacao(new BigDecimal("25.55"), StatusTransacaoEnum.AUTORIZADO));
+
+		//Quando
+		List<AgregacaoTransacao> grupos = transacaoRepository.agregar(List.of(AgrupamentoTransacaoEnum.STATUS), null, null, 10);
+
+		//Então
+		assertThat(grupos.size(), is(2));
+		assertThat(grupos.get(0).getStatus(), is(StatusTransacaoEnum.AUTORIZADO));
+		assertThat(grupos.get(0).getQuantidade(), is(2L));
+		assertThat(grupos.get(0).getTotal(), is(new BigDecimal("45.55")));
+		assertThat(grupos.get(0).getMedia(), is(new BigDecimal("22.78")));
+		assertThat(grupos.get(0).getMinimo(), is(new BigDecimal("20.00")));
+		assertThat(grupos.get(0).getMaximo(), is(new BigDecimal("25.55")));
+		assertThat(grupos.get(1).getStatus(), is(StatusTransacaoEnum.NEGADO));
+		assertThat(grupos.get(1).getQuantidade(), is(1L));
+	}
+
+	private Transacao obterTransacao(BigDecimal valor, StatusTransacaoEnum status) {
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(valor).dataHora(LocalDateTime.of(2021, 10, 1, 10, 10, 10))
+				.estabelecimento("PetShop Mundo cão").nsu("123456789").codigoAutorizacao("987654321").status(status).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.AVISTA).parcelas(1).build();
+		return Transacao.builder().cartao("4444********1234").descricao(descricao).formaPagamento(formaPagamento).build();
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.dto.builder.request.transacao.TransacaoRequestDtoBuilder;
+import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.service.autorizacao.transacao.AutorizacaoTransacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants.METRICA_REGRA_AUTORIZACAO;
+import static com.api.pagamento.domain.constant.autorizacao.AutorizacaoConstants.TAG_REGRA_AUTORIZACAO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no serviço de autorização dos pagamentos
+ *
+ * @author Euller Henrique
+ */
+class AutorizacaoTransacaoServiceTest {
+
+	private static final String REGRAS = """
+			{
+			  "valoresMaximos": { "AVISTA": 1000.00 },
+			  "parcelasMaximas": { "PARCELADO_LOJA": 6 },
+			  "estabelecimentosBloqueados": [ "Loja Bloqueada" ],
+			  "prefixosCartaoBloqueados": [ "5555", "41" ]
+			}""";
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@TempDir
+	private Path diretorio;
+
+	/**
+	 * Teste que verifica que cada regra nega, com o seu nome como motivo, os pagamentos que não a atendem, que os demais não têm motivo de
+	 * negação e que cada negação é contada na sua regra. Os autorizados são contados apenas quando a autorização é registrada
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmPagamentoNaoAtendeUmaRegraEleDeveSerNegado() throws IOException {
+		//Dado
+		AutorizacaoTransacaoService autorizacaoTransacaoService = criarServico(REGRAS);
+
+		//Quando
+		String valido = autorizacaoTransacaoService.obterMotivoNegacao(obterRequest("4444********1234", "500.00", "PetShop Mundo cão", TipoPagamentoTransacaoEnum.AVISTA, 1));
+		String estabelecimento = autorizacaoTransacaoService.obterMotivoNegacao(obterRequest("4444********1234", "500.00", " loja bloqueada ", TipoPagamentoTransacaoEnum.AVISTA, 1));
+		String prefixo = autorizacaoTransacaoService.obterMotivoNegacao(obterRequest("5555********1234", "500.00", "PetShop Mundo cão", TipoPagamentoTransacaoEnum.AVISTA, 1));
+		String prefixoCurto = autorizacaoTransacaoService.obterMotivoNegacao(obterRequest("4111********1234", "500.00", "PetShop Mundo cão", TipoPagamentoTransacaoEnum.AVISTA, 1));
+		String valor = autorizacaoTransacaoService.obterMotivoNegacao(obterRequest("4444********1234", "1000.01", "PetShop Mundo cão", TipoPagamentoTransacaoEnum.AVISTA, 1));
+		String valorSemLimite = autorizacaoTransacaoService.obterMotivoNegacao(obterRequest("4444********1234", "99999.00", "PetShop Mundo cão", TipoPagamentoTransacaoEnum.PARCELADO_EMISSOR, 30));
+		String parcelas = autorizacaoTransacaoService.obterMotivoNegacao(obterRequest("4444********1234", "500.00", "PetShop Mundo cão", TipoPagamentoTransacaoEnum.PARCELADO_LOJA, 7));
+		double autorizadosAntesDoRegistro = obterContagem("autorizado");
+		autorizacaoTransacaoService.registrarAutorizacao();
+
+		//Então
+		assertThat(valido, is(nullValue()));
+		assertThat(estabelecimento, is("estabelecimento-bloqueado"));
+		assertThat(prefixo, is("prefixo-cartao-bloqueado"));
+		assertThat(prefixoCurto, is("prefixo-cartao-bloqueado"));
+		assertThat(valor, is("valor-maximo-AVISTA"));
+		assertThat(valorSemLimite, is(nullValue()));
+		assertThat(parcelas, is("parcelas-maximas-PARCELADO_LOJA"));
+		assertThat(autorizadosAntesDoRegistro, is(0.0));
+		assertThat(obterContagem("autorizado"), is(1.0));
+		assertThat(obterContagem("estabelecimento-bloqueado"), is(1.0));
+		assertThat(obterContagem("prefixo-cartao-bloqueado"), is(2.0));
+		assertThat(obterContagem("valor-maximo-AVISTA"), is(1.0));
+		assertThat(obterContagem("parcelas-maximas-PARCELADO_LOJA"), is(1.0));
+	}
+
+	/**
+	 * Teste que verifica que as regras são substituídas quando o arquivo é alterado, e mantidas quando o novo arquivo é inválido
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOArquivoDeRegrasEhAlteradoAsNovasRegrasDevemSerUsadas() throws IOException {
+		//Dado
+		AutorizacaoTransacaoService autorizacaoTransacaoService = criarServico(REGRAS);
+		TransacaoRequestDto request = obterRequest("4444********1234", "2000.00", "PetShop Mundo cão", TipoPagamentoTransacaoEnum.AVISTA, 1);
+		String antes = autorizacaoTransacaoService.obterMotivoNegacao(request);
+
+		//Quando
+		boolean semAlteracao = autorizacaoTransacaoService.recarregarRegras();
+		alterarArquivo(REGRAS.replace("1000.00", "5000.00"), 1);
+		boolean recarregado = autorizacaoTransacaoService.recarregarRegras();
+		String depois = autorizacaoTransacaoService.obterMotivoNegacao(request);
+		alterarArquivo("{ \"prefixosCartaoBloqueados\": [ \"44x\" ] }", 2);
+		boolean invalidoRecarregado;
+		try {
+			invalidoRecarregado = autorizacaoTransacaoService.recarregarRegras();
+		} catch (IllegalArgumentException ex) {
+			invalidoRecarregado = false;
+		}
+		String aposArquivoInvalido = autorizacaoTransacaoService.obterMotivoNegacao(request);
+
+		//Então
+		assertThat(antes, is("valor-maximo-AVISTA"));
+		assertThat(semAlteracao, is(false));
+		assertThat(recarregado, is(true));
+		assertThat(depois, is(nullValue()));
+		assertThat(invalidoRecarregado, is(false));
+		assertThat(aposArquivoInvalido, is(nullValue()));
+	}
+
+	private AutorizacaoTransacaoService criarServico(String regras) throws IOException {
+		alterarArquivo(regras, 0);
+		return new AutorizacaoTransacaoService(new FileSystemResource(diretorio.resolve("regras.json")), new ObjectMapper(), meterRegistry);
+	}
+
+	private void alterarArquivo(String regras, int versao) throws IOException {
+		Path arquivo = diretorio.resolve("regras.json");
+		Files.writeString(arquivo, regras);
+		Files.setLastModifiedTime(arquivo, FileTime.from(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(versao)));
+	}
+
+	private double obterContagem(String regra) {
+		return meterRegistry.get(METRICA_REGRA_AUTORIZACAO).tag(TAG_REGRA_AUTORIZACAO, regra).counter().count();
+	}
+
+	private TransacaoRequestDto obterRequest(String cartao, String valor, String estabelecimento, TipoPagamentoTransacaoEnum tipo, int parcelas) {
+		TransacaoRequestDto request = TransacaoRequestDtoBuilder.builder().build().obterTransacaoRequestDto();
+		request.setCartao(cartao);
+		request.getDescricao().setValor(new BigDecimal(valor));
+		request.getDescricao().setEstabelecimento(estabelecimento);
+		request.getFormaPagamento().setTipo(tipo);
+		request.getFormaPagamento().setParcelas(parcelas);
+		return request;
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.service.bin.transacao.BinTransacaoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários na obtenção da bandeira e do emissor do cartão pela tabela de BINs
+ *
+ * @author Euller Henrique
+ */
+class BinTransacaoServiceTest {
+
+	private static final String TABELA = """
+			inicio,fim,bandeira,emissor
+			510000,559999,MASTERCARD,
+			400000,449999,VISA,
+			45000000,45000049,VISA,Banco Oito Dígitos
+			450001,499999,VISA
+			""";
+
+	@TempDir
+	private Path diretorio;
+
+	/**
+	 * Teste que verifica que o cartão é localizado pela faixa do seu BIN, de 6 ou de 8 dígitos, e que um cartão mascarado só é localizado
+	 * quando os seus dígitos conhecidos não pertencem a mais de uma faixa
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOBinDoCartaoEstaEmUmaFaixaABandeiraDeveSerObtida() throws IOException {
+		//Dado
+		BinTransacaoService binTransacaoService = criarServico(TABELA);
+
+		//Quando
+		String inicioFaixa = binTransacaoService.obterBandeira("4000000000000000");
+		String fimFaixa = binTransacaoService.obterBandeira("5599999999999999");
+		String oitoDigitos = binTransacaoService.obterBandeira("4500001012345678");
+		String emissorOitoDigitos = binTransacaoService.obterEmissor("4500001012345678");
+		String emissorNaoInformado = binTransacaoService.obterEmissor("4100000000000000");
+		String foraDaTabela = binTransacaoService.obterBandeira("4500006012345678");
+		String mascarado = binTransacaoService.obterBandeira("4444********1234");
+		String mascaradoEmDuasFaixas = binTransacaoService.obterBandeira("4500********1234");
+		String semDigitos = binTransacaoService.obterBandeira("****************");
+
+		//Então
+		assertThat(inicioFaixa, is("VISA"));
+		assertThat(fimFaixa, is("MASTERCARD"));
+		assertThat(oitoDigitos, is("VISA"));
+		assertThat(emissorOitoDigitos, is("Banco Oito Dígitos"));
+		assertThat(emissorNaoInformado, is(nullValue()));
+		assertThat(foraDaTabela, is(nullValue()));
+		assertThat(mascarado, is("VISA"));
+		assertThat(mascaradoEmDuasFaixas, is(nullValue()));
+		assertThat(semDigitos, is(nullValue()));
+	}
+
+	/**
+	 * Teste que verifica que a tabela é substituída quando o arquivo é alterado, e mantida quando o novo arquivo tem faixas sobrepostas
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOArquivoDaTabelaEhAlteradoANovaTabelaDeveSerUsada() throws IOException {
+		//Dado
+		BinTransacaoService binTransacaoService = criarServico(TABELA);
+		String antes = binTransacaoService.obterBandeira("6062825012345678");
+
+		//Quando
+		boolean semAlteracao = binTransacaoService.recarregarTabela();
+		alterarArquivo(TABELA + "606282,606282,HIPERCARD\n", 1);
+		boolean recarregado = binTransacaoService.recarregarTabela();
+		String depois = binTransacaoService.obterBandeira("6062825012345678");
+		alterarArquivo(TABELA + "606282,606282,HIPERCARD\n606200,606299,OUTRA\n", 2);
+		boolean invalidoRecarregado;
+		try {
+			invalidoRecarregado = binTransacaoService.recarregarTabela();
+		} catch (IllegalArgumentException ex) {
+			invalidoRecarregado = false;
+		}
+		String aposArquivoInvalido = binTransacaoService.obterBandeira("6062825012345678");
+
+		//Então
+		assertThat(antes, is(nullValue()));
+		assertThat(semAlteracao, is(false));
+		assertThat(recarregado, is(true));
+		assertThat(depois, is("HIPERCARD"));
+		assertThat(invalidoRecarregado, is(false));
+		assertThat(aposArquivoInvalido, is("HIPERCARD"));
+	}
+
+	private BinTransacaoService criarServico(String tabela) throws IOException {
+		alterarArquivo(tabela, 0);
+		return new BinTransacaoService(new FileSystemResource(diretorio.resolve("tabela.csv")));
+	}
+
+	private void alterarArquivo(String tabela, int versao) throws IOException {
+		Path arquivo = diretorio.resolve("tabela.csv");
+		Files.writeString(arquivo, tabela);
+		Files.setLastModifiedTime(arquivo, FileTime.from(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(versao)));
+	}
+
+}
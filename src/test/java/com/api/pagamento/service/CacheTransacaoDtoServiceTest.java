@@ -0,0 +1,195 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.converter.Converter;
+import com.api.pagamento.domain.dto.builder.request.transacao.TransacaoRequestDtoBuilder;
+import com.api.pagamento.domain.dto.builder.response.transacao.TransacaoResponseDtoBuilder;
+import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.exception.handler.util.ExceptionUtil;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.infra.config.cache.CacheConfig;
+import com.api.pagamento.service.autorizacao.transacao.AutorizacaoTransacaoService;
+import com.api.pagamento.service.bin.transacao.BinTransacaoService;
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import com.api.pagamento.service.contador.transacao.ContadorTransacaoService;
+import com.api.pagamento.service.dto.transacao.TransacaoDtoService;
+import com.api.pagamento.service.model.transacao.TransacaoModelService;
+import com.api.pagamento.service.util.transacao.TransacaoUtilService;
+import com.api.pagamento.service.validator.transacao.TransacaoValidatorService;
+import com.api.pagamento.service.velocidade.transacao.VelocidadeTransacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static com.api.pagamento.domain.constant.cache.CacheConstants.CACHE_TRANSACAO;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de teste responsável por verificar o cache das transações do serviço da transação (leitura, pagamento e estorno)
+ * <p>
+ * O serviço é criado pelo Spring, com o gerenciador de caches da aplicação, para que as anotações de cache sejam aplicadas
+ * </p>
+ *
+ * @author Euller Henrique
+ */
+@SpringJUnitConfig(classes = { TransacaoDtoService.class, CacheConfig.class, CacheTransacaoDtoServiceTest.ConversaoConfig.class })
+@TestPropertySource(properties = { "api.cache.transacao.tamanho-maximo=100", "api.cache.transacao.expiracao=1m",
+		"api.cache.agregacao.tamanho-maximo=100", "api.cache.agregacao.expiracao=1m" })
+class CacheTransacaoDtoServiceTest {
+
+	@Autowired
+	private TransacaoDtoService transacaoDtoService;
+	@Autowired
+	private CacheManager cacheManager;
+
+	@MockBean
+	private TransacaoModelService transacaoModelService;
+	@MockBean
+	private TransacaoUtilService transacaoUtilService;
+	@MockBean
+	private TransacaoValidatorService transacaoValidatorService;
+	@MockBean
+	private Converter converter;
+	@MockBean
+	private ObjectMapper objectMapper;
+	@MockBean
+	private ExceptionUtil exceptionUtil;
+	@MockBean
+	private ContadorTransacaoService contadorTransacaoService;
+	@MockBean
+	private AutorizacaoTransacaoService autorizacaoTransacaoService;
+	@MockBean
+	private BinTransacaoService binTransacaoService;
+	@MockBean
+	private VelocidadeTransacaoService velocidadeTransacaoService;
+	@MockBean
+	private CartaoTransacaoService cartaoTransacaoService;
+
+	/**
+	 * Método que limpa o cache das transações a cada teste
+	 *
+	 * @author Euller Henrique
+	 */
+	@BeforeEach
+	void setUp() {
+		cacheManager.getCache(CACHE_TRANSACAO).clear();
+	}
+
+	/**
+	 * Teste que verifica que a segunda busca da mesma transação é respondida pelo cache, sem consultar o banco
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoEhBuscadaDuasVezesASegundaBuscaDeveSerRespondidaPeloCache() {
+		//Dado
+		Transacao transacao = Transacao.builder().id(1L).build();
+		TransacaoResponseDto transacaoResponseDto = TransacaoResponseDtoBuilder.builder().id("1").build().obterTransacaoResponseDto();
+		when(transacaoModelService.buscarTransacao(1L)).thenReturn(transacao);
+		when(converter.originToDestiny(transacao, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+
+		//Quando
+		TransacaoResponseDto primeiraBusca = transacaoDtoService.buscarTransacao(1L);
+		TransacaoResponseDto segundaBusca = transacaoDtoService.buscarTransacao(1L);
+
+		//Então
+		assertThat(primeiraBusca, is(sameInstance(transacaoResponseDto)));
+		assertThat(segundaBusca, is(sameInstance(transacaoResponseDto)));
+		verify(transacaoModelService, times(1)).buscarTransacao(1L);
+	}
+
+	/**
+	 * Teste que verifica que a transação estornada substitui a transação que estava no cache
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoEmCacheEhEstornadaOCacheDeveTerATransacaoEstornada() {
+		//Dado
+		Transacao transacao = Transacao.builder().id(1L).build();
+		Transacao transacaoEstornada = Transacao.builder().id(1L).cartao("estornada").build();
+		TransacaoResponseDto transacaoResponseDto = TransacaoResponseDtoBuilder.builder().id("1").build().obterTransacaoResponseDto();
+		TransacaoResponseDto transacaoEstornadaResponseDto = TransacaoResponseDtoBuilder.builder().id("1").build().obterTransacaoResponseDto();
+		transacaoEstornadaResponseDto.getDescricao().setStatus(StatusTransacaoEnum.CANCELADO);
+		when(transacaoModelService.buscarTransacao(1L)).thenReturn(transacao);
+		when(converter.originToDestiny(transacao, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+		when(transacaoUtilService.obterStatusAoEstornar()).thenReturn(StatusTransacaoEnum.CANCELADO);
+		when(transacaoModelService.atualizarStatusTransacao(1L, StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO))
+				.thenReturn(Optional.of(transacaoEstornada));
+		when(converter.originToDestiny(transacaoEstornada, TransacaoResponseDto.class)).thenReturn(transacaoEstornadaResponseDto);
+
+		//Quando
+		transacaoDtoService.buscarTransacao(1L);
+		transacaoDtoService.estornar(1L);
+		TransacaoResponseDto buscaAposEstorno = transacaoDtoService.buscarTransacao(1L);
+
+		//Então
+		assertThat(buscaAposEstorno, is(sameInstance(transacaoEstornadaResponseDto)));
+		assertThat(buscaAposEstorno.getDescricao().getStatus(), is(StatusTransacaoEnum.CANCELADO));
+		verify(transacaoModelService, times(1)).buscarTransacao(1L);
+	}
+
+	/**
+	 * Teste que verifica que a transação paga é colocada no cache pelo id numérico, convertida do model salvo, portanto a busca pelo id é
+	 * respondida pelo cache com o mesmo conteúdo que teria vindo do banco
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmPagamentoEhRealizadoABuscaPeloIdDeveSerRespondidaPeloCache() {
+		//Dado
+		TransacaoRequestDto transacaoRequestDto = TransacaoRequestDtoBuilder.builder().build().obterTransacaoRequestDto();
+		TransacaoResponseDto transacaoResponseDto = TransacaoResponseDtoBuilder.builder().id(null).build().obterTransacaoResponseDto();
+		TransacaoResponseDto transacaoSalvaResponseDto = TransacaoResponseDtoBuilder.builder().id(null).build().obterTransacaoResponseDto();
+		Transacao transacaoNaoSalva = Transacao.builder().build();
+		when(converter.originToDestiny(transacaoRequestDto, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+		when(converter.originToDestiny(transacaoResponseDto, Transacao.class)).thenReturn(transacaoNaoSalva);
+		when(converter.originToDestiny(transacaoNaoSalva, TransacaoResponseDto.class)).thenReturn(transacaoSalvaResponseDto);
+		when(transacaoModelService.salvarTransacao(any(Transacao.class))).thenReturn(42L);
+
+		//Quando
+		TransacaoResponseDto transacaoPaga = transacaoDtoService.pagar(transacaoRequestDto);
+		TransacaoResponseDto transacaoBuscada = transacaoDtoService.buscarTransacao(42L);
+
+		//Então
+		assertThat(transacaoPaga.getId(), is("42"));
+		assertThat(transacaoBuscada, is(sameInstance(transacaoSalvaResponseDto)));
+		assertThat(transacaoBuscada.getId(), is("42"));
+		verify(transacaoModelService, never()).buscarTransacao(42L);
+	}
+
+	/**
+	 * Configuração que converte as propriedades como a aplicação (durações como 1m), fora do contexto completo do Spring Boot
+	 *
+	 * @author Euller Henrique
+	 */
+	@Configuration
+	static class ConversaoConfig {
+
+		@Bean
+		static ConversionService conversionService() {
+			return ApplicationConversionService.getSharedInstance();
+		}
+
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no token e na máscara do cartão
+ *
+ * @author Euller Henrique
+ */
+class CartaoTransacaoServiceTest {
+
+	private static final String CHAVE = "chave-do-teste-do-token-do-cartao";
+
+	private final CartaoTransacaoService cartaoTransacaoService = new CartaoTransacaoService(CHAVE);
+
+	/**
+	 * Teste que verifica que o token é o mesmo para o mesmo cartão e chave, muda com o cartão ou com a chave e tem 22 caracteres em base64 url,
+	 * e que a máscara mantém apenas os últimos 4 dígitos
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmCartaoEhTokenizadoOTokenDeveDependerDoCartaoEDaChaveEAMascaraDeveManterOsUltimosDigitos() {
+		//Dado
+		CartaoTransacaoService outraChave = new CartaoTransacaoService(CHAVE + "-2");
+
+		//Quando
+		String token = cartaoTransacaoService.obterToken("4444555566667777");
+		String mesmoCartao = cartaoTransacaoService.obterToken("4444555566667777");
+		String outroCartao = cartaoTransacaoService.obterToken("4444555566667778");
+		String tokenOutraChave = outraChave.obterToken("4444555566667777");
+		String mascara = cartaoTransacaoService.mascarar("4444555566667777");
+
+		//Então
+		assertThat(token, is(mesmoCartao));
+		assertThat(token, is(not(outroCartao)));
+		assertThat(token, is(not(tokenOutraChave)));
+		assertThat(token.matches("[A-Za-z0-9_-]{22}"), is(true));
+		assertThat(mascara, is("************7777"));
+	}
+
+	/**
+	 * Teste que verifica que uma chave curta demais não é aceita
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoAChaveDoTokenEhCurtaDemaisUmaExcecaoDeveSerLancada() {
+		//Dado
+		String chave = "chave-curta";
+
+		//Quando
+		IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> new CartaoTransacaoService(chave));
+
+		//Então
+		assertThat(ex.getMessage(), is("A chave do token do cartão deve ter ao menos 32 bytes"));
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.converter.Converter;
+import com.api.pagamento.domain.dto.builder.response.transacao.TransacaoResponseDtoBuilder;
+import com.api.pagamento.domain.dto.response.transacao.contador.ContadorTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.contador.ContadoresTransacaoResponseDto;
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+import com.api.pagamento.service.contador.transacao.ContadorTransacaoService;
+import com.api.pagamento.service.model.transacao.TransacaoModelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.when;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no serviço de contadores da transação
+ *
+ * @author Euller Henrique
+ */
+@ExtendWith(MockitoExtension.class)
+class ContadorTransacaoServiceTest {
+
+	private final Converter CONVERTER = new Converter(new ModelMapper());
+	private Transacao transacao;
+	private ContadorTransacaoService contadorTransacaoService;
+
+	@Mock
+	private TransacaoModelService transacaoModelService;
+
+	/**
+	 * Método que cria os objetos a cada teste
+	 *
+	 * @author Euller Henrique
+	 */
+	@BeforeEach
+	void setUp() {
+		transacao = CONVERTER.originToDestiny(TransacaoResponseDtoBuilder.builder().build().obterTransacaoResponseDto(), Transacao.class);
+		contadorTransacaoService = new ContadorTransacaoService(transacaoModelService);
+	}
+
+	/**
+	 * Teste que verifica que os contadores partem dos totais do banco e são atualizados pelos pagamentos e estornos
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoPagasEEstornadasOsContadoresDevemSerAtualizadosAPartirDosTotaisDoBanco() {
+		//Dado
+		when(transacaoModelService.agregarTransacoes(List.of(AgrupamentoTransacaoEnum.STATUS), null, null)).thenReturn(List.of(
+				AgregacaoTransacao.builder().status(StatusTransacaoEnum.AUTORIZADO).quantidade(10L).total(new BigDecimal("1000.00")).build(),
+				AgregacaoTransacao.builder().status(StatusTransacaoEnum.NEGADO).quantidade(2L).total(new BigDecimal("30.50")).build()));
+		when(transacaoModelService.agregarTransacoes(List.of(AgrupamentoTransacaoEnum.TIPO), null, null)).thenReturn(List.of(
+				AgregacaoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.AVISTA).quantidade(12L).total(new BigDecimal("1030.50")).build()));
+		contadorTransacaoService.reconstruirContadores();
+
+		//Quando
+		contadorTransacaoService.registrarPagamento(transacao);
+		contadorTransacaoService.registrarPagamento(transacao);
+		transacao.getDescricao().setStatus(StatusTransacaoEnum.CANCELADO);
+		contadorTransacaoService.registrarEstorno(transacao, StatusTransacaoEnum.AUTORIZADO);
+		ContadoresTransacaoResponseDto contadores = contadorTransacaoService.obterContadores();
+
+		//Então
+		ContadorTransacaoResponseDto autorizado = contadores.getStatus().get(StatusTransacaoEnum.AUTORIZADO);
+		assertThat(autorizado.getQuantidade(), is(11L));
+		assertThat(autorizado.getTotal(), is("1500.55"));
+		assertThat(autorizado.getQuantidadeUltimoMinuto(), is(2L));
+		assertThat(autorizado.getTotalUltimoMinuto(), is("1001.10"));
+		ContadorTransacaoResponseDto cancelado = contadores.getStatus().get(StatusTransacaoEnum.CANCELADO);
+		assertThat(cancelado.getQuantidade(), is(1L));
+		assertThat(cancelado.getTotal(), is("500.55"));
+		assertThat(cancelado.getQuantidadeUltimoMinuto(), is(1L));
+		assertThat(contadores.getStatus().get(StatusTransacaoEnum.NEGADO).getQuantidade(), is(2L));
+		assertThat(contadores.getStatus().get(StatusTransacaoEnum.NEGADO).getQuantidadeUltimoMinuto(), is(0L));
+		assertThat(contadores.getTipos().get(TipoPagamentoTransacaoEnum.AVISTA).getQuantidade(), is(14L));
+		assertThat(contadores.getTipos().get(TipoPagamentoTransacaoEnum.AVISTA).getTotal(), is("2031.60"));
+		assertThat(contadores.getTipos().get(TipoPagamentoTransacaoEnum.PARCELADO_LOJA).getQuantidade(), is(0L));
+	}
+
+	/**
+	 * Teste que verifica que pagamentos simultâneos não perdem nenhuma atualização dos contadores
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoPagamentosSaoRegistradosSimultaneamenteNenhumDeveSerPerdido() throws Exception {
+		//Dado
+		int threads = 8;
+		int pagamentosPorThread = 10000;
+		CountDownLatch inicio = new CountDownLatch(1);
+
+		//Quando
+		List<CompletableFuture<Void>> execucoes = IntStream.range(0, threads).mapToObj(i -> CompletableFuture.runAsync(() -> {
+			try {
+				inicio.await();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			for (int j = 0; j < pagamentosPorThread; j++) {
+				contadorTransacaoService.registrarPagamento(transacao);
+				if (j % 1000 == 0) {
+					contadorTransacaoService.marcarSegundo();
+				}
+			}
+		})).toList();
+		inicio.countDown();
+		CompletableFuture.allOf(execucoes.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+		//Então
+		ContadorTransacaoResponseDto autorizado = contadorTransacaoService.obterContadores().getStatus().get(StatusTransacaoEnum.AUTORIZADO);
+		assertThat(autorizado.getQuantidade(), is((long) threads * pagamentosPorThread));
+		assertThat(autorizado.getTotal(), is(new BigDecimal("500.55").multiply(BigDecimal.valueOf((long) threads * pagamentosPorThread)).toPlainString()));
+	}
+
+}
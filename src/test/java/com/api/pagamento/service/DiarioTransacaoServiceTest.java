@@ -0,0 +1,199 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.transacao.TransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.diario.DiarioTransacao;
+import com.api.pagamento.domain.repository.transacao.diario.InsercaoTransacaoRepository;
+import com.api.pagamento.infra.config.id.GeradorIdConfig;
+import com.api.pagamento.infra.id.GeradorIdTemporal;
+import com.api.pagamento.service.diario.transacao.DiarioTransacaoService;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Classe de teste responsável por verificar a inserção no banco dos pagamentos salvos no diário
+ *
+ * @author Euller Henrique
+ */
+@DataJpaTest(properties = { "spring.jpa.show-sql=false", "api.diario.habilitado=true" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureEmbeddedDatabase(type = AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES, provider = AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY)
+@Import({ InsercaoTransacaoRepository.class, GeradorIdConfig.class })
+class DiarioTransacaoServiceTest {
+
+	private static final DataSize TAMANHO_SEGMENTO = DataSize.ofMegabytes(1);
+
+	@Autowired
+	private InsercaoTransacaoRepository insercaoTransacaoRepository;
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+	@Autowired
+	private GeradorIdTemporal geradorIdTemporal;
+
+	@TempDir
+	private Path diretorio;
+
+	/**
+	 * Teste que verifica que um pagamento salvo no diário é encontrado logo após ser salvo (em memória ou, se já inserido, no banco) e que todos
+	 * são inseridos no banco, com ids que não se repetem com os gerados pelo Hibernate
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoPagamentosSaoSalvosNoDiarioDevemSerInseridosNoBanco() throws IOException {
+		//Dado
+		Long idSalvoPeloHibernate = transacaoRepository.save(obterTransacao()).getId();
+
+		//Quando
+		List<Long> ids = new ArrayList<>();
+		boolean todosEncontrados = true;
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO);
+				DiarioTransacaoService diarioTransacaoService = criarServico(diario)) {
+			for (int i = 0; i < 120; i++) {
+				Long id = diarioTransacaoService.salvar(obterTransacao());
+				ids.add(id);
+				todosEncontrados &= diarioTransacaoService.buscar(id).or(() -> transacaoRepository.findById(id)).isPresent();
+			}
+			diarioTransacaoService.aguardarDescarga(ids);
+		}
+		Long proximoIdSalvoPeloHibernate = transacaoRepository.save(obterTransacao()).getId();
+
+		//Então
+		assertThat(ids.stream().distinct().count(), is(120L));
+		assertThat(ids.contains(idSalvoPeloHibernate) || ids.contains(proximoIdSalvoPeloHibernate), is(false));
+		assertThat(todosEncontrados, is(true));
+		assertThat(transacaoRepository.findAllById(ids).size(), is(120));
+	}
+
+	/**
+	 * Teste que verifica que os pagamentos que ficaram no diário (aplicação interrompida antes de inseri-los no banco) são carregados e
+	 * inseridos ao reiniciar, e que o gerador de ids avança além dos seus ids (mesmo que o relógio tenha voltado)
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoODiarioTemPagamentosNaoInseridosAoReiniciarDevemSerInseridosNoBanco() throws IOException {
+		//Dado
+		long id = geradorIdTemporal.gerar() + (Duration.ofMinutes(1).toMillis() << 22);
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO)) {
+			Transacao transacao = obterTransacao();
+			transacao.setId(id);
+			diario.adicionar(transacao);
+		}
+
+		//Quando
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO);
+				DiarioTransacaoService diarioTransacaoService = criarServico(diario)) {
+			diarioTransacaoService.aguardarDescarga(List.of(id));
+		}
+
+		//Então
+		assertThat(transacaoRepository.findById(id).isPresent(), is(true));
+		assertThat(geradorIdTemporal.gerar() > id, is(true));
+	}
+
+	/**
+	 * Teste que verifica que um pagamento que o banco recusa definitivamente (estabelecimento maior que a coluna) vai para o arquivo de
+	 * rejeitados, sem impedir a inserção dos demais pagamentos do mesmo lote e dos lotes seguintes
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmPagamentoEhRecusadoPeloBancoOsDemaisDevemSerInseridos() throws IOException {
+		//Dado
+		Transacao transacaoRecusada = obterTransacao();
+		transacaoRecusada.getDescricao().setEstabelecimento("PetShop Mundo cão ".repeat(10));
+
+		//Quando
+		List<Long> ids = new ArrayList<>();
+		Long idRecusado;
+		List<Transacao> rejeitadas;
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO);
+				DiarioTransacaoService diarioTransacaoService = criarServico(diario)) {
+			ids.add(diarioTransacaoService.salvar(obterTransacao()));
+			idRecusado = diarioTransacaoService.salvar(transacaoRecusada);
+			for (int i = 0; i < 60; i++) {
+				ids.add(diarioTransacaoService.salvar(obterTransacao()));
+			}
+			diarioTransacaoService.aguardarDescarga(ids);
+			diarioTransacaoService.aguardarDescarga(List.of(idRecusado));
+			rejeitadas = diario.lerRejeitados();
+		}
+
+		//Então
+		assertThat(transacaoRepository.findAllById(ids).size(), is(61));
+		assertThat(transacaoRepository.findById(idRecusado).isPresent(), is(false));
+		assertThat(rejeitadas.size(), is(1));
+		assertThat(rejeitadas.get(0).getId(), is(idRecusado));
+		assertThat(rejeitadas.get(0).getDescricao().getEstabelecimento(), is(transacaoRecusada.getDescricao().getEstabelecimento()));
+	}
+
+	/**
+	 * Teste que verifica que a thread escritora continua ativa quando a leitura do diário falha: a leitura é tentada novamente após o
+	 * intervalo e os pagamentos são inseridos quando a falha passa
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoALeituraDoDiarioFalhaOEscritorDeveTentarNovamenteEInserirOsPagamentos() throws IOException {
+		//Dado
+		AtomicInteger falhasRestantes = new AtomicInteger();
+
+		//Quando
+		Long id;
+		try (DiarioTransacao diario = new DiarioTransacao(diretorio, TAMANHO_SEGMENTO) {
+					@Override
+					public List<Transacao> ler(long inicio, int limite) {
+						if (falhasRestantes.getAndUpdate(falhas -> Math.max(0, falhas - 1)) > 0) {
+							throw new UncheckedIOException(new IOException("Falha simulada na leitura do diário"));
+						}
+						return super.ler(inicio, limite);
+					}
+				};
+				DiarioTransacaoService diarioTransacaoService = criarServico(diario)) {
+			falhasRestantes.set(3);
+			id = diarioTransacaoService.salvar(obterTransacao());
+			diarioTransacaoService.aguardarDescarga(List.of(id));
+		}
+
+		//Então
+		assertThat(falhasRestantes.get(), is(0));
+		assertThat(transacaoRepository.findById(id).isPresent(), is(true));
+	}
+
+	private DiarioTransacaoService criarServico(DiarioTransacao diario) {
+		return new DiarioTransacaoService(diario, insercaoTransacaoRepository, geradorIdTemporal, 50, Duration.ofMillis(10), Duration.ofSeconds(10));
+	}
+
+	private Transacao obterTransacao() {
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(new BigDecimal("500.55")).dataHora(LocalDateTime.of(2021, 10, 1, 10, 10, 10))
+				.estabelecimento("PetShop Mundo cão").nsu("123456789").codigoAutorizacao("987654321").status(StatusTransacaoEnum.AUTORIZADO).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.AVISTA).parcelas(1).build();
+		return Transacao.builder().cartao("4444********1234").descricao(descricao).formaPagamento(formaPagamento).build();
+	}
+
+}
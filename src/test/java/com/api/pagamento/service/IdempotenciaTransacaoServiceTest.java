@@ -0,0 +1,305 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.dto.builder.response.transacao.TransacaoResponseDtoBuilder;
+import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.exception.http.BadRequestException;
+import com.api.pagamento.domain.exception.http.ConflictException;
+import com.api.pagamento.domain.model.idempotencia.Idempotencia;
+import com.api.pagamento.domain.repository.idempotencia.IdempotenciaRepository;
+import com.api.pagamento.domain.repository.idempotencia.memoria.IdempotenciaMemoriaRepository;
+import com.api.pagamento.service.idempotencia.transacao.IdempotenciaTransacaoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários no serviço de idempotência da transação
+ *
+ * @author Euller Henrique
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotenciaTransacaoServiceTest {
+
+	private static final String CHAVE = "8f14e45f-ceea-467f-a0e6-2e7b1c3d5f6a";
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+	private TransacaoResponseDto transacaoResponseDto;
+	private IdempotenciaTransacaoService idempotenciaTransacaoService;
+
+	@Mock
+	private IdempotenciaRepository idempotenciaRepository;
+
+	/**
+	 * Método que cria os objetos a cada teste
+	 *
+	 * @author Euller Henrique
+	 */
+	@BeforeEach
+	void setUp() {
+		transacaoResponseDto = TransacaoResponseDtoBuilder.builder().build().obterTransacaoResponseDto();
+		idempotenciaTransacaoService = obterIdempotenciaTransacaoService(idempotenciaRepository);
+	}
+
+	/**
+	 * Teste que verifica que uma nova tentativa com a mesma chave retorna a transação já realizada, sem realizar outro pagamento
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmPagamentoEhRepetidoComAMesmaChaveATransacaoRealizadaDeveSerRetornada() {
+		//Dado
+		AtomicInteger pagamentos = new AtomicInteger();
+
+		//Quando
+		when(idempotenciaRepository.findById(CHAVE)).thenReturn(Optional.empty());
+		when(idempotenciaRepository.reservar(eq(CHAVE), any(LocalDateTime.class))).thenReturn(1);
+		TransacaoResponseDto primeiraResposta = idempotenciaTransacaoService.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		});
+		TransacaoResponseDto segundaResposta = idempotenciaTransacaoService.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		});
+
+		//Então
+		assertThat(pagamentos.get(), is(1));
+		assertThat(segundaResposta, is(primeiraResposta));
+		verify(idempotenciaRepository, times(1)).findById(CHAVE);
+		verify(idempotenciaRepository, times(1)).reservar(eq(CHAVE), any(LocalDateTime.class));
+		verify(idempotenciaRepository, times(1)).registrarResposta(eq(CHAVE), anyString());
+	}
+
+	/**
+	 * Teste que verifica que uma chave salva na tabela, mas não mais em memória, retorna a resposta salva sem realizar outro pagamento
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoAChaveEstaSalvaNaTabelaARespostaSalvaDeveSerRetornada() throws Exception {
+		//Dado
+		Idempotencia idempotencia = Idempotencia.builder().chave(CHAVE).resposta(objectMapper.writeValueAsString(transacaoResponseDto))
+				.dataHora(LocalDateTime.now()).build();
+
+		//Quando
+		when(idempotenciaRepository.findById(CHAVE)).thenReturn(Optional.of(idempotencia));
+		TransacaoResponseDto resposta = idempotenciaTransacaoService.executar(CHAVE, () -> {
+			throw new IllegalStateException("O pagamento não deveria ser realizado");
+		});
+
+		//Então
+		assertThat(resposta, is(transacaoResponseDto));
+		verify(idempotenciaRepository, never()).reservar(eq(CHAVE), any(LocalDateTime.class));
+	}
+
+	/**
+	 * Teste que verifica que requisições simultâneas com a mesma chave aguardam o resultado da primeira, realizando um único pagamento
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoPagamentosSimultaneosUsamAMesmaChaveApenasUmPagamentoDeveSerRealizado() throws Exception {
+		//Dado
+		AtomicInteger pagamentos = new AtomicInteger();
+		CountDownLatch pagamentoIniciado = new CountDownLatch(1);
+		CountDownLatch liberarPagamento = new CountDownLatch(1);
+
+		//Quando
+		when(idempotenciaRepository.findById(CHAVE)).thenReturn(Optional.empty());
+		when(idempotenciaRepository.reservar(eq(CHAVE), any(LocalDateTime.class))).thenReturn(1);
+		CompletableFuture<TransacaoResponseDto> primeiraResposta = CompletableFuture.supplyAsync(() -> idempotenciaTransacaoService.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			pagamentoIniciado.countDown();
+			aguardar(liberarPagamento);
+			return transacaoResponseDto;
+		}));
+		aguardar(pagamentoIniciado);
+		CompletableFuture<TransacaoResponseDto> segundaResposta = CompletableFuture.supplyAsync(() -> idempotenciaTransacaoService.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		}));
+		liberarPagamento.countDown();
+
+		//Então
+		assertThat(primeiraResposta.get(5, TimeUnit.SECONDS), is(transacaoResponseDto));
+		assertThat(segundaResposta.get(5, TimeUnit.SECONDS), is(transacaoResponseDto));
+		assertThat(pagamentos.get(), is(1));
+	}
+
+	/**
+	 * Teste que verifica que a chave de um pagamento que falhou é liberada para uma nova tentativa
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmPagamentoFalhaANovaTentativaComAMesmaChaveDeveSerRealizada() {
+		//Quando
+		when(idempotenciaRepository.findById(CHAVE)).thenReturn(Optional.empty());
+		when(idempotenciaRepository.reservar(eq(CHAVE), any(LocalDateTime.class))).thenReturn(1);
+		assertThrows(BadRequestException.class, () -> idempotenciaTransacaoService.executar(CHAVE, () -> {
+			throw new BadRequestException("Pagamento à vista não pode ter mais de uma parcela!");
+		}));
+		TransacaoResponseDto resposta = idempotenciaTransacaoService.executar(CHAVE, () -> transacaoResponseDto);
+
+		//Então
+		assertThat(resposta, is(transacaoResponseDto));
+		verify(idempotenciaRepository, times(1)).liberar(CHAVE);
+	}
+
+	/**
+	 * Teste que verifica que duas instâncias da aplicação, com a mesma tabela idempotencia, realizam um único pagamento para a mesma chave: a
+	 * instância que não reservou a chave aguarda a resposta registrada pela outra
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoDuasInstanciasRecebemAMesmaChaveApenasUmPagamentoDeveSerRealizado() throws Exception {
+		//Dado
+		IdempotenciaRepository tabelaCompartilhada = new IdempotenciaMemoriaRepository();
+		IdempotenciaTransacaoService primeiraInstancia = obterIdempotenciaTransacaoService(tabelaCompartilhada);
+		IdempotenciaTransacaoService segundaInstancia = obterIdempotenciaTransacaoService(tabelaCompartilhada);
+		AtomicInteger pagamentos = new AtomicInteger();
+		CountDownLatch pagamentoIniciado = new CountDownLatch(1);
+		CountDownLatch liberarPagamento = new CountDownLatch(1);
+
+		//Quando
+		CompletableFuture<TransacaoResponseDto> primeiraResposta = CompletableFuture.supplyAsync(() -> primeiraInstancia.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			pagamentoIniciado.countDown();
+			aguardar(liberarPagamento);
+			return transacaoResponseDto;
+		}));
+		aguardar(pagamentoIniciado);
+		CompletableFuture<TransacaoResponseDto> segundaResposta = CompletableFuture.supplyAsync(() -> segundaInstancia.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		}));
+		liberarPagamento.countDown();
+
+		//Então
+		assertThat(primeiraResposta.get(5, TimeUnit.SECONDS), is(transacaoResponseDto));
+		assertThat(segundaResposta.get(5, TimeUnit.SECONDS), is(transacaoResponseDto));
+		assertThat(pagamentos.get(), is(1));
+	}
+
+	/**
+	 * Teste que verifica que, quando a resposta do pagamento não pode ser registrada, ela é retornada mesmo assim, a chave continua reservada e
+	 * uma nova tentativa na mesma instância não realiza outro pagamento
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoARespostaNaoPodeSerRegistradaANovaTentativaNaoDeveRealizarOutroPagamento() {
+		//Dado
+		IdempotenciaRepository tabelaCompartilhada = spy(new IdempotenciaMemoriaRepository());
+		AtomicInteger pagamentos = new AtomicInteger();
+
+		//Quando
+		doThrow(new IllegalStateException("Banco indisponível")).when(tabelaCompartilhada).registrarResposta(eq(CHAVE), anyString());
+		IdempotenciaTransacaoService instancia = obterIdempotenciaTransacaoService(tabelaCompartilhada);
+		TransacaoResponseDto resposta = instancia.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		});
+		TransacaoResponseDto novaTentativa = instancia.executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		});
+
+		//Então
+		assertThat(resposta, is(transacaoResponseDto));
+		assertThat(novaTentativa, is(transacaoResponseDto));
+		assertThat(tabelaCompartilhada.findById(CHAVE).orElseThrow().getResposta(), is(nullValue()));
+		assertThat(pagamentos.get(), is(1));
+	}
+
+	/**
+	 * Teste que verifica que uma reserva recente sem resposta, de um pagamento em andamento em outra instância, gera o conflito após o tempo
+	 * de espera, enquanto uma reserva mais antiga que o tempo de espera (a instância parou durante o pagamento) é assumida por uma única nova
+	 * tentativa
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoAReservaDaChaveFoiAbandonadaUmaNovaTentativaDeveAssumirAReservaEPagar() {
+		//Dado
+		IdempotenciaRepository tabelaCompartilhada = new IdempotenciaMemoriaRepository();
+		tabelaCompartilhada.reservar(CHAVE, LocalDateTime.now().minusHours(1));
+		tabelaCompartilhada.reservar("chave-em-andamento", LocalDateTime.now().plusMinutes(1));
+		AtomicInteger pagamentos = new AtomicInteger();
+
+		//Quando
+		TransacaoResponseDto resposta = obterIdempotenciaTransacaoService(tabelaCompartilhada).executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		});
+		TransacaoResponseDto respostaOutraInstancia = obterIdempotenciaTransacaoService(tabelaCompartilhada).executar(CHAVE, () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		});
+
+		//Então
+		assertThat(resposta, is(transacaoResponseDto));
+		assertThat(respostaOutraInstancia, is(transacaoResponseDto));
+		assertThat(pagamentos.get(), is(1));
+		assertThat(tabelaCompartilhada.assumirReserva(CHAVE, LocalDateTime.now().plusDays(1), LocalDateTime.now()), is(0));
+		assertThrows(ConflictException.class, () -> obterIdempotenciaTransacaoService(tabelaCompartilhada).executar("chave-em-andamento", () -> {
+			pagamentos.incrementAndGet();
+			return transacaoResponseDto;
+		}));
+		assertThat(pagamentos.get(), is(1));
+	}
+
+	/**
+	 * Cria o serviço com os parâmetros dos testes (espera de 200 milissegundos por uma chave reservada)
+	 *
+	 * @param repositorio
+	 * 		Repositório da tabela idempotencia
+	 * @return IdempotenciaTransacaoService
+	 * 		Serviço de idempotência
+	 * @author Euller Henrique
+	 */
+	private IdempotenciaTransacaoService obterIdempotenciaTransacaoService(IdempotenciaRepository repositorio) {
+		return new IdempotenciaTransacaoService(repositorio, objectMapper, 100, Duration.ofMinutes(10), Duration.ofHours(24), Duration.ofMillis(200));
+	}
+
+	/**
+	 * Aguarda a liberação do latch, falhando o teste se demorar demais
+	 *
+	 * @param latch
+	 * 		Latch aguardado
+	 * @author Euller Henrique
+	 */
+	private static void aguardar(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Tempo de espera esgotado");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
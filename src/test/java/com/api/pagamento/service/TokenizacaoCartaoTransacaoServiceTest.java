@@ -0,0 +1,141 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.transacao.TransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.arquivo.ArquivoTransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.livro.LivroTransacao;
+import com.api.pagamento.domain.repository.transacao.memoria.TransacaoMemoriaRepository;
+import com.api.pagamento.infra.config.id.GeradorIdConfig;
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import com.api.pagamento.service.cartao.transacao.TokenizacaoCartaoTransacaoService;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIn.oneOf;
+import static org.hamcrest.core.Every.everyItem;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+
+/**
+ * Classe de teste responsável por verificar a tokenização, no banco, das transações salvas com o número do cartão
+ *
+ * @author Euller Henrique
+ */
+@DataJpaTest(properties = { "spring.jpa.show-sql=false" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureEmbeddedDatabase(type = AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES, provider = AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY)
+@Import(GeradorIdConfig.class)
+class TokenizacaoCartaoTransacaoServiceTest {
+
+	private final CartaoTransacaoService cartaoTransacaoService = new CartaoTransacaoService("chave-do-teste-do-token-do-cartao");
+
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+	@Autowired
+	private ObjectProvider<PlatformTransactionManager> transactionManager;
+
+	@TempDir
+	private Path diretorio;
+
+	/**
+	 * Teste que verifica que as transações salvas com o número do cartão são tokenizadas em lotes, ficando apenas com o cartão mascarado, e que
+	 * depois são encontradas pelo token do cartão
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoExistemTransacoesComONumeroDoCartaoElasDevemSerTokenizadasEEncontradasPeloToken() throws IOException {
+		//Dado
+		List<Long> ids = IntStream.range(0, 7)
+				.mapToObj(i -> transacaoRepository.save(obterTransacao(i % 2 == 0 ? "4444555566667777" : "5555666677778888")))
+				.map(Transacao::getId).toList();
+		TokenizacaoCartaoTransacaoService tokenizacaoCartaoTransacaoService = new TokenizacaoCartaoTransacaoService(transacaoRepository,
+				new ArquivoTransacaoRepository(diretorio), cartaoTransacaoService, transactionManager, 3);
+
+		//Quando
+		long tokenizadas = tokenizacaoCartaoTransacaoService.tokenizarTransacoes();
+		String tokenCartao = cartaoTransacaoService.obterToken("4444555566667777");
+		List<Transacao> primeiraPagina = transacaoRepository.findByTokenCartaoAndIdGreaterThanOrderByIdAsc(tokenCartao, 0L, Limit.of(3));
+		List<Transacao> segundaPagina = transacaoRepository.findByTokenCartaoAndIdGreaterThanOrderByIdAsc(tokenCartao,
+				primeiraPagina.get(2).getId(), Limit.of(3));
+
+		//Então
+		assertThat(tokenizadas, is(7L));
+		assertThat(tokenizacaoCartaoTransacaoService.tokenizarTransacoes(), is(0L));
+		assertThat(transacaoRepository.findAllById(ids).stream().map(Transacao::getCartao).toList(),
+				everyItem(is(oneOf("************7777", "************8888"))));
+		assertThat(primeiraPagina.stream().map(Transacao::getId).toList(), is(List.of(ids.get(0), ids.get(2), ids.get(4))));
+		assertThat(segundaPagina.stream().map(Transacao::getId).toList(), is(List.of(ids.get(6))));
+	}
+
+	/**
+	 * Teste que verifica que, no livro de transações (sem banco), as transações salvas com o número do cartão são tokenizadas em lotes e que a
+	 * versão tokenizada é a recuperada ao reabrir o livro, enquanto as transações com o cartão já mascarado são mantidas
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOLivroTemTransacoesComONumeroDoCartaoElasDevemSerTokenizadasSemBanco() throws IOException {
+		//Dado
+		Path diretorioLivro = diretorio.resolve("livro");
+		List<Long> ids;
+		long tokenizadas;
+		long tokenizadasNaSegundaExecucao;
+		try (LivroTransacao livro = new LivroTransacao(diretorioLivro, DataSize.ofMegabytes(1))) {
+			TransacaoRepository transacaoLivroRepository = new TransacaoMemoriaRepository(livro);
+			ids = transacaoLivroRepository.saveAll(List.of(obterTransacao("4444555566667777"), obterTransacao("4444********1234"),
+					obterTransacao("5555666677778888"), obterTransacao("4444555566667777"))).stream().map(Transacao::getId).toList();
+			TokenizacaoCartaoTransacaoService tokenizacaoCartaoTransacaoService = new TokenizacaoCartaoTransacaoService(transacaoLivroRepository,
+					new ArquivoTransacaoRepository(diretorio.resolve("arquivo")), cartaoTransacaoService,
+					new DefaultListableBeanFactory().getBeanProvider(PlatformTransactionManager.class), 2);
+
+			//Quando
+			tokenizadas = tokenizacaoCartaoTransacaoService.tokenizarTransacoes();
+			tokenizadasNaSegundaExecucao = tokenizacaoCartaoTransacaoService.tokenizarTransacoes();
+		}
+		List<Transacao> recuperadas;
+		try (LivroTransacao livro = new LivroTransacao(diretorioLivro, DataSize.ofMegabytes(1))) {
+			recuperadas = ids.stream().map(id -> livro.obter(id).orElseThrow()).toList();
+		}
+
+		//Então
+		assertThat(tokenizadas, is(3L));
+		assertThat(tokenizadasNaSegundaExecucao, is(0L));
+		assertThat(recuperadas.stream().map(Transacao::getCartao).toList(),
+				is(List.of("************7777", "4444********1234", "************8888", "************7777")));
+		assertThat(recuperadas.get(0).getTokenCartao(), is(cartaoTransacaoService.obterToken("4444555566667777")));
+		assertThat(recuperadas.get(1).getTokenCartao(), is(nullValue()));
+		assertThat(recuperadas.get(3).getTokenCartao(), is(recuperadas.get(0).getTokenCartao()));
+	}
+
+	private Transacao obterTransacao(String cartao) {
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(new BigDecimal("500.55")).dataHora(LocalDateTime.of(2021, 10, 1, 10, 10, 10))
+				.estabelecimento("PetShop Mundo cão").nsu("123456789").codigoAutorizacao("987654321").status(StatusTransacaoEnum.AUTORIZADO).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.AVISTA).parcelas(1).build();
+		return Transacao.builder().cartao(cartao).descricao(descricao).formaPagamento(formaPagamento).build();
+	}
+
+}
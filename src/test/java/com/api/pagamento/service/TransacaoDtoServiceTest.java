@@ -4,31 +4,60 @@ import com.api.pagamento.domain.dto.builder.request.transacao.TransacaoRequestDt
 import com.api.pagamento.domain.dto.builder.response.transacao.TransacaoResponseDtoBuilder;
 import com.api.pagamento.domain.converter.Converter;
 import com.api.pagamento.domain.dto.request.transacao.TransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.agregacao.AgregacaoTransacaoRequestDto;
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
 import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.agregacao.AgregacaoTransacaoResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoEstornoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.lote.ResultadoPagamentoLoteResponseDto;
+import com.api.pagamento.domain.dto.response.transacao.pagina.PaginaTransacaoResponseDto;
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
 import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.exception.handler.util.ExceptionUtil;
 import com.api.pagamento.domain.exception.http.BadRequestException;
 import com.api.pagamento.domain.exception.http.NotFoundException;
 import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+import com.api.pagamento.service.autorizacao.transacao.AutorizacaoTransacaoService;
+import com.api.pagamento.service.bin.transacao.BinTransacaoService;
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import com.api.pagamento.service.contador.transacao.ContadorTransacaoService;
 import com.api.pagamento.service.dto.transacao.TransacaoDtoService;
 import com.api.pagamento.service.model.transacao.TransacaoModelService;
 import com.api.pagamento.service.util.transacao.TransacaoUtilService;
 import com.api.pagamento.service.validator.transacao.TransacaoValidatorService;
+import com.api.pagamento.service.velocidade.transacao.VelocidadeTransacaoService;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.api.pagamento.domain.constant.cache.CacheConstants.CACHE_TRANSACAO;
+import static com.api.pagamento.domain.constant.http.message.error.ErrorConstants.ERROR_400_TRANSACAO_ARQUIVADA_NAO_PODE_SER_ESTORNADA;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -53,6 +82,20 @@ class TransacaoDtoServiceTest {
 	private Converter converter;
 	@Mock
 	private TransacaoModelService transacaoModelService;
+	@Mock
+	private ContadorTransacaoService contadorTransacaoService;
+	@Mock
+	private AutorizacaoTransacaoService autorizacaoTransacaoService;
+	@Mock
+	private BinTransacaoService binTransacaoService;
+	@Mock
+	private VelocidadeTransacaoService velocidadeTransacaoService;
+	@Mock
+	private CartaoTransacaoService cartaoTransacaoService;
+	@Spy
+	private ExceptionUtil exceptionUtil;
+	@Spy
+	private CacheManager cacheManager = new ConcurrentMapCacheManager(CACHE_TRANSACAO);
 
 	/**
 	 * Método que cria os objetos a cada teste
@@ -79,16 +122,24 @@ class TransacaoDtoServiceTest {
 
 		//Quando
 		when(converter.originToDestiny(transacaoRequestDto, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+		when(cartaoTransacaoService.mascarar(transacaoRequestDto.getCartao())).thenReturn("************1234");
+		when(cartaoTransacaoService.obterToken(transacaoRequestDto.getCartao())).thenReturn("Jk0vG1mWq5tC3xYz8aBcDg");
+		when(binTransacaoService.obterBandeira(transacaoRequestDto.getCartao())).thenReturn(transacaoResponseDto.getBandeira());
 		when(transacaoUtilService.obterNsu()).thenReturn(transacaoResponseDto.getDescricao().getNsu());
 		when(transacaoUtilService.obterCodigoAutorizacao()).thenReturn(transacaoResponseDto.getDescricao().getCodigoAutorizacao());
-		when(transacaoUtilService.obterStatusAoPagar()).thenReturn(transacaoResponseDto.getDescricao().getStatus());
+		when(autorizacaoTransacaoService.obterMotivoNegacao(transacaoRequestDto)).thenReturn(null);
+		when(velocidadeTransacaoService.registrar(transacaoRequestDto.getCartao(), transacaoRequestDto.getDescricao().getValor())).thenReturn(null);
 		when(converter.originToDestiny(transacaoResponseDto, Transacao.class)).thenReturn(transacaoModelNaoSalva);
 		when(transacaoModelService.salvarTransacao(transacaoModelNaoSalva)).thenReturn(1L);
+		when(converter.originToDestiny(transacaoModelNaoSalva, TransacaoResponseDto.class))
+				.thenReturn(CONVERTER.originToDestiny(transacaoModelNaoSalva, TransacaoResponseDto.class));
 
         // Então
 		TransacaoResponseDto transacaoResponseDtoRetornada  = transacaoDtoService.pagar(transacaoRequestDto);
 		assertThat(transacaoResponseDtoRetornada.getId(), is(equalTo(transacaoResponseDto.getId())));
-		assertThat(transacaoResponseDtoRetornada.getCartao(), is(equalTo(transacaoResponseDto.getCartao())));
+		assertThat(transacaoResponseDtoRetornada.getCartao(), is("************1234"));
+		assertThat(transacaoResponseDtoRetornada.getTokenCartao(), is("Jk0vG1mWq5tC3xYz8aBcDg"));
+		assertThat(transacaoResponseDtoRetornada.getBandeira(), is("VISA"));
 		assertThat(transacaoResponseDtoRetornada.getDescricao().getValor(), is(equalTo(transacaoResponseDto.getDescricao().getValor())));
 		assertThat(transacaoResponseDtoRetornada.getDescricao().getDataHora(), is(equalTo(transacaoResponseDto.getDescricao().getDataHora())));
 		assertThat(transacaoResponseDtoRetornada.getDescricao().getEstabelecimento(), is(equalTo(transacaoResponseDto.getDescricao().getEstabelecimento())));
@@ -100,6 +151,114 @@ class TransacaoDtoServiceTest {
 		assertThat(transacaoResponseDtoRetornada.getDescricao().getStatus(), is(StatusTransacaoEnum.AUTORIZADO));
 		assertThat(transacaoResponseDtoRetornada.getFormaPagamento().getTipo(), is(equalTo(transacaoResponseDto.getFormaPagamento().getTipo())));
 		assertThat(transacaoResponseDtoRetornada.getFormaPagamento().getParcelas(), is(equalTo(transacaoResponseDto.getFormaPagamento().getParcelas())));
+		verify(contadorTransacaoService).registrarPagamento(transacaoModelNaoSalva);
+		verify(autorizacaoTransacaoService).registrarAutorizacao();
+	}
+
+	/**
+	 * Teste que testa o retorno do serviço pagar em lote com um item válido e um inválido
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmLoteComUmItemInvalidoEhSolicitadoOsItensValidosDevemSerRealizados() {
+		// Dado
+		//transacaoRequestDto e transacaoResponseDto já foram instanciados no setUp
+		TransacaoRequestDto transacaoRequestDtoInvalida = TransacaoRequestDtoBuilder.builder().build().obterTransacaoRequestDto();
+		transacaoRequestDtoInvalida.setCartao(null);
+		Transacao transacaoModelNaoSalva = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+
+		//Quando
+		doNothing().when(transacaoValidatorService).validarCamposAoPagar(transacaoRequestDto);
+		doThrow(new BadRequestException("O campo cartao é obrigatório")).when(transacaoValidatorService).validarCamposAoPagar(transacaoRequestDtoInvalida);
+		when(converter.originToDestiny(transacaoRequestDto, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+		when(transacaoUtilService.obterNsu()).thenReturn(transacaoResponseDto.getDescricao().getNsu());
+		when(transacaoUtilService.obterCodigoAutorizacao()).thenReturn(transacaoResponseDto.getDescricao().getCodigoAutorizacao());
+		when(autorizacaoTransacaoService.obterMotivoNegacao(transacaoRequestDto)).thenReturn(null);
+		when(velocidadeTransacaoService.registrar(transacaoRequestDto.getCartao(), transacaoRequestDto.getDescricao().getValor())).thenReturn(null);
+		when(converter.originToDestiny(transacaoResponseDto, Transacao.class)).thenReturn(transacaoModelNaoSalva);
+		when(transacaoModelService.salvarTransacoes(List.of(transacaoModelNaoSalva))).thenReturn(List.of(1L));
+
+		// Então
+		List<ResultadoPagamentoLoteResponseDto> resultados = transacaoDtoService.pagarLote(List.of(transacaoRequestDto, transacaoRequestDtoInvalida));
+		assertThat(resultados.size(), is(2));
+		assertThat(resultados.get(0).getIndice(), is(0));
+		assertThat(resultados.get(0).getTransacao().getId(), is("1"));
+		assertThat(resultados.get(0).getErro(), is(nullValue()));
+		assertThat(resultados.get(1).getIndice(), is(1));
+		assertThat(resultados.get(1).getTransacao(), is(nullValue()));
+		assertThat(resultados.get(1).getErro().getStatus(), is(400));
+		assertThat(resultados.get(1).getErro().getMessage(), is("O campo cartao é obrigatório"));
+	}
+
+	/**
+	 * Teste que testa o retorno do serviço pagar em lote com um item sem a forma de pagamento, validado pelo validador real
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmLoteComUmItemSemFormaPagamentoEhSolicitadoOsItensValidosDevemSerRealizados() {
+		// Dado
+		//transacaoRequestDto e transacaoResponseDto já foram instanciados no setUp
+		TransacaoValidatorService transacaoValidatorServiceReal = new TransacaoValidatorService(
+				Validation.buildDefaultValidatorFactory().getValidator());
+		TransacaoRequestDto transacaoRequestDtoSemFormaPagamento = TransacaoRequestDtoBuilder.builder().build().obterTransacaoRequestDto();
+		transacaoRequestDtoSemFormaPagamento.setFormaPagamento(null);
+		Transacao transacaoModelNaoSalva = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+
+		//Quando
+		doAnswer(chamada -> {
+			transacaoValidatorServiceReal.validarCamposAoPagar(chamada.getArgument(0));
+			return null;
+		}).when(transacaoValidatorService).validarCamposAoPagar(any());
+		when(converter.originToDestiny(transacaoRequestDto, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+		when(transacaoUtilService.obterNsu()).thenReturn(transacaoResponseDto.getDescricao().getNsu());
+		when(transacaoUtilService.obterCodigoAutorizacao()).thenReturn(transacaoResponseDto.getDescricao().getCodigoAutorizacao());
+		when(autorizacaoTransacaoService.obterMotivoNegacao(transacaoRequestDto)).thenReturn(null);
+		when(velocidadeTransacaoService.registrar(transacaoRequestDto.getCartao(), transacaoRequestDto.getDescricao().getValor())).thenReturn(null);
+		when(converter.originToDestiny(transacaoResponseDto, Transacao.class)).thenReturn(transacaoModelNaoSalva);
+		when(transacaoModelService.salvarTransacoes(List.of(transacaoModelNaoSalva))).thenReturn(List.of(1L));
+
+		// Então
+		List<ResultadoPagamentoLoteResponseDto> resultados = transacaoDtoService.pagarLote(List.of(transacaoRequestDto, transacaoRequestDtoSemFormaPagamento));
+		assertThat(resultados.size(), is(2));
+		assertThat(resultados.get(0).getTransacao().getId(), is("1"));
+		assertThat(resultados.get(1).getTransacao(), is(nullValue()));
+		assertThat(resultados.get(1).getErro().getStatus(), is(400));
+		assertThat(resultados.get(1).getErro().getMessage(), is("O campo formaPagamento é obrigatório!"));
+		verify(transacaoValidatorService, never()).validarTipoPagamentoAoPagar(transacaoRequestDtoSemFormaPagamento);
+	}
+
+	/**
+	 * Teste que testa o retorno do serviço pagar quando o cartão excede um limite de velocidade: o motivo é informado apenas na resposta,
+	 * não no cache, e o pagamento não é contado como autorizado
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOCartaoExcedeUmLimiteDeVelocidadeOPagamentoDeveSerNegadoComOMotivo() {
+		// Dado
+		//transacaoRequestDto e transacaoResponseDto já foram instanciados no setUp
+		Transacao transacaoModelNaoSalva = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+
+		//Quando
+		when(converter.originToDestiny(transacaoRequestDto, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+		when(autorizacaoTransacaoService.obterMotivoNegacao(transacaoRequestDto)).thenReturn(null);
+		when(velocidadeTransacaoService.registrar(transacaoRequestDto.getCartao(), transacaoRequestDto.getDescricao().getValor()))
+				.thenReturn("velocidade-quantidade-maxima");
+		when(converter.originToDestiny(transacaoResponseDto, Transacao.class)).thenReturn(transacaoModelNaoSalva);
+		when(transacaoModelService.salvarTransacao(transacaoModelNaoSalva)).thenReturn(1L);
+		when(converter.originToDestiny(transacaoModelNaoSalva, TransacaoResponseDto.class))
+				.thenAnswer(invocacao -> CONVERTER.originToDestiny(transacaoModelNaoSalva, TransacaoResponseDto.class));
+
+		// Então
+		TransacaoResponseDto transacaoResponseDtoRetornada = transacaoDtoService.pagar(transacaoRequestDto);
+		TransacaoResponseDto transacaoEmCache = cacheManager.getCache(CACHE_TRANSACAO).get(1L, TransacaoResponseDto.class);
+		assertThat(transacaoResponseDtoRetornada.getDescricao().getStatus(), is(StatusTransacaoEnum.NEGADO));
+		assertThat(transacaoResponseDtoRetornada.getDescricao().getMotivo(), is("velocidade-quantidade-maxima"));
+		assertThat(transacaoEmCache.getId(), is("1"));
+		assertThat(transacaoEmCache.getDescricao().getMotivo(), is(nullValue()));
+		verify(autorizacaoTransacaoService, never()).registrarAutorizacao();
 	}
 
 	/**
@@ -182,11 +341,13 @@ class TransacaoDtoServiceTest {
 		List<Transacao> transacoes = CONVERTER.originToDestiny(transacoesResponseDtosEsperadas, Transacao.class);
 
 		//Quando
-		when(transacaoModelService.listarTransacoes()).thenReturn(transacoes);
+		when(transacaoModelService.listarTransacoes(null, 11)).thenReturn(transacoes);
 		when(converter.originToDestiny(transacoes, TransacaoResponseDto.class)).thenReturn(transacoesResponseDtosEsperadas);
 
 		//Então
-		List<TransacaoResponseDto> transacoesResponseDtosRetornadas = transacaoDtoService.listarTransacoes();
+		PaginaTransacaoResponseDto paginaRetornada = transacaoDtoService.listarTransacoes(null, 10);
+		List<TransacaoResponseDto> transacoesResponseDtosRetornadas = paginaRetornada.getTransacoes();
+		assertThat(paginaRetornada.getProximoCursor(), is(nullValue()));
 		for (int i = 0; i < transacoes.size(); i++) {
 			assertThat(transacoesResponseDtosRetornadas.get(i).getId(), is(equalTo(transacoesResponseDtosEsperadas.get(i).getId())));
 			assertThat(transacoesResponseDtosRetornadas.get(i).getCartao(), is(equalTo(transacoesResponseDtosEsperadas.get(i).getCartao())));
@@ -202,6 +363,114 @@ class TransacaoDtoServiceTest {
 
 	}
 
+	/**
+	 * Teste que testa o cursor da próxima página do serviço listar
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoExistemMaisTransacoesQueOTamanhoDaPaginaOCursorDaProximaPaginaDeveSerRetornado() {
+		//Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		List<Transacao> transacoes = new ArrayList<>();
+		for (long i = 1; i <= 3; i++) {
+			Transacao transacao = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+			transacao.setId(i);
+			transacoes.add(transacao);
+		}
+
+		//Quando
+		when(transacaoModelService.listarTransacoes(null, 3)).thenReturn(transacoes);
+		when(converter.originToDestiny(transacoes.subList(0, 2), TransacaoResponseDto.class)).thenReturn(List.of(transacaoResponseDto, transacaoResponseDto));
+
+		//Então
+		PaginaTransacaoResponseDto paginaRetornada = transacaoDtoService.listarTransacoes(null, 2);
+		assertThat(paginaRetornada.getTransacoes().size(), is(2));
+		assertThat(paginaRetornada.getProximoCursor(), is("2"));
+	}
+
+	/**
+	 * Teste que testa o retorno e o cursor da próxima página do serviço listar transações do cartão
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesDeUmCartaoSaoBuscadasAPaginaEOCursorDevemSerRetornados() {
+		//Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		List<Transacao> transacoes = new ArrayList<>();
+		for (long i = 5; i <= 7; i++) {
+			Transacao transacao = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+			transacao.setId(i);
+			transacoes.add(transacao);
+		}
+
+		//Quando
+		when(transacaoModelService.listarTransacoesCartao(transacaoResponseDto.getTokenCartao(), 4L, 3)).thenReturn(transacoes);
+		when(converter.originToDestiny(transacoes.subList(0, 2), TransacaoResponseDto.class)).thenReturn(List.of(transacaoResponseDto, transacaoResponseDto));
+
+		//Então
+		PaginaTransacaoResponseDto paginaRetornada = transacaoDtoService.listarTransacoesCartao(transacaoResponseDto.getTokenCartao(), 4L, 2);
+		assertThat(paginaRetornada.getTransacoes().size(), is(2));
+		assertThat(paginaRetornada.getTransacoes().get(0).getTokenCartao(), is(transacaoResponseDto.getTokenCartao()));
+		assertThat(paginaRetornada.getProximoCursor(), is("6"));
+	}
+
+	/**
+	 * Teste que testa o retorno do serviço pesquisar
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoPesquisadasAPaginaEOCursorDevemSerRetornados() {
+		//Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		PesquisaTransacaoRequestDto pesquisa = PesquisaTransacaoRequestDto.builder().status(StatusTransacaoEnum.AUTORIZADO).tamanho(1).build();
+		List<Transacao> transacoes = new ArrayList<>();
+		for (long i = 1; i <= 2; i++) {
+			Transacao transacao = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+			transacao.setId(i);
+			transacoes.add(transacao);
+		}
+
+		//Quando
+		when(transacaoModelService.pesquisarTransacoes(any(), any(), eq(2))).thenReturn(transacoes);
+		when(converter.originToDestiny(transacoes.subList(0, 1), TransacaoResponseDto.class)).thenReturn(List.of(transacaoResponseDto));
+
+		//Então
+		PaginaTransacaoResponseDto paginaRetornada = transacaoDtoService.pesquisarTransacoes(pesquisa);
+		verify(transacaoValidatorService).validarPesquisa(pesquisa);
+		assertThat(paginaRetornada.getTransacoes().size(), is(1));
+		assertThat(paginaRetornada.getProximoCursor(), is("1"));
+	}
+
+	/**
+	 * Teste que testa o retorno do serviço agregar
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoAgregadasOsGruposDevemSerRetornados() {
+		//Dado
+		AgregacaoTransacaoRequestDto agregacao = AgregacaoTransacaoRequestDto.builder().agrupamentos(List.of(AgrupamentoTransacaoEnum.ESTABELECIMENTO))
+				.dataHoraInicio(LocalDateTime.of(2021, 10, 1, 0, 0, 0)).dataHoraFim(LocalDateTime.of(2021, 10, 31, 23, 59, 59)).build();
+		List<AgregacaoTransacao> grupos = List.of(AgregacaoTransacao.builder().estabelecimento("PetShop Mundo cão").quantidade(2L)
+				.total(new BigDecimal("1001.10")).media(new BigDecimal("500.55")).minimo(new BigDecimal("500.55")).maximo(new BigDecimal("500.55")).build());
+
+		//Quando
+		when(transacaoModelService.agregarTransacoes(agregacao.getAgrupamentos(), agregacao.getDataHoraInicio(), agregacao.getDataHoraFim())).thenReturn(grupos);
+		when(converter.originToDestiny(grupos, AgregacaoTransacaoResponseDto.class)).thenReturn(CONVERTER.originToDestiny(grupos, AgregacaoTransacaoResponseDto.class));
+
+		//Então
+		List<AgregacaoTransacaoResponseDto> gruposRetornados = transacaoDtoService.agregarTransacoes(agregacao);
+		verify(transacaoValidatorService).validarAgregacao(agregacao);
+		assertThat(gruposRetornados.size(), is(1));
+		assertThat(gruposRetornados.get(0).getEstabelecimento(), is("PetShop Mundo cão"));
+		assertThat(gruposRetornados.get(0).getQuantidade(), is(2L));
+		assertThat(gruposRetornados.get(0).getTotal(), is("1001.10"));
+		assertThat(gruposRetornados.get(0).getStatus(), is(nullValue()));
+	}
+
 	/**
 	 * Teste que testa o retorno do serviço estornar
 	 *
@@ -212,12 +481,13 @@ class TransacaoDtoServiceTest {
         // Dado
 		Long id = 1L;
 		//transacaoResponseDto já foi instanciado no setUp
-		transacaoResponseDto.getDescricao().setStatus(StatusTransacaoEnum.NEGADO);
-		Transacao transacaoModelNaoSalva = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+		transacaoResponseDto.getDescricao().setStatus(StatusTransacaoEnum.CANCELADO);
+		Transacao transacaoModelEstornada = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
 
 		// Quando
-		when(transacaoModelService.buscarTransacao(id)).thenReturn(transacaoModelNaoSalva);
-		when(converter.originToDestiny(transacaoModelNaoSalva, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
+		when(transacaoUtilService.obterStatusAoEstornar()).thenReturn(StatusTransacaoEnum.CANCELADO);
+		when(transacaoModelService.atualizarStatusTransacao(id, StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO)).thenReturn(Optional.of(transacaoModelEstornada));
+		when(converter.originToDestiny(transacaoModelEstornada, TransacaoResponseDto.class)).thenReturn(transacaoResponseDto);
 
         // Então
 		TransacaoResponseDto transacaoResponseDtoRetornada  = transacaoDtoService.estornar(id);
@@ -228,11 +498,95 @@ class TransacaoDtoServiceTest {
 		assertThat(transacaoResponseDtoRetornada.getDescricao().getEstabelecimento(), is(equalTo(transacaoResponseDto.getDescricao().getEstabelecimento())));
 		assertThat(transacaoResponseDtoRetornada.getDescricao().getNsu(), is(equalTo(transacaoResponseDto.getDescricao().getNsu())));
 		assertThat(transacaoResponseDtoRetornada.getDescricao().getCodigoAutorizacao(), is(equalTo(transacaoResponseDto.getDescricao().getCodigoAutorizacao())));
-		assertThat(transacaoResponseDtoRetornada.getDescricao().getStatus(), is(StatusTransacaoEnum.NEGADO));
+		assertThat(transacaoResponseDtoRetornada.getDescricao().getStatus(), is(StatusTransacaoEnum.CANCELADO));
 		assertThat(transacaoResponseDtoRetornada.getFormaPagamento().getTipo(), is(equalTo(transacaoResponseDto.getFormaPagamento().getTipo())));
 		assertThat(transacaoResponseDtoRetornada.getFormaPagamento().getParcelas(), is(equalTo(transacaoResponseDto.getFormaPagamento().getParcelas())));
+		verify(transacaoModelService, never()).buscarTransacao(id);
+		verify(contadorTransacaoService).registrarEstorno(transacaoModelEstornada, StatusTransacaoEnum.AUTORIZADO);
 	}
 
-}
+	/**
+	 * Teste que testa uma exceção do serviço estornar
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmEstornoDeUmaTransacaoNegadaEhSolicitadoUmaExcecaoDeveSerRetornada(){
+		// Dado
+		Long id = 1L;
+		//transacaoResponseDto já foi instanciado no setUp
+		transacaoResponseDto.getDescricao().setStatus(StatusTransacaoEnum.NEGADO);
+		Transacao transacaoModelNegada = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+
+		// Quando
+		when(transacaoUtilService.obterStatusAoEstornar()).thenReturn(StatusTransacaoEnum.CANCELADO);
+		when(transacaoModelService.atualizarStatusTransacao(id, StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO)).thenReturn(Optional.empty());
+		when(transacaoModelService.buscarTransacao(id)).thenReturn(transacaoModelNegada);
+		doThrow(BadRequestException.class).when(transacaoValidatorService).validarStatusTransacaoAoEstornar(transacaoModelNegada);
 
+		// Então
+		assertThrows(BadRequestException.class, () -> transacaoDtoService.estornar(id));
+	}
+
+	/**
+	 * Teste que testa o estorno de uma transação arquivada
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmEstornoDeUmaTransacaoArquivadaEhSolicitadoUmaExcecaoDeveSerLancada() {
+		// Dado
+		Long id = 1L;
+		Transacao transacaoModelArquivada = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
 
+		// Quando
+		when(transacaoUtilService.obterStatusAoEstornar()).thenReturn(StatusTransacaoEnum.CANCELADO);
+		when(transacaoModelService.atualizarStatusTransacao(id, StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO)).thenReturn(Optional.empty());
+		when(transacaoModelService.buscarTransacao(id)).thenReturn(transacaoModelArquivada);
+		when(transacaoModelService.transacaoArquivada(id)).thenReturn(true);
+
+		// Então
+		BadRequestException excecao = assertThrows(BadRequestException.class, () -> transacaoDtoService.estornar(id));
+		assertThat(excecao.getMessage(), is(ERROR_400_TRANSACAO_ARQUIVADA_NAO_PODE_SER_ESTORNADA));
+		verify(contadorTransacaoService, never()).registrarEstorno(transacaoModelArquivada, StatusTransacaoEnum.AUTORIZADO);
+	}
+
+	/**
+	 * Teste que testa o retorno do serviço estornar em lote com uma transação autorizada, uma negada e um id inexistente
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmEstornoEmLoteEhSolicitadoCadaIdDeveReceberOSeuResultado() {
+		// Dado
+		//transacaoResponseDto já foi instanciado no setUp
+		Transacao transacaoAutorizada = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+		transacaoAutorizada.setId(1L);
+		Transacao transacaoNegada = CONVERTER.originToDestiny(transacaoResponseDto, Transacao.class);
+		transacaoNegada.setId(2L);
+		transacaoNegada.getDescricao().setStatus(StatusTransacaoEnum.NEGADO);
+		TransacaoResponseDto transacaoEstornadaResponseDto = CONVERTER.originToDestiny(transacaoResponseDto, TransacaoResponseDto.class);
+		transacaoEstornadaResponseDto.getDescricao().setStatus(StatusTransacaoEnum.CANCELADO);
+
+		//Quando
+		when(transacaoModelService.buscarTransacoes(Set.of(1L, 2L, 3L))).thenReturn(Map.of(1L, transacaoAutorizada, 2L, transacaoNegada));
+		doNothing().when(transacaoValidatorService).validarStatusTransacaoAoEstornar(transacaoAutorizada);
+		doThrow(new BadRequestException("Uma transação negada não pode ser estornada!")).when(transacaoValidatorService).validarStatusTransacaoAoEstornar(transacaoNegada);
+		when(transacaoUtilService.obterStatusAoEstornar()).thenReturn(StatusTransacaoEnum.CANCELADO);
+		when(transacaoModelService.atualizarStatusTransacoes(List.of(1L), StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO)).thenReturn(Set.of(1L));
+		when(converter.originToDestiny(transacaoAutorizada, TransacaoResponseDto.class)).thenReturn(transacaoEstornadaResponseDto);
+
+		// Então
+		List<ResultadoEstornoLoteResponseDto> resultados = transacaoDtoService.estornarLote(List.of(1L, 2L, 3L, 1L));
+		assertThat(resultados.size(), is(3));
+		assertThat(resultados.get(0).getId(), is(1L));
+		assertThat(resultados.get(0).getTransacao().getDescricao().getStatus(), is(StatusTransacaoEnum.CANCELADO));
+		assertThat(transacaoAutorizada.getDescricao().getStatus(), is(StatusTransacaoEnum.CANCELADO));
+		assertThat(resultados.get(1).getId(), is(2L));
+		assertThat(resultados.get(1).getErro().getStatus(), is(400));
+		assertThat(resultados.get(2).getId(), is(3L));
+		assertThat(resultados.get(2).getErro().getStatus(), is(404));
+		assertThat(cacheManager.getCache(CACHE_TRANSACAO).get(1L, TransacaoResponseDto.class), is(transacaoEstornadaResponseDto));
+	}
+
+}
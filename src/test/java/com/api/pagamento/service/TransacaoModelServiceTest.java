@@ -0,0 +1,422 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.converter.Converter;
+import com.api.pagamento.domain.dto.request.transacao.pesquisa.PesquisaTransacaoRequestDto;
+import com.api.pagamento.domain.dto.response.transacao.TransacaoResponseDto;
+import com.api.pagamento.domain.enumeration.transacao.agregacao.AgrupamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.descricao.StatusTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.forma_pagamento.TipoPagamentoTransacaoEnum;
+import com.api.pagamento.domain.enumeration.transacao.pesquisa.OrdenacaoTransacaoEnum;
+import com.api.pagamento.domain.model.transacao.Transacao;
+import com.api.pagamento.domain.model.transacao.agregacao.AgregacaoTransacao;
+import com.api.pagamento.domain.model.transacao.descricao.DescricaoTransacao;
+import com.api.pagamento.domain.model.transacao.forma_pagamento.FormaPagamentoTransacao;
+import com.api.pagamento.domain.repository.transacao.TransacaoRepository;
+import com.api.pagamento.domain.repository.transacao.arquivo.ArquivoTransacaoRepository;
+import com.api.pagamento.domain.specification.transacao.TransacaoSpecification;
+import com.api.pagamento.infra.config.id.GeradorIdConfig;
+import com.api.pagamento.infra.config.model_mapper.ModelMapperConfig;
+import com.api.pagamento.service.cartao.transacao.CartaoTransacaoService;
+import com.api.pagamento.service.model.transacao.TransacaoModelService;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Classe de teste responsável por verificar a quantidade de comandos sql executados por operação no serviço de model da transação
+ *
+ * @author Euller Henrique
+ */
+@DataJpaTest(properties = { "spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true",
+		"api.cartao.chave-token=chave-do-teste-do-token-do-cartao" })
+@AutoConfigureEmbeddedDatabase(type = AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES, provider = AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY)
+@Import({ TransacaoModelService.class, ArquivoTransacaoRepository.class, CartaoTransacaoService.class, Converter.class, ModelMapperConfig.class,
+		GeradorIdConfig.class })
+class TransacaoModelServiceTest {
+
+	private static final int QUANTIDADE_TRANSACOES = 10;
+
+	@Autowired
+	private TransacaoModelService transacaoModelService;
+	@Autowired
+	private Converter converter;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private TransacaoRepository transacaoRepository;
+	@Autowired
+	private ArquivoTransacaoRepository arquivoTransacaoRepository;
+	@Autowired
+	private CartaoTransacaoService cartaoTransacaoService;
+
+	private final List<Long> ids = new ArrayList<>();
+	private Statistics statistics;
+
+	/**
+	 * Método que define um diretório temporário para o arquivo de transações
+	 *
+	 * @param registro
+	 * 		Registro das propriedades da aplicação
+	 * @throws IOException
+	 * 		Exceção lançada caso o diretório não possa ser criado
+	 * @author Euller Henrique
+	 */
+	@DynamicPropertySource
+	static void definirDiretorioArquivo(DynamicPropertyRegistry registro) throws IOException {
+		String diretorio = Files.createTempDirectory("arquivo-transacao").toString();
+		registro.add("api.arquivamento.diretorio", () -> diretorio);
+	}
+
+	/**
+	 * Método que salva as transações e zera as estatísticas a cada teste
+	 *
+	 * @author Euller Henrique
+	 */
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < QUANTIDADE_TRANSACOES; i++) {
+			ids.add(transacaoModelService.salvarTransacao(obterTransacao()));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	/**
+	 * Teste que verifica que buscar uma transação executa apenas uma consulta
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoEhBuscadaApenasUmaConsultaDeveSerExecutada() {
+		//Quando
+		Transacao transacao = transacaoModelService.buscarTransacao(ids.get(0));
+		converter.originToDestiny(transacao, TransacaoResponseDto.class);
+
+		//Então
+		assertThat(statistics.getPrepareStatementCount(), is(1L));
+	}
+
+	/**
+	 * Teste que verifica que listar as transações executa apenas uma consulta, independente da quantidade de transações
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoListadasApenasUmaConsultaDeveSerExecutada() {
+		//Quando
+		List<Transacao> transacoes = transacaoModelService.listarTransacoes(null, QUANTIDADE_TRANSACOES + 1);
+		converter.originToDestiny(transacoes, TransacaoResponseDto.class);
+
+		//Então
+		assertThat(transacoes.size(), is(QUANTIDADE_TRANSACOES));
+		assertThat(statistics.getPrepareStatementCount(), is(1L));
+	}
+
+	/**
+	 * Teste que verifica que a pesquisa aplica os filtros e percorre as páginas pelo cursor, sem repetir nem pular transações
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoPesquisadasAsPaginasDevemSeguirAOrdenacaoEOsFiltros() {
+		//Dado
+		for (int i = 0; i < ids.size(); i++) {
+			Transacao transacao = transacaoModelService.buscarTransacao(ids.get(i));
+			transacao.getDescricao().setValor(BigDecimal.valueOf(i % 3 == 0 ? 100 : 200));
+			transacao.getDescricao().setStatus(i % 2 == 0 ? StatusTransacaoEnum.AUTORIZADO : StatusTransacaoEnum.NEGADO);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		PesquisaTransacaoRequestDto pesquisa = PesquisaTransacaoRequestDto.builder().status(StatusTransacaoEnum.AUTORIZADO)
+				.valorMinimo(BigDecimal.valueOf(50)).ordenacao(OrdenacaoTransacaoEnum.VALOR).direcao(Sort.Direction.DESC).tamanho(2).build();
+
+		//Quando
+		List<Transacao> transacoesPesquisadas = new ArrayList<>();
+		List<Transacao> pagina;
+		do {
+			pagina = transacaoModelService.pesquisarTransacoes(TransacaoSpecification.pesquisar(pesquisa), TransacaoSpecification.ordenar(pesquisa),
+					pesquisa.getTamanho());
+			transacoesPesquisadas.addAll(pagina);
+			pesquisa.setApos(pagina.get(pagina.size() - 1).getId());
+		} while (pagina.size() == pesquisa.getTamanho() && transacoesPesquisadas.size() < QUANTIDADE_TRANSACOES);
+
+		//Então
+		List<Long> idsEsperados = List.of(ids.get(8), ids.get(4), ids.get(2), ids.get(6), ids.get(0));
+		assertThat(transacoesPesquisadas.stream().map(Transacao::getId).toList(), is(idsEsperados));
+	}
+
+	/**
+	 * Teste que verifica que a agregação é calculada pelo banco em uma única consulta, com um grupo por combinação dos agrupamentos
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoAgregadasOsTotaisDeCadaGrupoDevemSerRetornadosEmUmaUnicaConsulta() {
+		//Dado
+		transacaoModelService.atualizarStatusTransacao(ids.get(0), StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO);
+		entityManager.clear();
+		statistics.clear();
+
+		//Quando
+		List<AgregacaoTransacao> grupos = transacaoModelService.agregarTransacoes(List.of(AgrupamentoTransacaoEnum.STATUS, AgrupamentoTransacaoEnum.DIA),
+				LocalDateTime.of(2021, 10, 1, 0, 0, 0), LocalDateTime.of(2021, 10, 31, 23, 59, 59));
+
+		//Então
+		assertThat(grupos.size(), is(2));
+		assertThat(grupos.get(0).getStatus(), is(StatusTransacaoEnum.AUTORIZADO));
+		assertThat(grupos.get(0).getPeriodo(), is(LocalDateTime.of(2021, 10, 1, 0, 0, 0)));
+		assertThat(grupos.get(0).getQuantidade(), is((long) QUANTIDADE_TRANSACOES - 1));
+		assertThat(grupos.get(0).getTotal(), is(new BigDecimal("4504.95")));
+		assertThat(grupos.get(0).getMedia(), is(new BigDecimal("500.55")));
+		assertThat(grupos.get(1).getStatus(), is(StatusTransacaoEnum.CANCELADO));
+		assertThat(grupos.get(1).getQuantidade(), is(1L));
+		assertThat(grupos.get(1).getMaximo(), is(new BigDecimal("500.55")));
+		assertThat(statistics.getPrepareStatementCount(), is(1L));
+	}
+
+	/**
+	 * Teste que verifica que criar a partição de um mês move para ela as transações desse mês que estavam na partição padrão
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoAParticaoDeUmMesEhCriadaAsTransacoesDoMesDevemSerMovidasParaEla() {
+		//Dado
+		//As transações salvas no setUp são de outubro de 2021, mês sem partição
+
+		//Quando
+		boolean criada = transacaoRepository.criarParticao(LocalDate.of(2021, 10, 15));
+		boolean criadaNovamente = transacaoRepository.criarParticao(LocalDate.of(2021, 10, 1));
+
+		//Então
+		assertThat(criada, is(true));
+		assertThat(criadaNovamente, is(false));
+		assertThat(((Number) entityManager.createNativeQuery("SELECT count(*) FROM transacao_2021_10").getSingleResult()).intValue(), is(QUANTIDADE_TRANSACOES));
+		assertThat(((Number) entityManager.createNativeQuery("SELECT count(*) FROM transacao_padrao").getSingleResult()).intValue(), is(0));
+		assertThat(transacaoModelService.buscarTransacao(ids.get(0)).getId(), is(ids.get(0)));
+	}
+
+	/**
+	 * Teste que verifica que as transações de um mês arquivado saem do banco e continuam disponíveis na busca por id
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmMesEhArquivadoAsTransacoesDevemSairDoBancoEContinuarDisponiveisNaBusca() {
+		//Dado
+		Optional<LocalDate> mes = transacaoModelService.buscarMesMaisAntigoAntesDe(LocalDate.of(2022, 1, 1));
+
+		//Quando
+		long arquivadas = transacaoModelService.arquivarTransacoes(mes.orElseThrow());
+		entityManager.clear();
+
+		//Então
+		assertThat(mes.get(), is(LocalDate.of(2021, 10, 1)));
+		assertThat(arquivadas, is((long) QUANTIDADE_TRANSACOES));
+		assertThat(transacaoModelService.buscarTransacoes(ids).isEmpty(), is(true));
+		assertThat(transacaoModelService.buscarMesMaisAntigoAntesDe(LocalDate.of(2022, 1, 1)).isPresent(), is(false));
+		Transacao transacaoArquivada = transacaoModelService.buscarTransacao(ids.get(3));
+		assertThat(transacaoArquivada.getId(), is(ids.get(3)));
+		assertThat(transacaoArquivada.getDescricao().getValor(), is(new BigDecimal("500.55")));
+		assertThat(transacaoArquivada.getDescricao().getDataHora(), is(LocalDateTime.of(2021, 10, 1, 10, 10, 10)));
+		assertThat(transacaoArquivada.getDescricao().getStatus(), is(StatusTransacaoEnum.AUTORIZADO));
+		assertThat(transacaoArquivada.getFormaPagamento().getTipo(), is(TipoPagamentoTransacaoEnum.AVISTA));
+		assertThat(transacaoModelService.transacaoArquivada(ids.get(3)), is(true));
+	}
+
+	/**
+	 * Teste que verifica que uma transação salva com o número do cartão, ainda não tokenizada, é buscada com o cartão mascarado e arquivada
+	 * tokenizada
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoComONumeroDoCartaoEhBuscadaOuArquivadaOCartaoDeveSerMascarado() {
+		//Dado
+		Transacao transacaoComNumero = obterTransacao();
+		transacaoComNumero.setCartao("4444555566661234");
+		Long id = transacaoRepository.save(transacaoComNumero).getId();
+		entityManager.flush();
+		entityManager.clear();
+
+		//Quando
+		Transacao transacaoBuscada = transacaoModelService.buscarTransacao(id);
+		entityManager.clear();
+		transacaoModelService.arquivarTransacoes(LocalDate.of(2021, 10, 1));
+		entityManager.clear();
+		Transacao transacaoArquivada = arquivoTransacaoRepository.buscar(id).orElseThrow();
+
+		//Então
+		assertThat(transacaoBuscada.getCartao(), is("************1234"));
+		assertThat(transacaoArquivada.getCartao(), is("************1234"));
+		assertThat(transacaoArquivada.getTokenCartao(), is(transacaoBuscada.getTokenCartao()));
+	}
+
+	/**
+	 * Teste que verifica que uma transação salva com o número do cartão, ainda não tokenizada, é retornada com o cartão mascarado e o token
+	 * pela listagem, pela pesquisa, pela exportação e pelos estornos
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoComONumeroDoCartaoEhListadaPesquisadaOuEstornadaOCartaoDeveSerMascarado() {
+		//Dado
+		Transacao transacaoComNumero = obterTransacao();
+		transacaoComNumero.setCartao("4444555566661234");
+		Long id = transacaoRepository.save(transacaoComNumero).getId();
+		Transacao outraTransacaoComNumero = obterTransacao();
+		outraTransacaoComNumero.setCartao("4444555566661234");
+		Long outroId = transacaoRepository.save(outraTransacaoComNumero).getId();
+		entityManager.flush();
+		entityManager.clear();
+		PesquisaTransacaoRequestDto pesquisa = PesquisaTransacaoRequestDto.builder().tamanho(QUANTIDADE_TRANSACOES + 2).build();
+
+		//Quando
+		List<Transacao> transacoes = new ArrayList<>(transacaoModelService.listarTransacoes(null, QUANTIDADE_TRANSACOES + 2));
+		entityManager.clear();
+		transacoes.addAll(transacaoModelService.pesquisarTransacoes(TransacaoSpecification.pesquisar(pesquisa), TransacaoSpecification.ordenar(pesquisa),
+				pesquisa.getTamanho()));
+		entityManager.clear();
+		transacaoModelService.exportarTransacoes(transacoes::add);
+		entityManager.clear();
+		transacoes.add(transacaoModelService.atualizarStatusTransacao(id, StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO).orElseThrow());
+		entityManager.clear();
+		transacoes.addAll(transacaoModelService.buscarTransacoes(List.of(outroId)).values());
+
+		//Então
+		assertThat(transacoes.size(), is(3 * (QUANTIDADE_TRANSACOES + 2) + 2));
+		assertThat(transacoes.stream().filter(transacao -> transacao.getCartao().equals("4444555566661234")).count(), is(0L));
+		assertThat(transacoes.stream().filter(transacao -> transacao.getId().equals(id) || transacao.getId().equals(outroId))
+				.map(Transacao::getTokenCartao).distinct().toList(), is(List.of(cartaoTransacaoService.obterToken("4444555566661234"))));
+	}
+
+	/**
+	 * Teste que verifica que exportar as transações executa apenas uma consulta, independente da quantidade de transações
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoTransacoesSaoExportadasApenasUmaConsultaDeveSerExecutada() {
+		//Quando
+		List<TransacaoResponseDto> transacoesResponseDto = new ArrayList<>();
+		transacaoModelService.exportarTransacoes(transacao -> transacoesResponseDto.add(converter.originToDestiny(transacao, TransacaoResponseDto.class)));
+
+		//Então
+		assertThat(transacoesResponseDto.size(), is(QUANTIDADE_TRANSACOES));
+		assertThat(statistics.getPrepareStatementCount(), is(1L));
+	}
+
+	/**
+	 * Teste que verifica que estornar uma transação executa apenas um comando, que já retorna a transação estornada
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoEhEstornadaApenasUmComandoDeveSerExecutado() {
+		//Quando
+		Optional<Transacao> transacao = transacaoModelService.atualizarStatusTransacao(ids.get(0), StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO);
+		converter.originToDestiny(transacao.orElseThrow(), TransacaoResponseDto.class);
+
+		//Então
+		assertThat(transacao.get().getDescricao().getStatus(), is(StatusTransacaoEnum.CANCELADO));
+		assertThat(statistics.getPrepareStatementCount(), is(1L));
+	}
+
+	/**
+	 * Teste que verifica que uma transação já estornada não é estornada novamente
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmaTransacaoJaEstornadaEhEstornadaNenhumaLinhaDeveSerAlterada() {
+		//Dado
+		transacaoModelService.atualizarStatusTransacao(ids.get(0), StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO);
+		entityManager.clear();
+
+		//Quando
+		Optional<Transacao> transacao = transacaoModelService.atualizarStatusTransacao(ids.get(0), StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO);
+
+		//Então
+		assertThat(transacao.isPresent(), is(false));
+	}
+
+	/**
+	 * Teste que verifica que estornar um lote de transações executa apenas um comando, independente da quantidade de transações
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmLoteDeTransacoesEhEstornadoApenasUmComandoDeveSerExecutado() {
+		//Quando
+		Set<Long> idsEstornados = transacaoModelService.atualizarStatusTransacoes(ids, StatusTransacaoEnum.AUTORIZADO, StatusTransacaoEnum.CANCELADO);
+
+		//Então
+		assertThat(idsEstornados, is(Set.copyOf(ids)));
+		assertThat(statistics.getPrepareStatementCount(), is(1L));
+	}
+
+	/**
+	 * Teste que verifica que salvar um lote de transações envia os inserts em lote, e não um comando por transação
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmLoteDeTransacoesEhSalvoOsInsertsDevemSerEnviadosEmLote() {
+		//Dado
+		List<Transacao> transacoes = new ArrayList<>();
+		for (int i = 0; i < QUANTIDADE_TRANSACOES; i++) {
+			transacoes.add(obterTransacao());
+		}
+
+		//Quando
+		List<Long> idsSalvos = transacaoModelService.salvarTransacoes(transacoes);
+		entityManager.flush();
+
+		//Então
+		assertThat(idsSalvos.size(), is(QUANTIDADE_TRANSACOES));
+		assertThat(statistics.getPrepareStatementCount() < QUANTIDADE_TRANSACOES, is(true));
+	}
+
+	/**
+	 * Obtém uma transação autorizada ainda não salva
+	 *
+	 * @return Transacao
+	 *      Model com os dados da transação
+	 * @author Euller Henrique
+	 */
+	private Transacao obterTransacao() {
+		DescricaoTransacao descricao = DescricaoTransacao.builder().valor(BigDecimal.valueOf(500.55)).dataHora(LocalDateTime.of(2021, 10, 1, 10, 10, 10))
+				.estabelecimento("PetShop Mundo cão").nsu("123456789").codigoAutorizacao("987654321").status(StatusTransacaoEnum.AUTORIZADO).build();
+		FormaPagamentoTransacao formaPagamento = FormaPagamentoTransacao.builder().tipo(TipoPagamentoTransacaoEnum.AVISTA).parcelas(1).build();
+		return Transacao.builder().cartao("4444********1234").descricao(descricao).formaPagamento(formaPagamento).build();
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.domain.repository.nsu.memoria.BlocoNsuMemoriaRepository;
+import com.api.pagamento.service.util.transacao.TransacaoUtilService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.QUANTIDADE_BLOCOS_NSU;
+import static com.api.pagamento.domain.constant.nsu.NsuConstants.TAMANHO_BLOCO_NSU;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários na obtenção do nsu
+ *
+ * @author Euller Henrique
+ */
+class TransacaoUtilServiceTest {
+
+	/**
+	 * Teste que verifica que os nsus obtidos simultaneamente por várias threads de duas instâncias, que reservam blocos da mesma origem, não
+	 * se repetem e têm 9 dígitos
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoNsusSaoObtidosSimultaneamenteNaoDevemSeRepetir() throws Exception {
+		//Dado
+		BlocoNsuMemoriaRepository blocoNsuRepository = new BlocoNsuMemoriaRepository();
+		List<TransacaoUtilService> instancias = List.of(new TransacaoUtilService(blocoNsuRepository), new TransacaoUtilService(blocoNsuRepository));
+		int threads = 8;
+		int nsusPorThread = 25_000;
+		Set<String> nsus = ConcurrentHashMap.newKeySet();
+		CountDownLatch inicio = new CountDownLatch(1);
+
+		//Quando
+		List<CompletableFuture<Void>> execucoes = IntStream.range(0, threads).mapToObj(i -> CompletableFuture.runAsync(() -> {
+			try {
+				inicio.await();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			TransacaoUtilService transacaoUtilService = instancias.get(i % instancias.size());
+			for (int j = 0; j < nsusPorThread; j++) {
+				nsus.add(transacaoUtilService.obterNsu());
+			}
+		})).toList();
+		inicio.countDown();
+		CompletableFuture.allOf(execucoes.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+		//Então
+		assertThat(nsus.size(), is(threads * nsusPorThread));
+		assertThat(nsus.stream().allMatch(nsu -> nsu.matches("[1-9]\\d{8}")), is(true));
+	}
+
+	/**
+	 * Teste que verifica que o último bloco de nsus termina em 999999999
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOUltimoBlocoEhReservadoOsNsusDevemTerNoveDigitos() {
+		//Dado
+		TransacaoUtilService transacaoUtilService = new TransacaoUtilService(() -> QUANTIDADE_BLOCOS_NSU - 1);
+
+		//Quando
+		List<String> nsus = IntStream.range(0, TAMANHO_BLOCO_NSU).mapToObj(i -> transacaoUtilService.obterNsu()).toList();
+
+		//Então
+		assertThat(nsus.get(0), is("999999000"));
+		assertThat(nsus.get(nsus.size() - 1), is("999999999"));
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.api.pagamento.service;
+
+import com.api.pagamento.service.velocidade.transacao.VelocidadeTransacaoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static com.api.pagamento.domain.constant.velocidade.VelocidadeConstants.METRICA_VELOCIDADE_NEGADO;
+import static com.api.pagamento.domain.constant.velocidade.VelocidadeConstants.TAG_MOTIVO_VELOCIDADE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.number.OrderingComparison.lessThanOrEqualTo;
+
+/**
+ * Classe de teste responsável por realizar os testes unitários nos limites de velocidade do cartão
+ *
+ * @author Euller Henrique
+ */
+class VelocidadeTransacaoServiceTest {
+
+	private static final long AGORA = 1_700_000_000_000L;
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	/**
+	 * Teste que verifica que os pagamentos que excedem a quantidade ou o valor máximo da janela são negados sem serem somados, que cada
+	 * cartão tem os seus contadores e que os pagamentos que saem da janela deixam de ser considerados
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoUmCartaoExcedeUmLimiteDaJanelaOPagamentoDeveSerNegado() {
+		//Dado
+		VelocidadeTransacaoService velocidadeTransacaoService = criarServico(1000);
+		IntStream.range(0, 3).forEach(i -> velocidadeTransacaoService.registrar("4444555566667777", new BigDecimal("10.00"), AGORA + i * 10_000L));
+
+		//Quando
+		String quantidade = velocidadeTransacaoService.registrar("4444555566667777", new BigDecimal("10.00"), AGORA + 59_999L);
+		String outroCartao = velocidadeTransacaoService.registrar("4444555566668888", new BigDecimal("10.00"), AGORA + 59_999L);
+		String aposJanela = velocidadeTransacaoService.registrar("4444555566667777", new BigDecimal("10.00"), AGORA + 60_000L);
+		String valorNoLimite = velocidadeTransacaoService.registrar("5555666677778888", new BigDecimal("900.00"), AGORA);
+		String valor = velocidadeTransacaoService.registrar("5555666677778888", new BigDecimal("100.01"), AGORA);
+		String valorAteOLimite = velocidadeTransacaoService.registrar("5555666677778888", new BigDecimal("100.00"), AGORA);
+
+		//Então
+		assertThat(quantidade, is("velocidade-quantidade-maxima"));
+		assertThat(outroCartao, is(nullValue()));
+		assertThat(aposJanela, is(nullValue()));
+		assertThat(valorNoLimite, is(nullValue()));
+		assertThat(valor, is("velocidade-valor-maximo"));
+		assertThat(valorAteOLimite, is(nullValue()));
+		assertThat(obterContagem("velocidade-quantidade-maxima"), is(1.0));
+		assertThat(obterContagem("velocidade-valor-maximo"), is(1.0));
+	}
+
+	/**
+	 * Teste que verifica que valores com mais de duas casas decimais são somados arredondados para centavos
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoOValorTemMaisDeDuasCasasDecimaisEleDeveSerSomadoArredondado() {
+		//Dado
+		VelocidadeTransacaoService velocidadeTransacaoService = criarServico(1000);
+
+		//Quando
+		String valorArredondadoParaBaixo = velocidadeTransacaoService.registrar("4444555566667777", new BigDecimal("999.994"), AGORA);
+		String valorArredondadoParaCima = velocidadeTransacaoService.registrar("4444555566667777", new BigDecimal("0.015"), AGORA);
+
+		//Então
+		assertThat(valorArredondadoParaBaixo, is(nullValue()));
+		assertThat(valorArredondadoParaCima, is("velocidade-valor-maximo"));
+	}
+
+	/**
+	 * Teste que verifica que a quantidade de cartões em memória não passa do tamanho máximo
+	 *
+	 * @author Euller Henrique
+	 */
+	@Test
+	void QuandoMaisCartoesQueOTamanhoMaximoSaoRegistradosOsExcedentesDevemSerRemovidos() {
+		//Dado
+		VelocidadeTransacaoService velocidadeTransacaoService = criarServico(100);
+
+		//Quando
+		IntStream.range(0, 1000).forEach(i -> velocidadeTransacaoService.registrar("4444" + String.format("%012d", i), BigDecimal.TEN, AGORA));
+
+		//Então
+		assertThat(velocidadeTransacaoService.obterQuantidadeCartoes(), is(lessThanOrEqualTo(100L)));
+	}
+
+	private VelocidadeTransacaoService criarServico(long tamanhoMaximo) {
+		return new VelocidadeTransacaoService(Duration.ofMinutes(1), 6, 3, new BigDecimal("1000.00"), tamanhoMaximo, meterRegistry);
+	}
+
+	private double obterContagem(String motivo) {
+		return meterRegistry.get(METRICA_VELOCIDADE_NEGADO).tag(TAG_MOTIVO_VELOCIDADE, motivo).counter().count();
+	}
+
+}